@@ -0,0 +1,65 @@
+package com.example.langgraph.benchmark;
+
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import com.example.langgraph.llm.ChatGateway;
+import com.example.langgraph.llm.routing.ModelRouter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A node that calls {@link ChatGateway} backed by a zero-latency stub model, i.e. the
+ * fixed cost a real LLM node adds on top of the engine (ChatClient request building,
+ * advisor chain, response mapping).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatGatewayBenchmark {
+
+    private StateGraph graph;
+
+    @Setup
+    public void setUp() {
+        ChatGateway gateway = new ChatGateway(ModelRouter.fixed(ChatClient.builder(new StubChatModel()).build()));
+        graph = new StateGraphBuilder()
+                .addNode("llm", state -> {
+                    state.put("answer", gateway.call("Summarize " + state.getString("topic")));
+                    return state;
+                })
+                .setEntryPoint("llm")
+                .setExecutionMode(ExecutionMode.SEQUENTIAL)
+                .compile();
+    }
+
+    @Benchmark
+    public GraphState llmNode() {
+        GraphState state = new GraphState();
+        state.put("topic", "benchmarks");
+        return graph.execute(state);
+    }
+
+    static class StubChatModel implements ChatModel {
+
+        private static final ChatResponse RESPONSE =
+                new ChatResponse(List.of(new Generation(new AssistantMessage("stub answer"))));
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            return RESPONSE;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.langgraph.benchmark;
+
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link StateGraphBuilder#compile()} (validation, cycle detection and
+ * topological ordering) on large graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompileBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    int nodes;
+
+    @Param({"1", "10"})
+    int width;
+
+    private StateGraphBuilder builder;
+
+    @Setup
+    public void setUp() {
+        builder = GraphFixtures.layered(nodes, width, ExecutionMode.SEQUENTIAL);
+    }
+
+    @Benchmark
+    public StateGraph compile() {
+        return builder.compile();
+    }
+}
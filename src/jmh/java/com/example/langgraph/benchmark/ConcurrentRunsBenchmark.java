@@ -0,0 +1,100 @@
+package com.example.langgraph.benchmark;
+
+import com.example.langgraph.graph.AsyncGraphNode;
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.GraphExecutors;
+import com.example.langgraph.graph.GraphNode;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to finish {@code runs} concurrent runs of a three-node chain whose nodes wait
+ * {@code latencyMs} like a model call, all on a graph executor of {@code threads} threads.
+ *
+ * {@code BLOCKING} nodes sleep on their thread, as a blocking model call does, so
+ * throughput is capped near {@code threads / (3 * latencyMs)} runs per millisecond and
+ * the time grows linearly with {@code runs}. {@code ASYNC} nodes are {@link AsyncGraphNode}s
+ * whose wait completes a future, as a streamed call does, so the same thread budget
+ * sustains every run at once and the time stays near {@code 3 * latencyMs}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentRunsBenchmark {
+
+    public enum Path { BLOCKING, ASYNC }
+
+    @Param({"BLOCKING", "ASYNC"})
+    Path path;
+
+    @Param({"200", "1000", "2000"})
+    int runs;
+
+    @Param({"50"})
+    int latencyMs;
+
+    @Param({"16"})
+    int threads;
+
+    private StateGraph graph;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = GraphExecutors.newFixedExecutor(threads);
+        graph = new StateGraphBuilder()
+                .addNode("analyze", waitingNode("analyze"))
+                .addNode("draft", waitingNode("draft"))
+                .addNode("summarize", waitingNode("summarize"))
+                .addEdge("analyze", "draft")
+                .addEdge("draft", "summarize")
+                .setEntryPoint("analyze")
+                .setExecutionMode(ExecutionMode.PARALLEL)
+                .setExecutor(executor)
+                .compile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int concurrentRuns() {
+        List<CompletableFuture<GraphState>> results = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            results.add(graph.executeAsync(new GraphState()));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        return results.size();
+    }
+
+    private GraphNode waitingNode(String name) {
+        if (path == Path.ASYNC) {
+            return (AsyncGraphNode) state -> CompletableFuture.supplyAsync(() -> {
+                state.put(name, Boolean.TRUE);
+                return state;
+            }, CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS));
+        }
+        return state -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            state.put(name, Boolean.TRUE);
+            return state;
+        };
+    }
+}
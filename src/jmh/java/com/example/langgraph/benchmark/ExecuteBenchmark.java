@@ -0,0 +1,44 @@
+package com.example.langgraph.benchmark;
+
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-run overhead of {@link StateGraph#execute(GraphState)} with stub nodes.
+ * Divide the score by {@code nodes + 1} for the per-node cost; run with {@code -prof gc}
+ * (the profile default) for the allocation rate per run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecuteBenchmark {
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    ExecutionMode mode;
+
+    @Param({"5", "50"})
+    int nodes;
+
+    /** 1 = chain, larger values fan out into independent branches. */
+    @Param({"1", "5"})
+    int width;
+
+    private StateGraph graph;
+
+    @Setup
+    public void setUp() {
+        graph = GraphFixtures.layered(nodes, width, mode).compile();
+    }
+
+    @Benchmark
+    public GraphState execute() {
+        return graph.execute(new GraphState());
+    }
+}
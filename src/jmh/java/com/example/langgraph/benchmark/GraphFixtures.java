@@ -0,0 +1,51 @@
+package com.example.langgraph.benchmark;
+
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.GraphNode;
+import com.example.langgraph.graph.StateGraphBuilder;
+
+/**
+ * Synthetic graphs for the benchmarks. Nodes are zero-latency stubs so only the
+ * engine's own scheduling and state handling is measured.
+ */
+final class GraphFixtures {
+
+    private GraphFixtures() {
+    }
+
+    /** Writes one key, the smallest amount of work a real node does. */
+    static GraphNode stubNode(String name) {
+        return state -> {
+            state.put(name, Boolean.TRUE);
+            return state;
+        };
+    }
+
+    /**
+     * A layered DAG of {@code nodeCount} nodes, {@code width} nodes per layer, where every
+     * node depends on every node of the previous layer. {@code width == 1} is a plain chain.
+     */
+    static StateGraphBuilder layered(int nodeCount, int width, ExecutionMode mode) {
+        StateGraphBuilder builder = new StateGraphBuilder().setExecutionMode(mode);
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNode(name(i), stubNode(name(i)));
+        }
+        builder.addNode("start", stubNode("start")).setEntryPoint("start");
+        for (int i = 0; i < nodeCount; i++) {
+            int layer = i / width;
+            if (layer == 0) {
+                builder.addEdge("start", name(i));
+                continue;
+            }
+            int previousLayerStart = (layer - 1) * width;
+            for (int j = previousLayerStart; j < previousLayerStart + width; j++) {
+                builder.addEdge(name(j), name(i));
+            }
+        }
+        return builder;
+    }
+
+    private static String name(int i) {
+        return "n" + i;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.langgraph.benchmark;
+
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.TimelineEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link GraphState} reads, writes and timeline appends when several
+ * parallel nodes share one state.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphStateBenchmark {
+
+    private static final int KEYS = 64;
+    private static final String[] NAMES = new String[KEYS];
+
+    static {
+        for (int i = 0; i < KEYS; i++) {
+            NAMES[i] = "key" + i;
+        }
+    }
+
+    private GraphState state;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // fresh state per iteration so the timeline does not grow without bound
+        state = new GraphState();
+        for (String name : NAMES) {
+            state.put(name, name);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String nextKey() {
+            next = (next + 1) & (KEYS - 1);
+            return NAMES[next];
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public String get(Cursor cursor) {
+        return state.getString(cursor.nextKey());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void put(Cursor cursor) {
+        String key = cursor.nextKey();
+        state.put(key, key);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void timeline(Cursor cursor) {
+        state.addTimelineEntry(new TimelineEntry(cursor.nextKey(), Instant.EPOCH, 0, 0, 1, 0, false));
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.langgraph.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the OpenAI chat completions API ({@code POST /v1/chat/completions}),
+ * blocking and streaming, with configurable latency, token rate and injected errors.
+ * Point the application at it with {@code --spring.ai.openai.base-url=http://localhost:8089}.
+ *
+ * <p>Options ({@code key=value} arguments):
+ * <ul>
+ *   <li>{@code port} — listen port (default 8089)</li>
+ *   <li>{@code latency} — time to first token, see {@link LatencyDistribution} (default {@code lognormal:800:0.5})</li>
+ *   <li>{@code tokens-per-second} — generation speed after the first token (default 50)</li>
+ *   <li>{@code completion-tokens} — tokens per answer (default 200)</li>
+ *   <li>{@code error-429} / {@code error-5xx} — fraction of requests failed with that status (default 0)</li>
+ * </ul>
+ */
+public class FakeOpenAiServer {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeOpenAiServer.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyDistribution latency;
+    private final double tokensPerSecond;
+    private final int completionTokens;
+    private final double error429Rate;
+    private final double error5xxRate;
+    private final AtomicLong requests = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    FakeOpenAiServer(LatencyDistribution latency, double tokensPerSecond, int completionTokens,
+                     double error429Rate, double error5xxRate) {
+        this.latency = latency;
+        this.tokensPerSecond = tokensPerSecond;
+        this.completionTokens = completionTokens;
+        this.error429Rate = error429Rate;
+        this.error5xxRate = error5xxRate;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = LoadTestArgs.parse(args);
+        FakeOpenAiServer server = new FakeOpenAiServer(
+                LatencyDistribution.parse(options.getOrDefault("latency", "lognormal:800:0.5")),
+                Double.parseDouble(options.getOrDefault("tokens-per-second", "50")),
+                Integer.parseInt(options.getOrDefault("completion-tokens", "200")),
+                Double.parseDouble(options.getOrDefault("error-429", "0")),
+                Double.parseDouble(options.getOrDefault("error-5xx", "0")));
+        int port = server.start(Integer.parseInt(options.getOrDefault("port", "8089")));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        log.info("Fake OpenAI server listening on http://localhost:{} with {}", port, options);
+    }
+
+    /** Starts listening and returns the bound port ({@code 0} picks a free one). */
+    int start(int port) throws IOException {
+        // one thread per in-flight request: responses spend nearly all their time sleeping
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            log.info("Fake OpenAI server served {} requests", requests.get());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String model = request.path("model").asText("gpt-4o");
+            int promptTokens = estimatePromptTokens(request.path("messages"));
+
+            sleep(latency.sample());
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < error429Rate) {
+                exchange.getResponseHeaders().add("retry-after", "1");
+                sendJson(exchange, 429, error("Rate limit reached for requests", "rate_limit_exceeded"));
+                return;
+            }
+            if (roll < error429Rate + error5xxRate) {
+                sendJson(exchange, 503, error("The server is overloaded", "server_error"));
+                return;
+            }
+
+            if (request.path("stream").asBoolean(false)) {
+                boolean includeUsage = request.path("stream_options").path("include_usage").asBoolean(false);
+                stream(exchange, model, promptTokens, includeUsage);
+            } else {
+                sleep(generationTime(completionTokens));
+                sendJson(exchange, 200, completion(model, promptTokens));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stream(HttpExchange exchange, String model, int promptTokens, boolean includeUsage)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        String id = "chatcmpl-" + UUID.randomUUID();
+        long created = System.currentTimeMillis() / 1000;
+        Duration perToken = generationTime(1);
+        OutputStream body = exchange.getResponseBody();
+        for (int i = 0; i < completionTokens; i++) {
+            Map<String, Object> delta = new LinkedHashMap<>();
+            if (i == 0) {
+                delta.put("role", "assistant");
+            }
+            delta.put("content", "tok" + i + " ");
+            writeEvent(body, chunk(id, created, model, List.of(choice(delta, null))));
+            sleep(perToken);
+        }
+        writeEvent(body, chunk(id, created, model, List.of(choice(Map.of(), "stop"))));
+        if (includeUsage) {
+            Map<String, Object> usageChunk = chunk(id, created, model, List.of());
+            usageChunk.put("usage", usage(promptTokens));
+            writeEvent(body, usageChunk);
+        }
+        body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private void writeEvent(OutputStream body, Object payload) throws IOException {
+        body.write(("data: " + objectMapper.writeValueAsString(payload) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private Map<String, Object> completion(String model, int promptTokens) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < completionTokens; i++) {
+            content.append("tok").append(i).append(' ');
+        }
+        Map<String, Object> message = Map.of("role", "assistant", "content", content.toString());
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", "chatcmpl-" + UUID.randomUUID());
+        response.put("object", "chat.completion");
+        response.put("created", System.currentTimeMillis() / 1000);
+        response.put("model", model);
+        response.put("choices", List.of(Map.of("index", 0, "message", message, "finish_reason", "stop")));
+        response.put("usage", usage(promptTokens));
+        return response;
+    }
+
+    private static Map<String, Object> chunk(String id, long created, String model, List<Object> choices) {
+        Map<String, Object> chunk = new LinkedHashMap<>();
+        chunk.put("id", id);
+        chunk.put("object", "chat.completion.chunk");
+        chunk.put("created", created);
+        chunk.put("model", model);
+        chunk.put("choices", choices);
+        return chunk;
+    }
+
+    private static Map<String, Object> choice(Map<String, Object> delta, String finishReason) {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+        return choice;
+    }
+
+    private Map<String, Object> usage(int promptTokens) {
+        return Map.of("prompt_tokens", promptTokens,
+                "completion_tokens", completionTokens,
+                "total_tokens", promptTokens + completionTokens);
+    }
+
+    private static Map<String, Object> error(String message, String code) {
+        return Map.of("error", Map.of("message", message, "type", "requests", "code", code));
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object payload) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(payload);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static int estimatePromptTokens(JsonNode messages) {
+        int chars = 0;
+        for (JsonNode message : messages) {
+            chars += message.path("content").asText("").length();
+        }
+        // ~4 characters per token for English text
+        return Math.max(1, chars / 4);
+    }
+
+    private Duration generationTime(int tokens) {
+        return Duration.ofNanos((long) (tokens / tokensPerSecond * 1_000_000_000L));
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isNegative() && !duration.isZero()) {
+            Thread.sleep(duration.toMillis(), duration.toNanosPart() % 1_000_000);
+        }
+    }
+}
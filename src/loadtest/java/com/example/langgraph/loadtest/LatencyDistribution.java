@@ -0,0 +1,39 @@
+package com.example.langgraph.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Response delay model for {@link FakeOpenAiServer}, parsed from a compact spec:
+ * <ul>
+ *   <li>{@code fixed:500} — always 500ms</li>
+ *   <li>{@code uniform:200:1500} — uniformly between 200ms and 1500ms</li>
+ *   <li>{@code lognormal:800:0.5} — log-normal with an 800ms median and sigma 0.5 (long tail)</li>
+ * </ul>
+ */
+interface LatencyDistribution {
+
+    Duration sample();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":");
+        return switch (parts[0]) {
+            case "fixed" -> {
+                Duration fixed = Duration.ofMillis(Long.parseLong(parts[1]));
+                yield () -> fixed;
+            }
+            case "uniform" -> {
+                long min = Long.parseLong(parts[1]);
+                long max = Long.parseLong(parts[2]);
+                yield () -> Duration.ofMillis(ThreadLocalRandom.current().nextLong(min, max + 1));
+            }
+            case "lognormal" -> {
+                double mu = Math.log(Double.parseDouble(parts[1]));
+                double sigma = Double.parseDouble(parts[2]);
+                yield () -> Duration.ofMillis(
+                        Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian())));
+            }
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.langgraph.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class LoadTestArgs {
+
+    private LoadTestArgs() {
+    }
+
+    /** Parses {@code key=value} (optionally {@code --key=value}) arguments. */
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(option.substring(0, eq), option.substring(eq + 1));
+        }
+        return options;
+    }
+}
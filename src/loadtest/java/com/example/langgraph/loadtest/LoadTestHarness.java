@@ -0,0 +1,154 @@
+package com.example.langgraph.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open-model load generator for {@code POST /api/workflow/content-creation}: requests are
+ * started at a fixed rate regardless of how many are still in flight, and latency is measured
+ * from each request's scheduled start, so a slow server cannot hide queueing delay.
+ *
+ * <p>Options ({@code key=value} arguments):
+ * <ul>
+ *   <li>{@code url} — target (default {@code http://localhost:8080/api/workflow/content-creation})</li>
+ *   <li>{@code rate} — requests per second (default 5)</li>
+ *   <li>{@code duration} — how long to send, ISO-8601 or seconds (default 60)</li>
+ *   <li>{@code max-in-flight} — requests beyond this are counted as dropped (default 2000)</li>
+ *   <li>{@code timeout} — per-request timeout in seconds (default 300)</li>
+ * </ul>
+ */
+public class LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI target;
+    private final double rate;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final Duration timeout;
+
+    private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    LoadTestHarness(URI target, double rate, Duration duration, int maxInFlight, Duration timeout) {
+        this.target = target;
+        this.rate = rate;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = LoadTestArgs.parse(args);
+        LoadTestHarness harness = new LoadTestHarness(
+                URI.create(options.getOrDefault("url", "http://localhost:8080/api/workflow/content-creation")),
+                Double.parseDouble(options.getOrDefault("rate", "5")),
+                parseDuration(options.getOrDefault("duration", "60")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "2000")),
+                parseDuration(options.getOrDefault("timeout", "300")));
+        harness.run();
+    }
+
+    void run() throws InterruptedException {
+        long total = Math.max(1, Math.round(rate * duration.toNanos() / 1_000_000_000d));
+        long intervalNanos = Math.max(1, Math.round(1_000_000_000d / rate));
+        CountDownLatch finished = new CountDownLatch((int) total);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        log.info("Sending {} requests at {}/s to {}", total, rate, target);
+        long startNanos = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduledAt = startNanos + i * intervalNanos;
+            scheduler.schedule(() -> send(scheduledAt, finished),
+                    scheduledAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> log.info("in flight: {}, completed: {}",
+                inFlight.get(), latenciesNanos.size()), 10, 10, TimeUnit.SECONDS);
+
+        finished.await();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        scheduler.shutdown();
+        progress.shutdown();
+        report(total, elapsedNanos);
+    }
+
+    private void send(long scheduledAt, CountDownLatch finished) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            outcome("dropped");
+            finished.countDown();
+            return;
+        }
+        String body = "{\"topic\":\"load test topic " + sequence.incrementAndGet() + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    latenciesNanos.add(System.nanoTime() - scheduledAt);
+                    outcome(error != null ? error.getClass().getSimpleName() : String.valueOf(response.statusCode()));
+                    inFlight.decrementAndGet();
+                    finished.countDown();
+                });
+    }
+
+    private void outcome(String key) {
+        outcomes.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private void report(long total, long elapsedNanos) {
+        long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        long ok = outcomes.getOrDefault("200", new LongAdder()).sum();
+        double seconds = elapsedNanos / 1_000_000_000d;
+
+        log.info("=== load test: {} requests in {} s ===", total, String.format("%.1f", seconds));
+        log.info("throughput: {} req/s (successful {} req/s)",
+                String.format("%.2f", sorted.length / seconds), String.format("%.2f", ok / seconds));
+        log.info("latency ms: p50={} p95={} p99={} max={}",
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        log.info("error rate: {}%", String.format("%.2f", 100.0 * (total - ok) / total));
+        log.info("outcomes: {}", new TreeMap<>(outcomes));
+    }
+
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.min(sorted.length - 1, Math.max(0, index))];
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static Duration parseDuration(String value) {
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.langgraph.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a run is not admitted; {@link #getRetryAfter()} is when a slot is expected to be free.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
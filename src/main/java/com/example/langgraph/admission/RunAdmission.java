@@ -0,0 +1,198 @@
+package com.example.langgraph.admission;
+
+import com.example.langgraph.config.AdmissionProperties;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.TimelineEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Admits interactive runs before they make their first model call.
+ *
+ * <ul>
+ *   <li>At most {@code max-concurrent-runs} run at once; further runs wait in FIFO order,
+ *       at most {@code queue-capacity} of them.</li>
+ *   <li>A run's duration is estimated as an exponentially weighted average of how long
+ *       recent runs took from their first node's start to their last node's finish, so
+ *       nodes that ran concurrently and changes in the path runs take are accounted for.
+ *       Only successful runs admitted through {@link #runFull} count: partial and resumed
+ *       runs, background jobs and bulk runs would make runs look shorter or slower than
+ *       the full interactive runs being admitted.</li>
+ *   <li>A waiting run is expected to get a slot after its position times the estimate divided
+ *       by the slot count. A run whose expected wait plus duration exceeds {@code target-latency}
+ *       is rejected right away, and a queued run that is still waiting when only its estimated
+ *       duration is left of the target is rejected then, before it has cost anything.</li>
+ * </ul>
+ */
+@Component
+public class RunAdmission implements MeterBinder {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final AdmissionProperties properties;
+    private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private final RunLatency runs = new RunLatency();
+    private final AtomicLong rejected = new AtomicLong();
+    private int active;
+
+    public RunAdmission(AdmissionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts {@code run} once a slot is free and frees the slot when the run finishes.
+     *
+     * @throws AdmissionRejectedException if the run is rejected up front; a run rejected
+     *                                    while waiting fails the returned future with it
+     */
+    public <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> run) {
+        if (!properties.enabled()) {
+            return run.get();
+        }
+        return admit().thenCompose(admitted -> {
+            CompletableFuture<T> execution;
+            try {
+                execution = run.get();
+            } catch (RuntimeException e) {
+                release();
+                throw e;
+            }
+            return execution.whenComplete((result, error) -> release());
+        });
+    }
+
+    /**
+     * Like {@link #run} for a run of the whole graph from its entry point; once it succeeds,
+     * its timeline feeds {@link #estimatedRunDuration()}.
+     */
+    public CompletableFuture<GraphState> runFull(Supplier<CompletableFuture<GraphState>> run) {
+        return run(run).whenComplete((state, error) -> {
+            if (error == null) {
+                record(state.getTimeline());
+            }
+        });
+    }
+
+    /**
+     * Expected duration of the next full run.
+     */
+    public Duration estimatedRunDuration() {
+        return runs.average().orElse(properties.initialRunEstimate());
+    }
+
+    private void record(List<TimelineEntry> timeline) {
+        if (timeline.isEmpty()) {
+            return;
+        }
+        Instant first = timeline.get(0).startedAt();
+        Instant last = first;
+        for (TimelineEntry entry : timeline) {
+            Instant finished = entry.startedAt().plusMillis(entry.durationMs());
+            first = entry.startedAt().isBefore(first) ? entry.startedAt() : first;
+            last = finished.isAfter(last) ? finished : last;
+        }
+        runs.record(Duration.between(first, last));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("admission.runs.active", this, RunAdmission::active).register(registry);
+        Gauge.builder("admission.runs.queued", this, RunAdmission::queued).register(registry);
+        Gauge.builder("admission.run.estimate", this, admission -> admission.estimatedRunDuration().toMillis() / 1000.0)
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("admission.runs.rejected", rejected, AtomicLong::get).register(registry);
+    }
+
+    synchronized int active() {
+        return active;
+    }
+
+    synchronized int queued() {
+        return waiting.size();
+    }
+
+    private CompletableFuture<Void> admit() {
+        Duration estimate = estimatedRunDuration();
+        CompletableFuture<Void> admitted = new CompletableFuture<>();
+        synchronized (this) {
+            if (active < properties.maxConcurrentRuns() && waiting.isEmpty()) {
+                active++;
+                return CompletableFuture.completedFuture(null);
+            }
+            Duration wait = expectedWait(waiting.size(), estimate);
+            if (waiting.size() >= properties.queueCapacity()) {
+                throw reject("Too many runs are waiting; retry later", wait);
+            }
+            if (wait.plus(estimate).compareTo(properties.targetLatency()) > 0) {
+                throw reject("Run would take about " + wait.plus(estimate).toSeconds() + "s including the wait for "
+                        + "a free slot, over the target of " + properties.targetLatency().toSeconds() + "s", wait);
+            }
+            waiting.add(admitted);
+        }
+        long maxWait = properties.targetLatency().minus(estimate).toMillis();
+        CompletableFuture.delayedExecutor(maxWait, TimeUnit.MILLISECONDS).execute(() -> expire(admitted, estimate));
+        return admitted;
+    }
+
+    private void expire(CompletableFuture<Void> admitted, Duration estimate) {
+        synchronized (this) {
+            if (!waiting.remove(admitted)) {
+                return;
+            }
+        }
+        admitted.completeExceptionally(reject("No slot became free in time to finish within the target of "
+                + properties.targetLatency().toSeconds() + "s", expectedWait(0, estimate)));
+    }
+
+    private void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+        }
+        // the slot passes straight to the next run
+        next.complete(null);
+    }
+
+    private Duration expectedWait(int position, Duration estimate) {
+        return estimate.multipliedBy(position + 1).dividedBy(properties.maxConcurrentRuns());
+    }
+
+    private AdmissionRejectedException reject(String message, Duration retryAfter) {
+        rejected.incrementAndGet();
+        return new AdmissionRejectedException(message, retryAfter);
+    }
+
+    private static final class RunLatency {
+
+        private double averageNanos;
+        private boolean recorded;
+
+        synchronized void record(Duration duration) {
+            long nanos = duration.toNanos();
+            averageNanos = recorded ? averageNanos + SMOOTHING * (nanos - averageNanos) : nanos;
+            recorded = true;
+        }
+
+        synchronized Optional<Duration> average() {
+            return recorded ? Optional.of(Duration.ofNanos((long) averageNanos)) : Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.langgraph.bulk;
+
+import com.example.langgraph.config.BulkProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Processes a JSONL topic file at startup and then exits.
+ * Enabled by {@code --langgraph.bulk.input=topics.jsonl --langgraph.bulk.output=results.jsonl}.
+ * Progress is kept next to the output ({@code results.jsonl.progress}), and results are
+ * appended, so re-running the same command continues where a previous run stopped.
+ */
+@Component
+@ConditionalOnProperty("langgraph.bulk.input")
+public class BulkCommandLineRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCommandLineRunner.class);
+
+    private final BulkProcessor processor;
+    private final BulkProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    public BulkCommandLineRunner(BulkProcessor processor, BulkProperties properties,
+                                 ConfigurableApplicationContext context) {
+        this.processor = processor;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (properties.output() == null) {
+            throw new IllegalStateException("langgraph.bulk.output must be set together with langgraph.bulk.input");
+        }
+        Path output = properties.output();
+        Path progressFile = output.resolveSibling(output.getFileName() + ".progress");
+        log.info("Bulk run: {} -> {} (parallelism {})", properties.input(), output, properties.parallelism());
+
+        BulkSummary summary;
+        try (BufferedReader reader = Files.newBufferedReader(properties.input(), StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             ProgressLog progress = ProgressLog.open(progressFile)) {
+            summary = processor.process(reader, writer, progress, properties.parallelism());
+        }
+
+        log.info("Bulk run finished: {} succeeded, {} failed, {} skipped",
+                summary.succeeded(), summary.failed(), summary.skipped());
+        int exitCode = summary.failed() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
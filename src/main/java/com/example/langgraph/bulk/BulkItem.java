@@ -0,0 +1,19 @@
+package com.example.langgraph.bulk;
+
+import java.util.Locale;
+
+/**
+ * One line of bulk input: {@code {"id": "...", "topic": "..."}}. The id is optional.
+ */
+public record BulkItem(String id, String topic) {
+
+    /**
+     * Identifies the item in the progress log: its id if given, otherwise the normalized topic.
+     */
+    public String key() {
+        if (id != null && !id.isBlank()) {
+            return id.replaceAll("[\r\n]", " ");
+        }
+        return topic.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.langgraph.bulk;
+
+import com.example.langgraph.dto.WorkflowResponse;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.llm.scheduler.LlmPriority;
+import com.example.langgraph.llm.scheduler.LlmScheduler;
+import com.example.langgraph.nodes.ContentKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the content graph for every topic of a JSON-lines stream.
+ *
+ * Input is read lazily and at most {@code parallelism} topics are in flight at once, so
+ * memory stays flat regardless of input size. Each result is written to the output as
+ * soon as its topic completes (in completion order) and successful topics are recorded
+ * in the {@link ProgressLog}; topics already in the log are skipped.
+ *
+ * If the executor stops accepting topics, reading stops and the topics in flight are
+ * waited for, so every started topic is written before this returns. If the calling
+ * thread is interrupted (e.g. the request timed out), it returns at once and topics
+ * still in flight neither write their result nor record progress, so they run again
+ * when the job is resubmitted.
+ */
+@Component
+public class BulkProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkProcessor.class);
+
+    private final StateGraph contentGraph;
+    private final ExecutorService workflowExecutor;
+    private final ObjectMapper objectMapper;
+
+    public BulkProcessor(StateGraph contentGraph, ExecutorService workflowExecutor, ObjectMapper objectMapper) {
+        this.contentGraph = contentGraph;
+        this.workflowExecutor = workflowExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    public BulkSummary process(BufferedReader input, Writer output, ProgressLog progress, int parallelism)
+            throws IOException, InterruptedException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        Semaphore slots = new Semaphore(parallelism);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        int skipped = 0;
+
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            BulkItem item;
+            try {
+                item = objectMapper.readValue(line, BulkItem.class);
+                if (item.topic() == null || item.topic().isBlank()) {
+                    throw new IllegalArgumentException("topic is required");
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                write(output, BulkResult.failed(null, "Invalid input line: " + e.getMessage()));
+                failed.incrementAndGet();
+                continue;
+            }
+            if (progress.isDone(item.key())) {
+                skipped++;
+                continue;
+            }
+
+            acquire(slots, 1, abandoned);
+            BulkItem current = item;
+            try {
+                workflowExecutor.execute(() -> {
+                    try {
+                        BulkResult result = run(current);
+                        if (abandoned.get()) {
+                            return;
+                        }
+                        write(output, result);
+                        if (result.status() == BulkResult.Status.SUCCEEDED) {
+                            progress.markDone(current.key());
+                            succeeded.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                        log.error("Failed to record bulk result for '{}'", current.topic(), e);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                log.warn("Bulk processing stopped at '{}': {}", current.topic(), e.getMessage());
+                write(output, BulkResult.failed(current, "Bulk processing stopped; resubmit to process the rest"));
+                failed.incrementAndGet();
+                break;
+            }
+        }
+
+        // Wait for the remaining in-flight topics.
+        acquire(slots, parallelism, abandoned);
+        slots.release(parallelism);
+        return new BulkSummary(succeeded.get(), failed.get(), skipped);
+    }
+
+    private static void acquire(Semaphore slots, int permits, AtomicBoolean abandoned) throws InterruptedException {
+        try {
+            slots.acquire(permits);
+        } catch (InterruptedException e) {
+            abandoned.set(true);
+            throw e;
+        }
+    }
+
+    private BulkResult run(BulkItem item) {
+        try {
+            GraphState result = contentGraph.execute(new GraphState(Map.of(ContentKeys.INPUT_TOPIC.name(), item.topic()))
+                    .withRunAttribute(LlmScheduler.PRIORITY_ATTRIBUTE, LlmPriority.BULK.name()));
+            return BulkResult.succeeded(item, WorkflowResponse.from(item.topic(), result));
+        } catch (RuntimeException e) {
+            log.warn("Bulk topic '{}' failed: {}", item.topic(), e.getMessage());
+            return BulkResult.failed(item, e.getMessage());
+        }
+    }
+
+    private void write(Writer output, BulkResult result) throws IOException {
+        String json = objectMapper.writeValueAsString(result);
+        synchronized (output) {
+            output.write(json);
+            output.write('\n');
+            output.flush();
+        }
+    }
+}
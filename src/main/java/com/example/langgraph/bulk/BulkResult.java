@@ -0,0 +1,25 @@
+package com.example.langgraph.bulk;
+
+import com.example.langgraph.dto.WorkflowResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of bulk output, written as soon as its topic finishes.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkResult(String id, String topic, Status status, WorkflowResponse response, String error) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED
+    }
+
+    static BulkResult succeeded(BulkItem item, WorkflowResponse response) {
+        return new BulkResult(item.id(), item.topic(), Status.SUCCEEDED, response, null);
+    }
+
+    static BulkResult failed(BulkItem item, String error) {
+        return new BulkResult(item == null ? null : item.id(), item == null ? null : item.topic(),
+                Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.langgraph.bulk;
+
+/**
+ * Counts of one bulk pass. {@code skipped} topics were already done in an earlier pass.
+ */
+public record BulkSummary(int succeeded, int failed, int skipped) {
+}
@@ -0,0 +1,68 @@
+package com.example.langgraph.bulk;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Append-only record of the bulk items that completed successfully, one key per line.
+ * Reopening the same file lets a restarted job skip everything already done.
+ */
+public class ProgressLog implements Closeable {
+
+    private final Set<String> done;
+    private final BufferedWriter writer;
+
+    private ProgressLog(Set<String> done, BufferedWriter writer) {
+        this.done = done;
+        this.writer = writer;
+    }
+
+    public static ProgressLog open(Path file) throws IOException {
+        Set<String> done = new HashSet<>();
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    done.add(line);
+                }
+            }
+        } else if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new ProgressLog(done, writer);
+    }
+
+    /**
+     * A progress log that forgets everything once closed, for one-off jobs.
+     */
+    public static ProgressLog inMemory() {
+        return new ProgressLog(new HashSet<>(), null);
+    }
+
+    public synchronized boolean isDone(String key) {
+        return done.contains(key);
+    }
+
+    public synchronized void markDone(String key) throws IOException {
+        if (done.add(key) && writer != null) {
+            writer.write(key);
+            writer.newLine();
+            writer.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
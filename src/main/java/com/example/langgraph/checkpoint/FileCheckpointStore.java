@@ -0,0 +1,91 @@
+package com.example.langgraph.checkpoint;
+
+import com.example.langgraph.graph.Checkpoint;
+import com.example.langgraph.graph.CheckpointStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only checkpoint store with one JSON-lines file per run.
+ * Every checkpoint is appended and forced to disk, so the last complete line is
+ * always the latest checkpoint, even after a crash in the middle of a write.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCheckpointStore.class);
+    private static final Pattern SAFE_RUN_ID = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public FileCheckpointStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void save(Checkpoint checkpoint) {
+        Path file = fileFor(checkpoint.runId());
+        try {
+            Files.createDirectories(directory);
+            byte[] line = (objectMapper.writeValueAsString(checkpoint) + "\n").getBytes(StandardCharsets.UTF_8);
+            Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                    StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write checkpoint to " + file, e);
+        }
+    }
+
+    @Override
+    public Optional<Checkpoint> latest(String runId) {
+        Path file = fileFor(runId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read checkpoints from " + file, e);
+        }
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return Optional.of(objectMapper.readValue(line, Checkpoint.class));
+            } catch (IOException e) {
+                log.warn("Skipping truncated checkpoint line {} in {}", i + 1, file);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void delete(String runId) {
+        try {
+            Files.deleteIfExists(fileFor(runId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete checkpoints of run " + runId, e);
+        }
+    }
+
+    private Path fileFor(String runId) {
+        if (!SAFE_RUN_ID.matcher(runId).matches()) {
+            throw new IllegalArgumentException("Invalid run id: " + runId);
+        }
+        return directory.resolve(runId + ".jsonl");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.langgraph.coalesce;
+
+import com.example.langgraph.config.CoalescingProperties;
+import com.example.langgraph.llm.cache.CacheKey;
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * ChatClient advisor that sends identical concurrent completion requests to the model
+ * only once. Requests match on the same key as the response cache; a duplicate of a
+ * streaming request receives the whole completion as a single chunk when it is done.
+ */
+@Component
+public class CoalescingAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private final SingleFlight<String, ChatResponse> calls;
+    private final ChatModel chatModel;
+
+    public CoalescingAdvisor(CoalescingProperties properties, ChatModel chatModel) {
+        this.calls = properties.llmCalls() ? new SingleFlight<>(properties.window()) : SingleFlight.disabled();
+        this.chatModel = chatModel;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        String key = keyOf(request);
+        SingleFlight.Flight<ChatResponse> flight = calls.join(key);
+        if (!flight.leader()) {
+            return response(calls.await(flight), request);
+        }
+        try {
+            ChatClientResponse response = chain.nextCall(request);
+            calls.succeed(key, flight, response.chatResponse());
+            return response;
+        } catch (RuntimeException e) {
+            calls.fail(key, flight, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        // join on subscription, so an assembled but unused stream never leads a flight
+        return Flux.defer(() -> {
+            String key = keyOf(request);
+            SingleFlight.Flight<ChatResponse> flight = calls.join(key);
+            if (!flight.leader()) {
+                return Mono.fromFuture(flight.result()).map(shared -> response(shared, request)).flux();
+            }
+            return new ChatClientMessageAggregator()
+                    .aggregateChatClientResponse(chain.nextStream(request),
+                            aggregated -> calls.succeed(key, flight, aggregated.chatResponse()))
+                    .doOnError(e -> calls.fail(key, flight, e))
+                    .doOnCancel(() -> calls.fail(key, flight, new CancellationException("Leading stream was cancelled")));
+        });
+    }
+
+    long sharedCount() {
+        return calls.sharedCount();
+    }
+
+    private String keyOf(ChatClientRequest request) {
+        return CacheKey.of(request.prompt(), chatModel.getDefaultOptions()).exact();
+    }
+
+    private static ChatClientResponse response(ChatResponse shared, ChatClientRequest request) {
+        return ChatClientResponse.builder()
+                .chatResponse(shared)
+                .context(request.context())
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "llm-call-coalescing";
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside the response cache, outside metrics: only the call that reaches the model is measured.
+        return Ordered.HIGHEST_PRECEDENCE + 150;
+    }
+}
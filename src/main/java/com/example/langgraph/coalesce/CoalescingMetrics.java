@@ -0,0 +1,29 @@
+package com.example.langgraph.coalesce;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes how many runs and model calls were served by another caller's execution.
+ */
+@Component
+public class CoalescingMetrics implements MeterBinder {
+
+    private final RunCoalescer runCoalescer;
+    private final CoalescingAdvisor coalescingAdvisor;
+
+    public CoalescingMetrics(RunCoalescer runCoalescer, CoalescingAdvisor coalescingAdvisor) {
+        this.runCoalescer = runCoalescer;
+        this.coalescingAdvisor = coalescingAdvisor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("graph.runs.coalesced", runCoalescer, RunCoalescer::sharedCount)
+                .register(registry);
+        FunctionCounter.builder("llm.calls.coalesced", coalescingAdvisor, CoalescingAdvisor::sharedCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.langgraph.coalesce;
+
+import com.example.langgraph.config.CoalescingProperties;
+import com.example.langgraph.graph.GraphState;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Shares one graph run between concurrent requests for the same topic, and one resume
+ * between concurrent requests for the same run. Duplicates get the leader's result,
+ * including its run id.
+ */
+@Component
+public class RunCoalescer {
+
+    private final SingleFlight<String, GraphState> runs;
+
+    public RunCoalescer(CoalescingProperties properties) {
+        this.runs = properties.runs() ? new SingleFlight<>(properties.window()) : SingleFlight.disabled();
+    }
+
+    public GraphState run(String topic, Supplier<GraphState> execution) {
+        return runs.execute("run:" + normalize(topic), execution);
+    }
+
+    public GraphState resume(String runId, Supplier<GraphState> execution) {
+        return runs.execute("resume:" + runId, execution);
+    }
+
+    public CompletableFuture<GraphState> runAsync(String topic, Supplier<CompletableFuture<GraphState>> execution) {
+        return runs.executeAsync("run:" + normalize(topic), execution);
+    }
+
+    public CompletableFuture<GraphState> resumeAsync(String runId, Supplier<CompletableFuture<GraphState>> execution) {
+        return runs.executeAsync("resume:" + runId, execution);
+    }
+
+    long sharedCount() {
+        return runs.sharedCount();
+    }
+
+    /**
+     * Topics differing only in case, Unicode form or whitespace count as the same input.
+     */
+    static String normalize(String topic) {
+        if (topic == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(topic, Normalizer.Form.NFKC);
+        return normalized.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
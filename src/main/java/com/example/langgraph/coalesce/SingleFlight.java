@@ -0,0 +1,154 @@
+package com.example.langgraph.coalesce;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers with the same key share one execution.
+ *
+ * The first caller for a key becomes the leader and does the work; callers arriving
+ * while it runs, or within {@code window} after it succeeded, get the leader's result
+ * (or its exception) instead of starting their own. Failures are never kept, so the
+ * next caller after a failure leads a fresh attempt.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final boolean enabled;
+    private final LongAdder shared = new LongAdder();
+
+    public SingleFlight(Duration window) {
+        this(window, true);
+    }
+
+    private SingleFlight(Duration window, boolean enabled) {
+        this.window = window;
+        this.enabled = enabled;
+    }
+
+    /**
+     * An instance that never shares, so every caller leads its own execution.
+     */
+    public static <K, V> SingleFlight<K, V> disabled() {
+        return new SingleFlight<>(Duration.ZERO, false);
+    }
+
+    /**
+     * Joins the flight for {@code key}, or starts one with the caller as leader.
+     * A leader must finish the flight with {@link #succeed} or {@link #fail}.
+     */
+    public Flight<V> join(K key) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        if (!enabled) {
+            return new Flight<>(created, true);
+        }
+        CompletableFuture<V> existing = flights.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return new Flight<>(existing, false);
+        }
+        return new Flight<>(created, true);
+    }
+
+    public void succeed(K key, Flight<V> flight, V value) {
+        flight.result().complete(value);
+        if (!enabled) {
+            return;
+        }
+        if (window.isZero() || window.isNegative()) {
+            flights.remove(key, flight.result());
+        } else {
+            CompletableFuture.delayedExecutor(window.toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> flights.remove(key, flight.result()));
+        }
+    }
+
+    public void fail(K key, Flight<V> flight, Throwable error) {
+        if (enabled) {
+            flights.remove(key, flight.result());
+        }
+        flight.result().completeExceptionally(error);
+    }
+
+    /**
+     * Runs {@code work} as the leader, or waits for the flight already running for {@code key}.
+     */
+    public V execute(K key, Supplier<V> work) {
+        Flight<V> flight = join(key);
+        if (!flight.leader()) {
+            return await(flight);
+        }
+        try {
+            V value = work.get();
+            succeed(key, flight, value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            fail(key, flight, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking {@link #execute}: the leader starts {@code work}, and every caller gets a
+     * future completing with the flight's value or exception.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> work) {
+        Flight<V> flight = join(key);
+        if (flight.leader()) {
+            try {
+                work.get().whenComplete((value, error) -> {
+                    if (error != null) {
+                        fail(key, flight, error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+                    } else {
+                        succeed(key, flight, value);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                fail(key, flight, e);
+            }
+        }
+        return flight.result().copy();
+    }
+
+    /**
+     * Callers that were served by another caller's execution so far.
+     */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    /**
+     * Waits for the flight to finish and returns its value, rethrowing the leader's exception.
+     */
+    public V await(Flight<V> flight) {
+        try {
+            return flight.result().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * A caller's handle on a flight.
+     *
+     * @param result completes with the leader's value or exception
+     * @param leader whether this caller has to do the work
+     */
+    public record Flight<V>(CompletableFuture<V> result, boolean leader) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Admission control for interactive runs bound from {@code langgraph.admission.*}.
+ *
+ * @param enabled            whether interactive runs wait for a slot
+ * @param maxConcurrentRuns  interactive runs executing at the same time
+ * @param queueCapacity      runs that may wait for a slot before new ones are rejected
+ * @param targetLatency      latency objective; runs expected to finish later are rejected up front
+ * @param initialRunEstimate run duration assumed until the first run has finished
+ */
+@ConfigurationProperties("langgraph.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("16") int maxConcurrentRuns,
+        @DefaultValue("32") int queueCapacity,
+        @DefaultValue("3m") Duration targetLatency,
+        @DefaultValue("60s") Duration initialRunEstimate
+) {
+}
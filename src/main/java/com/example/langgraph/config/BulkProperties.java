@@ -0,0 +1,29 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Bulk topic ingestion settings bound from {@code langgraph.bulk.*}.
+ *
+ * @param parallelism       default number of topics processed at the same time
+ * @param maxParallelism    upper bound for the {@code parallelism} a client asks the endpoint for
+ * @param timeout           how long one request to the endpoint may run; independent of
+ *                          {@code spring.mvc.async.request-timeout}
+ * @param progressDirectory where progress files of endpoint jobs are kept
+ * @param input             JSONL input for the command-line runner; the runner is off when unset
+ * @param output            JSONL output for the command-line runner
+ */
+@ConfigurationProperties("langgraph.bulk")
+public record BulkProperties(
+        @DefaultValue("8") int parallelism,
+        @DefaultValue("32") int maxParallelism,
+        @DefaultValue("6h") Duration timeout,
+        @DefaultValue("data/bulk") Path progressDirectory,
+        Path input,
+        Path output
+) {
+}
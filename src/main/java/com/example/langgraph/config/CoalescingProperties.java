@@ -0,0 +1,21 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Request coalescing settings bound from {@code langgraph.coalescing.*}.
+ *
+ * @param runs     whether concurrent runs for the same normalized topic share one execution
+ * @param llmCalls whether identical in-flight model calls share one request
+ * @param window   how long a finished result is still handed to late duplicates; not a cache
+ */
+@ConfigurationProperties("langgraph.coalescing")
+public record CoalescingProperties(
+        @DefaultValue("true") boolean runs,
+        @DefaultValue("true") boolean llmCalls,
+        @DefaultValue("2s") Duration window
+) {
+}
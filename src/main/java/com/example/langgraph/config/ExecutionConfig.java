@@ -0,0 +1,19 @@
+package com.example.langgraph.config;
+
+import com.example.langgraph.graph.GraphExecutors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+public class ExecutionConfig {
+
+    /**
+     * Runs workflows that are detached from the request thread (e.g. bulk jobs).
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService workflowExecutor() {
+        return GraphExecutors.newDefaultExecutor();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.langgraph.config;
+
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.NodePolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Engine settings bound from {@code langgraph.graph.*}.
+ */
+@ConfigurationProperties("langgraph.graph")
+public record GraphProperties(
+        @DefaultValue("PARALLEL") ExecutionMode executionMode,
+        @DefaultValue Checkpoint checkpoint,
+        @DefaultValue Distributed distributed,
+        Map<String, NodeResilience> nodes
+) {
+
+    public GraphProperties {
+        nodes = nodes == null ? Map.of() : Map.copyOf(nodes);
+    }
+
+    public NodePolicy policyFor(String nodeName) {
+        NodeResilience settings = nodes.get(nodeName);
+        return settings == null ? NodePolicy.NONE : settings.toPolicy();
+    }
+
+    public enum CheckpointStoreType {
+        NONE,
+        MEMORY,
+        FILE
+    }
+
+    /**
+     * @param store     where node-boundary checkpoints are kept
+     * @param directory location of the per-run checkpoint files for {@link CheckpointStoreType#FILE}
+     */
+    public record Checkpoint(
+            @DefaultValue("FILE") CheckpointStoreType store,
+            @DefaultValue("data/checkpoints") Path directory
+    ) {
+    }
+
+    public enum TaskQueueType {
+        MEMORY,
+        JDBC
+    }
+
+    /**
+     * Settings for {@link ExecutionMode#DISTRIBUTED} execution.
+     *
+     * @param queue            where node tasks and run records are kept; {@link TaskQueueType#JDBC}
+     *                         uses the application's {@code spring.datasource}
+     * @param workers          nodes this instance runs at once
+     * @param lease            how long a claimed task stays with its worker without renewal
+     * @param pollInterval     how often idle workers and waiting callers check the queue
+     * @param maxAttempts      claims of one task after which its run fails
+     * @param retention        how long a run record may go without advancing before it is
+     *                         deleted: failed runs kept for a resume, uncollected results, orphaned runs
+     * @param initializeSchema whether to create the queue tables at startup
+     */
+    public record Distributed(
+            @DefaultValue("JDBC") TaskQueueType queue,
+            @DefaultValue("8") int workers,
+            @DefaultValue("1m") Duration lease,
+            @DefaultValue("200ms") Duration pollInterval,
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("1h") Duration retention,
+            @DefaultValue("true") boolean initializeSchema
+    ) {
+    }
+
+    /**
+     * Per-node resilience settings under {@code langgraph.graph.nodes.<node-name>.*}.
+     *
+     * @param timeout          limit for each attempt; unset means no limit
+     * @param maxAttempts      total attempts including the first one
+     * @param initialBackoff   wait before the first retry, doubled for every further retry
+     * @param maxBackoff       upper bound for the wait between retries
+     * @param jitter           random spread applied to each wait, as a fraction of it
+     * @param circuitBreaker   fail fast after repeated consecutive failures
+     * @param hedge            send a duplicate attempt when the first one is slow
+     */
+    public record NodeResilience(
+            Duration timeout,
+            @DefaultValue("1") int maxAttempts,
+            @DefaultValue("500ms") Duration initialBackoff,
+            @DefaultValue("10s") Duration maxBackoff,
+            @DefaultValue("0.2") double jitter,
+            @DefaultValue CircuitBreaker circuitBreaker,
+            @DefaultValue Hedge hedge
+    ) {
+
+        NodePolicy toPolicy() {
+            NodePolicy.Builder builder = NodePolicy.builder()
+                    .timeout(timeout)
+                    .retry(maxAttempts, initialBackoff, maxBackoff)
+                    .jitter(jitter)
+                    .retryOn(LlmErrors::isRetryable);
+            if (circuitBreaker.failureThreshold() > 0) {
+                builder.circuitBreaker(circuitBreaker.failureThreshold(), circuitBreaker.openDuration());
+            }
+            if (hedge.enabled()) {
+                builder.hedgeAtPercentile(hedge.percentile(), hedge.delay());
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * @param failureThreshold consecutive failures that open the breaker; 0 disables it
+     * @param openDuration     how long the breaker stays open before a trial call
+     */
+    public record CircuitBreaker(
+            @DefaultValue("0") int failureThreshold,
+            @DefaultValue("30s") Duration openDuration
+    ) {
+    }
+
+    /**
+     * @param enabled    whether slow attempts are hedged
+     * @param percentile latency percentile of recent attempts after which to hedge
+     * @param delay      hedge delay used until enough latencies have been observed
+     */
+    public record Hedge(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("0.95") double percentile,
+            @DefaultValue("30s") Duration delay
+    ) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous job API settings bound from {@code langgraph.jobs.*}.
+ *
+ * @param workers       number of workflows that run at the same time
+ * @param queueCapacity submitted jobs that may wait for a worker before new ones are rejected
+ * @param retention     how long finished jobs stay available for polling
+ */
+@ConfigurationProperties("langgraph.jobs")
+public record JobProperties(
+        @DefaultValue("4") int workers,
+        @DefaultValue("100") int queueCapacity,
+        @DefaultValue("1h") Duration retention
+) {
+}
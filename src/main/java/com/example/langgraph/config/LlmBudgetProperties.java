@@ -0,0 +1,43 @@
+package com.example.langgraph.config;
+
+import com.example.langgraph.llm.budget.Compaction;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Prompt token budgets bound from {@code langgraph.llm.budget.*}.
+ *
+ * @param enabled      whether per-node input caps are enforced
+ * @param encoding     tokenizer used for local counting; gpt-4o uses {@code O200K_BASE}
+ * @param compaction   how oversized upstream fields are shrunk unless a node overrides it
+ * @param retainedRuns finished runs whose token usage stays available for responses
+ * @param nodes        input caps per node name
+ */
+@ConfigurationProperties("langgraph.llm.budget")
+public record LlmBudgetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("O200K_BASE") EncodingType encoding,
+        @DefaultValue("TRUNCATE") Compaction compaction,
+        @DefaultValue("1000") int retainedRuns,
+        Map<String, NodeBudget> nodes
+) {
+
+    public LlmBudgetProperties {
+        nodes = nodes == null ? Map.of() : Map.copyOf(nodes);
+    }
+
+    /**
+     * Per-node settings under {@code langgraph.llm.budget.nodes.<node-name>.*}.
+     *
+     * @param maxInputTokens tokens the upstream fields of the prompt may use together; 0 means no cap
+     * @param compaction     overrides the default compaction for this node
+     */
+    public record NodeBudget(
+            @DefaultValue("0") int maxInputTokens,
+            Compaction compaction
+    ) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * LLM response cache settings bound from {@code langgraph.llm.cache.*}.
+ *
+ * @param enabled    whether completions are served from and written to the cache
+ * @param maxEntries entries kept before the least recently used are evicted
+ * @param ttl        how long an entry stays valid after it was written
+ * @param directory  where the append-only cache file lives; survives restarts
+ * @param semantic   near-duplicate prompt lookup, off by default
+ */
+@ConfigurationProperties("langgraph.llm.cache")
+public record LlmCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxEntries,
+        @DefaultValue("7d") Duration ttl,
+        @DefaultValue("data/llm-cache") Path directory,
+        @DefaultValue Semantic semantic
+) {
+
+    /**
+     * @param enabled   whether a miss on the exact key falls back to similarity search
+     * @param threshold minimum cosine similarity between prompts to count as a hit
+     */
+    public record Semantic(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("0.97") double threshold
+    ) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.langgraph.config;
+
+import org.springframework.ai.retry.NonTransientAiException;
+
+/**
+ * Classifies failures surfaced by Spring AI for node retry policies and the call scheduler.
+ */
+public final class LlmErrors {
+
+    private LlmErrors() {
+    }
+
+    /**
+     * Missing inputs and non-transient provider errors (4xx) are not retried, except
+     * rate limiting (HTTP 429), which Spring AI also reports as non-transient.
+     */
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof IllegalArgumentException || error instanceof NullPointerException) {
+            return false;
+        }
+        if (error instanceof NonTransientAiException) {
+            return isRateLimited(error);
+        }
+        return true;
+    }
+
+    /**
+     * Whether the provider rejected the call with HTTP 429.
+     */
+    public static boolean isRateLimited(Throwable error) {
+        if (!(error instanceof NonTransientAiException)) {
+            return false;
+        }
+        String message = error.getMessage();
+        // Spring AI formats these as "HTTP 429 - <body>"
+        return message != null && (message.startsWith("HTTP 429") || message.startsWith("429"));
+    }
+}
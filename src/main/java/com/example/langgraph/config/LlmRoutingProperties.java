@@ -0,0 +1,66 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-node model selection bound from {@code langgraph.llm.routing.*}.
+ * Nodes without a route use the {@code spring.ai.openai.chat.options} defaults.
+ *
+ * @param enabled whether node routes are applied
+ * @param nodes   model route per node name
+ * @param health  when a primary model counts as degraded
+ */
+@ConfigurationProperties("langgraph.llm.routing")
+public record LlmRoutingProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<String, Route> nodes,
+        @DefaultValue Health health
+) {
+
+    public LlmRoutingProperties {
+        nodes = nodes == null ? Map.of() : Map.copyOf(nodes);
+    }
+
+    /**
+     * @param primary  model the node normally calls
+     * @param fallback model used while the primary is degraded; none keeps the primary
+     */
+    public record Route(ModelOptions primary, ModelOptions fallback) {
+
+        public Route {
+            if (primary == null) {
+                throw new IllegalArgumentException("A model route needs a primary model");
+            }
+        }
+    }
+
+    /**
+     * Options override the defaults; unset values keep them.
+     */
+    public record ModelOptions(String model, Double temperature, Integer maxTokens) {
+
+        public ModelOptions {
+            if (model == null || model.isBlank()) {
+                throw new IllegalArgumentException("A model route needs a model name");
+            }
+        }
+    }
+
+    /**
+     * A model is degraded when, over its last {@code window} calls (at least {@code minCalls}),
+     * the failure rate or the mean latency exceeds its threshold. Traffic returns to it
+     * after {@code cooldown}.
+     */
+    public record Health(
+            @DefaultValue("20") int window,
+            @DefaultValue("5") int minCalls,
+            @DefaultValue("0.5") double errorRateThreshold,
+            @DefaultValue("30s") Duration latencyThreshold,
+            @DefaultValue("30s") Duration cooldown
+    ) {
+    }
+}
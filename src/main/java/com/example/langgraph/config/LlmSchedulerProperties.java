@@ -0,0 +1,59 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Model call scheduling bound from {@code langgraph.llm.scheduler.*}.
+ *
+ * @param enabled                  whether model calls wait for a scheduler permit
+ * @param requestsPerMinute        provider request quota; 0 disables the request bucket
+ * @param tokensPerMinute          provider token quota, charged with prompt plus expected completion; 0 disables it
+ * @param expectedCompletionTokens completion size assumed when the call sets no max tokens
+ * @param concurrency              adaptive limit on calls in flight
+ * @param rateLimitCooldown        pause for every queued call after the provider answered 429
+ * @param maxWait                  how long a call may wait for a permit before it fails
+ * @param tenantWeights            share of the quota per tenant within a priority lane; unlisted tenants weigh 1
+ */
+@ConfigurationProperties("langgraph.llm.scheduler")
+public record LlmSchedulerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("500") int requestsPerMinute,
+        @DefaultValue("30000") int tokensPerMinute,
+        @DefaultValue("800") int expectedCompletionTokens,
+        @DefaultValue Concurrency concurrency,
+        @DefaultValue("2s") Duration rateLimitCooldown,
+        @DefaultValue("2m") Duration maxWait,
+        Map<String, Integer> tenantWeights
+) {
+
+    public LlmSchedulerProperties {
+        tenantWeights = tenantWeights == null ? Map.of() : Map.copyOf(tenantWeights);
+    }
+
+    public int weightOf(String tenant) {
+        return Math.max(1, tenantWeights.getOrDefault(tenant, 1));
+    }
+
+    /**
+     * AIMD limit: grows by one call per limit's worth of fast successes, shrinks by
+     * {@code backoffRatio} on a 429 or a call slower than {@code latencyThreshold}.
+     *
+     * @param initial          limit at startup
+     * @param min              floor the limit never shrinks below
+     * @param max              ceiling the limit never grows above
+     * @param latencyThreshold call latency treated as a sign of provider overload
+     * @param backoffRatio     factor applied to the limit on overload
+     */
+    public record Concurrency(
+            @DefaultValue("8") int initial,
+            @DefaultValue("1") int min,
+            @DefaultValue("64") int max,
+            @DefaultValue("60s") Duration latencyThreshold,
+            @DefaultValue("0.5") double backoffRatio
+    ) {
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.langgraph.config;
 
+import com.example.langgraph.coalesce.CoalescingAdvisor;
+import com.example.langgraph.llm.cache.CachingAdvisor;
+import com.example.langgraph.llm.routing.ModelHealthAdvisor;
+import com.example.langgraph.llm.scheduler.SchedulingAdvisor;
+import com.example.langgraph.metrics.LlmMetricsAdvisor;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,7 +13,11 @@ import org.springframework.context.annotation.Configuration;
 public class OpenAiConfig {
 
     @Bean
-    public ChatClient chatClient(ChatClient.Builder builder) {
-        return builder.build();
+    public ChatClient chatClient(ChatClient.Builder builder, CachingAdvisor cachingAdvisor,
+                                 CoalescingAdvisor coalescingAdvisor, SchedulingAdvisor schedulingAdvisor,
+                                 ModelHealthAdvisor modelHealthAdvisor, LlmMetricsAdvisor metricsAdvisor) {
+        return builder
+                .defaultAdvisors(cachingAdvisor, coalescingAdvisor, schedulingAdvisor, modelHealthAdvisor, metricsAdvisor)
+                .build();
     }
 }
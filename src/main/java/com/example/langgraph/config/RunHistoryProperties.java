@@ -0,0 +1,25 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Run history settings bound from {@code langgraph.history.*}.
+ *
+ * @param enabled          whether finished runs are recorded in {@code spring.datasource}
+ * @param batchSize        runs written per transaction at most
+ * @param flushInterval    how long a finished run may wait for its batch to fill up
+ * @param queueCapacity    finished runs waiting to be written before new ones are dropped
+ * @param initializeSchema whether the history tables are created on startup
+ */
+@ConfigurationProperties("langgraph.history")
+public record RunHistoryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("true") boolean initializeSchema
+) {
+}
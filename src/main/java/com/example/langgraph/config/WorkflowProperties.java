@@ -0,0 +1,38 @@
+package com.example.langgraph.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Content workflow settings bound from {@code langgraph.workflow.*}.
+ */
+@ConfigurationProperties("langgraph.workflow")
+public record WorkflowProperties(
+        @DefaultValue("5m") Duration streamTimeout,
+        @DefaultValue Review review,
+        @DefaultValue Draft draft
+) {
+
+    /**
+     * @param approvalScore review score (1-10) at which the draft skips polishing
+     * @param maxRevisions  polish passes allowed before the latest revision is published as is
+     */
+    public record Review(
+            @DefaultValue("8") int approvalScore,
+            @DefaultValue("1") int maxRevisions
+    ) {
+    }
+
+    /**
+     * @param parallelSections write the introduction, one section per research point and the
+     *                         conclusion as concurrent calls instead of the whole draft in one
+     * @param maxConcurrency   draft calls in flight at a time per run
+     */
+    public record Draft(
+            @DefaultValue("true") boolean parallelSections,
+            @DefaultValue("4") int maxConcurrency
+    ) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.langgraph.controller;
+
+import com.example.langgraph.bulk.BulkProcessor;
+import com.example.langgraph.bulk.ProgressLog;
+import com.example.langgraph.config.BulkProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/workflow/bulk")
+@Tag(name = "Bulk Content Creation", description = "Process many topics from a JSON-lines stream")
+public class BulkController {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final Pattern SAFE_JOB_ID = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final BulkProcessor processor;
+    private final BulkProperties properties;
+
+    public BulkController(BulkProcessor processor, BulkProperties properties) {
+        this.processor = processor;
+        this.properties = properties;
+    }
+
+    @PostMapping(consumes = {NDJSON, MediaType.TEXT_PLAIN_VALUE}, produces = NDJSON)
+    @Operation(summary = "Run the pipeline for every topic of a JSONL body",
+            description = "Each input line is {\"id\": \"...\", \"topic\": \"...\"}. Results are streamed back one "
+                    + "JSON line per topic as they complete. With a jobId, completed topics are remembered and "
+                    + "skipped when the same job is submitted again. parallelism is capped at "
+                    + "langgraph.bulk.max-parallelism, and the request at langgraph.bulk.timeout.")
+    public WebAsyncTask<Void> process(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(required = false) Integer parallelism,
+            @RequestParam(required = false) String jobId) {
+        if (jobId != null && !SAFE_JOB_ID.matcher(jobId).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "jobId may only contain letters, digits, '.', '_' and '-'");
+        }
+        if (parallelism != null && parallelism < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "parallelism must be at least 1");
+        }
+        int limit = Math.min(parallelism != null ? parallelism : properties.parallelism(), properties.maxParallelism());
+
+        // a WebAsyncTask rather than a StreamingResponseBody, so the bulk timeout applies instead of
+        // spring.mvc.async.request-timeout; on timeout the task is interrupted and its topics stop writing
+        Callable<Void> body = () -> {
+            response.setContentType(NDJSON);
+            Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+                 ProgressLog progress = jobId == null
+                         ? ProgressLog.inMemory()
+                         : ProgressLog.open(properties.progressDirectory().resolve(jobId + ".progress"))) {
+                processor.process(reader, writer, progress, limit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            writer.flush();
+            return null;
+        };
+        WebAsyncTask<Void> task = new WebAsyncTask<>(properties.timeout().toMillis(), body);
+        task.onTimeout(() -> {
+            log.warn("Bulk request{} timed out after {}", jobId == null ? "" : " " + jobId, properties.timeout());
+            // topics without a result line were not recorded, so resubmitting the job runs them
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+            return null;
+        });
+        return task;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.langgraph.controller;
+
+import com.example.langgraph.dto.JobStatusResponse;
+import com.example.langgraph.dto.ResponseFields;
+import com.example.langgraph.dto.WorkflowRequest;
+import com.example.langgraph.dto.WorkflowResponse;
+import com.example.langgraph.job.WorkflowJob;
+import com.example.langgraph.job.WorkflowJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/workflow/jobs")
+@Tag(name = "Content Creation Jobs", description = "Submit content creation runs and poll for their result")
+public class JobController {
+
+    private final WorkflowJobService jobService;
+
+    public JobController(WorkflowJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Submit a content creation run",
+            description = "Queues the pipeline on the background worker pool and returns the run id immediately")
+    public ResponseEntity<JobStatusResponse> submit(
+            @RequestBody WorkflowRequest request,
+            @Parameter(description = WorkflowController.TENANT_DESCRIPTION)
+            @RequestHeader(name = WorkflowController.TENANT_HEADER, required = false) String tenant) {
+        try {
+            WorkflowJob job = jobService.submit(request.topic(), WorkflowController.tenantOrDefault(tenant));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/workflow/jobs/" + job.getId()))
+                    .body(JobStatusResponse.from(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    @PostMapping("/{runId}/resume")
+    @Operation(summary = "Resume a failed run",
+            description = "Re-queues a failed run; it continues from the last completed node")
+    public ResponseEntity<JobStatusResponse> resume(@PathVariable String runId) {
+        if (jobService.find(runId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.accepted().body(JobStatusResponse.from(jobService.resume(runId)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get run progress",
+            description = "Returns the run status with completed and currently running nodes")
+    public ResponseEntity<JobStatusResponse> status(@PathVariable String runId) {
+        return jobService.find(runId)
+                .map(job -> ResponseEntity.ok(JobStatusResponse.from(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{runId}/result")
+    @Operation(summary = "Get run result",
+            description = "Returns the final response once the run succeeded, 202 while it is still in progress. "
+                    + "Background runs keep the named fields only, so fullState is never included")
+    public ResponseEntity<WorkflowResponse> result(
+            @PathVariable String runId,
+            @Parameter(description = WorkflowController.FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        ResponseFields selected = WorkflowController.responseFields(fields);
+        return jobService.find(runId)
+                .map(job -> switch (job.getStatus()) {
+                    case SUCCEEDED -> ResponseEntity.ok(job.getResult().project(selected));
+                    case FAILED -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).<WorkflowResponse>build();
+                    case QUEUED, RUNNING -> ResponseEntity.accepted().<WorkflowResponse>build();
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
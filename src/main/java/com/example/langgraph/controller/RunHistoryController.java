@@ -0,0 +1,62 @@
+package com.example.langgraph.controller;
+
+import com.example.langgraph.history.RunHistoryStore;
+import com.example.langgraph.history.RunPage;
+import com.example.langgraph.history.RunQuery;
+import com.example.langgraph.history.RunRecord;
+import com.example.langgraph.history.RunSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/workflow/runs")
+@Tag(name = "Run History", description = "Query finished content creation runs")
+public class RunHistoryController {
+
+    private final RunHistoryStore runHistoryStore;
+
+    public RunHistoryController(RunHistoryStore runHistoryStore) {
+        this.runHistoryStore = runHistoryStore;
+    }
+
+    @GetMapping
+    @Operation(summary = "List finished runs",
+            description = "Returns runs newest first. Runs appear shortly after they finish, once their batch is written")
+    public RunPage list(
+            @Parameter(description = "Topic, ignoring case and surrounding whitespace") @RequestParam(required = false) String topic,
+            @RequestParam(required = false) RunSummary.Status status,
+            @Parameter(description = "Earliest finish time (ISO-8601), inclusive")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Latest finish time (ISO-8601), exclusive")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Only runs that executed this node") @RequestParam(required = false) String node,
+            @Parameter(description = "With node: only runs where the node took at least this many milliseconds")
+            @RequestParam(required = false) Long minNodeMs,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        RunQuery query;
+        try {
+            query = new RunQuery(topic, status, from, to, node, minNodeMs, page, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return runHistoryStore.find(query);
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get a finished run",
+            description = "Returns the run's summary, node latencies, trace and final state")
+    public ResponseEntity<RunRecord> get(@PathVariable String runId) {
+        return runHistoryStore.find(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.langgraph.controller;
+
+import com.example.langgraph.dto.WorkflowEvent;
+import com.example.langgraph.graph.GraphListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Forwards graph execution events to a Server-Sent Events connection.
+ * Once the client goes away, further events are dropped instead of failing the run.
+ */
+class SseGraphListener implements GraphListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SseGraphListener.class);
+
+    private final SseEmitter emitter;
+    private volatile boolean open = true;
+
+    SseGraphListener(SseEmitter emitter) {
+        this.emitter = emitter;
+        emitter.onCompletion(() -> open = false);
+        emitter.onTimeout(() -> open = false);
+        emitter.onError(e -> open = false);
+    }
+
+    @Override
+    public void onNodeStart(String nodeName) {
+        send("node-start", WorkflowEvent.nodeStart(nodeName));
+    }
+
+    @Override
+    public void onNodeOutput(String nodeName, String delta) {
+        send("token", WorkflowEvent.token(nodeName, delta));
+    }
+
+    @Override
+    public void onNodeOutputReset(String nodeName) {
+        send("reset", WorkflowEvent.reset(nodeName));
+    }
+
+    @Override
+    public void onNodeComplete(String nodeName, Duration duration) {
+        send("node-complete", WorkflowEvent.nodeComplete(nodeName, duration.toMillis()));
+    }
+
+    @Override
+    public void onNodeFailed(String nodeName, Throwable error, Duration duration) {
+        send("error", WorkflowEvent.error(nodeName, error.getMessage()));
+    }
+
+    @Override
+    public boolean acceptsNodeOutput() {
+        return open;
+    }
+
+    void send(String eventName, Object payload) {
+        if (!open) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping '{}' event, client disconnected: {}", eventName, e.getMessage());
+            open = false;
+        }
+    }
+}
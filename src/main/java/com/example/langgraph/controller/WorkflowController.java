@@ -1,68 +1,237 @@
 package com.example.langgraph.controller;
 
+import com.example.langgraph.admission.AdmissionRejectedException;
+import com.example.langgraph.admission.RunAdmission;
+import com.example.langgraph.coalesce.RunCoalescer;
+import com.example.langgraph.config.WorkflowProperties;
+import com.example.langgraph.dto.ErrorResponse;
+import com.example.langgraph.dto.PartialRunRequest;
+import com.example.langgraph.dto.ResponseFields;
 import com.example.langgraph.dto.StepInfo;
+import com.example.langgraph.dto.WorkflowEvent;
 import com.example.langgraph.dto.WorkflowRequest;
 import com.example.langgraph.dto.WorkflowResponse;
+import com.example.langgraph.graph.GraphExecutionException;
+import com.example.langgraph.graph.GraphListener;
 import com.example.langgraph.graph.GraphState;
 import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.llm.budget.TokenLedger;
+import com.example.langgraph.llm.scheduler.LlmPriority;
+import com.example.langgraph.llm.scheduler.LlmScheduler;
+import com.example.langgraph.nodes.ContentKeys;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/workflow")
 @Tag(name = "Content Creation Workflow", description = "LangGraph-style content creation pipeline")
 public class WorkflowController {
 
+    static final String FIELDS_DESCRIPTION = "Comma-separated response fields, e.g. finalContent,summary. "
+            + "Defaults to every named field; fullState is only included when listed";
+    static final String TENANT_HEADER = "X-Tenant-Id";
+    static final int MAX_TENANT_LENGTH = 128;
+    static final String TENANT_DESCRIPTION = "Tenant the run's model calls are accounted to for fair sharing of the provider quota "
+            + "(at most " + MAX_TENANT_LENGTH + " characters)";
+
     private final StateGraph contentGraph;
+    private final WorkflowProperties workflowProperties;
+    private final TokenLedger tokenLedger;
+    private final RunCoalescer runCoalescer;
+    private final RunAdmission runAdmission;
 
-    public WorkflowController(StateGraph contentGraph) {
+    public WorkflowController(StateGraph contentGraph,
+                              WorkflowProperties workflowProperties,
+                              TokenLedger tokenLedger,
+                              RunCoalescer runCoalescer,
+                              RunAdmission runAdmission) {
         this.contentGraph = contentGraph;
+        this.workflowProperties = workflowProperties;
+        this.tokenLedger = tokenLedger;
+        this.runCoalescer = runCoalescer;
+        this.runAdmission = runAdmission;
     }
 
     @PostMapping("/content-creation")
     @Operation(summary = "Execute the full content creation pipeline",
-            description = "Runs all 5 stages: topic analysis, research, draft writing, review, and summary")
-    public ResponseEntity<WorkflowResponse> executeWorkflow(@RequestBody WorkflowRequest request) {
-        GraphState initialState = new GraphState(Map.of("input_topic", request.topic()));
-        GraphState result = contentGraph.execute(initialState);
-
-        WorkflowResponse response = new WorkflowResponse(
-                request.topic(),
-                result.getString("topic_analysis"),
-                result.getString("research_points"),
-                result.getString("draft_content"),
-                result.getString("review_notes"),
-                result.getString("final_content"),
-                result.getString("summary"),
-                result.getExecutionTrace(),
-                result.asMap()
-        );
+            description = "Runs the pipeline: topic analysis, research, draft writing, review (with optional polish), and summary. "
+                    + "Concurrent requests for the same topic share one run. Answers 429 with Retry-After when the run "
+                    + "could not finish within the latency target")
+    public CompletableFuture<ResponseEntity<WorkflowResponse>> executeWorkflow(
+            @RequestBody WorkflowRequest request,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @Parameter(description = TENANT_DESCRIPTION) @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        ResponseFields selected = responseFields(fields);
+        return runCoalescer.runAsync(request.topic(), () -> runAdmission.runFull(() ->
+                        contentGraph.executeAsync(interactiveRun(request.topic(), tenant))))
+                .thenApply(result -> ResponseEntity.ok(response(request.topic(), result, selected)));
+    }
+
+    @PostMapping("/content-creation/runs/{runId}/resume")
+    @Operation(summary = "Resume a failed run",
+            description = "Continues a failed or interrupted run from its last checkpoint, skipping completed nodes")
+    public CompletableFuture<ResponseEntity<WorkflowResponse>> resumeWorkflow(
+            @PathVariable String runId,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        ResponseFields selected = responseFields(fields);
+        return runCoalescer.resumeAsync(runId, () -> runAdmission.run(() ->
+                        contentGraph.resumeAsync(runId, GraphListener.NOOP)))
+                .handle((result, error) -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof IllegalArgumentException notFound) {
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND, notFound.getMessage());
+                    }
+                    if (cause instanceof IllegalStateException conflict) {
+                        // a distributed run that is still going on some instance
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, conflict.getMessage());
+                    }
+                    if (cause != null) {
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                    }
+                    return ResponseEntity.ok(response(result.get(ContentKeys.INPUT_TOPIC), result, selected));
+                });
+    }
+
+    @PostMapping("/content-creation/from/{node}")
+    @Operation(summary = "Re-run the pipeline from a step",
+            description = "Runs the given step and the steps after it on the supplied state, e.g. a new summary or a new "
+                    + "polish of an edited draft, without repeating the earlier model calls. The state must contain the "
+                    + "channels listed as requiredToStart by /content-creation/steps")
+    public CompletableFuture<ResponseEntity<WorkflowResponse>> executeFrom(
+            @PathVariable String node,
+            @RequestBody PartialRunRequest request,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @Parameter(description = TENANT_DESCRIPTION) @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        ResponseFields selected = responseFields(fields);
+        GraphState state = new GraphState(request.state() == null ? Map.of() : request.state())
+                .withRunAttribute(LlmScheduler.PRIORITY_ATTRIBUTE, LlmPriority.INTERACTIVE.name())
+                .withRunAttribute(LlmScheduler.TENANT_ATTRIBUTE, tenantOrDefault(tenant));
+        return runAdmission.run(() -> contentGraph.executeAsync(node, state, GraphListener.NOOP))
+                .handle((result, error) -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof IllegalArgumentException invalid) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, invalid.getMessage());
+                    }
+                    if (cause != null) {
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                    }
+                    return ResponseEntity.ok(response(result.get(ContentKeys.INPUT_TOPIC), result, selected));
+                });
+    }
+
+    @PostMapping(value = "/content-creation/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream the content creation pipeline",
+            description = "Runs the pipeline and streams node-start, token, node-complete events as Server-Sent Events, "
+                    + "followed by a final 'complete' event carrying the response")
+    public SseEmitter streamWorkflow(
+            @RequestBody WorkflowRequest request,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @Parameter(description = TENANT_DESCRIPTION) @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        ResponseFields selected = responseFields(fields);
+        SseEmitter emitter = new SseEmitter(workflowProperties.streamTimeout().toMillis());
+        SseGraphListener listener = new SseGraphListener(emitter);
+
+        runAdmission.runFull(() -> contentGraph.executeAsync(interactiveRun(request.topic(), tenant), listener))
+                .whenComplete((result, error) -> {
+                    try {
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            listener.send("error", WorkflowEvent.error(null, cause.getMessage()));
+                        } else {
+                            listener.send("complete", response(request.topic(), result, selected));
+                        }
+                    } catch (RuntimeException e) {
+                        listener.send("error", WorkflowEvent.error(null, e.getMessage()));
+                    }
+                    emitter.complete();
+                });
+        return emitter;
+    }
+
+    private static GraphState interactiveRun(String topic, String tenant) {
+        return new GraphState(Map.of(ContentKeys.INPUT_TOPIC.name(), topic))
+                .withRunAttribute(LlmScheduler.PRIORITY_ATTRIBUTE, LlmPriority.INTERACTIVE.name())
+                .withRunAttribute(LlmScheduler.TENANT_ATTRIBUTE, tenantOrDefault(tenant));
+    }
+
+    static String tenantOrDefault(String tenant) {
+        if (tenant == null || tenant.isBlank()) {
+            return LlmScheduler.DEFAULT_TENANT;
+        }
+        if (tenant.strip().length() > MAX_TENANT_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    TENANT_HEADER + " must be at most " + MAX_TENANT_LENGTH + " characters");
+        }
+        return tenant.strip();
+    }
+
+    private WorkflowResponse response(String topic, GraphState result, ResponseFields fields) {
+        return WorkflowResponse.from(topic, result, fields, tokenLedger.usage(result.getRunId()).orElse(null));
+    }
+
+    static ResponseFields responseFields(String fields) {
+        try {
+            return ResponseFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleRejection(AdmissionRejectedException e, HttpServletRequest request) {
+        long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        // the stream endpoint only produces text/event-stream, which cannot carry the JSON body
+        if (request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE) instanceof Set<?> produced
+                && produced.contains(MediaType.TEXT_EVENT_STREAM)) {
+            return response.build();
+        }
+        return response.body(new ErrorResponse(e.getMessage(), null, null));
+    }
 
-        return ResponseEntity.ok(response);
+    @ExceptionHandler(GraphExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleExecutionFailure(GraphExecutionException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(e.getMessage(), e.getRunId(), e.getNodeName()));
     }
 
     @GetMapping("/content-creation/steps")
     @Operation(summary = "List pipeline steps",
-            description = "Returns the ordered list of steps in the content creation pipeline")
+            description = "Returns the ordered list of steps in the content creation pipeline with the steps each one depends on")
     public ResponseEntity<List<StepInfo>> getSteps() {
         List<String> nodeNames = contentGraph.getNodeNames();
         Map<String, String> descriptions = Map.of(
                 "topic_analysis", "Analyzes the input topic to determine target audience, key angles, and tone",
                 "research", "Generates 5-7 key research points based on the topic analysis",
                 "draft_writing", "Writes a 600-800 word blog post draft using the analysis and research",
-                "review", "Reviews the draft and produces a polished final version",
+                "review", "Reviews the draft and scores how ready it is for publication",
+                "polish", "Revises the draft based on the review (skipped for well-rated drafts)",
                 "summary", "Generates a summary, SEO keywords, and meta description"
         );
 
         List<StepInfo> steps = new java.util.ArrayList<>();
         for (int i = 0; i < nodeNames.size(); i++) {
             String name = nodeNames.get(i);
-            steps.add(new StepInfo(i + 1, name, descriptions.getOrDefault(name, "")));
+            steps.add(new StepInfo(i + 1, name, descriptions.getOrDefault(name, ""),
+                    List.copyOf(contentGraph.getDataDependencies().dependenciesOf(name)),
+                    List.copyOf(contentGraph.getDataDependencies().requiredToStartAt(name))));
         }
         return ResponseEntity.ok(steps);
     }
@@ -0,0 +1,208 @@
+package com.example.langgraph.distributed;
+
+import com.example.langgraph.graph.Checkpoint;
+import com.example.langgraph.graph.DistributedRun;
+import com.example.langgraph.graph.NodeTask;
+import com.example.langgraph.graph.NodeTaskQueue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Task queue and run records in two tables of a shared database, so every instance
+ * pointing at the same database takes part in the same runs.
+ *
+ * Claims are compare-and-set updates on the task's lease, so no row stays locked while a
+ * node runs. {@link #advance} locks the run's row for the rest of its transaction, which
+ * serializes the completions of concurrently running nodes of one run.
+ */
+public class JdbcNodeTaskQueue implements NodeTaskQueue {
+
+    private static final TypeReference<Map<String, String>> ATTRIBUTES = new TypeReference<>() {
+    };
+    private static final int CLAIM_CANDIDATES = 16;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public JdbcNodeTaskQueue(DataSource dataSource, ObjectMapper objectMapper) {
+        this(dataSource, objectMapper, Clock.systemUTC());
+    }
+
+    JdbcNodeTaskQueue(DataSource dataSource, ObjectMapper objectMapper, Clock clock) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the queue's tables unless they exist.
+     */
+    public void createSchema() {
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS graph_run (
+                    run_id VARCHAR(128) PRIMARY KEY,
+                    status VARCHAR(16) NOT NULL,
+                    checkpoint_json CLOB NOT NULL,
+                    attributes_json CLOB NOT NULL,
+                    failed_node VARCHAR(128),
+                    failure VARCHAR(4000),
+                    updated_at TIMESTAMP NOT NULL
+                )""");
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS graph_node_task (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    run_id VARCHAR(128) NOT NULL,
+                    node VARCHAR(128) NOT NULL,
+                    attempt INT NOT NULL,
+                    claimed_by VARCHAR(128),
+                    lease_until TIMESTAMP
+                )""");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS graph_node_task_run ON graph_node_task (run_id)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS graph_run_updated ON graph_run (updated_at)");
+    }
+
+    @Override
+    public void submit(DistributedRun run, List<String> nodes) {
+        transactions.executeWithoutResult(status -> {
+            // a running record stays, so resuming a run that is still going fails on the key
+            jdbc.update("DELETE FROM graph_run WHERE run_id = ? AND status <> ?", run.runId(),
+                    DistributedRun.Status.RUNNING.name());
+            jdbc.update("INSERT INTO graph_run (run_id, status, checkpoint_json, attributes_json, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?)",
+                    run.runId(), run.status().name(), json(run.checkpoint()), json(run.attributes()), now());
+            enqueue(run.runId(), nodes);
+        });
+    }
+
+    @Override
+    public Optional<NodeTask> claim(String workerId, Duration lease) {
+        Timestamp now = now();
+        List<Long> candidates = jdbc.queryForList("SELECT id FROM graph_node_task "
+                        + "WHERE lease_until IS NULL OR lease_until < ? ORDER BY id FETCH FIRST "
+                        + CLAIM_CANDIDATES + " ROWS ONLY",
+                Long.class, now);
+        Timestamp leaseUntil = Timestamp.from(now.toInstant().plus(lease));
+        for (Long id : candidates) {
+            int claimed = jdbc.update("UPDATE graph_node_task SET claimed_by = ?, lease_until = ?, attempt = attempt + 1 "
+                    + "WHERE id = ? AND (lease_until IS NULL OR lease_until < ?)", workerId, leaseUntil, id, now);
+            if (claimed == 1) {
+                return jdbc.query("SELECT id, run_id, node, attempt FROM graph_node_task WHERE id = ?",
+                        (rs, row) -> new NodeTask(rs.getLong("id"), rs.getString("run_id"), rs.getString("node"),
+                                rs.getInt("attempt")), id).stream().findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean renew(NodeTask task, String workerId, Duration lease) {
+        return jdbc.update("UPDATE graph_node_task SET lease_until = ? WHERE id = ? AND claimed_by = ? AND attempt = ?",
+                Timestamp.from(clock.instant().plus(lease)), task.id(), workerId, task.attempt()) == 1;
+    }
+
+    @Override
+    public Optional<DistributedRun> run(String runId) {
+        return jdbc.query("SELECT * FROM graph_run WHERE run_id = ?", this::mapRun, runId).stream().findFirst();
+    }
+
+    @Override
+    public boolean advance(NodeTask task, String workerId, Function<DistributedRun, Transition> transition) {
+        return Boolean.TRUE.equals(transactions.execute(status -> {
+            Optional<DistributedRun> locked = jdbc.query("SELECT * FROM graph_run WHERE run_id = ? FOR UPDATE",
+                    this::mapRun, task.runId()).stream().findFirst();
+            int removed = jdbc.update("DELETE FROM graph_node_task WHERE id = ? AND claimed_by = ? AND attempt = ?",
+                    task.id(), workerId, task.attempt());
+            if (removed == 0) {
+                return false;
+            }
+            if (locked.isEmpty() || locked.get().status() != DistributedRun.Status.RUNNING) {
+                return true;
+            }
+            Transition next = transition.apply(locked.get());
+            DistributedRun run = next.run();
+            jdbc.update("UPDATE graph_run SET status = ?, checkpoint_json = ?, failed_node = ?, failure = ?, "
+                            + "updated_at = ? WHERE run_id = ?",
+                    run.status().name(), json(run.checkpoint()), run.failedNode(), truncate(run.error()), now(),
+                    run.runId());
+            if (run.status() == DistributedRun.Status.RUNNING) {
+                enqueue(run.runId(), next.next());
+            } else {
+                jdbc.update("DELETE FROM graph_node_task WHERE run_id = ?", run.runId());
+            }
+            return true;
+        }));
+    }
+
+    @Override
+    public void remove(String runId) {
+        transactions.executeWithoutResult(status -> {
+            jdbc.update("DELETE FROM graph_node_task WHERE run_id = ?", runId);
+            jdbc.update("DELETE FROM graph_run WHERE run_id = ?", runId);
+        });
+    }
+
+    @Override
+    public int expire(Instant before) {
+        Timestamp cutoff = Timestamp.from(before);
+        return Objects.requireNonNullElse(transactions.execute(status -> {
+            jdbc.update("DELETE FROM graph_node_task WHERE run_id IN "
+                    + "(SELECT run_id FROM graph_run WHERE updated_at < ?)", cutoff);
+            return jdbc.update("DELETE FROM graph_run WHERE updated_at < ?", cutoff);
+        }), 0);
+    }
+
+    private void enqueue(String runId, List<String> nodes) {
+        jdbc.batchUpdate("INSERT INTO graph_node_task (run_id, node, attempt) VALUES (?, ?, 0)",
+                nodes.stream().map(node -> new Object[]{runId, node}).toList());
+    }
+
+    private DistributedRun mapRun(ResultSet rs, int row) throws SQLException {
+        try {
+            return new DistributedRun(
+                    rs.getString("run_id"),
+                    DistributedRun.Status.valueOf(rs.getString("status")),
+                    objectMapper.readValue(rs.getString("checkpoint_json"), Checkpoint.class),
+                    objectMapper.readValue(rs.getString("attributes_json"), ATTRIBUTES),
+                    rs.getString("failed_node"),
+                    rs.getString("failure"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable record of run " + rs.getString("run_id"), e);
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Run state is not serializable to JSON", e);
+        }
+    }
+
+    private Timestamp now() {
+        return Timestamp.from(clock.instant());
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 4000 ? error : error.substring(0, 4000);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.langgraph.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Error body for failed workflow requests. {@code runId} is set when the run can be resumed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(String message, String runId, String node) {
+}
@@ -0,0 +1,34 @@
+package com.example.langgraph.dto;
+
+import com.example.langgraph.job.JobStatus;
+import com.example.langgraph.job.WorkflowJob;
+
+import java.time.Instant;
+import java.util.List;
+
+public record JobStatusResponse(
+        String runId,
+        String topic,
+        JobStatus status,
+        List<String> completedNodes,
+        List<String> runningNodes,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+
+    public static JobStatusResponse from(WorkflowJob job) {
+        return new JobStatusResponse(
+                job.getId(),
+                job.getTopic(),
+                job.getStatus(),
+                job.getCompletedNodes(),
+                job.getRunningNodes(),
+                job.getSubmittedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.langgraph.dto;
+
+import java.util.Map;
+
+/**
+ * State to re-run part of the pipeline on, keyed by channel name (e.g. {@code draft_content}).
+ */
+public record PartialRunRequest(Map<String, Object> state) {
+}
@@ -0,0 +1,51 @@
+package com.example.langgraph.dto;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of a {@link WorkflowResponse} a client asked for, parsed from a
+ * comma-separated {@code ?fields=} parameter. Without the parameter every named
+ * field is returned except {@code fullState}, which repeats them all.
+ */
+public record ResponseFields(Set<String> names) {
+
+    public static final String FULL_STATE = "fullState";
+
+    public static final List<String> AVAILABLE = List.of(
+            "topic", "topicAnalysis", "researchPoints", "draftContent", "reviewNotes",
+            "finalContent", "summary", "executionTrace", "timeline", "tokenUsage", FULL_STATE);
+
+    public static final ResponseFields DEFAULT = new ResponseFields(AVAILABLE.stream()
+            .filter(name -> !name.equals(FULL_STATE))
+            .collect(Collectors.toUnmodifiableSet()));
+
+    public ResponseFields {
+        names = Set.copyOf(names);
+    }
+
+    /**
+     * @throws IllegalArgumentException for names that are not response fields
+     */
+    public static ResponseFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULT;
+        }
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<String> unknown = names.stream().filter(name -> !AVAILABLE.contains(name)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown response fields " + unknown + ", expected any of " + AVAILABLE);
+        }
+        return names.isEmpty() ? DEFAULT : new ResponseFields(names);
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+}
@@ -1,4 +1,13 @@
 package com.example.langgraph.dto;
 
-public record StepInfo(int order, String name, String description) {
+import java.util.List;
+
+/**
+ * One step of the content creation pipeline.
+ *
+ * @param dependsOn       steps whose results this step uses, derived from the nodes' declared reads and writes
+ * @param requiredToStart state channels a run starting at this step must be given
+ */
+public record StepInfo(int order, String name, String description, List<String> dependsOn,
+                       List<String> requiredToStart) {
 }
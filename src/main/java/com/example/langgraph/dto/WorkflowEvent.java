@@ -0,0 +1,31 @@
+package com.example.langgraph.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Payload of a Server-Sent Event emitted while a workflow streams.
+ * Only the fields relevant to the event type are populated.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WorkflowEvent(String node, String delta, Long durationMs, String message) {
+
+    public static WorkflowEvent nodeStart(String node) {
+        return new WorkflowEvent(node, null, null, null);
+    }
+
+    public static WorkflowEvent token(String node, String delta) {
+        return new WorkflowEvent(node, delta, null, null);
+    }
+
+    public static WorkflowEvent reset(String node) {
+        return new WorkflowEvent(node, null, null, null);
+    }
+
+    public static WorkflowEvent nodeComplete(String node, long durationMs) {
+        return new WorkflowEvent(node, null, durationMs, null);
+    }
+
+    public static WorkflowEvent error(String node, String message) {
+        return new WorkflowEvent(node, null, null, message);
+    }
+}
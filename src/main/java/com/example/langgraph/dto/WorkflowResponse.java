@@ -1,8 +1,20 @@
 package com.example.langgraph.dto;
 
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.TimelineEntry;
+import com.example.langgraph.llm.budget.TokenUsage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.Map;
 
+import static com.example.langgraph.nodes.ContentKeys.*;
+
+/**
+ * Result of a workflow run. Fields the client did not ask for are left out of the JSON;
+ * {@code fullState} is only populated on request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record WorkflowResponse(
         String topic,
         String topicAnalysis,
@@ -12,6 +24,51 @@ public record WorkflowResponse(
         String finalContent,
         String summary,
         List<String> executionTrace,
+        List<TimelineEntry> timeline,
+        TokenUsage tokenUsage,
         Map<String, Object> fullState
 ) {
+
+    public static WorkflowResponse from(String topic, GraphState result) {
+        return from(topic, result, ResponseFields.DEFAULT);
+    }
+
+    public static WorkflowResponse from(String topic, GraphState result, ResponseFields fields) {
+        return from(topic, result, fields, null);
+    }
+
+    public static WorkflowResponse from(String topic, GraphState result, ResponseFields fields, TokenUsage tokenUsage) {
+        return new WorkflowResponse(
+                fields.includes("topic") ? topic : null,
+                fields.includes("topicAnalysis") ? result.get(TOPIC_ANALYSIS) : null,
+                fields.includes("researchPoints") ? result.get(RESEARCH_POINTS) : null,
+                fields.includes("draftContent") ? result.get(DRAFT_CONTENT) : null,
+                fields.includes("reviewNotes") ? result.get(REVIEW_NOTES) : null,
+                fields.includes("finalContent") ? result.get(FINAL_CONTENT) : null,
+                fields.includes("summary") ? result.get(SUMMARY) : null,
+                fields.includes("executionTrace") ? result.getExecutionTrace() : null,
+                fields.includes("timeline") ? result.getTimeline() : null,
+                fields.includes("tokenUsage") ? tokenUsage : null,
+                fields.includes(ResponseFields.FULL_STATE) ? result.asMap() : null
+        );
+    }
+
+    /**
+     * Narrows an already built response, e.g. one kept by a background job.
+     */
+    public WorkflowResponse project(ResponseFields fields) {
+        return new WorkflowResponse(
+                fields.includes("topic") ? topic : null,
+                fields.includes("topicAnalysis") ? topicAnalysis : null,
+                fields.includes("researchPoints") ? researchPoints : null,
+                fields.includes("draftContent") ? draftContent : null,
+                fields.includes("reviewNotes") ? reviewNotes : null,
+                fields.includes("finalContent") ? finalContent : null,
+                fields.includes("summary") ? summary : null,
+                fields.includes("executionTrace") ? executionTrace : null,
+                fields.includes("timeline") ? timeline : null,
+                fields.includes("tokenUsage") ? tokenUsage : null,
+                fields.includes(ResponseFields.FULL_STATE) ? fullState : null
+        );
+    }
 }
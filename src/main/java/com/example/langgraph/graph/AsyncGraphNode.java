@@ -0,0 +1,31 @@
+package com.example.langgraph.graph;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Node that waits on I/O (e.g. a streamed model call) without holding a thread.
+ * {@link #processAsync} returns as soon as the I/O is started; {@link #process}, used by
+ * sequential and distributed runs, waits for it.
+ *
+ * The node's {@link NodeContext} is bound only while {@code processAsync} runs on the
+ * calling thread. Work started later, in a completion stage, must capture the context and
+ * {@link NodeContext#bind() bind} it itself to be attributed to the node.
+ */
+public interface AsyncGraphNode extends GraphNode {
+
+    @Override
+    CompletableFuture<GraphState> processAsync(GraphState state);
+
+    @Override
+    default GraphState process(GraphState state) {
+        try {
+            return processAsync(state).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.langgraph.graph;
+
+/**
+ * Decides which of a {@link ResilientNode}'s attempts streams its output to the node's listener.
+ *
+ * The first attempt of a round (a try plus its hedges) to produce output streams it live;
+ * the others buffer theirs. Once output already sent belongs to an attempt that failed,
+ * timed out, or lost, the listener gets {@link GraphListener#onNodeOutputReset} before the
+ * output of the attempt that takes over, starting with what that attempt had buffered.
+ * Output of attempts from earlier rounds, and of any attempt once one has won, is dropped.
+ */
+final class AttemptOutput {
+
+    private final NodeContext node;
+    private int round;
+    private Source live;
+    private boolean sent;
+    private boolean settled;
+
+    AttemptOutput(NodeContext node) {
+        this.node = node;
+    }
+
+    /**
+     * Starts a new round; attempts of earlier rounds can no longer stream or win.
+     */
+    synchronized void nextRound() {
+        round++;
+        live = null;
+    }
+
+    /**
+     * Returns the context an attempt of the current round runs with.
+     */
+    synchronized NodeContext newAttempt() {
+        return node.withOutput(new Source(round));
+    }
+
+    synchronized void failed(NodeContext attempt) {
+        if (live == attempt.output()) {
+            live = null;
+        }
+    }
+
+    synchronized void won(NodeContext attempt) {
+        Source winner = (Source) attempt.output();
+        if (live != winner) {
+            takeOver(winner);
+        }
+        settled = true;
+    }
+
+    private synchronized void emit(Source source, String delta) {
+        if (settled || source.round != round) {
+            return;
+        }
+        if (live == null) {
+            takeOver(source);
+        }
+        if (live == source) {
+            node.emitOutput(delta);
+            sent = true;
+        } else {
+            source.buffer.append(delta);
+        }
+    }
+
+    private void takeOver(Source source) {
+        if (sent) {
+            node.resetOutput();
+        }
+        live = source;
+        sent = !source.buffer.isEmpty();
+        if (sent) {
+            node.emitOutput(source.buffer.toString());
+            source.buffer.setLength(0);
+        }
+    }
+
+    private final class Source implements GraphListener {
+
+        private final int round;
+        private final StringBuilder buffer = new StringBuilder();
+
+        Source(int round) {
+            this.round = round;
+        }
+
+        @Override
+        public void onNodeOutput(String nodeName, String delta) {
+            emit(this, delta);
+        }
+
+        @Override
+        public boolean acceptsNodeOutput() {
+            return node.streamsOutput();
+        }
+    }
+}
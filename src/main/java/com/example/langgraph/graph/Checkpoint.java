@@ -0,0 +1,30 @@
+package com.example.langgraph.graph;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of a run taken right after a node completed.
+ *
+ * @param runId          the run this checkpoint belongs to
+ * @param sequence       increases by one with every checkpoint of the run
+ * @param nodeName       the node whose completion produced this checkpoint
+ * @param state          the full state data at that point
+ * @param completedNodes every node that has completed so far, including {@code nodeName}
+ * @param timeline       the run's timeline at that point
+ * @param createdAt      when the checkpoint was taken
+ * @param startNode      the node the run started from, {@code null} for the entry point
+ */
+public record Checkpoint(
+        String runId,
+        int sequence,
+        String nodeName,
+        Map<String, Object> state,
+        Set<String> completedNodes,
+        List<TimelineEntry> timeline,
+        Instant createdAt,
+        String startNode
+) {
+}
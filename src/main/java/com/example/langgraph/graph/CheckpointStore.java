@@ -0,0 +1,19 @@
+package com.example.langgraph.graph;
+
+import java.util.Optional;
+
+/**
+ * Persists {@link Checkpoint}s so that a failed or interrupted run can be resumed
+ * from its last completed node with {@link StateGraph#resume(String)}.
+ */
+public interface CheckpointStore {
+
+    void save(Checkpoint checkpoint);
+
+    Optional<Checkpoint> latest(String runId);
+
+    /**
+     * Drops all checkpoints of a run; called once the run has completed successfully.
+     */
+    void delete(String runId);
+}
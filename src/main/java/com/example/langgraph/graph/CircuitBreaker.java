@@ -0,0 +1,52 @@
+package com.example.langgraph.graph;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker guarding one node.
+ * CLOSED lets everything through; after {@code threshold} consecutive failures it turns
+ * OPEN and rejects calls until {@code openDuration} has passed, then lets a single trial
+ * call through (HALF_OPEN) whose outcome closes or re-opens it.
+ */
+final class CircuitBreaker {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int threshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    CircuitBreaker(int threshold, Duration openDuration) {
+        this.threshold = threshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;
+            case OPEN -> {
+                if (System.nanoTime() - openedAt >= openNanos) {
+                    state = State.HALF_OPEN;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= threshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.langgraph.graph;
+
+/**
+ * Thrown instead of running a node while its circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.langgraph.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fans events out to several listeners, isolating the run from listener failures.
+ */
+final class CompositeGraphListener implements GraphListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CompositeGraphListener.class);
+
+    private final List<GraphListener> listeners;
+
+    CompositeGraphListener(List<GraphListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public void onRunStart(String runId) {
+        each(listener -> listener.onRunStart(runId));
+    }
+
+    @Override
+    public void onRunComplete(String runId, Duration duration) {
+        each(listener -> listener.onRunComplete(runId, duration));
+    }
+
+    @Override
+    public void onRunFailed(String runId, Throwable error, Duration duration) {
+        each(listener -> listener.onRunFailed(runId, error, duration));
+    }
+
+    @Override
+    public void onRunEnd(GraphState state, Throwable error, Duration duration) {
+        each(listener -> listener.onRunEnd(state, error, duration));
+    }
+
+    @Override
+    public void onNodeStart(String nodeName) {
+        each(listener -> listener.onNodeStart(nodeName));
+    }
+
+    @Override
+    public void onNodeComplete(String nodeName, Duration duration) {
+        each(listener -> listener.onNodeComplete(nodeName, duration));
+    }
+
+    @Override
+    public void onNodeFailed(String nodeName, Throwable error, Duration duration) {
+        each(listener -> listener.onNodeFailed(nodeName, error, duration));
+    }
+
+    @Override
+    public void onNodeOutput(String nodeName, String delta) {
+        for (GraphListener listener : listeners) {
+            if (listener.acceptsNodeOutput()) {
+                notify(listener, l -> l.onNodeOutput(nodeName, delta));
+            }
+        }
+    }
+
+    @Override
+    public void onNodeOutputReset(String nodeName) {
+        for (GraphListener listener : listeners) {
+            if (listener.acceptsNodeOutput()) {
+                notify(listener, l -> l.onNodeOutputReset(nodeName));
+            }
+        }
+    }
+
+    @Override
+    public boolean acceptsNodeOutput() {
+        for (GraphListener listener : listeners) {
+            if (listener.acceptsNodeOutput()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void each(Consumer<GraphListener> event) {
+        for (GraphListener listener : listeners) {
+            notify(listener, event);
+        }
+    }
+
+    private static void notify(GraphListener listener, Consumer<GraphListener> event) {
+        try {
+            event.accept(listener);
+        } catch (RuntimeException e) {
+            log.warn("Graph listener {} failed", listener.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.langgraph.graph;
+
+import java.util.Set;
+
+/**
+ * Edges from {@code from} to whichever of {@code targets} the router picks at run time.
+ */
+record ConditionalEdge(String from, EdgeRouter router, Set<String> targets) {
+}
@@ -0,0 +1,353 @@
+package com.example.langgraph.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Data-dependency DAG of a compiled graph, derived from the channels nodes declare with
+ * {@link GraphNode#reads()} and {@link GraphNode#writes()}.
+ *
+ * Between two declared nodes ordered by forward edges, the later one depends on the
+ * earlier one if it reads what the earlier one writes, writes what it reads, writes the
+ * same channel without a reducer, or runs only because the earlier one's router picked
+ * its branch. A node without declarations depends on its direct predecessors.
+ * {@link #stages()} groups nodes whose dependencies are all met at the same point, and
+ * {@link #maxParallelism()} is the largest set of nodes with no dependency path between
+ * them, i.e. how many nodes could safely run at once.
+ */
+public final class DataDependencies {
+
+    private final Map<String, Set<String>> dependencies;
+    private final List<Set<String>> stages;
+    private final int maxParallelism;
+    private final Map<String, Set<String>> startInputs;
+
+    private DataDependencies(Map<String, Set<String>> dependencies, List<Set<String>> stages, int maxParallelism,
+                             Map<String, Set<String>> startInputs) {
+        this.dependencies = dependencies;
+        this.stages = stages;
+        this.maxParallelism = maxParallelism;
+        this.startInputs = startInputs;
+    }
+
+    /**
+     * Nodes whose effects {@code node} depends on, in execution order.
+     */
+    public Set<String> dependenciesOf(String node) {
+        return dependencies.getOrDefault(node, Set.of());
+    }
+
+    /**
+     * Nodes grouped by the length of their longest dependency chain.
+     */
+    public List<Set<String>> stages() {
+        return stages;
+    }
+
+    public int maxParallelism() {
+        return maxParallelism;
+    }
+
+    /**
+     * Channels a run started at {@code node} must be given: graph inputs, and channels written
+     * by nodes that run on every path to {@code node}, that {@code node} or a node downstream
+     * of it declares reading.
+     */
+    public Set<String> requiredToStartAt(String node) {
+        return startInputs.getOrDefault(node, Set.of());
+    }
+
+    /**
+     * Checks the declared nodes' wiring and derives their dependencies.
+     *
+     * @throws IllegalStateException if a declared read has no producer that can run before it,
+     *                               a producer may run concurrently with its reader, or two
+     *                               nodes may write the same channel without a reducer concurrently
+     */
+    static DataDependencies analyze(Map<String, GraphNode> nodes, GraphTopology topology,
+                                    Set<String> inputs, Map<String, StateKey<?>> channels) {
+        Analysis analysis = new Analysis(nodes, topology, channels);
+        analysis.checkReads(inputs);
+        analysis.checkWrites();
+        return analysis.dependencies(inputs);
+    }
+
+    private static final class Analysis {
+
+        private final GraphTopology topology;
+        private final Map<String, StateKey<?>> channels;
+        private final List<String> order;
+        private final Map<String, Set<String>> reads = new HashMap<>();
+        private final Map<String, Set<String>> writes = new HashMap<>();
+        private final Map<String, StateKey<?>> declaredKeys = new HashMap<>();
+
+        Analysis(Map<String, GraphNode> nodes, GraphTopology topology, Map<String, StateKey<?>> channels) {
+            this.topology = topology;
+            this.channels = channels;
+            this.order = topology.order();
+            for (String name : order) {
+                GraphNode node = nodes.get(name);
+                if (node.declaresAccess()) {
+                    reads.put(name, names(node.reads()));
+                    writes.put(name, names(node.writes()));
+                }
+            }
+        }
+
+        private Set<String> names(Set<StateKey<?>> keys) {
+            Set<String> names = new LinkedHashSet<>();
+            for (StateKey<?> key : keys) {
+                declaredKeys.putIfAbsent(key.name(), key);
+                names.add(key.name());
+            }
+            return names;
+        }
+
+        void checkReads(Set<String> inputs) {
+            for (String reader : order) {
+                for (String key : reads.getOrDefault(reader, Set.of())) {
+                    List<String> producers = producersOf(key, reader);
+                    boolean rereadsOwnWrite = writes.get(reader).contains(key) && loopsBackTo(reader, reader);
+                    boolean available = inputs.contains(key) || rereadsOwnWrite || producers.stream()
+                            .anyMatch(producer -> precedes(producer, reader) || loopsBackTo(producer, reader));
+                    if (!available) {
+                        throw new IllegalStateException(producers.isEmpty()
+                                ? "Node '" + reader + "' reads '" + key + "', which no node writes and is not a graph input"
+                                : "Node '" + reader + "' reads '" + key + "', but none of its writers " + producers
+                                        + " runs before it");
+                    }
+                    for (String producer : producers) {
+                        if (!ordered(producer, reader) && !exclusive(producer, reader)) {
+                            throw new IllegalStateException("Node '" + reader + "' reads '" + key + "' written by '"
+                                    + producer + "', but no edge orders the two nodes");
+                        }
+                    }
+                }
+            }
+        }
+
+        void checkWrites() {
+            for (int i = 0; i < order.size(); i++) {
+                for (int j = i + 1; j < order.size(); j++) {
+                    String first = order.get(i);
+                    String second = order.get(j);
+                    for (String key : overwritten(first, second)) {
+                        if (!ordered(first, second) && !exclusive(first, second)) {
+                            throw new IllegalStateException("Nodes '" + first + "' and '" + second + "' both write '"
+                                    + key + "' and may run concurrently; order them or give the channel a reducer");
+                        }
+                    }
+                }
+            }
+        }
+
+        DataDependencies dependencies(Set<String> inputs) {
+            Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+            Map<String, Set<String>> startInputs = new LinkedHashMap<>();
+            for (String node : order) {
+                Set<String> predecessors = new LinkedHashSet<>();
+                for (String earlier : order) {
+                    if (earlier.equals(node)) {
+                        break;
+                    }
+                    if (dependsOn(node, earlier)) {
+                        predecessors.add(earlier);
+                    }
+                }
+                dependencies.put(node, Collections.unmodifiableSet(predecessors));
+                startInputs.put(node, requiredToStartAt(node, inputs));
+            }
+            return new DataDependencies(Collections.unmodifiableMap(dependencies), stages(dependencies),
+                    width(dependencies), Collections.unmodifiableMap(startInputs));
+        }
+
+        private Set<String> requiredToStartAt(String start, Set<String> inputs) {
+            List<String> upstream = order.stream().filter(node -> runsBeforeEvery(node, start)).toList();
+            Set<String> required = new TreeSet<>();
+            for (String node : topology.downstreamOf(start)) {
+                for (String key : reads.getOrDefault(node, Set.of())) {
+                    if (inputs.contains(key)
+                            || upstream.stream().anyMatch(writer -> writes.getOrDefault(writer, Set.of()).contains(key))) {
+                        required.add(key);
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(required);
+        }
+
+        /**
+         * Whether every forward path from the entry point to {@code target} passes {@code node}.
+         */
+        private boolean runsBeforeEvery(String node, String target) {
+            if (node.equals(target)) {
+                return false;
+            }
+            Set<String> reached = new HashSet<>();
+            Deque<String> pending = new ArrayDeque<>();
+            if (!topology.entryPoint().equals(node)) {
+                pending.add(topology.entryPoint());
+            }
+            while (!pending.isEmpty()) {
+                String current = pending.poll();
+                if (current.equals(target)) {
+                    return false;
+                }
+                for (String next : topology.forwardSuccessors(current)) {
+                    if (!next.equals(node) && reached.add(next)) {
+                        pending.add(next);
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean dependsOn(String node, String earlier) {
+            if (!reads.containsKey(node) || !reads.containsKey(earlier)) {
+                return topology.forwardSuccessors(earlier).contains(node);
+            }
+            if (!precedes(earlier, node)) {
+                return false;
+            }
+            return intersects(writes.get(earlier), reads.get(node))
+                    || intersects(reads.get(earlier), writes.get(node))
+                    || !overwritten(earlier, node).isEmpty()
+                    || routes(earlier, node);
+        }
+
+        private List<String> producersOf(String key, String reader) {
+            return order.stream()
+                    .filter(node -> !node.equals(reader) && writes.getOrDefault(node, Set.of()).contains(key))
+                    .toList();
+        }
+
+        /**
+         * Channels without a reducer that both nodes write.
+         */
+        private Set<String> overwritten(String first, String second) {
+            return writes.getOrDefault(first, Set.of()).stream()
+                    .filter(writes.getOrDefault(second, Set.of())::contains)
+                    .filter(key -> !channels.getOrDefault(key, declaredKeys.get(key)).hasReducer())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        private boolean precedes(String first, String second) {
+            return !first.equals(second) && topology.downstreamOf(first).contains(second);
+        }
+
+        private boolean ordered(String first, String second) {
+            return precedes(first, second) || precedes(second, first);
+        }
+
+        /**
+         * Whether a loop edge reachable from {@code producer} re-runs {@code reader}.
+         */
+        private boolean loopsBackTo(String producer, String reader) {
+            return topology.loopEdges().stream().anyMatch(edge ->
+                    topology.downstreamOf(producer).contains(edge.from())
+                            && topology.downstreamOf(edge.to()).contains(reader));
+        }
+
+        /**
+         * Whether {@code node} runs only on a branch picked by {@code router}.
+         */
+        private boolean routes(String router, String node) {
+            return topology.conditionalEdges(router).stream()
+                    .flatMap(edge -> edge.targets().stream())
+                    .filter(target -> !StateGraph.END.equals(target))
+                    .anyMatch(target -> topology.downstreamOf(target).contains(node));
+        }
+
+        /**
+         * Whether the nodes sit on different branches of the same conditional edge, so at
+         * most one of them runs per pass.
+         */
+        private boolean exclusive(String first, String second) {
+            for (String router : order) {
+                for (ConditionalEdge edge : topology.conditionalEdges(router)) {
+                    for (String a : edge.targets()) {
+                        for (String b : edge.targets()) {
+                            if (!a.equals(b) && !StateGraph.END.equals(a) && !StateGraph.END.equals(b)
+                                    && onlyBelow(first, a, b) && onlyBelow(second, b, a)) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean onlyBelow(String node, String branch, String otherBranch) {
+            return topology.downstreamOf(branch).contains(node) && !topology.downstreamOf(otherBranch).contains(node);
+        }
+
+        private static boolean intersects(Set<String> first, Set<String> second) {
+            return first.stream().anyMatch(second::contains);
+        }
+
+        private List<Set<String>> stages(Map<String, Set<String>> dependencies) {
+            Map<String, Integer> level = new HashMap<>();
+            List<Set<String>> stages = new ArrayList<>();
+            for (String node : order) {
+                int nodeLevel = dependencies.get(node).stream().mapToInt(level::get).max().orElse(-1) + 1;
+                level.put(node, nodeLevel);
+                if (stages.size() == nodeLevel) {
+                    stages.add(new LinkedHashSet<>());
+                }
+                stages.get(nodeLevel).add(node);
+            }
+            return stages.stream().map(Collections::unmodifiableSet).toList();
+        }
+
+        /**
+         * Largest antichain of the dependency order: nodes minus a maximum matching over
+         * the transitive closure (Dilworth), found with augmenting paths.
+         */
+        private int width(Map<String, Set<String>> dependencies) {
+            Map<String, Set<String>> after = new HashMap<>();
+            for (int i = order.size() - 1; i >= 0; i--) {
+                after.put(order.get(i), new HashSet<>());
+            }
+            for (int i = order.size() - 1; i >= 0; i--) {
+                String node = order.get(i);
+                for (String predecessor : dependencies.get(node)) {
+                    after.get(predecessor).add(node);
+                    after.get(predecessor).addAll(after.get(node));
+                }
+            }
+            Map<String, String> matchedFrom = new HashMap<>();
+            int matched = 0;
+            for (String node : order) {
+                if (augment(node, after, matchedFrom, new HashSet<>())) {
+                    matched++;
+                }
+            }
+            return order.size() - matched;
+        }
+
+        private boolean augment(String node, Map<String, Set<String>> after, Map<String, String> matchedFrom,
+                                Set<String> visited) {
+            for (String next : after.get(node)) {
+                if (visited.add(next)) {
+                    String previous = matchedFrom.get(next);
+                    if (previous == null || augment(previous, after, matchedFrom, visited)) {
+                        matchedFrom.put(next, node);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
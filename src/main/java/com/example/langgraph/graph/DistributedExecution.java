@@ -0,0 +1,182 @@
+package com.example.langgraph.graph;
+
+import com.example.langgraph.graph.NodeTaskQueue.Transition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link ExecutionMode#DISTRIBUTED distributed} run as seen by the caller that
+ * started it: submits the run to the graph's {@link NodeTaskQueue} and polls the run
+ * record until a {@link NodeWorker} finishes or fails it.
+ *
+ * Between nodes the run exists only as its {@link DistributedRun} record. After a node,
+ * its worker rebuilds the run's {@link Frontier} by replaying the completed nodes (as a
+ * resume from a checkpoint does), merges the node's writes into the latest state and
+ * queues the nodes that became ready, all within one {@link NodeTaskQueue#advance} call.
+ *
+ * The run's own listener receives the node events, including node output, of the nodes
+ * a worker on this instance runs. Nodes run on other instances are reported from the run
+ * record once they finished, without their output. A failed run's record is kept so the
+ * run can be resumed on any instance.
+ */
+final class DistributedExecution {
+
+    private final StateGraph graph;
+    private final GraphState state;
+    private final NodeTaskQueue queue;
+    private final GraphListener listener;
+    private final CompletableFuture<GraphState> done = new CompletableFuture<>();
+    // timeline entries whose events this instance's workers delivered live
+    private final Set<TimelineEntry> delivered = ConcurrentHashMap.newKeySet();
+    private int reported;
+
+    DistributedExecution(StateGraph graph, GraphState state, GraphListener listener) {
+        this.graph = graph;
+        this.state = state;
+        this.queue = graph.taskQueue();
+        this.listener = GraphListener.composite(List.of(listener));
+        this.reported = state.getTimeline().size();
+    }
+
+    /**
+     * @param sequence the sequence of the checkpoint the run starts from, 0 for a new run
+     */
+    CompletableFuture<GraphState> start(String startNode, Set<String> completed, int sequence) {
+        List<String> ready = graph.newFrontier(state.getRunId()).start(state, startNode, completed);
+        if (ready.isEmpty()) {
+            return CompletableFuture.completedFuture(state);
+        }
+        Checkpoint initial = new Checkpoint(state.getRunId(), sequence, null, state.snapshot(), Set.copyOf(completed),
+                state.getTimeline(), Instant.now(), startNode);
+        graph.registerLocalRun(state.getRunId(), this);
+        done.whenComplete((result, error) -> graph.unregisterLocalRun(state.getRunId(), this));
+        try {
+            queue.submit(new DistributedRun(state.getRunId(), DistributedRun.Status.RUNNING, initial,
+                    state.getRunAttributes(), null, null), ready);
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+            return done;
+        }
+        schedulePoll();
+        return done;
+    }
+
+    /**
+     * The listener of the run, for the nodes a worker on this instance runs.
+     */
+    GraphListener listener() {
+        return listener;
+    }
+
+    /**
+     * Records that the events of these entries were delivered while the node ran here.
+     */
+    void delivered(List<TimelineEntry> entries) {
+        delivered.addAll(entries);
+    }
+
+    private void schedulePoll() {
+        CompletableFuture.delayedExecutor(graph.pollInterval().toMillis(), TimeUnit.MILLISECONDS, graph.executor())
+                .execute(this::poll);
+    }
+
+    private void poll() {
+        DistributedRun run;
+        try {
+            run = queue.run(state.getRunId()).orElseThrow(() ->
+                    new IllegalStateException("Run " + state.getRunId() + " is no longer in the task queue"));
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+            return;
+        }
+        report(run.checkpoint().timeline());
+        switch (run.status()) {
+            case RUNNING -> schedulePoll();
+            case COMPLETED -> {
+                queue.remove(run.runId());
+                done.complete(restore(graph, run));
+            }
+            // the record stays for a resume until the queue expires it
+            case FAILED -> done.completeExceptionally(new GraphExecutionException(run.runId(), run.failedNode(),
+                    new IllegalStateException(run.error())));
+        }
+    }
+
+    /**
+     * Reports the nodes that finished since the last poll and were not run on this instance.
+     */
+    private void report(List<TimelineEntry> timeline) {
+        for (; reported < timeline.size(); reported++) {
+            TimelineEntry entry = timeline.get(reported);
+            if (delivered.remove(entry)) {
+                continue;
+            }
+            Duration duration = Duration.ofMillis(entry.durationMs());
+            listener.onNodeStart(entry.node());
+            if (entry.failed()) {
+                listener.onNodeFailed(entry.node(), new IllegalStateException("Node failed on another instance"),
+                        duration);
+            } else {
+                listener.onNodeComplete(entry.node(), duration);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the run's state from its record.
+     */
+    static GraphState restore(StateGraph graph, DistributedRun run) {
+        GraphState restored = new GraphState(run.runId(), run.checkpoint().state());
+        restored.restoreTimeline(run.checkpoint().timeline());
+        run.attributes().forEach(restored::withRunAttribute);
+        restored.bindChannels(graph.channels());
+        return restored;
+    }
+
+    /**
+     * Completes {@code node} on the latest record of its run.
+     *
+     * @param changes  the writes the node made to the state it was given
+     * @param timeline the timeline entries of the node's execution
+     */
+    static Transition completeNode(StateGraph graph, DistributedRun run, String node,
+                                   List<StateUpdate> changes, List<TimelineEntry> timeline) {
+        GraphState current = restore(graph, run);
+        Frontier frontier = graph.newFrontier(run.runId());
+        List<String> inFlight = new ArrayList<>(frontier.start(current, run.checkpoint().startNode(),
+                run.checkpoint().completedNodes()));
+        if (!inFlight.remove(node)) {
+            // a loop reset the node since it was queued; the run it was reset for supersedes this one
+            return Transition.of(run);
+        }
+        changes.forEach(current::apply);
+        current.restoreTimeline(timeline);
+
+        int sequence = run.checkpoint().sequence() + 1;
+        if (sequence > graph.maxNodeVisits() * graph.nodes().size()) {
+            return Transition.of(run.failed(node, "Run exceeded the limit of "
+                    + graph.maxNodeVisits() * graph.nodes().size() + " node executions"));
+        }
+        List<String> next;
+        try {
+            next = frontier.complete(node, current);
+        } catch (GraphExecutionException e) {
+            return Transition.of(run.failed(node, String.valueOf(e.getCause().getMessage())));
+        }
+        inFlight.removeIf(name -> !frontier.isScheduled(name));
+
+        Checkpoint checkpoint = new Checkpoint(run.runId(), sequence, node, current.snapshot(),
+                frontier.completedNodes(), current.getTimeline(), Instant.now(),
+                run.checkpoint().startNode());
+        boolean finished = inFlight.isEmpty() && next.isEmpty();
+        return new Transition(run.advanced(finished ? DistributedRun.Status.COMPLETED : DistributedRun.Status.RUNNING,
+                checkpoint), next);
+    }
+}
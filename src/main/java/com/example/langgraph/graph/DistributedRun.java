@@ -0,0 +1,38 @@
+package com.example.langgraph.graph;
+
+import java.util.Map;
+
+/**
+ * Shared record of a {@link ExecutionMode#DISTRIBUTED distributed} run, kept by its
+ * {@link NodeTaskQueue} and updated after every node.
+ *
+ * @param runId      the run
+ * @param status     whether the run is still going
+ * @param checkpoint the state, completed nodes and trace after the latest node
+ * @param attributes the run attributes set by the caller that started the run
+ * @param failedNode the node that failed the run, if it failed
+ * @param error      why the run failed, if it failed
+ */
+public record DistributedRun(
+        String runId,
+        Status status,
+        Checkpoint checkpoint,
+        Map<String, String> attributes,
+        String failedNode,
+        String error
+) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    DistributedRun advanced(Status newStatus, Checkpoint newCheckpoint) {
+        return new DistributedRun(runId, newStatus, newCheckpoint, attributes, null, null);
+    }
+
+    DistributedRun failed(String node, String reason) {
+        return new DistributedRun(runId, Status.FAILED, checkpoint, attributes, node, reason);
+    }
+}
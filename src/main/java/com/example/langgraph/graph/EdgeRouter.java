@@ -0,0 +1,15 @@
+package com.example.langgraph.graph;
+
+/**
+ * Picks the next node after a node with conditional edges has finished.
+ * Mirrors the path function of LangGraph's {@code add_conditional_edges}.
+ *
+ * The router only reads the state; it must return one of the targets declared in
+ * {@link StateGraphBuilder#addConditionalEdges(String, EdgeRouter, String...)},
+ * or {@link StateGraph#END} to stop this branch.
+ */
+@FunctionalInterface
+public interface EdgeRouter {
+
+    String route(GraphState state);
+}
@@ -0,0 +1,25 @@
+package com.example.langgraph.graph;
+
+/**
+ * How a compiled {@link StateGraph} schedules its nodes.
+ */
+public enum ExecutionMode {
+
+    /**
+     * Runs nodes one at a time on the calling thread, in topological order.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Starts each node as soon as all of its predecessors have finished, so
+     * independent branches run at the same time on the graph's executor.
+     */
+    PARALLEL,
+
+    /**
+     * Queues every ready node as a task on the graph's {@link NodeTaskQueue}, where a
+     * {@link NodeWorker} on any instance sharing the queue runs it. The run's state lives
+     * in the queue between nodes, so a run outlives the instance that started it.
+     */
+    DISTRIBUTED
+}
@@ -0,0 +1,203 @@
+package com.example.langgraph.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which nodes of one run are ready, shared by sequential and parallel execution.
+ * Not thread-safe; callers serialize access.
+ *
+ * A node becomes ready once every forward edge into it is resolved and at least one of
+ * them was taken. A node whose incoming edges were all resolved without being taken
+ * (e.g. the branch a router did not pick) is skipped, and so are nodes that only it leads to.
+ * Taking a loop edge resets the loop target and everything downstream of it, so that
+ * part of the graph runs again; {@code maxVisits} bounds how often any node may run.
+ *
+ * A run started from a node other than the entry point runs only that node and the nodes
+ * downstream of it. Edges from the other nodes count as resolved without being taken, and
+ * a loop edge leading back before the start node ends its branch.
+ */
+final class Frontier {
+
+    private enum Status { PENDING, SCHEDULED, DONE, SKIPPED, EXCLUDED }
+
+    private final GraphTopology topology;
+    private final String runId;
+    private final int maxVisits;
+    private final Map<String, Status> status = new HashMap<>();
+    private final Map<String, Set<String>> resolvedFrom = new HashMap<>();
+    private final Map<String, Set<String>> takenFrom = new HashMap<>();
+    private final Map<String, Integer> visits = new HashMap<>();
+    private final Map<String, Integer> generation = new HashMap<>();
+    private String startNode;
+    private int epoch;
+
+    Frontier(GraphTopology topology, String runId, int maxVisits) {
+        this.topology = topology;
+        this.runId = runId;
+        this.maxVisits = maxVisits;
+        for (String node : topology.order()) {
+            status.put(node, Status.PENDING);
+            resolvedFrom.put(node, new LinkedHashSet<>());
+            takenFrom.put(node, new LinkedHashSet<>());
+            generation.put(node, 0);
+        }
+    }
+
+    /**
+     * Returns the nodes to run first. Nodes in {@code completed} (finished by an earlier
+     * attempt of this run) are not run again; their outgoing edges are re-evaluated
+     * against {@code state} instead.
+     *
+     * @param startNode the node the run starts from, {@code null} for the entry point
+     */
+    List<String> start(GraphState state, String startNode, Set<String> completed) {
+        this.startNode = startNode == null ? topology.entryPoint() : startNode;
+        List<String> ready = new ArrayList<>();
+        if (startNode != null) {
+            Set<String> region = topology.downstreamOf(startNode);
+            for (String node : topology.order()) {
+                if (!region.contains(node)) {
+                    status.put(node, Status.EXCLUDED);
+                    topology.forwardSuccessors(node).forEach(target -> resolvedFrom.get(target).add(node));
+                }
+            }
+        }
+        evaluate(this.startNode, ready);
+        boolean replayed = true;
+        while (replayed) {
+            replayed = false;
+            for (String node : List.copyOf(ready)) {
+                if (completed.contains(node)) {
+                    ready.remove(node);
+                    ready.addAll(complete(node, state));
+                    replayed = true;
+                }
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Records that {@code node} finished with {@code state} and returns the nodes that became ready.
+     */
+    List<String> complete(String node, GraphState state) {
+        status.put(node, Status.DONE);
+        Set<String> taken = takenTargets(node, state);
+        taken.removeIf(target -> status.get(target) == Status.EXCLUDED);
+        List<String> ready = new ArrayList<>();
+
+        List<String> loopTargets = taken.stream().filter(target -> topology.isLoopEdge(node, target)).toList();
+        if (loopTargets.isEmpty()) {
+            for (String target : topology.forwardSuccessors(node)) {
+                resolve(node, target, taken.contains(target), ready);
+            }
+            return ready;
+        }
+        // Every forward successor of a loop source lies inside the loop, so its forward
+        // edges are resolved on its next visit instead.
+        for (String target : loopTargets) {
+            rewind(target, ready);
+            takenFrom.get(target).add(node);
+            evaluate(target, ready);
+        }
+        return ready;
+    }
+
+    boolean isScheduled(String node) {
+        return status.get(node) == Status.SCHEDULED;
+    }
+
+    /**
+     * Incremented whenever a loop resets {@code node}; results of runs started before are stale.
+     */
+    int generation(String node) {
+        return generation.get(node);
+    }
+
+    /**
+     * Number of loop iterations taken so far in this run.
+     */
+    int epoch() {
+        return epoch;
+    }
+
+    Set<String> completedNodes() {
+        Set<String> completed = new LinkedHashSet<>();
+        status.forEach((node, nodeStatus) -> {
+            if (nodeStatus == Status.DONE) {
+                completed.add(node);
+            }
+        });
+        return completed;
+    }
+
+    private Set<String> takenTargets(String node, GraphState state) {
+        Set<String> taken = new LinkedHashSet<>(topology.staticTargets(node));
+        for (ConditionalEdge edge : topology.conditionalEdges(node)) {
+            String target;
+            try {
+                target = edge.router().route(state);
+            } catch (RuntimeException e) {
+                throw new GraphExecutionException(runId, node, e);
+            }
+            if (!edge.targets().contains(target)) {
+                throw new GraphExecutionException(runId, node, new IllegalStateException(
+                        "Router of node '" + node + "' returned undeclared target: " + target));
+            }
+            if (!StateGraph.END.equals(target)) {
+                taken.add(target);
+            }
+        }
+        return taken;
+    }
+
+    private void resolve(String from, String to, boolean taken, List<String> ready) {
+        resolvedFrom.get(to).add(from);
+        if (taken) {
+            takenFrom.get(to).add(from);
+        }
+        evaluate(to, ready);
+    }
+
+    private void evaluate(String node, List<String> ready) {
+        if (status.get(node) != Status.PENDING
+                || resolvedFrom.get(node).size() < topology.forwardInDegree(node)) {
+            return;
+        }
+        if (node.equals(startNode) || !takenFrom.get(node).isEmpty()) {
+            schedule(node, ready);
+        } else {
+            status.put(node, Status.SKIPPED);
+            for (String target : topology.forwardSuccessors(node)) {
+                resolve(node, target, false, ready);
+            }
+        }
+    }
+
+    private void schedule(String node, List<String> ready) {
+        int visit = visits.merge(node, 1, Integer::sum);
+        if (visit > maxVisits) {
+            throw new GraphExecutionException(runId, node, new IllegalStateException(
+                    "Node '" + node + "' exceeded the limit of " + maxVisits + " runs per execution"));
+        }
+        status.put(node, Status.SCHEDULED);
+        ready.add(node);
+    }
+
+    private void rewind(String loopTarget, List<String> ready) {
+        epoch++;
+        Set<String> region = topology.downstreamOf(loopTarget);
+        ready.removeIf(region::contains);
+        for (String node : region) {
+            status.put(node, Status.PENDING);
+            generation.merge(node, 1, Integer::sum);
+            resolvedFrom.get(node).removeIf(region::contains);
+            takenFrom.get(node).removeIf(region::contains);
+        }
+    }
+}
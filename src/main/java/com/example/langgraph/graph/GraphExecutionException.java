@@ -0,0 +1,25 @@
+package com.example.langgraph.graph;
+
+/**
+ * Thrown when a node fails during graph execution.
+ * Carries the run id so callers can resume the run once the cause is resolved.
+ */
+public class GraphExecutionException extends RuntimeException {
+
+    private final String runId;
+    private final String nodeName;
+
+    public GraphExecutionException(String runId, String nodeName, Throwable cause) {
+        super("Graph execution failed at node: " + nodeName, cause);
+        this.runId = runId;
+        this.nodeName = nodeName;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getNodeName() {
+        return nodeName;
+    }
+}
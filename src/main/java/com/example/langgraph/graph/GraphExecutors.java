@@ -0,0 +1,64 @@
+package com.example.langgraph.graph;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory for the executors used to run graph nodes.
+ * Prefers virtual threads when the runtime provides them (Java 21+) and falls back to a
+ * fixed pool of {@link #DEFAULT_THREADS} daemon platform threads otherwise. A fixed pool is
+ * enough because {@link AsyncGraphNode}s hold a thread only for their own work, not while
+ * waiting on the model; blocking nodes queue for a thread once the pool is busy.
+ */
+public final class GraphExecutors {
+
+    public static final int DEFAULT_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private GraphExecutors() {
+    }
+
+    public static ExecutorService newDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return newFixedExecutor(DEFAULT_THREADS);
+        }
+    }
+
+    /**
+     * Returns a pool of {@code threads} daemon platform threads.
+     */
+    public static ExecutorService newFixedExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads, daemonThreadFactory("graph-worker-"));
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    static ExecutorService sharedDefault() {
+        return SharedHolder.INSTANCE;
+    }
+
+    static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class SharedHolder {
+        private static final ExecutorService INSTANCE = newDefaultExecutor();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.langgraph.graph;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Callback for observing graph executions as they happen.
+ * All methods default to no-ops; in {@link ExecutionMode#PARALLEL} mode they may be
+ * invoked concurrently from different worker threads.
+ *
+ * Listeners registered on the builder see every run of the graph; a listener passed to
+ * {@link StateGraph#execute(GraphState, GraphListener)} sees only that run.
+ */
+public interface GraphListener {
+
+    GraphListener NOOP = new GraphListener() {
+    };
+
+    default void onRunStart(String runId) {
+    }
+
+    default void onRunComplete(String runId, Duration duration) {
+    }
+
+    default void onRunFailed(String runId, Throwable error, Duration duration) {
+    }
+
+    /**
+     * Called after {@link #onRunComplete} or {@link #onRunFailed} with the state the run
+     * ended with; {@code error} is {@code null} for a completed run. A failed run's state
+     * holds what its nodes had written before the failure.
+     */
+    default void onRunEnd(GraphState state, Throwable error, Duration duration) {
+    }
+
+    default void onNodeStart(String nodeName) {
+    }
+
+    default void onNodeComplete(String nodeName, Duration duration) {
+    }
+
+    default void onNodeFailed(String nodeName, Throwable error, Duration duration) {
+    }
+
+    /**
+     * Receives incremental output (e.g. LLM token deltas) emitted by a running node.
+     * Only called when {@link #acceptsNodeOutput()} returns {@code true}.
+     */
+    default void onNodeOutput(String nodeName, String delta) {
+    }
+
+    /**
+     * Tells the listener to discard the output it received from the node so far: the
+     * attempt that produced it failed or lost to another attempt, whose output follows.
+     * Only called when {@link #acceptsNodeOutput()} returns {@code true}.
+     */
+    default void onNodeOutputReset(String nodeName) {
+    }
+
+    /**
+     * Whether nodes should produce incremental output for this listener.
+     * Nodes use this to choose between a streaming and a single blocking LLM call.
+     */
+    default boolean acceptsNodeOutput() {
+        return false;
+    }
+
+    /**
+     * Combines listeners into one that notifies each of them in order.
+     * A listener that throws is logged and does not affect the run or the other listeners.
+     */
+    static GraphListener composite(List<GraphListener> listeners) {
+        List<GraphListener> active = new ArrayList<>();
+        for (GraphListener listener : listeners) {
+            if (listener != null && listener != NOOP) {
+                active.add(listener);
+            }
+        }
+        return active.isEmpty() ? NOOP : new CompositeGraphListener(active);
+    }
+}
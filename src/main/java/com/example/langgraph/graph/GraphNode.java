@@ -1,11 +1,78 @@
 package com.example.langgraph.graph;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Functional interface for a graph node processor.
  * Each node receives the current state, performs work, and returns the updated state.
+ *
+ * A node may declare the state channels it {@link #reads()} and {@link #writes()}.
+ * {@link StateGraphBuilder#compile()} checks declared nodes for missing producers and
+ * conflicting writes, and derives their data dependencies ({@link DataDependencies}).
+ * Nodes declaring neither are opaque to these checks.
+ *
+ * In {@link ExecutionMode#PARALLEL} mode the graph calls {@link #processAsync}, so a node
+ * that waits on I/O without a thread ({@link AsyncGraphNode}) releases the executor thread
+ * while it waits.
  */
 @FunctionalInterface
 public interface GraphNode {
 
     GraphState process(GraphState state);
+
+    /**
+     * Runs the node; the returned future completes with the updated state. By default the
+     * node is {@link #process processed} on the calling thread.
+     */
+    default CompletableFuture<GraphState> processAsync(GraphState state) {
+        return CompletableFuture.completedFuture(process(state));
+    }
+
+    /**
+     * Channels this node reads, including ones it only reads when present.
+     */
+    default Set<StateKey<?>> reads() {
+        return Set.of();
+    }
+
+    /**
+     * Channels this node may write.
+     */
+    default Set<StateKey<?>> writes() {
+        return Set.of();
+    }
+
+    default boolean declaresAccess() {
+        return !reads().isEmpty() || !writes().isEmpty();
+    }
+
+    /**
+     * Wraps {@code body} (e.g. a lambda) with read and write declarations.
+     */
+    static GraphNode declaring(Set<StateKey<?>> reads, Set<StateKey<?>> writes, GraphNode body) {
+        Set<StateKey<?>> declaredReads = Set.copyOf(reads);
+        Set<StateKey<?>> declaredWrites = Set.copyOf(writes);
+        return new GraphNode() {
+            @Override
+            public GraphState process(GraphState state) {
+                return body.process(state);
+            }
+
+            @Override
+            public CompletableFuture<GraphState> processAsync(GraphState state) {
+                return body.processAsync(state);
+            }
+
+            @Override
+            public Set<StateKey<?>> reads() {
+                return declaredReads;
+            }
+
+            @Override
+            public Set<StateKey<?>> writes() {
+                return declaredWrites;
+            }
+        };
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.langgraph.graph;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one run of a graph, from start to completion or failure.
+ * Costs an allocation and two clock reads per run when no recording is enabled.
+ */
+@Name("com.example.langgraph.GraphRun")
+@Label("Graph Run")
+@Category("LangGraph")
+@Description("One run of a compiled graph")
+@StackTrace(false)
+final class GraphRunEvent extends Event {
+
+    @Label("Run Id")
+    String runId;
+
+    @Label("Start Node")
+    @Description("The node the run started from, the entry point unless it is a partial run")
+    String startNode;
+
+    @Label("Execution Mode")
+    String executionMode;
+
+    @Label("Node Executions")
+    int nodeExecutions;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Failed Node")
+    String failedNode;
+}
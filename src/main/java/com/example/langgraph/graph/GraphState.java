@@ -1,62 +1,313 @@
 package com.example.langgraph.graph;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Thread-safe state container that flows through graph nodes.
  * Mirrors LangGraph's State (TypedDict) concept.
+ *
+ * Data is kept as an immutable {@link StateSnapshot} plus the writes made since it was
+ * taken, so snapshots for checkpoints and forks for parallel branches share everything
+ * that did not change. Channels declared on the graph ({@link StateKey}) are type-checked
+ * on every write and may combine writes with a reducer.
  */
 public class GraphState {
 
-    private final ConcurrentHashMap<String, Object> data;
-    private final List<String> executionTrace;
+    private final String runId;
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private volatile StateSnapshot snapshot;
+    private volatile ConcurrentHashMap<String, Object> pending = new ConcurrentHashMap<>();
+    private volatile Map<String, StateKey<?>> channels;
+    private final List<TimelineEntry> timeline;
+    private volatile Instant startedAt;
+    private final List<StateUpdate> writes;
+    private final Map<String, String> runAttributes;
 
     public GraphState() {
-        this.data = new ConcurrentHashMap<>();
-        this.executionTrace = Collections.synchronizedList(new ArrayList<>());
+        this(UUID.randomUUID().toString(), null);
     }
 
     public GraphState(Map<String, Object> initialData) {
-        this();
-        if (initialData != null) {
-            this.data.putAll(initialData);
-        }
+        this(UUID.randomUUID().toString(), initialData);
+    }
+
+    /**
+     * Creates a state for a run with a caller-chosen id, e.g. to resume it later by that id.
+     */
+    public GraphState(String runId, Map<String, Object> initialData) {
+        this.runId = Objects.requireNonNull(runId, "Run id must not be null");
+        this.snapshot = initialData == null ? StateSnapshot.EMPTY : StateSnapshot.EMPTY.with(initialData);
+        this.channels = Map.of();
+        this.timeline = Collections.synchronizedList(new ArrayList<>());
+        this.startedAt = Instant.now();
+        this.writes = null;
+        this.runAttributes = new ConcurrentHashMap<>();
+    }
+
+    private GraphState(String runId, StateSnapshot snapshot, Map<String, StateKey<?>> channels,
+                       Map<String, String> runAttributes, Instant startedAt) {
+        this.runId = runId;
+        this.snapshot = snapshot;
+        this.channels = channels;
+        this.timeline = Collections.synchronizedList(new ArrayList<>());
+        this.startedAt = startedAt;
+        this.writes = Collections.synchronizedList(new ArrayList<>());
+        this.runAttributes = runAttributes;
+    }
+
+    public String getRunId() {
+        return runId;
     }
 
+    /**
+     * Tags the run with metadata that is not part of its data, e.g. the tenant it runs for.
+     * Attributes are shared with every fork of this state, are visible to code called by
+     * nodes through {@link NodeContext#runAttribute}, and are not checkpointed.
+     */
+    public GraphState withRunAttribute(String name, String value) {
+        runAttributes.put(name, value);
+        return this;
+    }
+
+    public Map<String, String> getRunAttributes() {
+        return Collections.unmodifiableMap(runAttributes);
+    }
+
+    /**
+     * Writes {@code value}; for a channel with a reducer it is combined with the current value.
+     *
+     * @throws IllegalArgumentException if {@code key} is a declared channel of another type
+     */
     public void put(String key, Object value) {
-        data.put(key, value);
+        write(key, channels.get(key), value);
+    }
+
+    /**
+     * Writes to a channel, applying its reducer even if the graph did not declare it.
+     */
+    public <T> void put(StateKey<T> key, T value) {
+        write(key.name(), channels.getOrDefault(key.name(), key), value);
+    }
+
+    private void write(String key, StateKey<?> channel, Object value) {
+        Objects.requireNonNull(value, "State values must not be null");
+        snapshotLock.readLock().lock();
+        try {
+            if (channel == null) {
+                pending.put(key, value);
+            } else {
+                pending.compute(key, (k, current) -> channel.reduce(current != null ? current : snapshot.get(k), value));
+            }
+            if (writes != null) {
+                writes.add(new StateUpdate(key, value, false));
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(String key, Class<T> type) {
-        Object value = data.get(key);
+        Object value = lookup(key);
         if (value == null) {
             return null;
         }
         return type.cast(value);
     }
 
+    /**
+     * Reads a channel; the value was type-checked when it was written.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(StateKey<T> key) {
+        return (T) lookup(key.name());
+    }
+
     public String getString(String key) {
         return get(key, String.class);
     }
 
     public boolean containsKey(String key) {
-        return data.containsKey(key);
+        return lookup(key) != null;
+    }
+
+    public boolean containsKey(StateKey<?> key) {
+        return containsKey(key.name());
     }
 
+    /**
+     * Returns an immutable snapshot of the current data.
+     */
     public Map<String, Object> asMap() {
-        return Collections.unmodifiableMap(data);
+        return snapshot();
     }
 
-    public void addTrace(String nodeName, long durationMs) {
-        executionTrace.add(nodeName + " (" + durationMs + "ms)");
+    public void addTimelineEntry(TimelineEntry entry) {
+        timeline.add(Objects.requireNonNull(entry, "Timeline entries must not be null"));
     }
 
+    /**
+     * Returns the node executions of the run so far, in the order they finished.
+     */
+    public List<TimelineEntry> getTimeline() {
+        synchronized (timeline) {
+            return List.copyOf(timeline);
+        }
+    }
+
+    /**
+     * Returns the timeline as one line per node execution, e.g. {@code "review (812ms)"}.
+     */
     public List<String> getExecutionTrace() {
-        return Collections.unmodifiableList(executionTrace);
+        return getTimeline().stream().map(TimelineEntry::traceEntry).toList();
+    }
+
+    private Object lookup(String key) {
+        // pending is swapped only after snapshot already holds its entries
+        Object value = pending.get(key);
+        return value != null ? value : snapshot.get(key);
+    }
+
+    /**
+     * Folds the writes made since the last snapshot into a new one and returns it.
+     * Costs as much as those writes; repeated calls without writes return the same snapshot.
+     */
+    StateSnapshot snapshot() {
+        if (pending.isEmpty()) {
+            return snapshot;
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            if (!pending.isEmpty()) {
+                snapshot = snapshot.with(pending);
+                pending = new ConcurrentHashMap<>();
+            }
+            return snapshot;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Binds the graph's declared channels, checking values already present against them.
+     */
+    void bindChannels(Map<String, StateKey<?>> declared) {
+        declared.forEach((name, key) -> {
+            Object value = lookup(name);
+            if (value != null) {
+                key.checked(value);
+            }
+        });
+        channels = declared;
+    }
+
+    StateKey<?> channel(String key) {
+        return channels.get(key);
+    }
+
+    /**
+     * Sets {@code value} as is, bypassing the channel's reducer.
+     */
+    void replace(String key, Object value) {
+        StateKey<?> channel = channels.get(key);
+        if (channel != null) {
+            channel.checked(value);
+        }
+        snapshotLock.readLock().lock();
+        try {
+            pending.put(key, value);
+            if (writes != null) {
+                writes.add(new StateUpdate(key, value, true));
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a write recorded on a fork of this state.
+     */
+    void apply(StateUpdate update) {
+        if (update.replace()) {
+            replace(update.key(), update.value());
+        } else {
+            put(update.key(), update.value());
+        }
+    }
+
+    /**
+     * When the run started; timeline offsets are relative to it.
+     */
+    Instant startedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Marks the start of the run, unless entries of an earlier attempt were restored.
+     */
+    void markStarted() {
+        synchronized (timeline) {
+            if (timeline.isEmpty()) {
+                startedAt = Instant.now();
+            }
+        }
+    }
+
+    /**
+     * Appends entries recorded earlier in the run. Restoring the first entries of a
+     * resumed run also restores when the run started.
+     */
+    void restoreTimeline(List<TimelineEntry> entries) {
+        synchronized (timeline) {
+            if (timeline.isEmpty() && !entries.isEmpty()) {
+                TimelineEntry first = entries.get(0);
+                startedAt = first.startedAt().minusMillis(first.startOffsetMs());
+            }
+            timeline.addAll(entries);
+        }
+    }
+
+    /**
+     * Creates an isolated copy of the data that records every write made to it,
+     * so a branch running in parallel can later be merged back by its changes only.
+     * The copy shares this state's current snapshot instead of copying the data.
+     */
+    GraphState fork() {
+        return new GraphState(runId, snapshot(), channels, runAttributes, startedAt);
+    }
+
+    /**
+     * Returns the writes this state made relative to {@code base}, which is the fork
+     * it was processed from. A node may return the fork itself or a different instance;
+     * for a different instance, values that differ from {@code base} count as replacements.
+     */
+    List<StateUpdate> changesSince(GraphState base) {
+        List<StateUpdate> changes = new ArrayList<>();
+        if (base.writes != null) {
+            synchronized (base.writes) {
+                changes.addAll(base.writes);
+            }
+        }
+        if (this != base) {
+            Map<String, Object> baseData = base.snapshot();
+            Map<String, Object> diff = new HashMap<>();
+            snapshot().forEach((key, value) -> {
+                if (!Objects.equals(baseData.get(key), value)) {
+                    diff.put(key, value);
+                }
+            });
+            diff.forEach((key, value) -> changes.add(new StateUpdate(key, value, true)));
+        }
+        return changes;
     }
 }
@@ -0,0 +1,103 @@
+package com.example.langgraph.graph;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled edge structure of a {@link StateGraph}.
+ *
+ * Edges are split into forward edges, which form a DAG in topological {@link #order()},
+ * and loop edges, which point back to an earlier node. Taking a loop edge re-runs the
+ * loop target and everything downstream of it (see {@link #downstreamOf(String)}).
+ */
+final class GraphTopology {
+
+    private final String entryPoint;
+    private final List<String> order;
+    private final Map<String, Integer> rank = new HashMap<>();
+    private final Map<String, List<String>> staticTargets;
+    private final Map<String, List<ConditionalEdge>> conditionalEdges;
+    private final Map<String, List<String>> forwardSuccessors;
+    private final Map<String, Integer> forwardInDegree = new HashMap<>();
+    private final Set<Edge> loopEdges;
+    private final Map<String, Set<String>> downstream = new ConcurrentHashMap<>();
+
+    GraphTopology(String entryPoint, List<String> order, Map<String, List<String>> staticTargets,
+                  Map<String, List<ConditionalEdge>> conditionalEdges,
+                  Map<String, List<String>> forwardSuccessors, Set<Edge> loopEdges) {
+        this.entryPoint = entryPoint;
+        this.order = order;
+        this.staticTargets = staticTargets;
+        this.conditionalEdges = conditionalEdges;
+        this.forwardSuccessors = forwardSuccessors;
+        this.loopEdges = loopEdges;
+        for (int i = 0; i < order.size(); i++) {
+            rank.put(order.get(i), i);
+            forwardInDegree.putIfAbsent(order.get(i), 0);
+        }
+        forwardSuccessors.values().forEach(targets ->
+                targets.forEach(target -> forwardInDegree.merge(target, 1, Integer::sum)));
+    }
+
+    String entryPoint() {
+        return entryPoint;
+    }
+
+    List<String> order() {
+        return order;
+    }
+
+    int rank(String node) {
+        return rank.get(node);
+    }
+
+    List<String> staticTargets(String node) {
+        return staticTargets.getOrDefault(node, List.of());
+    }
+
+    List<ConditionalEdge> conditionalEdges(String node) {
+        return conditionalEdges.getOrDefault(node, List.of());
+    }
+
+    List<String> forwardSuccessors(String node) {
+        return forwardSuccessors.getOrDefault(node, List.of());
+    }
+
+    int forwardInDegree(String node) {
+        return forwardInDegree.get(node);
+    }
+
+    Set<Edge> loopEdges() {
+        return loopEdges;
+    }
+
+    boolean isLoopEdge(String from, String to) {
+        return loopEdges.contains(new Edge(from, to));
+    }
+
+    /**
+     * The loop target itself plus every node reachable from it over forward edges.
+     */
+    Set<String> downstreamOf(String node) {
+        return downstream.computeIfAbsent(node, start -> {
+            Set<String> reached = new LinkedHashSet<>();
+            Deque<String> pending = new ArrayDeque<>();
+            reached.add(start);
+            pending.add(start);
+            while (!pending.isEmpty()) {
+                for (String next : forwardSuccessors(pending.poll())) {
+                    if (reached.add(next)) {
+                        pending.add(next);
+                    }
+                }
+            }
+            return Set.copyOf(reached);
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.langgraph.graph;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only the latest checkpoint of each run in memory.
+ * Survives node failures but not process restarts.
+ */
+public class InMemoryCheckpointStore implements CheckpointStore {
+
+    private final Map<String, Checkpoint> latest = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Checkpoint checkpoint) {
+        latest.merge(checkpoint.runId(), checkpoint,
+                (current, candidate) -> candidate.sequence() >= current.sequence() ? candidate : current);
+    }
+
+    @Override
+    public Optional<Checkpoint> latest(String runId) {
+        return Optional.ofNullable(latest.get(runId));
+    }
+
+    @Override
+    public void delete(String runId) {
+        latest.remove(runId);
+    }
+}
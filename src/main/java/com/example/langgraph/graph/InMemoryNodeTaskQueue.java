@@ -0,0 +1,143 @@
+package com.example.langgraph.graph;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Task queue shared by the workers of one process.
+ * Useful for tests and for spreading one instance's runs over node-level workers;
+ * runs do not survive a restart.
+ */
+public class InMemoryNodeTaskQueue implements NodeTaskQueue {
+
+    private final Clock clock;
+    private final Map<String, DistributedRun> runs = new HashMap<>();
+    private final Map<String, Instant> updatedAt = new HashMap<>();
+    private final Map<Long, Entry> tasks = new LinkedHashMap<>();
+    private long nextId;
+
+    public InMemoryNodeTaskQueue() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryNodeTaskQueue(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void submit(DistributedRun run, List<String> nodes) {
+        DistributedRun previous = runs.get(run.runId());
+        if (previous != null && previous.status() == DistributedRun.Status.RUNNING) {
+            throw new IllegalStateException("Run " + run.runId() + " is already running");
+        }
+        runs.put(run.runId(), run);
+        updatedAt.put(run.runId(), clock.instant());
+        enqueue(run.runId(), nodes);
+    }
+
+    @Override
+    public synchronized Optional<NodeTask> claim(String workerId, Duration lease) {
+        Instant now = clock.instant();
+        for (Entry entry : tasks.values()) {
+            if (entry.leaseUntil == null || entry.leaseUntil.isBefore(now)) {
+                entry.owner = workerId;
+                entry.leaseUntil = now.plus(lease);
+                entry.attempt++;
+                return Optional.of(new NodeTask(entry.id, entry.runId, entry.node, entry.attempt));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized boolean renew(NodeTask task, String workerId, Duration lease) {
+        Entry entry = held(task, workerId);
+        if (entry == null) {
+            return false;
+        }
+        entry.leaseUntil = clock.instant().plus(lease);
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<DistributedRun> run(String runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    @Override
+    public synchronized boolean advance(NodeTask task, String workerId, Function<DistributedRun, Transition> transition) {
+        if (held(task, workerId) == null) {
+            return false;
+        }
+        tasks.remove(task.id());
+        DistributedRun run = runs.get(task.runId());
+        if (run == null || run.status() != DistributedRun.Status.RUNNING) {
+            return true;
+        }
+        Transition next = transition.apply(run);
+        runs.put(run.runId(), next.run());
+        updatedAt.put(run.runId(), clock.instant());
+        if (next.run().status() == DistributedRun.Status.RUNNING) {
+            enqueue(run.runId(), next.next());
+        } else {
+            tasks.values().removeIf(entry -> entry.runId.equals(run.runId()));
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void remove(String runId) {
+        runs.remove(runId);
+        updatedAt.remove(runId);
+        tasks.values().removeIf(entry -> entry.runId.equals(runId));
+    }
+
+    @Override
+    public synchronized int expire(Instant before) {
+        List<String> expired = updatedAt.entrySet().stream()
+                .filter(entry -> entry.getValue().isBefore(before))
+                .map(Map.Entry::getKey)
+                .toList();
+        expired.forEach(this::remove);
+        return expired.size();
+    }
+
+    synchronized int pendingTasks() {
+        return tasks.size();
+    }
+
+    private void enqueue(String runId, List<String> nodes) {
+        for (String node : nodes) {
+            Entry entry = new Entry(++nextId, runId, node);
+            tasks.put(entry.id, entry);
+        }
+    }
+
+    private Entry held(NodeTask task, String workerId) {
+        Entry entry = tasks.get(task.id());
+        return entry != null && workerId.equals(entry.owner) && entry.attempt == task.attempt() ? entry : null;
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final String runId;
+        private final String node;
+        private String owner;
+        private Instant leaseUntil;
+        private int attempt;
+
+        private Entry(long id, String runId, String node) {
+            this.id = id;
+            this.runId = runId;
+            this.node = node;
+        }
+    }
+}
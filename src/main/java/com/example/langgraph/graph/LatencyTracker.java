@@ -0,0 +1,38 @@
+package com.example.langgraph.graph;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring buffer of recent latencies used to derive hedging delays.
+ */
+final class LatencyTracker {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    LatencyTracker(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * Returns the requested percentile in nanoseconds, or -1 while there are too few samples.
+     */
+    synchronized long percentile(double percentile) {
+        if (count < MIN_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
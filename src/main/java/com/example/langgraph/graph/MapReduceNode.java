@@ -0,0 +1,349 @@
+package com.example.langgraph.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Node that splits the state into items, maps every item concurrently and reduces the
+ * results, in item order, into one channel.
+ *
+ * At most {@code maxConcurrency} items are mapped at a time; the calling thread maps items
+ * too instead of waiting idle. Mappers run with the node's {@link NodeContext} bound, so
+ * model calls they make are attributed to the node. The first failing item fails the node;
+ * items not started by then are skipped.
+ *
+ * With {@link Builder#mapAsync} items are mapped to futures instead, e.g. streamed model
+ * calls: up to {@code maxConcurrency} of them are in flight at a time, the next starting
+ * from the completion of the previous one, and no thread waits for any of them.
+ *
+ * <pre>
+ * MapReduceNode.&lt;String, String, String&gt;builder()
+ *     .reads(OUTLINE)
+ *     .split(state -&gt; List.of(state.get(OUTLINE).split("\n")))
+ *     .map(heading -&gt; chatGateway.callWithoutStreaming("Write the section " + heading))
+ *     .reduce(DRAFT, sections -&gt; String.join("\n\n", sections))
+ *     .maxConcurrency(4)
+ *     .build();
+ * </pre>
+ */
+public final class MapReduceNode<T, R, V> implements AsyncGraphNode {
+
+    private final Set<StateKey<?>> reads;
+    private final Function<GraphState, List<T>> splitter;
+    private final Function<T, R> mapper;
+    private final Function<T, CompletableFuture<R>> asyncMapper;
+    private final StateKey<V> target;
+    private final Function<List<R>, V> reducer;
+    private final int maxConcurrency;
+    private final Executor executor;
+
+    private MapReduceNode(Builder<T, R, V> builder) {
+        this.reads = Set.copyOf(builder.reads);
+        this.splitter = Objects.requireNonNull(builder.splitter, "A splitter is required");
+        if ((builder.mapper == null) == (builder.asyncMapper == null)) {
+            throw new IllegalStateException("Exactly one of map and mapAsync is required");
+        }
+        this.mapper = builder.mapper;
+        this.asyncMapper = builder.asyncMapper;
+        this.target = Objects.requireNonNull(builder.target, "A reduce target is required");
+        this.reducer = Objects.requireNonNull(builder.reducer, "A reducer is required");
+        this.maxConcurrency = builder.maxConcurrency;
+        this.executor = builder.executor != null ? builder.executor : GraphExecutors.sharedDefault();
+    }
+
+    public static <T, R, V> Builder<T, R, V> builder() {
+        return new Builder<>();
+    }
+
+    @Override
+    public GraphState process(GraphState state) {
+        if (asyncMapper != null) {
+            return AsyncGraphNode.super.process(state);
+        }
+        List<T> items = List.copyOf(splitter.apply(state));
+        state.put(target, reducer.apply(map(items)));
+        return state;
+    }
+
+    @Override
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
+        if (asyncMapper == null) {
+            return CompletableFuture.completedFuture(process(state));
+        }
+        List<T> items = List.copyOf(splitter.apply(state));
+        return new AsyncMap(items).start().thenApply(results -> {
+            state.put(target, reducer.apply(results));
+            return state;
+        });
+    }
+
+    @Override
+    public Set<StateKey<?>> reads() {
+        return reads;
+    }
+
+    @Override
+    public Set<StateKey<?>> writes() {
+        return Set.of(target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<R> map(List<T> items) {
+        Object[] results = new Object[items.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        NodeContext context = NodeContext.current().orElse(null);
+
+        List<Helper> helpers = new ArrayList<>();
+        try {
+            for (int i = 1; i < Math.min(maxConcurrency, items.size()); i++) {
+                Helper helper = new Helper(() -> mapItems(items, results, next, failure, context));
+                helpers.add(helper);
+                executor.execute(helper);
+            }
+        } catch (RejectedExecutionException e) {
+            // the items are mapped by the workers that did start
+            helpers.get(helpers.size() - 1).claimed.set(true);
+        }
+        mapItems(items, results, next, failure, context);
+        for (Helper helper : helpers) {
+            // a helper still queued has nothing left to map; on a saturated executor it may never start
+            if (!helper.claimed.compareAndSet(false, true)) {
+                try {
+                    helper.done.get();
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, new IllegalStateException("Interrupted while mapping items"));
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error error) {
+                        throw error;
+                    }
+                    failure.compareAndSet(null, new IllegalStateException(e.getCause()));
+                }
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /**
+     * Mapping worker on the executor, run only if it starts before the node's own thread
+     * has finished the items and claimed it.
+     */
+    private static final class Helper implements Runnable {
+
+        private final Runnable work;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Helper(Runnable work) {
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                work.run();
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private void mapItems(List<T> items, Object[] results, AtomicInteger next,
+                          AtomicReference<RuntimeException> failure, NodeContext context) {
+        NodeContext.Scope scope = context != null ? context.bind() : null;
+        try {
+            for (int i = next.getAndIncrement(); i < items.size() && failure.get() == null; i = next.getAndIncrement()) {
+                results[i] = mapper.apply(items.get(i));
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+        }
+    }
+
+    /**
+     * One {@link Builder#mapAsync mapAsync} pass over the items.
+     */
+    private final class AsyncMap {
+
+        private final List<T> items;
+        private final Object[] results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<R>> done = new CompletableFuture<>();
+        private final NodeContext context = NodeContext.current().orElse(null);
+
+        AsyncMap(List<T> items) {
+            this.items = items;
+            this.results = new Object[items.size()];
+            this.remaining = new AtomicInteger(items.size());
+        }
+
+        CompletableFuture<List<R>> start() {
+            if (items.isEmpty()) {
+                done.complete(List.of());
+            }
+            for (int i = 0; i < Math.min(maxConcurrency, items.size()); i++) {
+                mapNext();
+            }
+            return done;
+        }
+
+        /**
+         * Maps items until one is still in flight; its completion carries on from there,
+         * so items that complete immediately do not nest calls.
+         */
+        private void mapNext() {
+            for (int i = next.getAndIncrement(); i < items.size() && !done.isDone(); i = next.getAndIncrement()) {
+                int index = i;
+                CompletableFuture<R> pending = mapItem(items.get(index));
+                if (!pending.isDone()) {
+                    pending.whenComplete((result, failure) -> {
+                        if (finished(index, result, failure)) {
+                            mapNext();
+                        }
+                    });
+                    return;
+                }
+                R result;
+                try {
+                    result = pending.join();
+                } catch (RuntimeException e) {
+                    finished(index, null, e);
+                    return;
+                }
+                if (!finished(index, result, null)) {
+                    return;
+                }
+            }
+        }
+
+        private CompletableFuture<R> mapItem(T item) {
+            try (NodeContext.Scope ignored = context != null ? context.bind() : null) {
+                return asyncMapper.apply(item);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean finished(int index, R result, Throwable failure) {
+            if (failure != null) {
+                done.completeExceptionally(unwrap(failure));
+                return false;
+            }
+            results[index] = result;
+            if (remaining.decrementAndGet() == 0) {
+                done.complete((List<R>) Arrays.asList(results));
+            }
+            return true;
+        }
+
+        private static RuntimeException unwrap(Throwable failure) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        }
+    }
+
+    public static final class Builder<T, R, V> {
+
+        private final List<StateKey<?>> reads = new ArrayList<>();
+        private Function<GraphState, List<T>> splitter;
+        private Function<T, R> mapper;
+        private Function<T, CompletableFuture<R>> asyncMapper;
+        private StateKey<V> target;
+        private Function<List<R>, V> reducer;
+        private int maxConcurrency = 4;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Channels the splitter reads, declared on the node for {@link DataDependencies}.
+         */
+        public Builder<T, R, V> reads(StateKey<?>... channels) {
+            reads.addAll(Arrays.asList(channels));
+            return this;
+        }
+
+        /**
+         * Turns the state into the items to map.
+         */
+        public Builder<T, R, V> split(Function<GraphState, List<T>> splitter) {
+            this.splitter = splitter;
+            return this;
+        }
+
+        /**
+         * Maps one item. Runs concurrently with the other items, so it must not write to the state.
+         */
+        public Builder<T, R, V> map(Function<T, R> mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        /**
+         * Maps one item to a future of its result, for mappers that wait on I/O without a
+         * thread. The node's {@link NodeContext} is bound while the mapper is called.
+         */
+        public Builder<T, R, V> mapAsync(Function<T, CompletableFuture<R>> mapper) {
+            this.asyncMapper = mapper;
+            return this;
+        }
+
+        /**
+         * Combines the results, in item order, into the value written to {@code target}.
+         */
+        public Builder<T, R, V> reduce(StateKey<V> target, Function<List<R>, V> reducer) {
+            this.target = target;
+            this.reducer = reducer;
+            return this;
+        }
+
+        public Builder<T, R, V> maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the executor the items run on. Defaults to the shared executor graphs use.
+         */
+        public Builder<T, R, V> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+            return this;
+        }
+
+        public MapReduceNode<T, R, V> build() {
+            return new MapReduceNode<>(this);
+        }
+    }
+}
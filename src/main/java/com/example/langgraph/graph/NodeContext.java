@@ -0,0 +1,117 @@
+package com.example.langgraph.graph;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Describes the node currently executing on this thread.
+ * Bound by {@link StateGraph} around every {@link GraphNode#process} call so that code
+ * deeper in the call stack (e.g. the LLM gateway) can attribute work to a node and
+ * forward incremental output to the execution's {@link GraphListener}.
+ */
+public final class NodeContext {
+
+    private static final ThreadLocal<NodeContext> CURRENT = new ThreadLocal<>();
+
+    private final String runId;
+    private final Map<String, String> runAttributes;
+    private final String nodeName;
+    private final GraphListener listener;
+    private final LongAdder llmNanos;
+
+    NodeContext(String runId, Map<String, String> runAttributes, String nodeName, GraphListener listener) {
+        this(runId, runAttributes, nodeName, listener, new LongAdder());
+    }
+
+    private NodeContext(String runId, Map<String, String> runAttributes, String nodeName, GraphListener listener,
+                        LongAdder llmNanos) {
+        this.runId = runId;
+        this.runAttributes = runAttributes;
+        this.nodeName = nodeName;
+        this.listener = listener;
+        this.llmNanos = llmNanos;
+    }
+
+    /**
+     * Returns a context for the same node whose output goes to {@code output} instead;
+     * model time recorded on it still counts for this node.
+     */
+    NodeContext withOutput(GraphListener output) {
+        return new NodeContext(runId, runAttributes, nodeName, output, llmNanos);
+    }
+
+    public static Optional<NodeContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public String runId() {
+        return runId;
+    }
+
+    /**
+     * Returns an attribute the run was tagged with via {@link GraphState#withRunAttribute}.
+     */
+    public Optional<String> runAttribute(String name) {
+        return Optional.ofNullable(runAttributes.get(name));
+    }
+
+    public String nodeName() {
+        return nodeName;
+    }
+
+    public boolean streamsOutput() {
+        return listener.acceptsNodeOutput();
+    }
+
+    public void emitOutput(String delta) {
+        if (delta != null && !delta.isEmpty() && listener.acceptsNodeOutput()) {
+            listener.onNodeOutput(nodeName, delta);
+        }
+    }
+
+    void resetOutput() {
+        if (listener.acceptsNodeOutput()) {
+            listener.onNodeOutputReset(nodeName);
+        }
+    }
+
+    GraphListener output() {
+        return listener;
+    }
+
+    /**
+     * Adds the time a call on behalf of this node spent waiting on the model, to
+     * split the node's duration into model wait and its own work on the run's timeline.
+     */
+    public void recordLlmTime(long nanos) {
+        llmNanos.add(nanos);
+    }
+
+    long llmNanos() {
+        return llmNanos.sum();
+    }
+
+    /**
+     * Binds this context to the current thread until the returned scope is closed.
+     * Also used to carry the context onto helper threads a node spawns itself.
+     */
+    public Scope bind() {
+        NodeContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.langgraph.graph;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning one execution of a node, committed on the thread that ran it.
+ */
+@Name("com.example.langgraph.NodeExecution")
+@Label("Node Execution")
+@Category("LangGraph")
+@Description("One execution of a graph node")
+@StackTrace(false)
+final class NodeExecutionEvent extends Event {
+
+    @Label("Run Id")
+    String runId;
+
+    @Label("Node")
+    String node;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Queue Wait")
+    @Description("Time between the node becoming ready and starting")
+    @Timespan
+    long queueWait;
+
+    @Label("LLM Time")
+    @Description("Time the node spent waiting on model calls")
+    @Timespan
+    long llmTime;
+}
@@ -0,0 +1,144 @@
+package com.example.langgraph.graph;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Resilience settings applied around a single node: a per-attempt timeout, retries with
+ * exponential backoff and jitter, a circuit breaker, and optional hedging.
+ *
+ * Hedging starts a duplicate attempt when the first one has not finished after
+ * {@code hedgeDelay}, or — when a percentile is set — after that percentile of the node's
+ * recent successful latencies, and keeps whichever attempt succeeds first.
+ *
+ * <pre>
+ * NodePolicy.builder()
+ *     .timeout(Duration.ofSeconds(60))
+ *     .retry(3, Duration.ofMillis(500), Duration.ofSeconds(10))
+ *     .circuitBreaker(5, Duration.ofSeconds(30))
+ *     .hedgeAtPercentile(0.95, Duration.ofSeconds(20))
+ *     .build();
+ * </pre>
+ */
+public record NodePolicy(
+        Duration timeout,
+        int maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        double backoffMultiplier,
+        double jitter,
+        int circuitBreakerThreshold,
+        Duration circuitBreakerOpenDuration,
+        Duration hedgeDelay,
+        double hedgePercentile,
+        Predicate<Throwable> retryOn
+) {
+
+    public static final NodePolicy NONE = builder().build();
+
+    public NodePolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+        }
+        if (hedgePercentile != 0 && (hedgePercentile <= 0 || hedgePercentile >= 1)) {
+            throw new IllegalArgumentException("hedgePercentile must be between 0 and 1");
+        }
+        Objects.requireNonNull(retryOn, "retryOn must not be null");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    boolean isNoop() {
+        return timeout == null && maxAttempts == 1 && circuitBreakerThreshold == 0 && hedgeDelay == null;
+    }
+
+    boolean needsExecutor() {
+        return timeout != null || hedgeDelay != null;
+    }
+
+    public static final class Builder {
+
+        private Duration timeout;
+        private int maxAttempts = 1;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double backoffMultiplier = 2.0;
+        private double jitter = 0.2;
+        private int circuitBreakerThreshold;
+        private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+        private Duration hedgeDelay;
+        private double hedgePercentile;
+        private Predicate<Throwable> retryOn =
+                e -> !(e instanceof IllegalArgumentException || e instanceof NullPointerException);
+
+        private Builder() {
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder retry(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+            this.maxAttempts = maxAttempts;
+            this.initialBackoff = Objects.requireNonNull(initialBackoff);
+            this.maxBackoff = Objects.requireNonNull(maxBackoff);
+            return this;
+        }
+
+        public Builder backoffMultiplier(double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+            return this;
+        }
+
+        /**
+         * Randomizes each backoff by up to {@code ±jitter} of its value (0 disables jitter).
+         */
+        public Builder jitter(double jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Opens the breaker after {@code failureThreshold} consecutive failed calls; while
+         * open the node fails fast, and after {@code openDuration} one trial call is let through.
+         */
+        public Builder circuitBreaker(int failureThreshold, Duration openDuration) {
+            this.circuitBreakerThreshold = failureThreshold;
+            this.circuitBreakerOpenDuration = Objects.requireNonNull(openDuration);
+            return this;
+        }
+
+        public Builder hedgeAfter(Duration delay) {
+            this.hedgeDelay = Objects.requireNonNull(delay);
+            this.hedgePercentile = 0;
+            return this;
+        }
+
+        /**
+         * Hedges after the given percentile of recent latencies, using {@code fallbackDelay}
+         * until enough samples have been observed.
+         */
+        public Builder hedgeAtPercentile(double percentile, Duration fallbackDelay) {
+            this.hedgeDelay = Objects.requireNonNull(fallbackDelay);
+            this.hedgePercentile = percentile;
+            return this;
+        }
+
+        public Builder retryOn(Predicate<Throwable> retryOn) {
+            this.retryOn = retryOn;
+            return this;
+        }
+
+        public NodePolicy build() {
+            return new NodePolicy(timeout, maxAttempts, initialBackoff, maxBackoff, backoffMultiplier, jitter,
+                    circuitBreakerThreshold, circuitBreakerOpenDuration, hedgeDelay, hedgePercentile, retryOn);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.langgraph.graph;
+
+/**
+ * One queued execution of a node of a {@link ExecutionMode#DISTRIBUTED distributed} run.
+ *
+ * @param id      queue-assigned identifier
+ * @param runId   the run the node belongs to
+ * @param node    the node to run
+ * @param attempt how many times the task has been claimed, including the current claim
+ */
+public record NodeTask(long id, String runId, String node, int attempt) {
+}
@@ -0,0 +1,72 @@
+package com.example.langgraph.graph;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Hands the nodes of {@link ExecutionMode#DISTRIBUTED distributed} runs to workers and
+ * keeps each run's {@link DistributedRun record} between nodes.
+ *
+ * Claims are leases: a task whose worker stops renewing it (e.g. because its instance
+ * died) becomes claimable again once the lease expires, so every node runs at least once.
+ * Implementations must make {@link #advance} atomic per run.
+ */
+public interface NodeTaskQueue {
+
+    /**
+     * Stores a new run, replacing the record of a failed run with the same id (a resume),
+     * and queues its first nodes.
+     */
+    void submit(DistributedRun run, List<String> nodes);
+
+    /**
+     * Claims the oldest task that is not leased, or whose lease has expired.
+     */
+    Optional<NodeTask> claim(String workerId, Duration lease);
+
+    /**
+     * Extends the worker's claim on {@code task}.
+     *
+     * @return {@code false} if the worker no longer holds the task
+     */
+    boolean renew(NodeTask task, String workerId, Duration lease);
+
+    Optional<DistributedRun> run(String runId);
+
+    /**
+     * Finishes {@code task}: while holding the run exclusively, replaces the run with the
+     * one {@code transition} returns and queues its {@link Transition#next() next} nodes.
+     * Once the run is no longer {@link DistributedRun.Status#RUNNING}, the task is dropped
+     * without calling {@code transition}, and so are the run's other tasks.
+     *
+     * @return {@code false} if the worker no longer holds the task; nothing is changed then
+     */
+    boolean advance(NodeTask task, String workerId, Function<DistributedRun, Transition> transition);
+
+    /**
+     * Deletes a finished run once its result has been collected.
+     */
+    void remove(String runId);
+
+    /**
+     * Deletes the runs, and their tasks, that have not advanced since {@code before}:
+     * results nobody collected because the caller's instance died, failed runs kept for a
+     * resume, and runs whose nodes stopped being run.
+     *
+     * @return how many runs were deleted
+     */
+    int expire(Instant before);
+
+    /**
+     * A run together with the nodes that became ready.
+     */
+    record Transition(DistributedRun run, List<String> next) {
+
+        public static Transition of(DistributedRun run) {
+            return new Transition(run, List.of());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.langgraph.graph;
+
+/**
+ * Thrown when a node attempt does not finish within its policy's timeout.
+ */
+public class NodeTimeoutException extends RuntimeException {
+
+    public NodeTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.langgraph.graph;
+
+import com.example.langgraph.graph.NodeTaskQueue.Transition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the nodes of {@link ExecutionMode#DISTRIBUTED distributed} runs that it claims from
+ * the graph's {@link NodeTaskQueue}, at most {@code concurrency} at a time, on the graph's
+ * executor. Every instance sharing the queue runs one, whichever instance started a run.
+ *
+ * A claim is renewed while its node runs. If the worker's instance dies, the claim expires
+ * and another worker runs the node again; a node claimed more than {@code maxAttempts}
+ * times fails its run. Graph-wide listeners see the node events on the worker's instance,
+ * and so does the run's own listener if the run was started on that instance.
+ *
+ * After each node the worker also writes the run's checkpoint to the graph's
+ * {@link CheckpointStore}, and every instance's worker deletes run records that have not
+ * advanced for {@code retention}.
+ */
+public final class NodeWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeWorker.class);
+
+    private final StateGraph graph;
+    private final NodeTaskQueue queue;
+    private final String workerId;
+    private final Semaphore slots;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final GraphListener listener;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(GraphExecutors.daemonThreadFactory("node-worker-"));
+    private volatile boolean running;
+
+    public NodeWorker(StateGraph graph, int concurrency, Duration lease, int maxAttempts) {
+        this(graph, concurrency, lease, maxAttempts, Duration.ofHours(1));
+    }
+
+    /**
+     * @param retention how long a run record may go without advancing before it is deleted;
+     *                  must exceed the longest time a run waits for or spends in one node
+     */
+    public NodeWorker(StateGraph graph, int concurrency, Duration lease, int maxAttempts, Duration retention) {
+        if (graph.taskQueue() == null) {
+            throw new IllegalArgumentException("Graph was compiled without a task queue");
+        }
+        this.graph = graph;
+        this.queue = graph.taskQueue();
+        this.workerId = "worker-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.slots = new Semaphore(concurrency);
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.listener = GraphListener.composite(graph.listeners());
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        scheduler.scheduleWithFixedDelay(this::claimTasks, 0, graph.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        long expireEvery = Math.min(retention.toMillis(), TimeUnit.MINUTES.toMillis(1));
+        scheduler.scheduleWithFixedDelay(this::expireRuns, expireEvery, expireEvery, TimeUnit.MILLISECONDS);
+        log.info("Node worker {} started", workerId);
+    }
+
+    /**
+     * Stops claiming tasks. Nodes already running finish; claims the worker can no longer
+     * renew expire and are taken over by other workers.
+     */
+    public synchronized void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    public String workerId() {
+        return workerId;
+    }
+
+    private void claimTasks() {
+        while (running && slots.tryAcquire()) {
+            Optional<NodeTask> claimed;
+            try {
+                claimed = queue.claim(workerId, lease);
+            } catch (RuntimeException e) {
+                slots.release();
+                log.warn("Worker {} failed to claim a task", workerId, e);
+                return;
+            }
+            if (claimed.isEmpty()) {
+                slots.release();
+                return;
+            }
+            NodeTask task = claimed.get();
+            try {
+                graph.executor().execute(() -> {
+                    try {
+                        process(task);
+                    } finally {
+                        slots.release();
+                        claimNext();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                log.warn("Worker {} could not start node '{}' of run {}", workerId, task.node(), task.runId(), e);
+                return;
+            }
+        }
+    }
+
+    private void claimNext() {
+        try {
+            scheduler.execute(this::claimTasks);
+        } catch (RejectedExecutionException e) {
+            // stopped
+        }
+    }
+
+    private void process(NodeTask task) {
+        long renewEvery = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> renewal = scheduler.scheduleAtFixedRate(() -> renew(task), renewEvery, renewEvery,
+                TimeUnit.MILLISECONDS);
+        try {
+            execute(task);
+        } catch (RuntimeException e) {
+            log.warn("Worker {} could not finish node '{}' of run {}; it is retried once the claim expires",
+                    workerId, task.node(), task.runId(), e);
+        } finally {
+            renewal.cancel(false);
+        }
+    }
+
+    private void execute(NodeTask task) {
+        DistributedRun run = queue.run(task.runId()).orElse(null);
+        if (run == null || run.status() != DistributedRun.Status.RUNNING) {
+            queue.advance(task, workerId, Transition::of);
+            return;
+        }
+        if (task.attempt() > maxAttempts) {
+            queue.advance(task, workerId, current -> Transition.of(current.failed(task.node(),
+                    "Node was claimed " + task.attempt() + " times without completing")));
+            return;
+        }
+
+        GraphState input = DistributedExecution.restore(graph, run).fork();
+        GraphState traced = new GraphState(task.runId(), null);
+        Optional<DistributedExecution> local = graph.localRun(task.runId());
+        GraphListener nodeListener = local
+                .map(execution -> GraphListener.composite(List.of(listener, execution.listener())))
+                .orElse(listener);
+        GraphState result;
+        try {
+            // the node became ready on whichever instance queued it
+            result = graph.runNode(graph.nodeEntry(task.node()), input, traced, nodeListener, null);
+        } catch (GraphExecutionException e) {
+            String reason = String.valueOf(e.getCause().getMessage());
+            queue.advance(task, workerId, current -> Transition.of(current.failed(task.node(), reason)));
+            return;
+        }
+
+        List<StateUpdate> changes = result.changesSince(input);
+        List<TimelineEntry> timeline = traced.getTimeline();
+        local.ifPresent(execution -> execution.delivered(timeline));
+        AtomicReference<DistributedRun> advanced = new AtomicReference<>();
+        boolean held = queue.advance(task, workerId, current -> {
+            Transition transition = DistributedExecution.completeNode(graph, current, task.node(), changes, timeline);
+            advanced.set(transition.run());
+            return transition;
+        });
+        if (!held) {
+            log.warn("Worker {} lost its claim on node '{}' of run {}; the result of another attempt is kept",
+                    workerId, task.node(), task.runId());
+        } else if (advanced.get() != null) {
+            checkpoint(advanced.get());
+        }
+    }
+
+    private void checkpoint(DistributedRun run) {
+        Checkpoint checkpoint = run.checkpoint();
+        RunCheckpointer checkpointer = new RunCheckpointer(graph.checkpointStore(), run.runId(),
+                checkpoint.startNode(), checkpoint.sequence());
+        switch (run.status()) {
+            case RUNNING -> checkpointer.save(checkpoint);
+            case COMPLETED -> checkpointer.runCompleted();
+            // the latest checkpoint was written by the node before
+            case FAILED -> {
+            }
+        }
+    }
+
+    private void expireRuns() {
+        try {
+            int expired = queue.expire(Instant.now().minus(retention));
+            if (expired > 0) {
+                log.info("Worker {} deleted {} run records idle for more than {}", workerId, expired, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Worker {} failed to expire idle runs", workerId, e);
+        }
+    }
+
+    private void renew(NodeTask task) {
+        try {
+            queue.renew(task, workerId, lease);
+        } catch (RuntimeException e) {
+            log.warn("Worker {} failed to renew its claim on node '{}' of run {}", workerId, task.node(),
+                    task.runId(), e);
+        }
+    }
+}
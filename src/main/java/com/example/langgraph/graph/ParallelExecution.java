@@ -0,0 +1,218 @@
+package com.example.langgraph.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * One DAG-aware run of a {@link StateGraph}.
+ *
+ * Each node runs on a fork of the shared state taken once all of its predecessors have
+ * merged. When it finishes, only the keys it changed are merged back. If two sibling
+ * branches write the same key, the node that comes later in the compiled topological
+ * order wins regardless of which finished first, so the final state is deterministic.
+ * Writes made after a loop edge was taken win over writes from earlier iterations.
+ * Writes to channels with a reducer are never dropped; they are reduced into the state in
+ * the same order, so e.g. an {@link StateKey#appending appending} channel lists sibling
+ * branches' elements in topological order however their timing turns out.
+ *
+ * Nodes run through {@link GraphNode#processAsync}, so an {@link AsyncGraphNode} waiting
+ * on I/O does not hold an executor thread; its successors are scheduled from whichever
+ * thread completes it.
+ */
+final class ParallelExecution {
+
+    private final StateGraph graph;
+    private final GraphState state;
+    private final GraphListener listener;
+    private final RunCheckpointer checkpointer;
+    private final Frontier frontier;
+    private final Map<String, Long> writerPriority = new HashMap<>();
+    private final Map<String, ReducedWrites> reducedWrites = new HashMap<>();
+    private final List<Long> runningPriorities = new ArrayList<>();
+    private final CompletableFuture<GraphState> done = new CompletableFuture<>();
+    private final Object lock = new Object();
+    private int running;
+
+    ParallelExecution(StateGraph graph, GraphState state, GraphListener listener, RunCheckpointer checkpointer) {
+        this.graph = graph;
+        this.state = state;
+        this.listener = listener;
+        this.checkpointer = checkpointer;
+        this.frontier = graph.newFrontier(state.getRunId());
+    }
+
+    /**
+     * Starts the graph at {@code startNode} ({@code null} for the entry point), skipping
+     * nodes already completed by an earlier attempt of this run.
+     * The returned future completes on the thread that finishes the last node; no thread
+     * waits for the run in between.
+     */
+    CompletableFuture<GraphState> start(String startNode, Set<String> completed) {
+        List<Task> ready;
+        synchronized (lock) {
+            ready = reserve(frontier.start(state, startNode, completed));
+            if (ready.isEmpty()) {
+                return CompletableFuture.completedFuture(state);
+            }
+        }
+        ready.forEach(this::submit);
+        return done;
+    }
+
+    private List<Task> reserve(List<String> names) {
+        List<Task> tasks = new ArrayList<>(names.size());
+        long now = System.nanoTime();
+        for (String name : names) {
+            running++;
+            Task task = new Task(graph.nodeEntry(name), state.fork(), frontier.generation(name), frontier.epoch(), now);
+            runningPriorities.add(priority(task));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private void submit(Task task) {
+        try {
+            graph.executor().execute(() -> runTask(task));
+        } catch (RejectedExecutionException e) {
+            done.completeExceptionally(new GraphExecutionException(state.getRunId(), task.entry().name(), e));
+        }
+    }
+
+    private void runTask(Task task) {
+        CompletableFuture<GraphState> pending =
+                graph.runNodeAsync(task.entry(), task.input(), state, listener, task.readySince());
+        if (pending.isDone()) {
+            finish(task, pending);
+            return;
+        }
+        // completed by whichever thread finished the node's I/O; merge and checkpoint on the graph's executor
+        pending.whenComplete((result, failure) -> {
+            try {
+                graph.executor().execute(() -> finish(task, pending));
+            } catch (RejectedExecutionException e) {
+                finish(task, pending);
+            }
+        });
+    }
+
+    private void finish(Task task, CompletableFuture<GraphState> pending) {
+        GraphState result;
+        try {
+            result = pending.join();
+        } catch (CompletionException e) {
+            done.completeExceptionally(e.getCause());
+            return;
+        }
+        onCompleted(task, result);
+    }
+
+    private void onCompleted(Task task, GraphState result) {
+        String name = task.entry().name();
+        List<Task> ready = List.of();
+        synchronized (lock) {
+            running--;
+            runningPriorities.remove(Long.valueOf(priority(task)));
+            if (done.isDone()) {
+                return;
+            }
+            // A loop reset this node while it ran; the run it was reset for supersedes this one.
+            if (task.generation() == frontier.generation(name)) {
+                merge(result.changesSince(task.input()), priority(task));
+                try {
+                    ready = reserve(frontier.complete(name, state));
+                } catch (RuntimeException e) {
+                    done.completeExceptionally(e);
+                    return;
+                }
+                checkpointer.nodeCompleted(name, state, frontier.completedNodes());
+            }
+            settleReducedWrites();
+            if (running == 0) {
+                done.complete(state);
+                return;
+            }
+        }
+        ready.forEach(this::submit);
+    }
+
+    private long priority(Task task) {
+        return ((long) task.epoch() << 32) | graph.topology().rank(task.entry().name());
+    }
+
+    private void merge(List<StateUpdate> changes, long priority) {
+        for (StateUpdate update : changes) {
+            StateKey<?> channel = state.channel(update.key());
+            if (!update.replace() && channel != null && channel.hasReducer()) {
+                ReducedWrites writes = reducedWrites.computeIfAbsent(update.key(),
+                        key -> new ReducedWrites(channel, state.get(key, Object.class)));
+                state.replace(update.key(), writes.add(priority, update.value()));
+            } else if (priority >= writerPriority.getOrDefault(update.key(), -1L)) {
+                state.apply(update);
+                writerPriority.put(update.key(), priority);
+                // later reducer writes build on the replaced value
+                reducedWrites.remove(update.key());
+            }
+        }
+    }
+
+    /**
+     * Folds reducer writes no running or future node can still precede: successors rank
+     * after the node that readied them, so none comes before the lowest running priority.
+     */
+    private void settleReducedWrites() {
+        long lowest = runningPriorities.stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+        reducedWrites.values().removeIf(writes -> writes.settle(lowest));
+    }
+
+    private record Task(NodeEntry entry, GraphState input, int generation, int epoch, long readySince) {
+    }
+
+    /**
+     * The reducer writes merged into one channel whose order may still change: the value
+     * is recomputed from {@code base} whenever a write arrives that ranks before others.
+     */
+    private static final class ReducedWrites {
+
+        private final StateKey<?> channel;
+        private final List<Long> priorities = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+        private Object base;
+
+        ReducedWrites(StateKey<?> channel, Object base) {
+            this.channel = channel;
+            this.base = base;
+        }
+
+        Object add(long priority, Object value) {
+            int at = priorities.size();
+            while (at > 0 && priorities.get(at - 1) > priority) {
+                at--;
+            }
+            priorities.add(at, priority);
+            values.add(at, value);
+            Object reduced = base;
+            for (Object write : values) {
+                reduced = channel.reduce(reduced, write);
+            }
+            return reduced;
+        }
+
+        /**
+         * Folds the writes ranked before {@code lowest} into the base; true once none are left.
+         */
+        boolean settle(long lowest) {
+            while (!priorities.isEmpty() && priorities.get(0) < lowest) {
+                base = channel.reduce(base, values.remove(0));
+                priorities.remove(0);
+            }
+            return priorities.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.langgraph.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a {@link NodePolicy} around a node.
+ *
+ * Every attempt runs on a fork of the input state and only a successful attempt's
+ * changes are copied back, so a timed-out, failed, or losing hedged attempt never
+ * leaves partial writes behind. Streamed output is arbitrated the same way by
+ * {@link AttemptOutput}.
+ */
+final class ResilientNode implements AsyncGraphNode {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientNode.class);
+
+    private final String name;
+    private final GraphNode delegate;
+    private final NodePolicy policy;
+    private final Executor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyTracker latencies = new LatencyTracker(200);
+
+    ResilientNode(String name, GraphNode delegate, NodePolicy policy, Executor executor) {
+        this.name = name;
+        this.delegate = delegate;
+        this.policy = policy;
+        this.executor = executor;
+        this.circuitBreaker = policy.circuitBreakerThreshold() > 0
+                ? new CircuitBreaker(policy.circuitBreakerThreshold(), policy.circuitBreakerOpenDuration())
+                : null;
+    }
+
+    GraphNode delegate() {
+        return delegate;
+    }
+
+    @Override
+    public GraphState process(GraphState state) {
+        try {
+            return processAsync(state).join();
+        } catch (CompletionException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Runs the attempts without a thread waiting on them: backoff, timeout, and hedge
+     * delays are timers, and a delegate's own {@link GraphNode#processAsync future} is
+     * awaited the same way, so only the delegate's synchronous work occupies a thread.
+     */
+    @Override
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
+        NodeContext context = NodeContext.current().orElse(null);
+        AttemptOutput output = context != null && context.streamsOutput() ? new AttemptOutput(context) : null;
+        CompletableFuture<GraphState> result = new CompletableFuture<>();
+        attempt(state, context, output, 1, result);
+        return result;
+    }
+
+    private void attempt(GraphState state, NodeContext context, AttemptOutput output, int attempt,
+                         CompletableFuture<GraphState> result) {
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            result.completeExceptionally(new CircuitOpenException("Circuit breaker is open for node: " + name));
+            return;
+        }
+        if (output != null) {
+            output.nextRound();
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Attempt> pending = policy.needsExecutor()
+                ? new Race(state, context, output).start()
+                : runFork(state.fork(), context, output);
+        pending.whenComplete((winner, error) -> {
+            if (error == null) {
+                latencies.record(System.nanoTime() - start);
+                if (circuitBreaker != null) {
+                    circuitBreaker.onSuccess();
+                }
+                if (output != null) {
+                    output.won(winner.context());
+                }
+                result.complete(apply(state, winner));
+                return;
+            }
+            RuntimeException e = failure(error);
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure();
+            }
+            if (attempt >= policy.maxAttempts() || !policy.retryOn().test(e)) {
+                result.completeExceptionally(e);
+                return;
+            }
+            long backoffMs = backoffMillis(attempt);
+            log.warn("Node '{}' attempt {}/{} failed ({}), retrying in {}ms",
+                    name, attempt, policy.maxAttempts(), e.getMessage(), backoffMs);
+            schedule(TimeUnit.MILLISECONDS.toNanos(backoffMs), () -> attempt(state, context, output, attempt + 1, result),
+                    result);
+        });
+    }
+
+    /**
+     * Runs {@code task} on the executor after {@code delayNanos}, failing {@code onReject}
+     * if the executor no longer accepts work.
+     */
+    private void schedule(long delayNanos, Runnable task, CompletableFuture<?> onReject) {
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, Runnable::run).execute(() -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                onReject.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Runs one attempt on {@code fork}. With an {@code output}, the attempt runs in its own
+     * context so that its streamed output only reaches the listener if it is the one to keep.
+     */
+    private CompletableFuture<Attempt> runFork(GraphState fork, NodeContext context, AttemptOutput output) {
+        NodeContext attempt = output != null ? output.newAttempt() : context;
+        try (NodeContext.Scope ignored = attempt != null ? attempt.bind() : null) {
+            CompletableFuture<GraphState> pending = delegate.processAsync(fork);
+            if (output != null) {
+                pending.whenComplete((result, error) -> {
+                    if (error != null) {
+                        output.failed(attempt);
+                    }
+                });
+            }
+            return pending.thenApply(result -> new Attempt(fork, result, attempt));
+        } catch (RuntimeException e) {
+            if (output != null) {
+                output.failed(attempt);
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static RuntimeException failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+    }
+
+    private static GraphState apply(GraphState state, Attempt attempt) {
+        attempt.result().changesSince(attempt.fork()).forEach(state::apply);
+        return state;
+    }
+
+    private long hedgeDelayNanos() {
+        if (policy.hedgePercentile() > 0) {
+            long observed = latencies.percentile(policy.hedgePercentile());
+            if (observed > 0) {
+                return observed;
+            }
+        }
+        return policy.hedgeDelay().toNanos();
+    }
+
+    private long backoffMillis(int attempt) {
+        double base = policy.initialBackoff().toMillis() * Math.pow(policy.backoffMultiplier(), attempt - 1);
+        double capped = Math.min(base, policy.maxBackoff().toMillis());
+        double spread = capped * policy.jitter();
+        return Math.max(0, Math.round(capped - spread + ThreadLocalRandom.current().nextDouble() * 2 * spread));
+    }
+
+    /**
+     * One attempt on the executor, bounded by the policy's timeout and joined by a hedged
+     * attempt if it is slow. The first attempt to succeed wins; the others are cancelled.
+     */
+    private final class Race {
+
+        private final GraphState state;
+        private final NodeContext context;
+        private final AttemptOutput output;
+        private final CompletableFuture<Attempt> winner = new CompletableFuture<>();
+        private final List<Future<?>> attempts = new ArrayList<>();
+        private int running;
+
+        Race(GraphState state, NodeContext context, AttemptOutput output) {
+            this.state = state;
+            this.context = context;
+            this.output = output;
+        }
+
+        CompletableFuture<Attempt> start() {
+            winner.whenComplete((attempt, error) -> cancelAll());
+            if (policy.timeout() != null) {
+                schedule(policy.timeout().toNanos(), () -> winner.completeExceptionally(
+                        new NodeTimeoutException("Node '" + name + "' timed out after " + policy.timeout())), winner);
+            }
+            if (policy.hedgeDelay() != null) {
+                schedule(hedgeDelayNanos(), this::hedge, winner);
+            }
+            launch();
+            return winner;
+        }
+
+        private void hedge() {
+            synchronized (this) {
+                if (winner.isDone() || running == 0) {
+                    return;
+                }
+            }
+            log.info("Node '{}' is slow, starting hedged attempt", name);
+            launch();
+        }
+
+        private void launch() {
+            AttemptTask task = new AttemptTask();
+            synchronized (this) {
+                if (winner.isDone()) {
+                    return;
+                }
+                running++;
+                attempts.add(task);
+            }
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                finished(null, e);
+            }
+        }
+
+        private void finished(Attempt attempt, Throwable error) {
+            if (error == null) {
+                synchronized (this) {
+                    running--;
+                }
+                winner.complete(attempt);
+                return;
+            }
+            RuntimeException failure = failure(error);
+            synchronized (this) {
+                if (--running > 0) {
+                    return;
+                }
+            }
+            winner.completeExceptionally(failure);
+        }
+
+        private synchronized void cancelAll() {
+            attempts.forEach(future -> future.cancel(true));
+        }
+
+        /**
+         * Runs the delegate's synchronous part. Its result is only observed once the task
+         * has finished, so completing the race never interrupts the thread that won it.
+         */
+        private final class AttemptTask extends FutureTask<CompletableFuture<Attempt>> {
+
+            AttemptTask() {
+                super(() -> runFork(state.fork(), context, output));
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    get().whenComplete(Race.this::finished);
+                } catch (ExecutionException e) {
+                    finished(null, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private record Attempt(GraphState fork, GraphState result, NodeContext context) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.langgraph.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a checkpoint after every completed node of one run.
+ * A failing store is logged and skipped; it never fails the run itself.
+ */
+final class RunCheckpointer {
+
+    private static final Logger log = LoggerFactory.getLogger(RunCheckpointer.class);
+
+    private final CheckpointStore store;
+    private final String runId;
+    private final String startNode;
+    private int sequence;
+
+    RunCheckpointer(CheckpointStore store, String runId, String startNode, int sequence) {
+        this.store = store;
+        this.runId = runId;
+        this.startNode = startNode;
+        this.sequence = sequence;
+    }
+
+    synchronized void nodeCompleted(String nodeName, GraphState state, Set<String> completedNodes) {
+        if (store == null) {
+            return;
+        }
+        sequence++;
+        save(new Checkpoint(runId, sequence, nodeName, state.snapshot(),
+                Set.copyOf(completedNodes), state.getTimeline(), Instant.now(), startNode));
+    }
+
+    /**
+     * Stores a checkpoint taken elsewhere, e.g. by the worker that completed a node of a
+     * {@link ExecutionMode#DISTRIBUTED distributed} run.
+     */
+    synchronized void save(Checkpoint checkpoint) {
+        if (store == null) {
+            return;
+        }
+        sequence = Math.max(sequence, checkpoint.sequence());
+        try {
+            store.save(checkpoint);
+        } catch (RuntimeException e) {
+            log.warn("Failed to checkpoint run {} after node '{}'", runId, checkpoint.nodeName(), e);
+        }
+    }
+
+    synchronized int sequence() {
+        return sequence;
+    }
+
+    void runCompleted() {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.delete(runId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete checkpoints of run {}", runId, e);
+        }
+    }
+}
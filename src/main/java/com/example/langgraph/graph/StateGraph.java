@@ -3,47 +3,480 @@ package com.example.langgraph.graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
- * Compiled, executable graph that processes nodes sequentially.
+ * Compiled, executable graph.
  * Produced by {@link StateGraphBuilder#compile()}.
+ *
+ * In {@link ExecutionMode#SEQUENTIAL} mode nodes run one after another in topological
+ * order. In {@link ExecutionMode#PARALLEL} mode a node starts as soon as all of its
+ * predecessors have finished, so independent branches overlap on the graph's executor.
+ * In both modes, nodes on branches that conditional edges did not pick are skipped,
+ * and loop edges re-run the part of the graph they point back to.
  */
 public class StateGraph {
 
+    /**
+     * Router result that ends the current branch without running another node.
+     */
+    public static final String END = "__end__";
+
     private static final Logger log = LoggerFactory.getLogger(StateGraph.class);
 
     private final List<NodeEntry> nodes;
+    private final GraphTopology topology;
+    private final ExecutionMode executionMode;
+    private final Executor executor;
+    private final CheckpointStore checkpointStore;
+    private final List<GraphListener> listeners;
+    private final int maxNodeVisits;
+    private final Map<String, StateKey<?>> channels;
+    private final DataDependencies dataDependencies;
+    private final NodeTaskQueue taskQueue;
+    private final Duration pollInterval;
+    private final Map<String, DistributedExecution> localRuns = new ConcurrentHashMap<>();
 
-    StateGraph(List<NodeEntry> nodes) {
+    StateGraph(List<NodeEntry> nodes, GraphTopology topology,
+               ExecutionMode executionMode, Executor executor, CheckpointStore checkpointStore,
+               List<GraphListener> listeners, int maxNodeVisits, Map<String, StateKey<?>> channels,
+               DataDependencies dataDependencies, NodeTaskQueue taskQueue, Duration pollInterval) {
         this.nodes = nodes;
+        this.topology = topology;
+        this.executionMode = executionMode;
+        this.executor = executor;
+        this.checkpointStore = checkpointStore;
+        this.listeners = listeners;
+        this.maxNodeVisits = maxNodeVisits;
+        this.channels = channels;
+        this.dataDependencies = dataDependencies;
+        this.taskQueue = taskQueue;
+        this.pollInterval = pollInterval;
     }
 
     public GraphState execute(GraphState initialState) {
-        GraphState state = initialState;
-        log.info("Starting graph execution with {} nodes", nodes.size());
+        return execute(initialState, GraphListener.NOOP);
+    }
+
+    public GraphState execute(GraphState initialState, GraphListener listener) {
+        return join(executeAsync(null, initialState, listener, false));
+    }
+
+    public CompletableFuture<GraphState> executeAsync(GraphState initialState) {
+        return executeAsync(initialState, GraphListener.NOOP);
+    }
+
+    /**
+     * Starts a run without blocking the caller. In {@link ExecutionMode#PARALLEL} mode no
+     * thread waits for the run: each node is a task on the graph's executor and the last
+     * one completes the future. Sequential runs occupy one executor thread.
+     * The future fails with the same exceptions {@link #execute} throws.
+     */
+    public CompletableFuture<GraphState> executeAsync(GraphState initialState, GraphListener listener) {
+        return executeAsync(null, initialState, listener, true);
+    }
+
+    public GraphState execute(String fromNode, GraphState state) {
+        return execute(fromNode, state, GraphListener.NOOP);
+    }
+
+    /**
+     * Runs {@code fromNode} and the nodes downstream of it on {@code state}, as if the nodes
+     * before it had produced that state. Conditional edges are followed as usual, except that
+     * a loop edge leading back before {@code fromNode} ends its branch. Failed runs resume
+     * from their checkpoint as partial runs.
+     *
+     * @throws IllegalArgumentException if the graph has no such node, or {@code state} lacks a
+     *                                  channel {@link DataDependencies#requiredToStartAt requiredToStartAt}
+     *                                  {@code fromNode}
+     */
+    public GraphState execute(String fromNode, GraphState state, GraphListener listener) {
+        return join(executeAsync(requireStart(fromNode, state), state, listener, false));
+    }
+
+    /**
+     * Non-blocking {@link #execute(String, GraphState, GraphListener)}; see {@link #executeAsync(GraphState, GraphListener)}.
+     *
+     * @throws IllegalArgumentException if the graph has no such node, or {@code state} lacks a required channel
+     */
+    public CompletableFuture<GraphState> executeAsync(String fromNode, GraphState state, GraphListener listener) {
+        return executeAsync(requireStart(fromNode, state), state, listener, true);
+    }
+
+    private String requireStart(String fromNode, GraphState state) {
+        if (!getNodeNames().contains(fromNode)) {
+            throw new IllegalArgumentException("Unknown node: " + fromNode);
+        }
+        List<String> missing = dataDependencies.requiredToStartAt(fromNode).stream()
+                .filter(key -> !state.containsKey(key))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Starting at node '" + fromNode + "' requires " + missing
+                    + " in the state");
+        }
+        return fromNode;
+    }
+
+    private CompletableFuture<GraphState> executeAsync(String startNode, GraphState initialState,
+                                                       GraphListener listener, boolean detached) {
+        if (startNode == null) {
+            log.info("Starting graph execution with {} nodes", nodes.size());
+        } else {
+            log.info("Starting graph execution at node '{}'", startNode);
+        }
+        RunCheckpointer checkpointer = new RunCheckpointer(checkpointStore, initialState.getRunId(), startNode, 0);
+        return run(initialState, startNode, Set.of(), checkpointer, listener, detached);
+    }
+
+    public GraphState resume(String runId) {
+        return resume(runId, GraphListener.NOOP);
+    }
+
+    /**
+     * Continues a failed or interrupted run from its latest checkpoint.
+     * Nodes recorded as completed are not run again; conditional edges leaving them are
+     * re-evaluated against the restored state, so routers should depend on the state only.
+     *
+     * A {@link ExecutionMode#DISTRIBUTED distributed} run resumes from its failed record in
+     * the task queue, if the queue still has it, with the run attributes it was started with.
+     *
+     * @throws IllegalStateException    if the graph was compiled without a checkpoint store or
+     *                                  task queue, or the run is still running
+     * @throws IllegalArgumentException if no checkpoint exists for {@code runId}
+     */
+    public GraphState resume(String runId, GraphListener listener) {
+        return join(resumeAsync(runId, Map.of(), listener, false));
+    }
 
-        for (NodeEntry entry : nodes) {
-            log.info("Executing node: {}", entry.name());
-            long start = System.currentTimeMillis();
-            try {
-                state = entry.node().process(state);
-                long duration = System.currentTimeMillis() - start;
-                state.addTrace(entry.name(), duration);
-                log.info("Node '{}' completed in {}ms", entry.name(), duration);
-            } catch (Exception e) {
-                long duration = System.currentTimeMillis() - start;
-                state.addTrace(entry.name() + " [FAILED]", duration);
-                log.error("Node '{}' failed after {}ms", entry.name(), duration, e);
-                throw new RuntimeException("Graph execution failed at node: " + entry.name(), e);
+    /**
+     * Like {@link #resume(String, GraphListener)}, tagging the resumed run with
+     * {@code runAttributes}. Checkpoints don't keep run attributes, so a caller that tagged
+     * the original run (e.g. with its scheduling priority and tenant) passes them again here;
+     * they take precedence over those restored for a distributed run.
+     */
+    public GraphState resume(String runId, Map<String, String> runAttributes, GraphListener listener) {
+        return join(resumeAsync(runId, runAttributes, listener, false));
+    }
+
+    /**
+     * Non-blocking {@link #resume(String, GraphListener)}; see {@link #executeAsync(GraphState, GraphListener)}.
+     *
+     * @throws IllegalStateException    if the graph was compiled without a checkpoint store
+     * @throws IllegalArgumentException if no checkpoint exists for {@code runId}
+     */
+    public CompletableFuture<GraphState> resumeAsync(String runId, GraphListener listener) {
+        return resumeAsync(runId, Map.of(), listener, true);
+    }
+
+    private CompletableFuture<GraphState> resumeAsync(String runId, Map<String, String> runAttributes,
+                                                      GraphListener listener, boolean detached) {
+        if (checkpointStore == null && taskQueue == null) {
+            throw new IllegalStateException("Graph was compiled without a checkpoint store");
+        }
+        Optional<DistributedRun> failed = Optional.empty();
+        if (taskQueue != null) {
+            failed = taskQueue.run(runId);
+            if (failed.isPresent() && failed.get().status() == DistributedRun.Status.RUNNING) {
+                throw new IllegalStateException("Run " + runId + " is still running");
             }
+            failed = failed.filter(run -> run.status() == DistributedRun.Status.FAILED);
         }
+        Checkpoint checkpoint = failed.map(DistributedRun::checkpoint)
+                .or(() -> checkpointStore == null ? Optional.empty() : checkpointStore.latest(runId))
+                .orElseThrow(() -> new IllegalArgumentException("No checkpoint found for run: " + runId));
+
+        GraphState state = new GraphState(runId, checkpoint.state());
+        state.restoreTimeline(checkpoint.timeline());
+        failed.ifPresent(run -> run.attributes().forEach(state::withRunAttribute));
+        runAttributes.forEach(state::withRunAttribute);
+        log.info("Resuming run {} after node '{}' ({} of {} nodes completed)",
+                runId, checkpoint.nodeName(), checkpoint.completedNodes().size(), nodes.size());
+
+        RunCheckpointer checkpointer = new RunCheckpointer(checkpointStore, runId, checkpoint.startNode(),
+                checkpoint.sequence());
+        return run(state, checkpoint.startNode(), checkpoint.completedNodes(), checkpointer, listener, detached);
+    }
+
+    /**
+     * Runs the graph from {@code startNode} ({@code null} for the entry point). Unless
+     * {@code detached}, a sequential run executes on the calling thread and the returned
+     * future is already complete.
+     */
+    private CompletableFuture<GraphState> run(GraphState initialState, String startNode, Set<String> completed,
+                                              RunCheckpointer checkpointer, GraphListener runListener,
+                                              boolean detached) {
+        List<GraphListener> all = new ArrayList<>(listeners);
+        all.add(runListener);
+        GraphListener listener = GraphListener.composite(all);
+
+        initialState.bindChannels(channels);
+        initialState.markStarted();
+        String runId = initialState.getRunId();
+        GraphRunEvent event = new GraphRunEvent();
+        event.begin();
+        listener.onRunStart(runId);
+        long start = System.nanoTime();
+        CompletableFuture<GraphState> execution;
+        try {
+            if (executionMode == ExecutionMode.PARALLEL) {
+                execution = new ParallelExecution(this, initialState, listener, checkpointer)
+                        .start(startNode, completed);
+            } else if (executionMode == ExecutionMode.DISTRIBUTED) {
+                execution = new DistributedExecution(this, initialState, runListener)
+                        .start(startNode, completed, checkpointer.sequence());
+            } else if (detached) {
+                execution = CompletableFuture.supplyAsync(
+                        () -> executeSequentially(initialState, startNode, completed, checkpointer, listener), executor);
+            } else {
+                execution = CompletableFuture.completedFuture(
+                        executeSequentially(initialState, startNode, completed, checkpointer, listener));
+            }
+        } catch (RuntimeException e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+
+        return execution.handle((state, error) -> {
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            if (error != null) {
+                RuntimeException failure = unwrap(error);
+                commit(event, initialState, startNode, failure);
+                listener.onRunFailed(runId, failure, duration);
+                listener.onRunEnd(initialState, failure, duration);
+                throw failure;
+            }
+            checkpointer.runCompleted();
+            commit(event, state, startNode, null);
+            listener.onRunComplete(runId, duration);
+            listener.onRunEnd(state, null, duration);
+            log.info("Graph execution completed. Trace: {}", state.getExecutionTrace());
+            return state;
+        });
+    }
+
+    private void commit(GraphRunEvent event, GraphState state, String startNode, RuntimeException failure) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.runId = state.getRunId();
+            event.startNode = startNode != null ? startNode : topology.entryPoint();
+            event.executionMode = executionMode.name();
+            event.nodeExecutions = state.getTimeline().size();
+            event.outcome = failure == null ? "completed" : "failed";
+            event.failedNode = failure instanceof GraphExecutionException e ? e.getNodeName() : null;
+            event.commit();
+        }
+    }
+
+    private static GraphState join(CompletableFuture<GraphState> run) {
+        try {
+            return run.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error fatal) {
+            throw fatal;
+        }
+        return new CompletionException(cause);
+    }
 
-        log.info("Graph execution completed. Trace: {}", state.getExecutionTrace());
+    private GraphState executeSequentially(GraphState initialState, String startNode, Set<String> completed,
+                                           RunCheckpointer checkpointer, GraphListener listener) {
+        GraphState state = initialState;
+        Frontier frontier = newFrontier(state.getRunId());
+        PriorityQueue<String> ready = new PriorityQueue<>(Comparator.comparingInt(topology::rank));
+        Map<String, Long> readySince = new HashMap<>();
+        enqueue(frontier.start(state, startNode, completed), ready, readySince);
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            if (!frontier.isScheduled(name)) {
+                // reset by a loop after it was queued; it is queued again once ready
+                continue;
+            }
+            state = runNode(nodeEntry(name), state, state, listener, readySince.remove(name));
+            enqueue(frontier.complete(name, state), ready, readySince);
+            checkpointer.nodeCompleted(name, state, frontier.completedNodes());
+        }
         return state;
     }
 
+    private static void enqueue(List<String> names, PriorityQueue<String> ready, Map<String, Long> readySince) {
+        long now = System.nanoTime();
+        for (String name : names) {
+            readySince.putIfAbsent(name, now);
+        }
+        ready.addAll(names);
+    }
+
+    /**
+     * Runs a single node against {@code input} and records its execution on {@code traceTarget}'s timeline.
+     *
+     * @param readySince {@link System#nanoTime()} when the node became ready to run, or
+     *                   {@code null} if that is not known on this instance
+     */
+    GraphState runNode(NodeEntry entry, GraphState input, GraphState traceTarget, GraphListener listener,
+                       Long readySince) {
+        try {
+            return runNodeAsync(entry, input, traceTarget, listener, readySince).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #runNode} but through {@link GraphNode#processAsync}: the returned future
+     * completes, with a {@link GraphExecutionException} on failure, once the node's own
+     * future does, without a thread waiting for it.
+     */
+    CompletableFuture<GraphState> runNodeAsync(NodeEntry entry, GraphState input, GraphState traceTarget,
+                                               GraphListener listener, Long readySince) {
+        log.info("Executing node: {}", entry.name());
+        NodeExecutionEvent event = new NodeExecutionEvent();
+        event.begin();
+        listener.onNodeStart(entry.name());
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long wait = readySince == null ? 0 : Math.max(0, start - readySince);
+        NodeContext context = new NodeContext(input.getRunId(), input.getRunAttributes(), entry.name(), listener);
+        CompletableFuture<GraphState> pending;
+        try (NodeContext.Scope ignored = context.bind()) {
+            pending = entry.node().processAsync(input);
+        } catch (Exception e) {
+            pending = CompletableFuture.failedFuture(e);
+        }
+        return pending.handle((result, failure) -> {
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            if (failure == null) {
+                record(event, traceTarget, input, entry, context, startedAt, wait, duration, false);
+                log.info("Node '{}' completed in {}ms", entry.name(), duration.toMillis());
+                listener.onNodeComplete(entry.name(), duration);
+                return result;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            record(event, traceTarget, input, entry, context, startedAt, wait, duration, true);
+            log.error("Node '{}' failed after {}ms", entry.name(), duration.toMillis(), cause);
+            listener.onNodeFailed(entry.name(), cause, duration);
+            throw new GraphExecutionException(input.getRunId(), entry.name(), cause);
+        });
+    }
+
+    private static void record(NodeExecutionEvent event, GraphState traceTarget, GraphState input, NodeEntry entry,
+                               NodeContext context, Instant startedAt, long waitNanos, Duration duration,
+                               boolean failed) {
+        long llmNanos = context.llmNanos();
+        traceTarget.addTimelineEntry(new TimelineEntry(entry.name(), startedAt,
+                Duration.between(input.startedAt(), startedAt).toMillis(), Duration.ofNanos(waitNanos).toMillis(),
+                duration.toMillis(), Duration.ofNanos(llmNanos).toMillis(), failed));
+        event.end();
+        if (event.shouldCommit()) {
+            event.runId = input.getRunId();
+            event.node = entry.name();
+            event.outcome = failed ? "failed" : "completed";
+            event.queueWait = waitNanos;
+            event.llmTime = llmNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Dependencies derived from the nodes' declared reads and writes.
+     */
+    public DataDependencies getDataDependencies() {
+        return dataDependencies;
+    }
+
     public List<String> getNodeNames() {
         return nodes.stream().map(NodeEntry::name).toList();
     }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    List<NodeEntry> nodes() {
+        return nodes;
+    }
+
+    NodeEntry nodeEntry(String nodeName) {
+        return nodes.get(topology.rank(nodeName));
+    }
+
+    GraphTopology topology() {
+        return topology;
+    }
+
+    Frontier newFrontier(String runId) {
+        return new Frontier(topology, runId, maxNodeVisits);
+    }
+
+    Executor executor() {
+        return executor;
+    }
+
+    List<GraphListener> listeners() {
+        return listeners;
+    }
+
+    Map<String, StateKey<?>> channels() {
+        return channels;
+    }
+
+    int maxNodeVisits() {
+        return maxNodeVisits;
+    }
+
+    NodeTaskQueue taskQueue() {
+        return taskQueue;
+    }
+
+    Duration pollInterval() {
+        return pollInterval;
+    }
+
+    CheckpointStore checkpointStore() {
+        return checkpointStore;
+    }
+
+    /**
+     * The distributed run this instance started and is waiting for, if any.
+     */
+    Optional<DistributedExecution> localRun(String runId) {
+        return Optional.ofNullable(localRuns.get(runId));
+    }
+
+    void registerLocalRun(String runId, DistributedExecution execution) {
+        localRuns.put(runId, execution);
+    }
+
+    void unregisterLocalRun(String runId, DistributedExecution execution) {
+        localRuns.remove(runId, execution);
+    }
 }
@@ -1,6 +1,8 @@
 package com.example.langgraph.graph;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 /**
  * Fluent builder for constructing a StateGraph.
@@ -15,12 +17,49 @@ import java.util.*;
  *     .setEntryPoint("analyze")
  *     .compile();
  * </pre>
+ *
+ * Conditional edges let a router pick the next node at run time, which allows early exits
+ * and bounded loops:
+ * <pre>
+ * builder.addConditionalEdges("review", state -&gt; approved(state) ? "summary" : "revise",
+ *         "summary", "revise")
+ *     .addEdge("revise", "review");
+ * </pre>
+ * Every cycle must go through at least one conditional edge, and no node may run more than
+ * {@link #setMaxNodeVisits(int) maxNodeVisits} times per execution.
+ *
+ * Nodes that declare the channels they read and write ({@link GraphNode#reads()},
+ * {@link GraphNode#writes()}) are checked at compile time: every read needs a graph
+ * {@link #addInput(StateKey) input} or a writer that runs before it, and writers that
+ * could run concurrently must not share a channel without a reducer. With
+ * {@link #inferEdges()} the missing producer-to-reader edges are added instead of
+ * having to be wired with {@link #addEdge(String, String)}.
+ *
+ * Graphs run sequentially by default. Call {@link #setExecutionMode(ExecutionMode)} with
+ * {@link ExecutionMode#PARALLEL} to run independent branches concurrently, optionally on
+ * a custom {@link #setExecutor(Executor) executor}, or with {@link ExecutionMode#DISTRIBUTED}
+ * to run each node on whichever instance's worker takes it from a shared
+ * {@link #setTaskQueue(NodeTaskQueue, Duration) task queue}.
  */
 public class StateGraphBuilder {
 
+    static final int DEFAULT_MAX_NODE_VISITS = 25;
+
     private final Map<String, GraphNode> nodes = new LinkedHashMap<>();
+    private final Map<String, NodePolicy> policies = new HashMap<>();
     private final List<Edge> edges = new ArrayList<>();
+    private final List<ConditionalEdge> conditionalEdges = new ArrayList<>();
+    private final Map<String, StateKey<?>> channels = new LinkedHashMap<>();
+    private final Set<String> inputs = new LinkedHashSet<>();
+    private boolean inferEdges;
     private String entryPoint;
+    private int maxNodeVisits = DEFAULT_MAX_NODE_VISITS;
+    private ExecutionMode executionMode = ExecutionMode.SEQUENTIAL;
+    private Executor executor;
+    private CheckpointStore checkpointStore;
+    private NodeTaskQueue taskQueue;
+    private Duration pollInterval;
+    private final List<GraphListener> listeners = new ArrayList<>();
 
     public StateGraphBuilder addNode(String name, GraphNode node) {
         Objects.requireNonNull(name, "Node name must not be null");
@@ -32,6 +71,16 @@ public class StateGraphBuilder {
         return this;
     }
 
+    /**
+     * Adds a node guarded by a {@link NodePolicy} (timeout, retries, circuit breaker, hedging).
+     */
+    public StateGraphBuilder addNode(String name, GraphNode node, NodePolicy policy) {
+        Objects.requireNonNull(policy, "Node policy must not be null");
+        addNode(name, node);
+        policies.put(name, policy);
+        return this;
+    }
+
     public StateGraphBuilder addEdge(String from, String to) {
         Objects.requireNonNull(from, "Edge 'from' must not be null");
         Objects.requireNonNull(to, "Edge 'to' must not be null");
@@ -39,19 +88,182 @@ public class StateGraphBuilder {
         return this;
     }
 
+    /**
+     * Declares a typed state channel. Writes to it are type-checked and, if the key has
+     * a reducer, combined with the current value instead of replacing it.
+     */
+    public StateGraphBuilder addChannel(StateKey<?> key) {
+        Objects.requireNonNull(key, "State key must not be null");
+        StateKey<?> existing = channels.putIfAbsent(key.name(), key);
+        if (existing != null && existing != key) {
+            throw new IllegalArgumentException("Duplicate state channel: " + key.name());
+        }
+        return this;
+    }
+
+    /**
+     * Declares a channel the caller provides in the initial state, so declared nodes may
+     * read it without a producer in the graph.
+     */
+    public StateGraphBuilder addInput(StateKey<?> key) {
+        Objects.requireNonNull(key, "State key must not be null");
+        inputs.add(key.name());
+        return this;
+    }
+
+    /**
+     * Adds an edge from each writer to each reader of a declared channel unless the two
+     * nodes are already connected, and an edge from the entry point to every declared
+     * node left without a predecessor. Lets a graph of declared nodes run its independent
+     * stages in parallel without listing the edges by hand.
+     */
+    public StateGraphBuilder inferEdges() {
+        this.inferEdges = true;
+        return this;
+    }
+
+    /**
+     * Adds edges from {@code from} to each of {@code targets}; after {@code from} finishes,
+     * only the target returned by {@code router} is taken. Targets not taken are skipped
+     * unless another edge leads to them. {@link StateGraph#END} may be declared as a target.
+     */
+    public StateGraphBuilder addConditionalEdges(String from, EdgeRouter router, String... targets) {
+        Objects.requireNonNull(from, "Edge 'from' must not be null");
+        Objects.requireNonNull(router, "Router must not be null");
+        if (targets.length == 0) {
+            throw new IllegalArgumentException("Conditional edges need at least one target");
+        }
+        Set<String> declared = new LinkedHashSet<>();
+        for (String target : targets) {
+            declared.add(Objects.requireNonNull(target, "Edge 'to' must not be null"));
+        }
+        conditionalEdges.add(new ConditionalEdge(from, router, Collections.unmodifiableSet(declared)));
+        return this;
+    }
+
+    /**
+     * Limits how often a single node may run within one execution (default 25),
+     * so a loop whose router never exits fails instead of running forever.
+     */
+    public StateGraphBuilder setMaxNodeVisits(int maxNodeVisits) {
+        if (maxNodeVisits < 1) {
+            throw new IllegalArgumentException("Max node visits must be at least 1");
+        }
+        this.maxNodeVisits = maxNodeVisits;
+        return this;
+    }
+
     public StateGraphBuilder setEntryPoint(String nodeName) {
         Objects.requireNonNull(nodeName, "Entry point must not be null");
         this.entryPoint = nodeName;
         return this;
     }
 
+    public StateGraphBuilder setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = Objects.requireNonNull(executionMode, "Execution mode must not be null");
+        return this;
+    }
+
+    /**
+     * Sets the executor used by {@link ExecutionMode#PARALLEL} graphs.
+     * Defaults to a shared virtual-thread executor when the runtime supports it.
+     */
+    public StateGraphBuilder setExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        return this;
+    }
+
+    /**
+     * Snapshots the state after every completed node so failed runs can be resumed
+     * with {@link StateGraph#resume(String)}.
+     */
+    public StateGraphBuilder setCheckpointStore(CheckpointStore checkpointStore) {
+        this.checkpointStore = Objects.requireNonNull(checkpointStore, "Checkpoint store must not be null");
+        return this;
+    }
+
+    /**
+     * Sets the queue {@link ExecutionMode#DISTRIBUTED} graphs hand their nodes to.
+     * Callers check the queue every {@code pollInterval} for the result of their runs;
+     * the nodes run on {@link NodeWorker}s, which every instance sharing the queue starts.
+     */
+    public StateGraphBuilder setTaskQueue(NodeTaskQueue taskQueue, Duration pollInterval) {
+        this.taskQueue = Objects.requireNonNull(taskQueue, "Task queue must not be null");
+        this.pollInterval = Objects.requireNonNull(pollInterval, "Poll interval must not be null");
+        return this;
+    }
+
+    /**
+     * Registers a listener that observes every run of the compiled graph (e.g. metrics).
+     */
+    public StateGraphBuilder addListener(GraphListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "Listener must not be null"));
+        return this;
+    }
+
     public StateGraph compile() {
+        if (inferEdges && entryPoint != null) {
+            addInferredEdges();
+        }
         validate();
-        List<String> executionOrder = resolveExecutionOrder();
-        List<NodeEntry> orderedNodes = executionOrder.stream()
-                .map(name -> new NodeEntry(name, nodes.get(name)))
+        Executor graphExecutor = executor != null ? executor : GraphExecutors.sharedDefault();
+        GraphTopology topology = resolveTopology();
+        DataDependencies dependencies = DataDependencies.analyze(nodes, topology, inputs, channels);
+        List<NodeEntry> orderedNodes = topology.order().stream()
+                .map(name -> new NodeEntry(name, guarded(name, graphExecutor)))
                 .toList();
-        return new StateGraph(orderedNodes);
+
+        return new StateGraph(orderedNodes, topology, executionMode, graphExecutor,
+                checkpointStore, List.copyOf(listeners), maxNodeVisits, Map.copyOf(channels), dependencies,
+                taskQueue, pollInterval);
+    }
+
+    private void addInferredEdges() {
+        for (Map.Entry<String, GraphNode> reader : nodes.entrySet()) {
+            for (StateKey<?> key : reader.getValue().reads()) {
+                nodes.forEach((writer, node) -> {
+                    boolean writes = node.writes().stream().anyMatch(written -> written.name().equals(key.name()));
+                    if (writes && !writer.equals(reader.getKey())
+                            && !reaches(reader.getKey(), writer) && !reaches(writer, reader.getKey())) {
+                        edges.add(new Edge(writer, reader.getKey()));
+                    }
+                });
+            }
+        }
+        Set<String> targets = new HashSet<>();
+        edges.forEach(edge -> targets.add(edge.to()));
+        conditionalEdges.forEach(edge -> targets.addAll(edge.targets()));
+        nodes.forEach((name, node) -> {
+            if (node.declaresAccess() && !name.equals(entryPoint) && !targets.contains(name)) {
+                edges.add(new Edge(entryPoint, name));
+            }
+        });
+    }
+
+    /**
+     * Whether {@code to} can be reached from {@code from} over any edge, loops included.
+     */
+    private boolean reaches(String from, String to) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(from));
+        while (!pending.isEmpty()) {
+            String current = pending.poll();
+            if (current.equals(to)) {
+                return true;
+            }
+            if (visited.add(current)) {
+                edges.stream().filter(edge -> edge.from().equals(current)).forEach(edge -> pending.add(edge.to()));
+                conditionalEdges.stream().filter(edge -> edge.from().equals(current))
+                        .forEach(edge -> pending.addAll(edge.targets()));
+            }
+        }
+        return false;
+    }
+
+    private GraphNode guarded(String name, Executor graphExecutor) {
+        NodePolicy policy = policies.getOrDefault(name, NodePolicy.NONE);
+        GraphNode node = nodes.get(name);
+        return policy.isNoop() ? node : new ResilientNode(name, node, policy, graphExecutor);
     }
 
     private void validate() {
@@ -61,24 +273,38 @@ public class StateGraphBuilder {
         if (!nodes.containsKey(entryPoint)) {
             throw new IllegalStateException("Entry point '" + entryPoint + "' is not a registered node");
         }
+        if (executionMode == ExecutionMode.DISTRIBUTED && taskQueue == null) {
+            throw new IllegalStateException("Distributed execution requires a task queue");
+        }
         for (Edge edge : edges) {
-            if (!nodes.containsKey(edge.from())) {
-                throw new IllegalStateException("Edge references unknown node: " + edge.from());
-            }
-            if (!nodes.containsKey(edge.to())) {
-                throw new IllegalStateException("Edge references unknown node: " + edge.to());
+            requireNode(edge.from());
+            if (!StateGraph.END.equals(edge.to())) {
+                requireNode(edge.to());
             }
         }
+        for (ConditionalEdge edge : conditionalEdges) {
+            requireNode(edge.from());
+            edge.targets().stream().filter(target -> !StateGraph.END.equals(target)).forEach(this::requireNode);
+        }
         detectCycle();
     }
 
+    private void requireNode(String name) {
+        if (!nodes.containsKey(name)) {
+            throw new IllegalStateException("Edge references unknown node: " + name);
+        }
+    }
+
     private void detectCycle() {
+        // Only cycles made of unconditional edges are rejected: they could never be left.
         Map<String, List<String>> adjacency = new HashMap<>();
         for (String name : nodes.keySet()) {
             adjacency.put(name, new ArrayList<>());
         }
         for (Edge edge : edges) {
-            adjacency.get(edge.from()).add(edge.to());
+            if (!StateGraph.END.equals(edge.to())) {
+                adjacency.get(edge.from()).add(edge.to());
+            }
         }
 
         Set<String> visited = new HashSet<>();
@@ -110,29 +336,126 @@ public class StateGraphBuilder {
         return false;
     }
 
-    private List<String> resolveExecutionOrder() {
-        // Topological sort starting from entryPoint, following edges
-        Map<String, List<String>> adjacency = new HashMap<>();
+    private GraphTopology resolveTopology() {
+        // Static edges first, then conditional targets, each in declaration order.
+        Map<String, Set<String>> adjacency = new LinkedHashMap<>();
+        Map<String, List<String>> staticTargets = new HashMap<>();
         for (String name : nodes.keySet()) {
-            adjacency.put(name, new ArrayList<>());
+            adjacency.put(name, new LinkedHashSet<>());
         }
         for (Edge edge : edges) {
-            adjacency.get(edge.from()).add(edge.to());
+            if (!StateGraph.END.equals(edge.to())) {
+                adjacency.get(edge.from()).add(edge.to());
+                staticTargets.computeIfAbsent(edge.from(), k -> new ArrayList<>()).add(edge.to());
+            }
+        }
+        Map<String, List<ConditionalEdge>> conditional = new HashMap<>();
+        for (ConditionalEdge edge : conditionalEdges) {
+            conditional.computeIfAbsent(edge.from(), k -> new ArrayList<>()).add(edge);
+            edge.targets().stream()
+                    .filter(target -> !StateGraph.END.equals(target))
+                    .forEach(adjacency.get(edge.from())::add);
         }
 
-        List<String> order = new ArrayList<>();
+        Set<Edge> loopEdges = findLoopEdges(adjacency);
+        List<String> order = resolveExecutionOrder(adjacency, loopEdges);
+        Set<String> reachable = new HashSet<>(order);
+
+        Map<String, List<String>> forwardSuccessors = new HashMap<>();
+        for (String from : order) {
+            List<String> forward = adjacency.get(from).stream()
+                    .filter(to -> !loopEdges.contains(new Edge(from, to)))
+                    .toList();
+            if (!forward.isEmpty()) {
+                forwardSuccessors.put(from, forward);
+            }
+        }
+        staticTargets.keySet().retainAll(reachable);
+        staticTargets.replaceAll((name, targets) -> List.copyOf(new LinkedHashSet<>(targets)));
+        conditional.keySet().retainAll(reachable);
+        conditional.replaceAll((name, routed) -> List.copyOf(routed));
+
+        return new GraphTopology(entryPoint, order, Map.copyOf(staticTargets), Map.copyOf(conditional),
+                Map.copyOf(forwardSuccessors), Set.copyOf(loopEdges));
+    }
+
+    /**
+     * Edges that point back to a node on the current depth-first path from the entry point.
+     * Removing them leaves a DAG; since unconditional cycles are rejected, each of them
+     * closes a loop that a router can leave.
+     */
+    private Set<Edge> findLoopEdges(Map<String, Set<String>> adjacency) {
+        Set<Edge> loopEdges = new HashSet<>();
         Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
-        queue.add(entryPoint);
+        Set<String> onPath = new HashSet<>();
+        Deque<String> path = new ArrayDeque<>();
+        Deque<Iterator<String>> pending = new ArrayDeque<>();
+
         visited.add(entryPoint);
+        onPath.add(entryPoint);
+        path.push(entryPoint);
+        pending.push(adjacency.get(entryPoint).iterator());
+        while (!path.isEmpty()) {
+            Iterator<String> targets = pending.peek();
+            if (!targets.hasNext()) {
+                onPath.remove(path.pop());
+                pending.pop();
+                continue;
+            }
+            String next = targets.next();
+            if (onPath.contains(next)) {
+                loopEdges.add(new Edge(path.peek(), next));
+            } else if (visited.add(next)) {
+                onPath.add(next);
+                path.push(next);
+                pending.push(adjacency.get(next).iterator());
+            }
+        }
+        return loopEdges;
+    }
 
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
+    private List<String> resolveExecutionOrder(Map<String, Set<String>> adjacency, Set<Edge> loopEdges) {
+        // Topological sort (Kahn) over the nodes reachable from entryPoint, ignoring loop edges.
+        // Ties are broken by registration order so linear graphs keep their declared order.
+        Set<String> reachable = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(entryPoint);
+        reachable.add(entryPoint);
+        while (!pending.isEmpty()) {
+            for (String next : adjacency.get(pending.poll())) {
+                if (reachable.add(next)) {
+                    pending.add(next);
+                }
+            }
+        }
+
+        Map<String, Integer> inDegree = new HashMap<>();
+        for (String name : reachable) {
+            inDegree.put(name, 0);
+        }
+        for (String from : reachable) {
+            for (String to : adjacency.get(from)) {
+                if (!loopEdges.contains(new Edge(from, to))) {
+                    inDegree.merge(to, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<String> registrationOrder = new ArrayList<>(nodes.keySet());
+        Map<String, Integer> position = new HashMap<>();
+        for (int i = 0; i < registrationOrder.size(); i++) {
+            position.put(registrationOrder.get(i), i);
+        }
+
+        List<String> order = new ArrayList<>();
+        PriorityQueue<String> ready = new PriorityQueue<>(Comparator.comparing(position::get));
+        ready.add(entryPoint);
+        while (!ready.isEmpty()) {
+            String current = ready.poll();
             order.add(current);
             for (String next : adjacency.get(current)) {
-                if (!visited.contains(next)) {
-                    visited.add(next);
-                    queue.add(next);
+                if (!loopEdges.contains(new Edge(current, next)) && inDegree.merge(next, -1, Integer::sum) == 0) {
+                    ready.add(next);
                 }
             }
         }
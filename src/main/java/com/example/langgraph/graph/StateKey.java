@@ -0,0 +1,90 @@
+package com.example.langgraph.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+
+/**
+ * Typed name of a state channel, declared with {@link StateGraphBuilder#addChannel(StateKey)}.
+ * Mirrors a field of LangGraph's state schema, including its optional reducer.
+ *
+ * Without a reducer a write replaces the current value (last write wins); when sibling
+ * branches of a parallel run both write, the later node in topological order wins.
+ * With a reducer a write is combined with the current value, and updates from parallel
+ * branches are all applied, in topological order of the writing nodes regardless of which
+ * finished first.
+ *
+ * @param <T> the value type
+ */
+public final class StateKey<T> {
+
+    private final String name;
+    private final Class<T> type;
+    private final BinaryOperator<T> reducer;
+
+    private StateKey(String name, Class<T> type, BinaryOperator<T> reducer) {
+        this.name = Objects.requireNonNull(name, "State key name must not be null");
+        this.type = Objects.requireNonNull(type, "State key type must not be null");
+        this.reducer = reducer;
+    }
+
+    /**
+     * A last-write-wins channel.
+     */
+    public static <T> StateKey<T> of(String name, Class<T> type) {
+        return new StateKey<>(name, type, null);
+    }
+
+    /**
+     * A channel whose writes are combined with the current value by {@code reducer(current, update)}.
+     */
+    public static <T> StateKey<T> reducing(String name, Class<T> type, BinaryOperator<T> reducer) {
+        return new StateKey<>(name, type, Objects.requireNonNull(reducer, "Reducer must not be null"));
+    }
+
+    /**
+     * A list channel where every write appends its elements, e.g. for notes collected by parallel branches.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> StateKey<List<E>> appending(String name) {
+        Class<List<E>> type = (Class<List<E>>) (Class<?>) List.class;
+        return new StateKey<>(name, type, (current, update) -> {
+            List<E> combined = new ArrayList<>(current.size() + update.size());
+            combined.addAll(current);
+            combined.addAll(update);
+            return Collections.unmodifiableList(combined);
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    public boolean hasReducer() {
+        return reducer != null;
+    }
+
+    T checked(Object value) {
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("State key '" + name + "' holds " + type.getSimpleName()
+                    + " values, got " + value.getClass().getSimpleName());
+        }
+        return type.cast(value);
+    }
+
+    Object reduce(Object current, Object update) {
+        T checkedUpdate = checked(update);
+        return current == null || reducer == null ? checkedUpdate : reducer.apply(checked(current), checkedUpdate);
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + type.getSimpleName();
+    }
+}
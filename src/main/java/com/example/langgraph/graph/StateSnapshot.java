@@ -0,0 +1,89 @@
+package com.example.langgraph.graph;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable point-in-time view of a {@link GraphState}'s data.
+ *
+ * Each snapshot holds only the entries written since its parent snapshot, so taking one
+ * costs as much as the writes since the previous one rather than a copy of the whole map.
+ * Chains are flattened once they grow past {@link #MAX_DEPTH} to keep lookups short.
+ */
+final class StateSnapshot extends AbstractMap<String, Object> {
+
+    static final StateSnapshot EMPTY = new StateSnapshot(Map.of(), null);
+
+    private static final int MAX_DEPTH = 8;
+
+    private final Map<String, Object> entries;
+    private final StateSnapshot parent;
+    private final int depth;
+    private volatile Map<String, Object> flattened;
+
+    private StateSnapshot(Map<String, Object> entries, StateSnapshot parent) {
+        this.entries = entries;
+        this.parent = parent;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /**
+     * Returns a snapshot of this one with {@code changes} applied on top.
+     */
+    StateSnapshot with(Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        if (depth + 1 >= MAX_DEPTH) {
+            Map<String, Object> merged = new HashMap<>(flatten());
+            merged.putAll(changes);
+            return new StateSnapshot(Map.copyOf(merged), null);
+        }
+        return new StateSnapshot(Map.copyOf(changes), this);
+    }
+
+    @Override
+    public Object get(Object key) {
+        for (StateSnapshot layer = this; layer != null; layer = layer.parent) {
+            Object value = layer.entries.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return flatten().entrySet();
+    }
+
+    private Map<String, Object> flatten() {
+        Map<String, Object> result = flattened;
+        if (result == null) {
+            if (parent == null) {
+                result = entries;
+            } else {
+                Deque<StateSnapshot> layers = new ArrayDeque<>();
+                for (StateSnapshot layer = this; layer != null; layer = layer.parent) {
+                    layers.push(layer);
+                }
+                Map<String, Object> merged = new HashMap<>();
+                layers.forEach(layer -> merged.putAll(layer.entries));
+                result = Collections.unmodifiableMap(merged);
+            }
+            flattened = result;
+        }
+        return result;
+    }
+}
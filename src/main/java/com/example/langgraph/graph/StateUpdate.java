@@ -0,0 +1,10 @@
+package com.example.langgraph.graph;
+
+/**
+ * One write recorded on a forked {@link GraphState}.
+ *
+ * @param replace {@code true} when {@code value} is the new value itself rather than an
+ *                update for the channel's reducer (e.g. found by diffing a returned state)
+ */
+record StateUpdate(String key, Object value, boolean replace) {
+}
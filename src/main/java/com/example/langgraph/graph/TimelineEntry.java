@@ -0,0 +1,43 @@
+package com.example.langgraph.graph;
+
+import java.time.Instant;
+
+/**
+ * One node execution on a run's timeline.
+ *
+ * @param node          the node that ran
+ * @param startedAt     when the node started
+ * @param startOffsetMs how long after the start of the run the node started
+ * @param waitMs        how long the node waited between becoming ready and starting, e.g. in
+ *                      the executor's queue or behind other ready nodes of a sequential run
+ * @param durationMs    how long the node ran
+ * @param llmMs         time the node spent waiting on model calls; summed over calls it made
+ *                      concurrently (e.g. in a {@link MapReduceNode}), so it can exceed {@code durationMs}
+ * @param failed        whether the node failed
+ */
+public record TimelineEntry(
+        String node,
+        Instant startedAt,
+        long startOffsetMs,
+        long waitMs,
+        long durationMs,
+        long llmMs,
+        boolean failed
+) {
+
+    /**
+     * The part of {@code durationMs} the node spent on its own work rather than on model calls.
+     * Underestimated for nodes that call the model concurrently, whose model time is summed.
+     */
+    public long workMs() {
+        return Math.max(0, durationMs - llmMs);
+    }
+
+    /**
+     * Formats the entry as in {@link GraphState#getExecutionTrace()}: {@code "name (12ms)"},
+     * or {@code "name [FAILED] (12ms)"} for a failed attempt.
+     */
+    public String traceEntry() {
+        return node + (failed ? " [FAILED]" : "") + " (" + durationMs + "ms)";
+    }
+}
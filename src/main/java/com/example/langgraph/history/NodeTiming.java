@@ -0,0 +1,9 @@
+package com.example.langgraph.history;
+
+/**
+ * One node execution of a recorded run.
+ *
+ * @param sequence position of the execution in the run's timeline
+ */
+public record NodeTiming(int sequence, String node, long durationMs, boolean failed) {
+}
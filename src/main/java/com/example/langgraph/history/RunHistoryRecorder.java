@@ -0,0 +1,189 @@
+package com.example.langgraph.history;
+
+import com.example.langgraph.config.RunHistoryProperties;
+import com.example.langgraph.graph.GraphExecutionException;
+import com.example.langgraph.graph.GraphListener;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.TimelineEntry;
+import com.example.langgraph.llm.scheduler.LlmScheduler;
+import com.example.langgraph.nodes.ContentKeys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every finished run of the graph it listens to in the {@link RunHistoryStore}.
+ *
+ * The run's thread only queues the record. A writer thread stores queued records in
+ * batches of up to {@code batch-size}, waiting at most {@code flush-interval} for a batch to
+ * fill up, so the history never slows a run down. A batch the database rejects is written
+ * again one record at a time, so one bad record does not cost the others. When the queue
+ * is full, or a record cannot be written, it is dropped and counted instead.
+ */
+@Component
+public class RunHistoryRecorder implements GraphListener, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RunHistoryRecorder.class);
+
+    private final RunHistoryStore store;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final BlockingQueue<RunRecord> pending;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public RunHistoryRecorder(RunHistoryStore store, RunHistoryProperties properties) {
+        this(store, properties.enabled(), properties.batchSize(), properties.flushInterval(),
+                properties.queueCapacity());
+    }
+
+    RunHistoryRecorder(RunHistoryStore store, boolean enabled, int batchSize, Duration flushInterval,
+                       int queueCapacity) {
+        this.store = store;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::writeBatches, "run-history-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    synchronized void start() {
+        if (enabled && !running) {
+            running = true;
+            writer.start();
+        }
+    }
+
+    /**
+     * Stops the writer once every queued record is stored.
+     */
+    @PreDestroy
+    synchronized void stop() throws InterruptedException {
+        if (running) {
+            running = false;
+            writer.join(flushInterval.toMillis() + TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Override
+    public void onRunEnd(GraphState state, Throwable error, Duration duration) {
+        if (!running) {
+            return;
+        }
+        Instant finishedAt = Instant.now();
+        List<TimelineEntry> timeline = state.getTimeline();
+        List<NodeTiming> nodes = new ArrayList<>(timeline.size());
+        for (int i = 0; i < timeline.size(); i++) {
+            TimelineEntry entry = timeline.get(i);
+            nodes.add(new NodeTiming(i, entry.node(), entry.durationMs(), entry.failed()));
+        }
+        RunSummary summary = new RunSummary(
+                state.getRunId(),
+                state.get(ContentKeys.INPUT_TOPIC),
+                error == null ? RunSummary.Status.COMPLETED : RunSummary.Status.FAILED,
+                state.getRunAttributes().get(LlmScheduler.TENANT_ATTRIBUTE),
+                finishedAt.minus(duration),
+                finishedAt,
+                duration.toMillis(),
+                error instanceof GraphExecutionException failure ? failure.getNodeName() : null,
+                error == null ? null : String.valueOf(rootCause(error).getMessage()));
+        if (!pending.offer(new RunRecord(summary, nodes, timeline, state.asMap()))) {
+            dropped.incrementAndGet();
+            log.warn("Run history queue is full; run {} is not recorded", state.getRunId());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("history.runs.pending", pending, BlockingQueue::size).register(registry);
+        FunctionCounter.builder("history.runs.written", written, AtomicLong::get).register(registry);
+        FunctionCounter.builder("history.runs.dropped", dropped, AtomicLong::get).register(registry);
+    }
+
+    private void writeBatches() {
+        List<RunRecord> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for the first record, then up to the flush interval for the batch to fill.
+     */
+    private void fill(List<RunRecord> batch) throws InterruptedException {
+        RunRecord first = pending.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize && running) {
+            pending.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            RunRecord next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+        pending.drainTo(batch, batchSize - batch.size());
+    }
+
+    private void write(List<RunRecord> batch) {
+        try {
+            store.saveAll(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                dropped.incrementAndGet();
+                log.warn("Failed to record run {} in the run history", batch.get(0).summary().runId(), e);
+                return;
+            }
+            log.warn("Failed to record a batch of {} runs in the run history; writing them one at a time",
+                    batch.size(), e);
+            batch.forEach(record -> write(List.of(record)));
+        }
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
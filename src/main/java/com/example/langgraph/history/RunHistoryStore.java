@@ -0,0 +1,241 @@
+package com.example.langgraph.history;
+
+import com.example.langgraph.config.RunHistoryProperties;
+import com.example.langgraph.graph.TimelineEntry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Finished runs in two tables of {@code spring.datasource}: one row per run, indexed by
+ * topic, finish time and status, and one row per node execution, indexed by node and
+ * latency. The final state, which holds the generated texts, is stored gzip-compressed.
+ *
+ * A run recorded again (a failed run that was resumed) replaces its earlier record.
+ */
+@Component
+public class RunHistoryStore {
+
+    private static final TypeReference<Map<String, Object>> STATE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<TimelineEntry>> TIMELINE = new TypeReference<>() {
+    };
+    // column lengths; longer values are truncated so they cannot fail the batch they are written in
+    private static final int TOPIC_LENGTH = 1000;
+    private static final int NAME_LENGTH = 128;
+    private static final int ERROR_LENGTH = 4000;
+    private static final String SUMMARY_COLUMNS =
+            "run_id, topic, status, tenant, started_at, finished_at, duration_ms, failed_node, error";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RunHistoryStore(DataSource dataSource, ObjectMapper objectMapper, RunHistoryProperties properties) {
+        this(dataSource, objectMapper);
+        if (properties.initializeSchema()) {
+            createSchema();
+        }
+    }
+
+    public RunHistoryStore(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates the history tables unless they exist.
+     */
+    public void createSchema() {
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS run_history (
+                    run_id VARCHAR(128) PRIMARY KEY,
+                    topic VARCHAR(1000),
+                    topic_key VARCHAR(1000),
+                    status VARCHAR(16) NOT NULL,
+                    tenant VARCHAR(128),
+                    started_at TIMESTAMP NOT NULL,
+                    finished_at TIMESTAMP NOT NULL,
+                    duration_ms BIGINT NOT NULL,
+                    failed_node VARCHAR(128),
+                    error VARCHAR(4000),
+                    trace_json CLOB NOT NULL,
+                    state_gz BLOB NOT NULL
+                )""");
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS run_history_node (
+                    run_id VARCHAR(128) NOT NULL,
+                    seq INT NOT NULL,
+                    node VARCHAR(128) NOT NULL,
+                    duration_ms BIGINT NOT NULL,
+                    failed BOOLEAN NOT NULL,
+                    finished_at TIMESTAMP NOT NULL,
+                    PRIMARY KEY (run_id, seq)
+                )""");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS run_history_topic ON run_history (topic_key, finished_at)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS run_history_finished ON run_history (finished_at)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS run_history_status ON run_history (status, finished_at)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS run_history_node_latency ON run_history_node (node, duration_ms)");
+    }
+
+    /**
+     * Writes the runs in one transaction. Topics, tenants and errors longer than their
+     * columns are truncated; the topic filter of {@link #find(RunQuery)} matches on the
+     * truncated topic.
+     */
+    public void saveAll(Collection<RunRecord> records) {
+        Map<String, RunRecord> latest = new LinkedHashMap<>();
+        records.forEach(record -> latest.put(record.summary().runId(), record));
+        List<Object[]> ids = latest.keySet().stream().map(id -> new Object[]{id}).toList();
+        List<Object[]> runs = new ArrayList<>();
+        List<Object[]> nodes = new ArrayList<>();
+        for (RunRecord record : latest.values()) {
+            RunSummary run = record.summary();
+            runs.add(new Object[]{run.runId(), truncate(run.topic(), TOPIC_LENGTH), topicKey(run.topic()),
+                    run.status().name(), truncate(run.tenant(), NAME_LENGTH), Timestamp.from(run.startedAt()),
+                    Timestamp.from(run.finishedAt()), run.durationMs(), truncate(run.failedNode(), NAME_LENGTH),
+                    truncate(run.error(), ERROR_LENGTH), write(record.timeline()), compress(record.state())});
+            for (NodeTiming node : record.nodes()) {
+                nodes.add(new Object[]{run.runId(), node.sequence(), node.node(), node.durationMs(), node.failed(),
+                        Timestamp.from(run.finishedAt())});
+            }
+        }
+        transactions.executeWithoutResult(status -> {
+            jdbc.batchUpdate("DELETE FROM run_history_node WHERE run_id = ?", ids);
+            jdbc.batchUpdate("DELETE FROM run_history WHERE run_id = ?", ids);
+            jdbc.batchUpdate("INSERT INTO run_history (run_id, topic, topic_key, status, tenant, started_at, "
+                    + "finished_at, duration_ms, failed_node, error, trace_json, state_gz) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", runs);
+            jdbc.batchUpdate("INSERT INTO run_history_node (run_id, seq, node, duration_ms, failed, finished_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", nodes);
+        });
+    }
+
+    public RunPage find(RunQuery query) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (query.topic() != null) {
+            where.append(" AND topic_key = ?");
+            args.add(topicKey(query.topic()));
+        }
+        if (query.status() != null) {
+            where.append(" AND status = ?");
+            args.add(query.status().name());
+        }
+        if (query.from() != null) {
+            where.append(" AND finished_at >= ?");
+            args.add(Timestamp.from(query.from()));
+        }
+        if (query.to() != null) {
+            where.append(" AND finished_at < ?");
+            args.add(Timestamp.from(query.to()));
+        }
+        if (query.node() != null) {
+            where.append(" AND run_id IN (SELECT run_id FROM run_history_node WHERE node = ? AND duration_ms >= ?)");
+            args.add(query.node());
+            args.add(query.minNodeMs() == null ? 0L : query.minNodeMs());
+        }
+
+        Long total = jdbc.queryForObject("SELECT COUNT(*) FROM run_history" + where, Long.class, args.toArray());
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add((long) query.page() * query.size());
+        pageArgs.add(query.size());
+        List<RunSummary> runs = jdbc.query("SELECT " + SUMMARY_COLUMNS + " FROM run_history" + where
+                        + " ORDER BY finished_at DESC, run_id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+                RunHistoryStore::mapSummary, pageArgs.toArray());
+        return new RunPage(runs, query.page(), query.size(), total == null ? 0 : total);
+    }
+
+    public Optional<RunRecord> find(String runId) {
+        return jdbc.query("SELECT * FROM run_history WHERE run_id = ?", (rs, row) -> new RunRecord(
+                        mapSummary(rs, row),
+                        jdbc.query("SELECT seq, node, duration_ms, failed FROM run_history_node WHERE run_id = ? "
+                                        + "ORDER BY seq",
+                                (nodes, n) -> new NodeTiming(nodes.getInt("seq"), nodes.getString("node"),
+                                        nodes.getLong("duration_ms"), nodes.getBoolean("failed")), runId),
+                        read(rs.getString("trace_json")),
+                        decompress(rs.getBytes("state_gz"))), runId)
+                .stream().findFirst();
+    }
+
+    private static RunSummary mapSummary(ResultSet rs, int row) throws SQLException {
+        return new RunSummary(
+                rs.getString("run_id"),
+                rs.getString("topic"),
+                RunSummary.Status.valueOf(rs.getString("status")),
+                rs.getString("tenant"),
+                rs.getTimestamp("started_at").toInstant(),
+                rs.getTimestamp("finished_at").toInstant(),
+                rs.getLong("duration_ms"),
+                rs.getString("failed_node"),
+                rs.getString("error"));
+    }
+
+    private byte[] compress(Map<String, Object> state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, state);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Run state is not serializable to JSON", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Map<String, Object> decompress(byte[] state) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(state))) {
+            return objectMapper.readValue(in, STATE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable state in run history", e);
+        }
+    }
+
+    private String write(List<TimelineEntry> timeline) {
+        try {
+            return objectMapper.writeValueAsString(timeline);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Timeline is not serializable to JSON", e);
+        }
+    }
+
+    private List<TimelineEntry> read(String timeline) {
+        try {
+            return objectMapper.readValue(timeline, TIMELINE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable timeline in run history", e);
+        }
+    }
+
+    private static String topicKey(String topic) {
+        return topic == null ? null : truncate(topic.strip().toLowerCase(Locale.ROOT), TOPIC_LENGTH);
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+}
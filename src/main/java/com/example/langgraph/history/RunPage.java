@@ -0,0 +1,11 @@
+package com.example.langgraph.history;
+
+import java.util.List;
+
+/**
+ * One page of recorded runs.
+ *
+ * @param total runs matching the query across all pages
+ */
+public record RunPage(List<RunSummary> runs, int page, int size, long total) {
+}
@@ -0,0 +1,34 @@
+package com.example.langgraph.history;
+
+import java.time.Instant;
+
+/**
+ * Filters for listing recorded runs, newest first. {@code null} filters match every run.
+ *
+ * @param topic     topic, ignoring case and surrounding whitespace
+ * @param from      earliest finish time, inclusive
+ * @param to        latest finish time, exclusive
+ * @param node      only runs that executed this node
+ * @param minNodeMs with {@code node}: only runs where one of its executions took at least this long
+ * @param page      zero-based page number
+ */
+public record RunQuery(
+        String topic,
+        RunSummary.Status status,
+        Instant from,
+        Instant to,
+        String node,
+        Long minNodeMs,
+        int page,
+        int size
+) {
+
+    public RunQuery {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > 200) {
+            throw new IllegalArgumentException("size must be between 1 and 200");
+        }
+    }
+}
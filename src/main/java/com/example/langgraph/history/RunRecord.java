@@ -0,0 +1,17 @@
+package com.example.langgraph.history;
+
+import com.example.langgraph.graph.TimelineEntry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A finished run as kept in the history: its summary, node latencies, timeline and final state.
+ */
+public record RunRecord(
+        RunSummary summary,
+        List<NodeTiming> nodes,
+        List<TimelineEntry> timeline,
+        Map<String, Object> state
+) {
+}
@@ -0,0 +1,26 @@
+package com.example.langgraph.history;
+
+import java.time.Instant;
+
+/**
+ * The indexed columns of a recorded run.
+ *
+ * @param failedNode node whose failure ended the run, {@code null} unless {@link Status#FAILED}
+ */
+public record RunSummary(
+        String runId,
+        String topic,
+        Status status,
+        String tenant,
+        Instant startedAt,
+        Instant finishedAt,
+        long durationMs,
+        String failedNode,
+        String error
+) {
+
+    public enum Status {
+        COMPLETED,
+        FAILED
+    }
+}
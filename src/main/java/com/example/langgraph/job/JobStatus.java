@@ -0,0 +1,8 @@
+package com.example.langgraph.job;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,129 @@
+package com.example.langgraph.job;
+
+import com.example.langgraph.dto.WorkflowResponse;
+import com.example.langgraph.graph.GraphListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Progress and outcome of one submitted workflow run.
+ * Doubles as the run's {@link GraphListener} so node progress is tracked as it happens.
+ */
+public class WorkflowJob implements GraphListener {
+
+    private final String id;
+    private final String topic;
+    private final String tenant;
+    private final Instant submittedAt;
+    private final boolean resume;
+    private final List<String> completedNodes = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> runningNodes = Collections.synchronizedSet(new LinkedHashSet<>());
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile WorkflowResponse result;
+    private volatile String error;
+
+    WorkflowJob(String id, String topic, String tenant, boolean resume) {
+        this.id = id;
+        this.topic = topic;
+        this.tenant = tenant;
+        this.resume = resume;
+        this.submittedAt = Instant.now();
+    }
+
+    @Override
+    public void onNodeStart(String nodeName) {
+        runningNodes.add(nodeName);
+    }
+
+    @Override
+    public void onNodeComplete(String nodeName, Duration duration) {
+        runningNodes.remove(nodeName);
+        completedNodes.add(nodeName);
+    }
+
+    @Override
+    public void onNodeFailed(String nodeName, Throwable error, Duration duration) {
+        runningNodes.remove(nodeName);
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = JobStatus.RUNNING;
+    }
+
+    void markSucceeded(WorkflowResponse response) {
+        result = response;
+        finishedAt = Instant.now();
+        status = JobStatus.SUCCEEDED;
+    }
+
+    void markFailed(String message) {
+        error = message;
+        finishedAt = Instant.now();
+        status = JobStatus.FAILED;
+    }
+
+    boolean isResume() {
+        return resume;
+    }
+
+    boolean isFinished() {
+        return status == JobStatus.SUCCEEDED || status == JobStatus.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public List<String> getCompletedNodes() {
+        synchronized (completedNodes) {
+            return List.copyOf(completedNodes);
+        }
+    }
+
+    public List<String> getRunningNodes() {
+        synchronized (runningNodes) {
+            return List.copyOf(runningNodes);
+        }
+    }
+
+    public WorkflowResponse getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
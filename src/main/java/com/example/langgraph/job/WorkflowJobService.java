@@ -0,0 +1,136 @@
+package com.example.langgraph.job;
+
+import com.example.langgraph.config.JobProperties;
+import com.example.langgraph.dto.ResponseFields;
+import com.example.langgraph.dto.WorkflowResponse;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.llm.budget.TokenLedger;
+import com.example.langgraph.llm.scheduler.LlmPriority;
+import com.example.langgraph.llm.scheduler.LlmScheduler;
+import com.example.langgraph.nodes.ContentKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs content-creation workflows in the background on a bounded worker pool.
+ * Submissions beyond the worker count wait in a fixed-size queue; once that is full,
+ * {@link #submit(String, String)} throws {@link RejectedExecutionException}.
+ */
+@Service
+public class WorkflowJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowJobService.class);
+
+    private final StateGraph contentGraph;
+    private final JobProperties properties;
+    private final TokenLedger tokenLedger;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, WorkflowJob> jobs = new ConcurrentHashMap<>();
+
+    public WorkflowJobService(StateGraph contentGraph, JobProperties properties, TokenLedger tokenLedger) {
+        this.contentGraph = contentGraph;
+        this.properties = properties;
+        this.tokenLedger = tokenLedger;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                properties.workers(), properties.workers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "workflow-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues a run whose model calls are scheduled at background priority for {@code tenant}.
+     */
+    public WorkflowJob submit(String topic, String tenant) {
+        evictExpired();
+        WorkflowJob job = new WorkflowJob(UUID.randomUUID().toString(), topic, tenant, false);
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        log.info("Queued workflow job {} for topic '{}'", job.getId(), topic);
+        return job;
+    }
+
+    /**
+     * Re-queues a failed job; the run continues from its last checkpoint. Of concurrent
+     * resumes of the same job only one succeeds; the others get {@link IllegalStateException}.
+     */
+    public WorkflowJob resume(String id) {
+        WorkflowJob previous = jobs.get(id);
+        if (previous == null || previous.getStatus() != JobStatus.FAILED) {
+            throw new IllegalStateException("Only failed jobs can be resumed: " + id);
+        }
+        WorkflowJob job = new WorkflowJob(id, previous.getTopic(), previous.getTenant(), true);
+        if (!jobs.replace(id, previous, job)) {
+            throw new IllegalStateException("Job is already being resumed: " + id);
+        }
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.replace(id, job, previous);
+            throw e;
+        }
+        log.info("Queued resume of workflow job {}", id);
+        return job;
+    }
+
+    public Optional<WorkflowJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(WorkflowJob job) {
+        job.markRunning();
+        try {
+            Map<String, String> attributes = Map.of(
+                    LlmScheduler.PRIORITY_ATTRIBUTE, LlmPriority.BACKGROUND.name(),
+                    LlmScheduler.TENANT_ATTRIBUTE, job.getTenant());
+            GraphState result;
+            if (job.isResume()) {
+                result = contentGraph.resume(job.getId(), attributes, job);
+            } else {
+                GraphState state = new GraphState(job.getId(), Map.of(ContentKeys.INPUT_TOPIC.name(), job.getTopic()));
+                attributes.forEach(state::withRunAttribute);
+                result = contentGraph.execute(state, job);
+            }
+            job.markSucceeded(WorkflowResponse.from(job.getTopic(), result, ResponseFields.DEFAULT,
+                    tokenLedger.usage(result.getRunId()).orElse(null)));
+        } catch (Exception e) {
+            log.error("Workflow job {} failed", job.getId(), e);
+            job.markFailed(e.getMessage());
+        }
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(properties.retention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.langgraph.llm;
+
+import com.example.langgraph.graph.NodeContext;
+import com.example.langgraph.llm.cache.CacheKey;
+import com.example.langgraph.llm.routing.ModelRouter;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Single entry point through which graph nodes talk to the LLM.
+ * Makes a blocking call by default, and switches to a streaming call that forwards
+ * every token delta to the running node's listener when the execution asks for it.
+ * Calls go to the model the {@link ModelRouter} picks for the running node, and the time
+ * they take is reported to the node's {@link NodeContext} for the run's timeline.
+ *
+ * The {@code *Async} variants always stream and return as soon as the request is sent,
+ * for {@link com.example.langgraph.graph.AsyncGraphNode}s: no thread waits for the model.
+ * They also take a {@link PromptText}, whose template and values the cache keeps apart.
+ */
+@Component
+public class ChatGateway {
+
+    private final ModelRouter modelRouter;
+
+    public ChatGateway(ModelRouter modelRouter) {
+        this.modelRouter = modelRouter;
+    }
+
+    public String call(String prompt) {
+        Optional<NodeContext> context = NodeContext.current().filter(NodeContext::streamsOutput);
+        if (context.isPresent()) {
+            return await(stream(prompt, null, context, true));
+        }
+        return callWithoutStreaming(prompt);
+    }
+
+    /**
+     * Makes a blocking call even when the running node streams, for helper calls
+     * (e.g. context compaction) whose output is not part of the node's answer.
+     */
+    public String callWithoutStreaming(String prompt) {
+        return timed(() -> client(NodeContext.current()).prompt()
+                .user(prompt)
+                .call()
+                .content());
+    }
+
+    /**
+     * Like {@link #call}, without blocking: token deltas are forwarded to the running
+     * node's listener if it streams, and the future completes with the whole answer.
+     */
+    public CompletableFuture<String> callAsync(String prompt) {
+        return callAsync(prompt, null);
+    }
+
+    public CompletableFuture<String> callAsync(PromptText prompt) {
+        return callAsync(prompt.text(), prompt);
+    }
+
+    /**
+     * Like {@link #callWithoutStreaming}, without blocking.
+     */
+    public CompletableFuture<String> callWithoutStreamingAsync(String prompt) {
+        return stream(prompt, null, NodeContext.current(), false);
+    }
+
+    public CompletableFuture<String> callWithoutStreamingAsync(PromptText prompt) {
+        return stream(prompt.text(), prompt, NodeContext.current(), false);
+    }
+
+    private CompletableFuture<String> callAsync(String prompt, PromptText template) {
+        Optional<NodeContext> context = NodeContext.current();
+        return stream(prompt, template, context, context.filter(NodeContext::streamsOutput).isPresent());
+    }
+
+    private static String timed(Supplier<String> call) {
+        Optional<NodeContext> context = NodeContext.current();
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            context.ifPresent(node -> node.recordLlmTime(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Subscribes on the calling thread, so the advisors see the node bound to it; the
+     * rest of the call runs on the HTTP client's threads.
+     */
+    private CompletableFuture<String> stream(String prompt, PromptText template, Optional<NodeContext> context,
+                                             boolean forward) {
+        long start = System.nanoTime();
+        return client(context).prompt()
+                .user(prompt)
+                .advisors(advisors -> {
+                    if (template != null) {
+                        advisors.param(CacheKey.TEMPLATE_PARAM, template.template())
+                                .param(CacheKey.VARIABLES_PARAM, template.variables());
+                    }
+                })
+                .stream()
+                .content()
+                .doOnNext(delta -> {
+                    if (forward) {
+                        context.get().emitOutput(delta);
+                    }
+                })
+                .collect(Collectors.joining())
+                .doFinally(signal -> context.ifPresent(node -> node.recordLlmTime(System.nanoTime() - start)))
+                .toFuture();
+    }
+
+    private static String await(CompletableFuture<String> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private ChatClient client(Optional<NodeContext> context) {
+        return context.map(c -> modelRouter.clientFor(c.nodeName()))
+                .orElseGet(modelRouter::defaultClient);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.langgraph.llm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A prompt built from a fixed {@link String#formatted format} template and the values put
+ * into it. The cache keeps the two apart: a prompt is only ever similar to another prompt
+ * of the same template, and only the values are compared.
+ *
+ * @param template the format string, the same for every call a node makes
+ * @param args     the values formatted into it
+ */
+public record PromptText(String template, List<Object> args) {
+
+    /**
+     * Separates the values in {@link #variables()}.
+     */
+    public static final String SEPARATOR = "\u001F";
+
+    public PromptText {
+        args = List.copyOf(args);
+    }
+
+    public static PromptText of(String template, Object... args) {
+        return new PromptText(template, Arrays.asList(args));
+    }
+
+    public String text() {
+        return template.formatted(args.toArray());
+    }
+
+    /**
+     * The values alone, joined by {@link #SEPARATOR}.
+     */
+    public String variables() {
+        return args.stream().map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.langgraph.llm.budget;
+
+/**
+ * How an upstream field that does not fit a node's input budget is shrunk.
+ */
+public enum Compaction {
+    /** Keep the leading tokens that fit. Free and deterministic. */
+    TRUNCATE,
+    /**
+     * Condense the field with an extra model call, then truncate whatever still overflows.
+     * Keeps more of the meaning than truncation, but the extra call reads the whole field.
+     */
+    SUMMARIZE
+}
@@ -0,0 +1,132 @@
+package com.example.langgraph.llm.budget;
+
+import com.example.langgraph.config.LlmBudgetProperties;
+import com.example.langgraph.graph.NodeContext;
+import com.example.langgraph.llm.ChatGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the upstream fields a node puts into its prompt within the node's input budget
+ * ({@code langgraph.llm.budget.nodes.<node>.max-input-tokens}).
+ *
+ * Fields that fit are passed through untouched. When the total is over the cap, small
+ * fields keep their full size and the remaining budget is split evenly between the
+ * larger ones, which are then truncated or summarized down to their share.
+ */
+@Component
+public class PromptBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptBudget.class);
+    private static final String TRUNCATION_MARKER = "\n[...]";
+
+    private final LlmBudgetProperties properties;
+    private final TokenCounter tokenCounter;
+    private final ChatGateway chatGateway;
+
+    public PromptBudget(LlmBudgetProperties properties, TokenCounter tokenCounter, ChatGateway chatGateway) {
+        this.properties = properties;
+        this.tokenCounter = tokenCounter;
+        this.chatGateway = chatGateway;
+    }
+
+    /**
+     * Fits {@code fields} (label to text, in prompt order) into the budget of the node
+     * currently running. Returns the same labels with possibly compacted values.
+     */
+    public Map<String, String> fit(Map<String, String> fields) {
+        String node = NodeContext.current().map(NodeContext::nodeName).orElse(null);
+        LlmBudgetProperties.NodeBudget budget = node == null ? null : properties.nodes().get(node);
+        if (!properties.enabled() || budget == null || budget.maxInputTokens() <= 0) {
+            return fields;
+        }
+        Compaction compaction = budget.compaction() != null ? budget.compaction() : properties.compaction();
+        return fit(node, fields, budget.maxInputTokens(), compaction);
+    }
+
+    Map<String, String> fit(String node, Map<String, String> fields, int maxTokens, Compaction compaction) {
+        List<Field> sized = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            int tokens = tokenCounter.count(entry.getValue());
+            sized.add(new Field(entry.getKey(), entry.getValue(), tokens));
+            total += tokens;
+        }
+        if (total <= maxTokens) {
+            return fields;
+        }
+
+        Map<String, Integer> shares = shares(sized, maxTokens);
+        Map<String, String> fitted = new LinkedHashMap<>();
+        for (Field field : sized) {
+            int share = shares.get(field.label());
+            fitted.put(field.label(), field.tokens() <= share
+                    ? field.text()
+                    : compact(field, share, compaction));
+        }
+        log.info("Compacted prompt context of node '{}' from {} to at most {} tokens ({})",
+                node, total, maxTokens, compaction);
+        return fitted;
+    }
+
+    /**
+     * Water-filling split: walking fields from smallest to largest, each gets either its
+     * full size or an even share of what is left, whichever is smaller.
+     */
+    private static Map<String, Integer> shares(List<Field> fields, int maxTokens) {
+        List<Field> bySize = new ArrayList<>(fields);
+        bySize.sort(Comparator.comparingInt(Field::tokens));
+        Map<String, Integer> shares = new LinkedHashMap<>();
+        int remaining = maxTokens;
+        for (int i = 0; i < bySize.size(); i++) {
+            Field field = bySize.get(i);
+            int share = Math.min(field.tokens(), remaining / (bySize.size() - i));
+            shares.put(field.label(), share);
+            remaining -= share;
+        }
+        return shares;
+    }
+
+    private String compact(Field field, int maxTokens, Compaction compaction) {
+        if (compaction == Compaction.SUMMARIZE) {
+            try {
+                return truncate(summarize(field, maxTokens), maxTokens);
+            } catch (RuntimeException e) {
+                log.warn("Summarizing '{}' failed ({}), truncating instead", field.label(), e.getMessage());
+            }
+        }
+        return truncate(field.text(), maxTokens);
+    }
+
+    private String summarize(Field field, int maxTokens) {
+        String prompt = """
+                Condense the following %s to at most %d tokens. \
+                Keep every key fact, figure and heading; drop repetition and filler. \
+                Reply with the condensed text only.
+
+                %s
+                """.formatted(field.label(), maxTokens, field.text());
+        return chatGateway.callWithoutStreaming(prompt);
+    }
+
+    private String truncate(String text, int maxTokens) {
+        if (tokenCounter.count(text) <= maxTokens) {
+            return text;
+        }
+        int markerTokens = tokenCounter.count(TRUNCATION_MARKER);
+        if (maxTokens <= markerTokens) {
+            return tokenCounter.truncate(text, maxTokens);
+        }
+        return tokenCounter.truncate(text, maxTokens - markerTokens) + TRUNCATION_MARKER;
+    }
+
+    private record Field(String label, String text, int tokens) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.langgraph.llm.budget;
+
+import com.example.langgraph.config.LlmBudgetProperties;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingResult;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts and cuts text in model tokens with a local BPE tokenizer, so budgets are
+ * enforced before a prompt is sent rather than discovered from the provider's usage.
+ */
+@Component
+public class TokenCounter {
+
+    private final Encoding encoding;
+
+    @Autowired
+    public TokenCounter(LlmBudgetProperties properties) {
+        this(properties.encoding());
+    }
+
+    public TokenCounter(EncodingType encodingType) {
+        this.encoding = Encodings.newLazyEncodingRegistry().getEncoding(encodingType);
+    }
+
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokensOrdinary(text);
+    }
+
+    /**
+     * Returns the longest prefix of {@code text} that is at most {@code maxTokens} tokens.
+     */
+    public String truncate(String text, int maxTokens) {
+        if (text == null || maxTokens <= 0) {
+            return "";
+        }
+        EncodingResult result = encoding.encodeOrdinary(text, maxTokens);
+        return result.isTruncated() ? encoding.decode(result.getTokens()) : text;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.langgraph.llm.budget;
+
+import com.example.langgraph.config.LlmBudgetProperties;
+import com.example.langgraph.graph.GraphListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adds up the tokens each graph run spends, per node.
+ *
+ * Register it as a listener on the graph so runs are opened and closed; model calls are
+ * reported through {@link #record}. Usage of the last {@code retained-runs} finished
+ * runs stays available, so a response can still carry it after the run returned.
+ */
+@Component
+public class TokenLedger implements GraphListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenLedger.class);
+
+    private final Map<String, RunTokens> active = new ConcurrentHashMap<>();
+    private final Map<String, TokenUsage> finished;
+
+    @Autowired
+    public TokenLedger(LlmBudgetProperties properties) {
+        this(properties.retainedRuns());
+    }
+
+    TokenLedger(int retainedRuns) {
+        this.finished = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenUsage> eldest) {
+                return size() > retainedRuns;
+            }
+        };
+    }
+
+    /**
+     * Attributes one model call to a node of an open run. Calls outside a tracked run are ignored.
+     */
+    public void record(String runId, String node, long promptTokens, long completionTokens) {
+        RunTokens run = runId == null ? null : active.get(runId);
+        if (run != null) {
+            run.record(node, promptTokens, completionTokens);
+        }
+    }
+
+    public Optional<TokenUsage> usage(String runId) {
+        RunTokens run = active.get(runId);
+        if (run != null) {
+            return Optional.of(run.toUsage());
+        }
+        synchronized (finished) {
+            return Optional.ofNullable(finished.get(runId));
+        }
+    }
+
+    @Override
+    public void onRunStart(String runId) {
+        active.put(runId, new RunTokens());
+    }
+
+    @Override
+    public void onRunComplete(String runId, Duration duration) {
+        close(runId);
+    }
+
+    @Override
+    public void onRunFailed(String runId, Throwable error, Duration duration) {
+        close(runId);
+    }
+
+    private void close(String runId) {
+        RunTokens run = active.remove(runId);
+        if (run == null) {
+            return;
+        }
+        TokenUsage usage = run.toUsage();
+        log.info("Run {} used {} tokens ({} prompt, {} completion)",
+                runId, usage.totalTokens(), usage.promptTokens(), usage.completionTokens());
+        synchronized (finished) {
+            finished.put(runId, usage);
+        }
+    }
+
+    private static final class RunTokens {
+
+        private final Map<String, NodeCounter> nodes = new ConcurrentHashMap<>();
+
+        void record(String node, long promptTokens, long completionTokens) {
+            NodeCounter counter = nodes.computeIfAbsent(node, ignored -> new NodeCounter());
+            counter.prompt.addAndGet(promptTokens);
+            counter.completion.addAndGet(completionTokens);
+            counter.calls.incrementAndGet();
+        }
+
+        TokenUsage toUsage() {
+            Map<String, TokenUsage.NodeTokens> byNode = new TreeMap<>();
+            long prompt = 0;
+            long completion = 0;
+            for (Map.Entry<String, NodeCounter> entry : nodes.entrySet()) {
+                NodeCounter counter = entry.getValue();
+                TokenUsage.NodeTokens tokens = new TokenUsage.NodeTokens(
+                        counter.prompt.get(), counter.completion.get(), counter.calls.get());
+                byNode.put(entry.getKey(), tokens);
+                prompt += tokens.promptTokens();
+                completion += tokens.completionTokens();
+            }
+            return new TokenUsage(prompt, completion, prompt + completion, byNode);
+        }
+    }
+
+    private static final class NodeCounter {
+        final AtomicLong prompt = new AtomicLong();
+        final AtomicLong completion = new AtomicLong();
+        final AtomicInteger calls = new AtomicInteger();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.langgraph.llm.budget;
+
+import java.util.Map;
+
+/**
+ * Tokens a run spent on model calls, as reported by the provider. Calls answered
+ * from the response cache are free and not counted.
+ *
+ * @param promptTokens     input tokens across all calls of the run
+ * @param completionTokens output tokens across all calls of the run
+ * @param totalTokens      prompt and completion tokens together
+ * @param nodes            the same split by the node that made the calls
+ */
+public record TokenUsage(long promptTokens, long completionTokens, long totalTokens, Map<String, NodeTokens> nodes) {
+
+    public record NodeTokens(long promptTokens, long completionTokens, int calls) {
+    }
+}
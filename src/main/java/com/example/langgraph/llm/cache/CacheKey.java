@@ -0,0 +1,78 @@
+package com.example.langgraph.llm.cache;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Identifies a completion request.
+ *
+ * @param scope hash of the model and generation options, plus the prompt template when the
+ *              caller named one; semantic lookups never cross scopes
+ * @param exact hash of the model, generation options and every prompt message
+ * @param text  the text compared by similarity lookups: the template's values if the caller
+ *              named a template, otherwise the whole prompt
+ */
+public record CacheKey(String scope, String exact, String text) {
+
+    /**
+     * Request context entry holding the template the prompt was formatted from.
+     */
+    public static final String TEMPLATE_PARAM = "llm-cache.template";
+
+    /**
+     * Request context entry holding the values formatted into {@link #TEMPLATE_PARAM}.
+     */
+    public static final String VARIABLES_PARAM = "llm-cache.variables";
+
+    public static CacheKey of(Prompt prompt, ChatOptions defaultOptions) {
+        return of(prompt, defaultOptions, Map.of());
+    }
+
+    public static CacheKey of(Prompt prompt, ChatOptions defaultOptions, Map<String, Object> context) {
+        ChatOptions options = prompt.getOptions() != null ? prompt.getOptions() : defaultOptions;
+        String model = sha256(describe(options));
+
+        StringBuilder messages = new StringBuilder();
+        for (Message message : prompt.getInstructions()) {
+            messages.append(message.getMessageType()).append('\u0000')
+                    .append(message.getText()).append('\u0001');
+        }
+        String exact = sha256(model + '\u0002' + messages);
+        if (context.get(TEMPLATE_PARAM) instanceof String template
+                && context.get(VARIABLES_PARAM) instanceof String variables) {
+            return new CacheKey(sha256(model + '\u0003' + template), exact, variables);
+        }
+        return new CacheKey(model, exact, prompt.getContents());
+    }
+
+    private static String describe(ChatOptions options) {
+        if (options == null) {
+            return "default";
+        }
+        return String.join("|",
+                String.valueOf(options.getModel()),
+                String.valueOf(options.getTemperature()),
+                String.valueOf(options.getTopP()),
+                String.valueOf(options.getTopK()),
+                String.valueOf(options.getMaxTokens()),
+                String.valueOf(options.getFrequencyPenalty()),
+                String.valueOf(options.getPresencePenalty()),
+                String.valueOf(options.getStopSequences()));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.langgraph.llm.cache;
+
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ChatClient advisor that answers repeated prompts from {@link LlmResponseCache}
+ * and records fresh completions, for both blocking and streaming calls.
+ */
+@Component
+public class CachingAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private final LlmResponseCache cache;
+    private final ChatModel chatModel;
+
+    public CachingAdvisor(LlmResponseCache cache, ChatModel chatModel) {
+        this.cache = cache;
+        this.chatModel = chatModel;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        if (!cache.isEnabled()) {
+            return chain.nextCall(request);
+        }
+        CacheKey key = CacheKey.of(request.prompt(), chatModel.getDefaultOptions(), request.context());
+        Optional<String> cached = cache.lookup(key);
+        if (cached.isPresent()) {
+            return cachedResponse(cached.get(), request);
+        }
+        ChatClientResponse response = chain.nextCall(request);
+        cache.store(key, contentOf(response));
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        if (!cache.isEnabled()) {
+            return chain.nextStream(request);
+        }
+        CacheKey key = CacheKey.of(request.prompt(), chatModel.getDefaultOptions(), request.context());
+        Optional<String> cached = cache.lookup(key);
+        if (cached.isPresent()) {
+            return Flux.just(cachedResponse(cached.get(), request));
+        }
+        return new ChatClientMessageAggregator().aggregateChatClientResponse(
+                chain.nextStream(request),
+                aggregated -> cache.store(key, contentOf(aggregated)));
+    }
+
+    private static ChatClientResponse cachedResponse(String content, ChatClientRequest request) {
+        ChatResponse chatResponse = new ChatResponse(List.of(new Generation(new AssistantMessage(content))));
+        return ChatClientResponse.builder()
+                .chatResponse(chatResponse)
+                .context(request.context())
+                .build();
+    }
+
+    private static String contentOf(ChatClientResponse response) {
+        ChatResponse chatResponse = response.chatResponse();
+        if (chatResponse == null || chatResponse.getResult() == null || chatResponse.hasToolCalls()) {
+            return null;
+        }
+        return chatResponse.getResult().getOutput().getText();
+    }
+
+    @Override
+    public String getName() {
+        return "llm-response-cache";
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost, so a hit skips every other advisor and the model call.
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.langgraph.llm.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link LlmResponseCache} hit/miss counters to any Micrometer registry.
+ */
+@Component
+public class LlmCacheMetrics implements MeterBinder {
+
+    private final LlmResponseCache cache;
+
+    public LlmCacheMetrics(LlmResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.cache.requests", cache, c -> c.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("llm.cache.requests", cache, c -> c.stats().semanticHits())
+                .tag("result", "semantic_hit")
+                .register(registry);
+        FunctionCounter.builder("llm.cache.requests", cache, c -> c.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("llm.cache.size", cache, c -> c.stats().size())
+                .register(registry);
+    }
+}
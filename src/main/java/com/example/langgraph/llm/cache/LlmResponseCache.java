@@ -0,0 +1,257 @@
+package com.example.langgraph.llm.cache;
+
+import com.example.langgraph.config.LlmCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU/TTL cache of LLM completions backed by an append-only JSON-lines file.
+ *
+ * Lookups first try the exact request hash and, when enabled, fall back to the most
+ * similar prompt within the same model/options scope; prompts built from a
+ * {@link com.example.langgraph.llm.PromptText} are only compared with prompts of the same
+ * template, value by value. The file is replayed on startup
+ * (newest record per key wins, expired records are dropped) and rewritten whenever it has
+ * accumulated more stale lines than live entries, at startup or after an append. Appends
+ * and rewrites happen on a background thread so a miss never waits on disk.
+ */
+@Component
+public class LlmResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmResponseCache.class);
+    private static final String FILE_NAME = "llm-cache.jsonl";
+
+    private final LlmCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final LinkedHashMap<String, Entry> entries;
+    private final ExecutorService diskWriter;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong semanticHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // lines in the file; only touched by the constructor and then the disk writer
+    private long fileLines;
+
+    public LlmResponseCache(LlmCacheProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.file = properties.directory().resolve(FILE_NAME);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > properties.maxEntries();
+            }
+        };
+        this.diskWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "llm-cache-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.enabled()) {
+            load();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public Optional<String> lookup(CacheKey key) {
+        Instant now = Instant.now();
+        List<Entry> candidates;
+        synchronized (entries) {
+            Entry exact = entries.get(key.exact());
+            if (exact != null && !exact.isExpired(now, properties)) {
+                hits.incrementAndGet();
+                return Optional.of(exact.record().content());
+            }
+            if (exact != null) {
+                entries.remove(key.exact());
+            }
+            candidates = properties.semantic().enabled() ? candidates(key, now) : List.of();
+        }
+        if (!candidates.isEmpty()) {
+            Optional<String> similar = findSimilar(key, candidates);
+            if (similar.isPresent()) {
+                semanticHits.incrementAndGet();
+                return similar;
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void store(CacheKey key, String content) {
+        if (content == null || content.isBlank()) {
+            return;
+        }
+        Record record = new Record(key.exact(), key.scope(), key.text(), content, Instant.now());
+        synchronized (entries) {
+            entries.put(key.exact(), Entry.of(record, properties.semantic().enabled()));
+        }
+        diskWriter.execute(() -> append(record));
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.get(), semanticHits.get(), misses.get(), size);
+    }
+
+    private List<Entry> candidates(CacheKey key, Instant now) {
+        List<Entry> candidates = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.record().scope().equals(key.scope()) && !entry.isExpired(now, properties)) {
+                candidates.add(entry);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Scores the candidates without holding the lock, so other lookups and stores
+     * are not held up by the similarity scan.
+     */
+    private Optional<String> findSimilar(CacheKey key, List<Entry> candidates) {
+        float[][] query = TextEmbedding.embedEach(key.text());
+        Entry best = null;
+        double bestScore = properties.semantic().threshold();
+        for (Entry entry : candidates) {
+            double score = TextEmbedding.similarity(query, entry.embedding());
+            if (score >= bestScore) {
+                best = entry;
+                bestScore = score;
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            entries.get(best.record().key()); // refresh LRU position
+        }
+        return Optional.of(best.record().content());
+    }
+
+    private void append(Record record) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, objectMapper.writeValueAsString(record) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Failed to persist cache entry to {}: {}", file, e.getMessage());
+            return;
+        }
+        fileLines++;
+        // overwritten, evicted and expired entries leave stale lines behind
+        if (fileLines > 2L * stats().size()) {
+            compact();
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Instant now = Instant.now();
+        int lines = 0;
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines++;
+                try {
+                    Record record = objectMapper.readValue(line, Record.class);
+                    Entry entry = Entry.of(record, properties.semantic().enabled());
+                    if (!entry.isExpired(now, properties)) {
+                        entries.remove(record.key());
+                        entries.put(record.key(), entry);
+                    }
+                } catch (IOException e) {
+                    log.warn("Skipping corrupt cache line in {}", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read cache file {}: {}", file, e.getMessage());
+            return;
+        }
+        log.info("Loaded {} LLM cache entries from {}", entries.size(), file);
+        fileLines = lines;
+        if (lines > 2 * entries.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        List<Record> live;
+        synchronized (entries) {
+            live = new ArrayList<>(entries.values().stream().map(Entry::record).toList());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Record record : live) {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to compact cache file {}: {}", file, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            fileLines = live.size();
+        } catch (IOException e) {
+            log.warn("Failed to replace cache file {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        diskWriter.shutdown();
+        diskWriter.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * One line of the cache file.
+     */
+    record Record(String key, String scope, String prompt, String content, Instant createdAt) {
+    }
+
+    private record Entry(Record record, float[][] embedding) {
+
+        static Entry of(Record record, boolean semantic) {
+            return new Entry(record, semantic ? TextEmbedding.embedEach(record.prompt()) : null);
+        }
+
+        boolean isExpired(Instant now, LlmCacheProperties properties) {
+            return record.createdAt().plus(properties.ttl()).isBefore(now);
+        }
+    }
+
+    public record CacheStats(long hits, long semanticHits, long misses, int size) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.langgraph.llm.cache;
+
+import com.example.langgraph.llm.PromptText;
+
+import java.util.Locale;
+
+/**
+ * Cheap local text embedding for near-duplicate detection.
+ * Hashes lower-cased character trigrams into a fixed number of buckets and L2-normalizes
+ * the result, so the dot product of two embeddings is their cosine similarity.
+ * No model or network call is involved.
+ */
+final class TextEmbedding {
+
+    static final int DIMENSIONS = 256;
+
+    private TextEmbedding() {
+    }
+
+    static float[] embed(String text) {
+        float[] vector = new float[DIMENSIONS];
+        // padded so that short values such as numbers still have trigrams
+        String normalized = " " + text.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim() + " ";
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            int hash = normalized.substring(i, i + 3).hashCode();
+            vector[Math.floorMod(hash, DIMENSIONS)] += 1f;
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Embeds every {@link PromptText#SEPARATOR}-separated value of {@code text} on its own.
+     */
+    static float[][] embedEach(String text) {
+        String[] values = text.split(PromptText.SEPARATOR, -1);
+        float[][] vectors = new float[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            vectors[i] = embed(values[i]);
+        }
+        return vectors;
+    }
+
+    /**
+     * Similarity of two texts embedded with {@link #embedEach}: that of their least similar
+     * pair of values, or 0 when they hold a different number of values. A prompt is only a
+     * near-duplicate of another if every value formatted into the template is, however much
+     * longer another value is.
+     */
+    static double similarity(float[][] a, float[][] b) {
+        if (a.length != b.length) {
+            return 0;
+        }
+        double min = 1;
+        for (int i = 0; i < a.length; i++) {
+            min = Math.min(min, cosine(a[i], b[i]));
+        }
+        return min;
+    }
+
+    static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.langgraph.llm.routing;
+
+import com.example.langgraph.config.LlmRoutingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent latency and failure rate per model, over a sliding window of calls.
+ * A model that goes over a threshold is reported degraded for the cooldown; its window
+ * then starts empty so the first calls after the cooldown decide afresh.
+ */
+@Component
+public class ModelHealth {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelHealth.class);
+
+    private final LlmRoutingProperties.Health properties;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ModelHealth(LlmRoutingProperties properties) {
+        this(properties.health());
+    }
+
+    ModelHealth(LlmRoutingProperties.Health properties) {
+        this.properties = properties;
+    }
+
+    public void record(String model, long latencyNanos, boolean failed) {
+        windows.computeIfAbsent(model, ignored -> new Window(properties.window()))
+                .record(model, latencyNanos, failed);
+    }
+
+    public boolean isDegraded(String model) {
+        Window window = windows.get(model);
+        return window != null && window.isDegraded();
+    }
+
+    private final class Window {
+
+        private final long[] latencies;
+        private final boolean[] failures;
+        private int next;
+        private int size;
+        private long degradedUntil;
+        private boolean degraded;
+
+        Window(int capacity) {
+            this.latencies = new long[Math.max(1, capacity)];
+            this.failures = new boolean[latencies.length];
+        }
+
+        synchronized void record(String model, long latencyNanos, boolean failed) {
+            latencies[next] = latencyNanos;
+            failures[next] = failed;
+            next = (next + 1) % latencies.length;
+            size = Math.min(size + 1, latencies.length);
+            if (size < properties.minCalls()) {
+                return;
+            }
+            long totalLatency = 0;
+            int failedCalls = 0;
+            for (int i = 0; i < size; i++) {
+                totalLatency += latencies[i];
+                if (failures[i]) {
+                    failedCalls++;
+                }
+            }
+            double errorRate = (double) failedCalls / size;
+            long meanLatency = totalLatency / size;
+            if (errorRate > properties.errorRateThreshold()
+                    || meanLatency > properties.latencyThreshold().toNanos()) {
+                if (!isDegraded()) {
+                    log.warn("Model '{}' degraded (error rate {}%, mean latency {}ms); falling back for {}",
+                            model, Math.round(errorRate * 100), meanLatency / 1_000_000, properties.cooldown());
+                }
+                degraded = true;
+                degradedUntil = System.nanoTime() + properties.cooldown().toNanos();
+                size = 0;
+                next = 0;
+            }
+        }
+
+        synchronized boolean isDegraded() {
+            if (degraded && System.nanoTime() - degradedUntil >= 0) {
+                degraded = false;
+            }
+            return degraded;
+        }
+    }
+}
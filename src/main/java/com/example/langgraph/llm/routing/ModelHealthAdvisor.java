@@ -0,0 +1,77 @@
+package com.example.langgraph.llm.routing;
+
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * ChatClient advisor that reports the latency and outcome of every call reaching the
+ * model to {@link ModelHealth}, keyed by the model the call was made with.
+ */
+@Component
+public class ModelHealthAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private static final String UNKNOWN_MODEL = "unknown";
+
+    private final ModelHealth health;
+    private final ChatModel chatModel;
+
+    public ModelHealthAdvisor(ModelHealth health, ChatModel chatModel) {
+        this.health = health;
+        this.chatModel = chatModel;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        String model = modelOf(request);
+        long start = System.nanoTime();
+        try {
+            ChatClientResponse response = chain.nextCall(request);
+            health.record(model, System.nanoTime() - start, false);
+            return response;
+        } catch (RuntimeException e) {
+            health.record(model, System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        String model = modelOf(request);
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return new ChatClientMessageAggregator()
+                    .aggregateChatClientResponse(chain.nextStream(request),
+                            aggregated -> health.record(model, System.nanoTime() - start, false))
+                    .doOnError(e -> health.record(model, System.nanoTime() - start, true));
+        });
+    }
+
+    private String modelOf(ChatClientRequest request) {
+        ChatOptions options = request.prompt().getOptions();
+        if (options == null || options.getModel() == null) {
+            options = chatModel.getDefaultOptions();
+        }
+        return options == null || options.getModel() == null ? UNKNOWN_MODEL : options.getModel();
+    }
+
+    @Override
+    public String getName() {
+        return "model-health";
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside the scheduler like the metrics advisor: only time spent on the model counts.
+        return Ordered.HIGHEST_PRECEDENCE + 190;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.langgraph.llm.routing;
+
+import com.example.langgraph.config.LlmRoutingProperties;
+import com.example.langgraph.config.LlmRoutingProperties.ModelOptions;
+import com.example.langgraph.config.LlmRoutingProperties.Route;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Picks the {@link ChatClient} a node's model calls go through.
+ * Every configured model gets its own client, derived from the default one so it keeps
+ * the same advisors. A node uses its primary model unless {@link ModelHealth} reports it
+ * degraded and a healthy fallback is configured.
+ */
+@Component
+public class ModelRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelRouter.class);
+
+    private final ChatClient defaultClient;
+    private final Map<String, Route> routes;
+    private final Map<ModelOptions, ChatClient> clients = new HashMap<>();
+    private final ModelHealth health;
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ModelRouter(ChatClient chatClient, LlmRoutingProperties properties, ModelHealth health) {
+        this.defaultClient = chatClient;
+        this.routes = properties.enabled() ? properties.nodes() : Map.of();
+        this.health = health;
+        routes.values().stream()
+                .flatMap(route -> Stream.of(route.primary(), route.fallback()))
+                .filter(Objects::nonNull)
+                .forEach(options -> clients.computeIfAbsent(options, this::client));
+    }
+
+    /**
+     * A router that sends every call through {@code chatClient}.
+     */
+    public static ModelRouter fixed(ChatClient chatClient) {
+        return new ModelRouter(chatClient, new LlmRoutingProperties(false, Map.of(), null), null);
+    }
+
+    public ChatClient defaultClient() {
+        return defaultClient;
+    }
+
+    public ChatClient clientFor(String node) {
+        Route route = routes.get(node);
+        if (route == null) {
+            return defaultClient;
+        }
+        ModelOptions fallback = route.fallback();
+        if (fallback != null && health.isDegraded(route.primary().model()) && !health.isDegraded(fallback.model())) {
+            fallbacks.incrementAndGet();
+            log.debug("Node '{}' falls back from {} to {}", node, route.primary().model(), fallback.model());
+            return clients.get(fallback);
+        }
+        return clients.get(route.primary());
+    }
+
+    /**
+     * Distinct models named by the node routes.
+     */
+    public List<String> models() {
+        return clients.keySet().stream().map(ModelOptions::model).distinct().sorted().toList();
+    }
+
+    public boolean isDegraded(String model) {
+        return health != null && health.isDegraded(model);
+    }
+
+    public long fallbackCount() {
+        return fallbacks.get();
+    }
+
+    private ChatClient client(ModelOptions options) {
+        return defaultClient.mutate()
+                .defaultOptions(ChatOptions.builder()
+                        .model(options.model())
+                        .temperature(options.temperature())
+                        .maxTokens(options.maxTokens())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.langgraph.llm.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes how often nodes fell back to their alternative model and which routed models
+ * are currently degraded.
+ */
+@Component
+public class ModelRoutingMetrics implements MeterBinder {
+
+    private final ModelRouter router;
+
+    public ModelRoutingMetrics(ModelRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.route.fallbacks", router, ModelRouter::fallbackCount)
+                .register(registry);
+        for (String model : router.models()) {
+            Gauge.builder("llm.model.degraded", router, r -> r.isDegraded(model) ? 1 : 0)
+                    .tag("model", model)
+                    .register(registry);
+        }
+    }
+}
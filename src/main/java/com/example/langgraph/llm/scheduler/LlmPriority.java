@@ -0,0 +1,14 @@
+package com.example.langgraph.llm.scheduler;
+
+/**
+ * Priority lane of a model call, taken from the run it belongs to. A call is only
+ * started when no call of a higher lane is waiting.
+ */
+public enum LlmPriority {
+    /** A client is waiting on the response (synchronous and streaming runs). */
+    INTERACTIVE,
+    /** Background jobs polled for their result. */
+    BACKGROUND,
+    /** Bulk topic lists. */
+    BULK
+}
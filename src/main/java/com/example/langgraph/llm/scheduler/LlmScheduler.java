@@ -0,0 +1,467 @@
+package com.example.langgraph.llm.scheduler;
+
+import com.example.langgraph.config.LlmErrors;
+import com.example.langgraph.config.LlmSchedulerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits model calls so that the provider's quotas are used up but not exceeded.
+ *
+ * <ul>
+ *   <li>Request and token buckets refill continuously at the configured per-minute quota.</li>
+ *   <li>Calls in flight are capped by an AIMD limit: +1/limit per fast success, times
+ *       {@code backoff-ratio} on a 429 or a slow call, at most once per round of calls.</li>
+ *   <li>A 429 also pauses all admissions for {@code rate-limit-cooldown}, so queued calls
+ *       do not run into the same limit one after another.</li>
+ *   <li>Lanes are served by strict priority. Within a lane, tenants share the token quota
+ *       by weight (stride scheduling); a tenant returning from idle starts at the lane's
+ *       current position instead of with credit. A tenant's queue is dropped once it is idle
+ *       and no longer ahead of the lane, and all of them when the lane drains, so tenant ids
+ *       that are used once do not accumulate.</li>
+ * </ul>
+ */
+@Component
+public class LlmScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmScheduler.class);
+
+    /** Run attribute holding the {@link LlmPriority} of a run's model calls. */
+    public static final String PRIORITY_ATTRIBUTE = "llm.priority";
+    /** Run attribute holding the tenant a run's model calls are accounted to. */
+    public static final String TENANT_ATTRIBUTE = "tenant";
+    public static final String DEFAULT_TENANT = "default";
+
+    private final LlmSchedulerProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TokenBucket requests;
+    private final TokenBucket tokens;
+    private final Map<LlmPriority, Lane> lanes = new EnumMap<>(LlmPriority.class);
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final List<Waiter> granted = new ArrayList<>();
+    private double limit;
+    private int inFlight;
+    private long pausedUntil;
+    private long lastDecrease;
+    private long wakeUpAt = Long.MAX_VALUE;
+
+    public LlmScheduler(LlmSchedulerProperties properties) {
+        this.properties = properties;
+        long now = System.nanoTime();
+        this.requests = new TokenBucket(properties.requestsPerMinute(), now);
+        this.tokens = new TokenBucket(properties.tokensPerMinute(), now);
+        this.limit = properties.concurrency().initial();
+        this.pausedUntil = now;
+        this.lastDecrease = now;
+        for (LlmPriority priority : LlmPriority.values()) {
+            lanes.put(priority, new Lane());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Blocks until the call may start.
+     *
+     * @param estimatedTokens prompt plus expected completion tokens, charged to the token bucket
+     * @throws SchedulerTimeoutException if no permit was granted within {@code max-wait}
+     */
+    public Permit acquire(LlmPriority priority, String tenant, int estimatedTokens) {
+        long deadline = System.nanoTime() + properties.maxWait().toNanos();
+        lock.lock();
+        try {
+            Waiter waiter = submit(priority, tenant, estimatedTokens);
+            while (true) {
+                long retryIn = dispatch();
+                if (waiter.permit != null) {
+                    return waiter.permit;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    lanes.get(priority).remove(waiter);
+                    dispatch();
+                    throw new SchedulerTimeoutException("No model call permit within " + properties.maxWait()
+                            + " (" + inFlight + " in flight, limit " + (int) limit + ")");
+                }
+                waiter.signal.awaitNanos(Math.min(retryIn, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a model call permit", e);
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    /**
+     * Like {@link #acquire}, but without a thread waiting: the returned future completes
+     * with the permit once it is granted, or with a {@link SchedulerTimeoutException} after
+     * {@code max-wait}. Cancelling the future withdraws the call, or returns its permit if it
+     * was granted in the meantime.
+     */
+    public CompletableFuture<Permit> acquireAsync(LlmPriority priority, String tenant, int estimatedTokens) {
+        Waiter waiter;
+        lock.lock();
+        try {
+            waiter = submit(priority, tenant, estimatedTokens, new CompletableFuture<>());
+            dispatch();
+        } finally {
+            unlockAndNotify();
+        }
+        CompletableFuture<Permit> permit = waiter.granted;
+        if (!permit.isDone()) {
+            CompletableFuture.delayedExecutor(properties.maxWait().toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> expire(priority, waiter));
+        }
+        permit.whenComplete((granted, error) -> {
+            if (permit.isCancelled()) {
+                withdraw(priority, waiter);
+            }
+        });
+        return permit;
+    }
+
+    private void expire(LlmPriority priority, Waiter waiter) {
+        String state;
+        lock.lock();
+        try {
+            if (waiter.permit != null || !lanes.get(priority).remove(waiter)) {
+                return;
+            }
+            dispatch();
+            state = " (" + inFlight + " in flight, limit " + (int) limit + ")";
+        } finally {
+            unlockAndNotify();
+        }
+        waiter.granted.completeExceptionally(
+                new SchedulerTimeoutException("No model call permit within " + properties.maxWait() + state));
+    }
+
+    private void withdraw(LlmPriority priority, Waiter waiter) {
+        lock.lock();
+        try {
+            if (waiter.permit == null) {
+                if (lanes.get(priority).remove(waiter)) {
+                    dispatch();
+                }
+            } else if (waiter.permit.released.compareAndSet(false, true)) {
+                // granted, but nobody is left to make the call
+                inFlight--;
+                requests.adjust(1);
+                tokens.adjust(waiter.permit.estimatedTokens);
+                dispatch();
+            }
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    /**
+     * Unlocks, then completes the futures of the calls {@link #dispatch} admitted, so
+     * whatever runs on their completion does not run under the lock.
+     */
+    private void unlockAndNotify() {
+        List<Waiter> admitted = List.of();
+        if (!granted.isEmpty() && lock.getHoldCount() == 1) {
+            admitted = List.copyOf(granted);
+            granted.clear();
+        }
+        lock.unlock();
+        admitted.forEach(waiter -> waiter.granted.complete(waiter.permit));
+    }
+
+    private void wakeUp() {
+        lock.lock();
+        try {
+            wakeUpAt = Long.MAX_VALUE;
+            dispatch();
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    /**
+     * Reports how a permitted call ended and admits the next waiting calls.
+     *
+     * @param actualTokens tokens the provider reported, or a negative value if unknown
+     * @param error        the failure, or {@code null} for a success
+     */
+    public void release(Permit permit, long latencyNanos, long actualTokens, Throwable error) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlight--;
+            if (actualTokens >= 0) {
+                tokens.adjust(permit.estimatedTokens - actualTokens);
+            }
+            long now = System.nanoTime();
+            LlmSchedulerProperties.Concurrency concurrency = properties.concurrency();
+            if (error != null && LlmErrors.isRateLimited(error)) {
+                rateLimited.incrementAndGet();
+                pausedUntil = Math.max(pausedUntil, now + properties.rateLimitCooldown().toNanos());
+                decrease(permit, now, "rate limited");
+            } else if (latencyNanos > concurrency.latencyThreshold().toNanos()) {
+                decrease(permit, now, "slow call");
+            } else if (error == null) {
+                limit = Math.min(concurrency.max(), limit + 1.0 / limit);
+            }
+            dispatch();
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    /**
+     * Calls that were in flight when the limit last shrank already saw the overload,
+     * so their own failures must not shrink it again.
+     */
+    private void decrease(Permit permit, long now, String reason) {
+        if (permit.startedAt < lastDecrease) {
+            return;
+        }
+        LlmSchedulerProperties.Concurrency concurrency = properties.concurrency();
+        double previous = limit;
+        limit = Math.max(concurrency.min(), limit * concurrency.backoffRatio());
+        lastDecrease = now;
+        log.info("Model call concurrency limit {} -> {} ({})", (int) previous, (int) limit, reason);
+    }
+
+    Waiter submit(LlmPriority priority, String tenant, int estimatedTokens) {
+        return submit(priority, tenant, estimatedTokens, null);
+    }
+
+    private Waiter submit(LlmPriority priority, String tenant, int estimatedTokens, CompletableFuture<Permit> granted) {
+        Waiter waiter = new Waiter(tenant, Math.max(1, estimatedTokens),
+                granted == null ? lock.newCondition() : null, granted);
+        lanes.get(priority).add(waiter, properties.weightOf(tenant));
+        return waiter;
+    }
+
+    /**
+     * Grants permits to waiting calls in priority and fairness order for as long as the
+     * limits allow. Returns nanoseconds until the head call could start on time alone,
+     * or {@link Long#MAX_VALUE} if it waits for a call to finish (or nothing waits).
+     */
+    long dispatch() {
+        long now = System.nanoTime();
+        requests.refill(now);
+        tokens.refill(now);
+        while (true) {
+            Lane lane = headLane();
+            if (lane == null) {
+                return Long.MAX_VALUE;
+            }
+            Waiter head = lane.peek();
+            if (inFlight >= Math.max(1, (int) limit)) {
+                return Long.MAX_VALUE;
+            }
+            long wait = Math.max(pausedUntil - now,
+                    Math.max(requests.nanosUntil(1), tokens.nanosUntil(head.estimatedTokens)));
+            if (wait > 0) {
+                if (head.signal != null) {
+                    // the head's thread may be parked until a release; let it re-arm its timer
+                    head.signal.signal();
+                } else if (now + wait < wakeUpAt) {
+                    // no thread waits for an async head, so a timer dispatches again
+                    wakeUpAt = now + wait;
+                    CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS).execute(this::wakeUp);
+                }
+                return wait;
+            }
+            requests.take(1);
+            tokens.take(head.estimatedTokens);
+            inFlight++;
+            lane.poll();
+            head.permit = new Permit(head.estimatedTokens, now);
+            if (head.signal != null) {
+                head.signal.signal();
+            } else {
+                granted.add(head);
+            }
+        }
+    }
+
+    private Lane headLane() {
+        for (Lane lane : lanes.values()) {
+            if (!lane.isEmpty()) {
+                return lane;
+            }
+        }
+        return null;
+    }
+
+    public double concurrencyLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued(LlmPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    int tenants(LlmPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).tenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    /**
+     * Permission for one model call; release it exactly once when the call ends.
+     */
+    public static final class Permit {
+
+        private final long estimatedTokens;
+        private final long startedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(long estimatedTokens, long startedAt) {
+            this.estimatedTokens = estimatedTokens;
+            this.startedAt = startedAt;
+        }
+    }
+
+    static final class Waiter {
+
+        final String tenant;
+        final int estimatedTokens;
+        /** Signalled for a blocked {@link #acquire} caller; {@code null} for an async one. */
+        final Condition signal;
+        /** Completed for an {@link #acquireAsync} caller; {@code null} for a blocked one. */
+        final CompletableFuture<Permit> granted;
+        Permit permit;
+
+        Waiter(String tenant, int estimatedTokens, Condition signal, CompletableFuture<Permit> granted) {
+            this.tenant = tenant;
+            this.estimatedTokens = estimatedTokens;
+            this.signal = signal;
+            this.granted = granted;
+        }
+    }
+
+    /**
+     * One priority lane: a queue per tenant, served in order of the tenants' pass values.
+     *
+     * An idle tenant's queue only has to be kept while its pass is ahead of the lane's
+     * virtual time; behind it, a new queue would start at the same position. Once the lane
+     * drains the busy period is over and every tenant starts afresh.
+     */
+    private static final class Lane {
+
+        private final Map<String, TenantQueue> tenants = new LinkedHashMap<>();
+        private double virtualTime;
+        private int size;
+
+        void add(Waiter waiter, int weight) {
+            TenantQueue queue = tenants.computeIfAbsent(waiter.tenant, ignored -> new TenantQueue());
+            if (queue.waiters.isEmpty()) {
+                queue.pass = Math.max(queue.pass, virtualTime);
+            }
+            queue.weight = weight;
+            queue.waiters.add(waiter);
+            size++;
+        }
+
+        Waiter peek() {
+            TenantQueue next = next();
+            return next == null ? null : next.waiters.peek();
+        }
+
+        void poll() {
+            TenantQueue next = next();
+            Waiter waiter = next.waiters.poll();
+            virtualTime = next.pass;
+            next.pass += (double) waiter.estimatedTokens / next.weight;
+            size--;
+            evictIdle();
+        }
+
+        boolean remove(Waiter waiter) {
+            TenantQueue queue = tenants.get(waiter.tenant);
+            if (queue != null && queue.waiters.remove(waiter)) {
+                size--;
+                evictIdle();
+                return true;
+            }
+            return false;
+        }
+
+        private void evictIdle() {
+            if (size == 0) {
+                tenants.clear();
+                return;
+            }
+            tenants.values().removeIf(queue -> queue.waiters.isEmpty() && queue.pass <= virtualTime);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private TenantQueue next() {
+            TenantQueue best = null;
+            for (TenantQueue queue : tenants.values()) {
+                if (!queue.waiters.isEmpty() && (best == null || queue.pass < best.pass)) {
+                    best = queue;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class TenantQueue {
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        double pass;
+        int weight = 1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.langgraph.llm.scheduler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Publishes the {@link LlmScheduler}'s concurrency limit, calls in flight, queue depth per
+ * priority lane and the number of 429 responses it reacted to.
+ */
+@Component
+public class LlmSchedulerMetrics implements MeterBinder {
+
+    private final LlmScheduler scheduler;
+
+    public LlmSchedulerMetrics(LlmScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("llm.scheduler.limit", scheduler, LlmScheduler::concurrencyLimit)
+                .register(registry);
+        Gauge.builder("llm.scheduler.in_flight", scheduler, LlmScheduler::inFlight)
+                .register(registry);
+        for (LlmPriority priority : LlmPriority.values()) {
+            Gauge.builder("llm.scheduler.queued", scheduler, s -> s.queued(priority))
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        FunctionCounter.builder("llm.scheduler.rate_limited", scheduler, LlmScheduler::rateLimitedCount)
+                .register(registry);
+    }
+}
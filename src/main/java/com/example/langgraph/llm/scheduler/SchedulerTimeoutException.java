@@ -0,0 +1,11 @@
+package com.example.langgraph.llm.scheduler;
+
+/**
+ * Thrown when a model call waited longer than {@code langgraph.llm.scheduler.max-wait} for a permit.
+ */
+public class SchedulerTimeoutException extends RuntimeException {
+
+    public SchedulerTimeoutException(String message) {
+        super(message);
+    }
+}
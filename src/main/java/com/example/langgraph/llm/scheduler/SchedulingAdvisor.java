@@ -0,0 +1,152 @@
+package com.example.langgraph.llm.scheduler;
+
+import com.example.langgraph.config.LlmSchedulerProperties;
+import com.example.langgraph.graph.NodeContext;
+import com.example.langgraph.llm.budget.TokenCounter;
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+
+/**
+ * ChatClient advisor that makes every model call wait for a {@link LlmScheduler} permit.
+ * Priority and tenant come from the run the calling node belongs to; calls outside a
+ * run are interactive and accounted to the default tenant.
+ *
+ * The time a call waited for its permit is passed down the chain in the request context
+ * under {@link #QUEUE_WAIT_CONTEXT_KEY}, in nanoseconds.
+ */
+@Component
+public class SchedulingAdvisor implements CallAdvisor, StreamAdvisor {
+
+    public static final String QUEUE_WAIT_CONTEXT_KEY = "llm-scheduler.queue-wait-nanos";
+
+    private final LlmScheduler scheduler;
+    private final TokenCounter tokenCounter;
+    private final ChatModel chatModel;
+    private final LlmSchedulerProperties properties;
+
+    public SchedulingAdvisor(LlmScheduler scheduler, TokenCounter tokenCounter, ChatModel chatModel,
+                             LlmSchedulerProperties properties) {
+        this.scheduler = scheduler;
+        this.tokenCounter = tokenCounter;
+        this.chatModel = chatModel;
+        this.properties = properties;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        if (!scheduler.isEnabled()) {
+            return chain.nextCall(request);
+        }
+        long queued = System.nanoTime();
+        LlmScheduler.Permit permit = acquire(request, NodeContext.current());
+        long start = System.nanoTime();
+        try {
+            ChatClientResponse response = chain.nextCall(withQueueWait(request, start - queued));
+            scheduler.release(permit, System.nanoTime() - start, totalTokens(response), null);
+            return response;
+        } catch (RuntimeException e) {
+            scheduler.release(permit, System.nanoTime() - start, -1, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        if (!scheduler.isEnabled()) {
+            return chain.nextStream(request);
+        }
+        // the stream may be subscribed on another thread, so resolve the node up front
+        Optional<NodeContext> context = NodeContext.current();
+        return Flux.defer(() -> {
+            long queued = System.nanoTime();
+            // no thread waits for the permit, so a queued stream holds none
+            return Mono.fromFuture(() -> acquireAsync(request, context)).flatMapMany(permit -> {
+                long start = System.nanoTime();
+                return new ChatClientMessageAggregator()
+                        .aggregateChatClientResponse(chain.nextStream(withQueueWait(request, start - queued)),
+                                aggregated -> scheduler.release(permit, System.nanoTime() - start,
+                                        totalTokens(aggregated), null))
+                        .doOnError(e -> scheduler.release(permit, System.nanoTime() - start, -1, e))
+                        .doOnCancel(() -> scheduler.release(permit, System.nanoTime() - start, -1,
+                                new CancellationException("Model call stream was cancelled")));
+            });
+        });
+    }
+
+    private LlmScheduler.Permit acquire(ChatClientRequest request, Optional<NodeContext> context) {
+        return scheduler.acquire(priority(context), tenant(context), estimateTokens(request));
+    }
+
+    private CompletableFuture<LlmScheduler.Permit> acquireAsync(ChatClientRequest request,
+                                                                Optional<NodeContext> context) {
+        return scheduler.acquireAsync(priority(context), tenant(context), estimateTokens(request));
+    }
+
+    private static LlmPriority priority(Optional<NodeContext> context) {
+        return context.flatMap(c -> c.runAttribute(LlmScheduler.PRIORITY_ATTRIBUTE))
+                .map(SchedulingAdvisor::priorityOf)
+                .orElse(LlmPriority.INTERACTIVE);
+    }
+
+    private static String tenant(Optional<NodeContext> context) {
+        return context.flatMap(c -> c.runAttribute(LlmScheduler.TENANT_ATTRIBUTE))
+                .orElse(LlmScheduler.DEFAULT_TENANT);
+    }
+
+    private static ChatClientRequest withQueueWait(ChatClientRequest request, long nanos) {
+        return request.mutate().context(QUEUE_WAIT_CONTEXT_KEY, nanos).build();
+    }
+
+    private int estimateTokens(ChatClientRequest request) {
+        ChatOptions options = request.prompt().getOptions() != null
+                ? request.prompt().getOptions()
+                : chatModel.getDefaultOptions();
+        Integer maxTokens = options == null ? null : options.getMaxTokens();
+        int completion = maxTokens != null ? maxTokens : properties.expectedCompletionTokens();
+        return tokenCounter.count(request.prompt().getContents()) + completion;
+    }
+
+    private static LlmPriority priorityOf(String value) {
+        try {
+            return LlmPriority.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return LlmPriority.INTERACTIVE;
+        }
+    }
+
+    private static long totalTokens(ChatClientResponse response) {
+        ChatResponse chatResponse = response == null ? null : response.chatResponse();
+        Usage usage = chatResponse == null || chatResponse.getMetadata() == null
+                ? null
+                : chatResponse.getMetadata().getUsage();
+        return usage == null || usage.getTotalTokens() == null ? -1 : usage.getTotalTokens();
+    }
+
+    @Override
+    public String getName() {
+        return "llm-scheduler";
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside the cache and call coalescing, outside metrics: queueing time is not model latency.
+        return Ordered.HIGHEST_PRECEDENCE + 175;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.langgraph.llm.scheduler;
+
+/**
+ * Continuously refilling bucket sized for one minute of quota. Not thread-safe; the
+ * scheduler guards it with its lock. A non-positive rate means no limit.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double perNano;
+    private double available;
+    private long lastRefill;
+
+    TokenBucket(int perMinute, long now) {
+        this.capacity = Math.max(0, perMinute);
+        this.perNano = capacity / 60_000_000_000.0;
+        this.available = capacity;
+        this.lastRefill = now;
+    }
+
+    boolean isUnlimited() {
+        return capacity == 0;
+    }
+
+    double capacity() {
+        return capacity;
+    }
+
+    void refill(long now) {
+        if (isUnlimited()) {
+            return;
+        }
+        available = Math.min(capacity, available + (now - lastRefill) * perNano);
+        lastRefill = now;
+    }
+
+    /**
+     * Nanoseconds until {@code amount} is available; amounts above the capacity wait for a full bucket.
+     */
+    long nanosUntil(double amount) {
+        if (isUnlimited()) {
+            return 0;
+        }
+        double missing = Math.min(amount, capacity) - available;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / perNano);
+    }
+
+    void take(double amount) {
+        if (!isUnlimited()) {
+            available -= Math.min(amount, capacity);
+        }
+    }
+
+    /**
+     * Returns over-estimated quota, or charges under-estimated quota as debt.
+     */
+    void adjust(double amount) {
+        if (!isUnlimited()) {
+            available = Math.min(capacity, available + amount);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.langgraph.metrics;
+
+import com.example.langgraph.graph.GraphListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link GraphListener} that records run and node latencies to Micrometer.
+ *
+ * <ul>
+ *   <li>{@code graph.run.duration} / {@code graph.runs} — per run, tagged {@code outcome}</li>
+ *   <li>{@code graph.runs.active} — runs currently executing</li>
+ *   <li>{@code graph.node.duration} — per node, tagged {@code node} and {@code outcome}</li>
+ * </ul>
+ */
+@Component
+public class GraphMetrics implements GraphListener {
+
+    private final MeterRegistry registry;
+    private final AtomicInteger activeRuns = new AtomicInteger();
+
+    public GraphMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        registry.gauge("graph.runs.active", activeRuns);
+    }
+
+    @Override
+    public void onRunStart(String runId) {
+        activeRuns.incrementAndGet();
+    }
+
+    @Override
+    public void onRunComplete(String runId, Duration duration) {
+        recordRun("success", duration);
+    }
+
+    @Override
+    public void onRunFailed(String runId, Throwable error, Duration duration) {
+        recordRun("failure", duration);
+    }
+
+    @Override
+    public void onNodeComplete(String nodeName, Duration duration) {
+        nodeTimer(nodeName, "success").record(duration);
+    }
+
+    @Override
+    public void onNodeFailed(String nodeName, Throwable error, Duration duration) {
+        nodeTimer(nodeName, "failure").record(duration);
+    }
+
+    private void recordRun(String outcome, Duration duration) {
+        activeRuns.decrementAndGet();
+        Timer.builder("graph.run.duration")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(duration);
+        Counter.builder("graph.runs")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    private Timer nodeTimer(String nodeName, String outcome) {
+        return Timer.builder("graph.node.duration")
+                .tag("node", nodeName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.langgraph.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning one call that reached the model.
+ */
+@Name("com.example.langgraph.LlmCall")
+@Label("LLM Call")
+@Category("LangGraph")
+@Description("One model call made on behalf of a graph node")
+@StackTrace(false)
+final class LlmCallEvent extends Event {
+
+    @Label("Run Id")
+    String runId;
+
+    @Label("Node")
+    String node;
+
+    @Label("Model")
+    String model;
+
+    @Label("Streaming")
+    boolean streaming;
+
+    @Label("Prompt Tokens")
+    long promptTokens;
+
+    @Label("Completion Tokens")
+    long completionTokens;
+
+    @Label("Queue Wait")
+    @Description("Time the call waited for a model call scheduler permit")
+    @Timespan
+    long queueWait;
+
+    @Label("Outcome")
+    String outcome;
+}
@@ -0,0 +1,160 @@
+package com.example.langgraph.metrics;
+
+import com.example.langgraph.graph.NodeContext;
+import com.example.langgraph.llm.budget.TokenLedger;
+import com.example.langgraph.llm.scheduler.SchedulingAdvisor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ChatClient advisor that records model call latency, in-flight calls and token usage,
+ * attributed to the graph node that issued the call.
+ *
+ * <ul>
+ *   <li>{@code llm.call.duration} — per call, tagged {@code node} and {@code outcome}</li>
+ *   <li>{@code llm.calls.active} — calls currently waiting on the model</li>
+ *   <li>{@code llm.tokens} — tagged {@code node} and {@code type} ({@code prompt}/{@code completion})</li>
+ * </ul>
+ *
+ * Token usage is also reported to the {@link TokenLedger} for the run the call belongs to,
+ * and every call is a {@link LlmCallEvent} for Flight Recorder.
+ */
+@Component
+public class LlmMetricsAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private static final String NO_NODE = "none";
+
+    private final MeterRegistry registry;
+    private final TokenLedger tokenLedger;
+    private final AtomicInteger activeCalls = new AtomicInteger();
+
+    public LlmMetricsAdvisor(MeterRegistry registry, TokenLedger tokenLedger) {
+        this.registry = registry;
+        this.tokenLedger = tokenLedger;
+        registry.gauge("llm.calls.active", activeCalls);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        NodeContext node = NodeContext.current().orElse(null);
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(registry);
+        activeCalls.incrementAndGet();
+        try {
+            ChatClientResponse response = chain.nextCall(request);
+            record(node, sample, event, request, "success", response);
+            return response;
+        } catch (RuntimeException e) {
+            record(node, sample, event, request, "failure", null);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        // the stream may be consumed on another thread, so resolve the node up front
+        NodeContext node = NodeContext.current().orElse(null);
+        return Flux.defer(() -> {
+            LlmCallEvent event = new LlmCallEvent();
+            event.begin();
+            event.streaming = true;
+            Timer.Sample sample = Timer.start(registry);
+            activeCalls.incrementAndGet();
+            return new ChatClientMessageAggregator()
+                    .aggregateChatClientResponse(chain.nextStream(request),
+                            aggregated -> record(node, sample, event, request, "success", aggregated))
+                    .doOnError(e -> record(node, sample, event, request, "failure", null));
+        });
+    }
+
+    private void record(NodeContext context, Timer.Sample sample, LlmCallEvent event, ChatClientRequest request,
+                        String outcome, ChatClientResponse response) {
+        String node = context == null ? NO_NODE : context.nodeName();
+        activeCalls.decrementAndGet();
+        event.end();
+        sample.stop(Timer.builder("llm.call.duration")
+                .tag("node", node)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+
+        Usage usage = usageOf(response);
+        if (usage != null) {
+            countTokens(node, "prompt", usage.getPromptTokens());
+            countTokens(node, "completion", usage.getCompletionTokens());
+            if (context != null) {
+                tokenLedger.record(context.runId(), node, tokens(usage.getPromptTokens()),
+                        tokens(usage.getCompletionTokens()));
+            }
+        }
+        if (event.shouldCommit()) {
+            event.runId = context == null ? null : context.runId();
+            event.node = node;
+            event.model = modelOf(request, response);
+            event.promptTokens = usage == null ? 0 : tokens(usage.getPromptTokens());
+            event.completionTokens = usage == null ? 0 : tokens(usage.getCompletionTokens());
+            event.queueWait = request.context().get(SchedulingAdvisor.QUEUE_WAIT_CONTEXT_KEY) instanceof Long wait
+                    ? wait : 0;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private void countTokens(String node, String type, Integer tokens) {
+        if (tokens != null && tokens > 0) {
+            Counter.builder("llm.tokens")
+                    .tag("node", node)
+                    .tag("type", type)
+                    .register(registry)
+                    .increment(tokens);
+        }
+    }
+
+    private static Usage usageOf(ChatClientResponse response) {
+        ChatResponse chatResponse = response == null ? null : response.chatResponse();
+        if (chatResponse == null || chatResponse.getMetadata() == null) {
+            return null;
+        }
+        return chatResponse.getMetadata().getUsage();
+    }
+
+    private static String modelOf(ChatClientRequest request, ChatClientResponse response) {
+        ChatResponse chatResponse = response == null ? null : response.chatResponse();
+        if (chatResponse != null && chatResponse.getMetadata() != null && chatResponse.getMetadata().getModel() != null
+                && !chatResponse.getMetadata().getModel().isEmpty()) {
+            return chatResponse.getMetadata().getModel();
+        }
+        return request.prompt().getOptions() == null ? null : request.prompt().getOptions().getModel();
+    }
+
+    private static long tokens(Integer count) {
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public String getName() {
+        return "llm-metrics";
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside the response cache, so only calls that reach the model are measured.
+        return Ordered.HIGHEST_PRECEDENCE + 200;
+    }
+}
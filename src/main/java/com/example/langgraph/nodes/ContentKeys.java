@@ -0,0 +1,29 @@
+package com.example.langgraph.nodes;
+
+import com.example.langgraph.graph.StateKey;
+
+import java.util.List;
+
+/**
+ * State channels of the content creation pipeline.
+ */
+public final class ContentKeys {
+
+    public static final StateKey<String> INPUT_TOPIC = StateKey.of("input_topic", String.class);
+    public static final StateKey<String> TOPIC_ANALYSIS = StateKey.of("topic_analysis", String.class);
+    public static final StateKey<String> RESEARCH_POINTS = StateKey.of("research_points", String.class);
+    public static final StateKey<String> DRAFT_CONTENT = StateKey.of("draft_content", String.class);
+    public static final StateKey<String> REVIEW_NOTES = StateKey.of("review_notes", String.class);
+    public static final StateKey<Integer> REVIEW_SCORE = StateKey.of("review_score", Integer.class);
+    public static final StateKey<String> FINAL_CONTENT = StateKey.of("final_content", String.class);
+    public static final StateKey<Integer> REVISION_COUNT = StateKey.reducing("revision_count", Integer.class, Integer::sum);
+    public static final StateKey<String> SUMMARY = StateKey.of("summary", String.class);
+    public static final StateKey<Boolean> COMPLETED = StateKey.of("completed", Boolean.class);
+
+    public static final List<StateKey<?>> ALL = List.of(
+            INPUT_TOPIC, TOPIC_ANALYSIS, RESEARCH_POINTS, DRAFT_CONTENT, REVIEW_NOTES,
+            REVIEW_SCORE, FINAL_CONTENT, REVISION_COUNT, SUMMARY, COMPLETED);
+
+    private ContentKeys() {
+    }
+}
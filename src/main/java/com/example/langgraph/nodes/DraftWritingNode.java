@@ -1,28 +1,88 @@
 package com.example.langgraph.nodes;
 
-import com.example.langgraph.graph.GraphNode;
+import com.example.langgraph.config.WorkflowProperties;
+import com.example.langgraph.graph.AsyncGraphNode;
 import com.example.langgraph.graph.GraphState;
-import org.springframework.ai.chat.client.ChatClient;
+import com.example.langgraph.graph.MapReduceNode;
+import com.example.langgraph.graph.NodeContext;
+import com.example.langgraph.graph.StateKey;
+import com.example.langgraph.llm.ChatGateway;
+import com.example.langgraph.llm.PromptText;
+import com.example.langgraph.llm.budget.PromptBudget;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import static com.example.langgraph.nodes.ContentKeys.*;
+
+/**
+ * Writes the draft. With numbered research points, the introduction, one section per point
+ * and the conclusion are written concurrently and joined in order, so drafting takes about
+ * as long as its longest part rather than the whole post; otherwise the draft is one call.
+ */
 @Component
-public class DraftWritingNode implements GraphNode {
+public class DraftWritingNode implements AsyncGraphNode {
+
+    // "1. ", "2) ", "**3.** " at the start of a line
+    private static final Pattern NUMBERED_ITEM = Pattern.compile("(?m)^\\s*(?:\\*\\*)?\\d+[.)](?:\\*\\*)?\\s+");
 
-    private final ChatClient chatClient;
+    private final ChatGateway chatGateway;
+    private final PromptBudget promptBudget;
+    private final WorkflowProperties.Draft properties;
+    private final MapReduceNode<PromptText, String, String> sections;
+
+    public DraftWritingNode(ChatGateway chatGateway, PromptBudget promptBudget, WorkflowProperties workflowProperties) {
+        this.chatGateway = chatGateway;
+        this.promptBudget = promptBudget;
+        this.properties = workflowProperties.draft();
+        this.sections = MapReduceNode.<PromptText, String, String>builder()
+                .reads(INPUT_TOPIC, TOPIC_ANALYSIS, RESEARCH_POINTS)
+                .split(this::sectionPrompts)
+                .mapAsync(chatGateway::callWithoutStreamingAsync)
+                .reduce(DRAFT_CONTENT, parts -> parts.stream().map(String::strip).collect(Collectors.joining("\n\n")))
+                .maxConcurrency(properties.maxConcurrency())
+                .build();
+    }
+
+    @Override
+    public Set<StateKey<?>> reads() {
+        return Set.of(INPUT_TOPIC, TOPIC_ANALYSIS, RESEARCH_POINTS);
+    }
 
-    public DraftWritingNode(ChatClient chatClient) {
-        this.chatClient = chatClient;
+    @Override
+    public Set<StateKey<?>> writes() {
+        return Set.of(DRAFT_CONTENT);
     }
 
     @Override
-    public GraphState process(GraphState state) {
-        String topic = Objects.requireNonNull(state.getString("input_topic"), "input_topic is required");
-        String analysis = Objects.requireNonNull(state.getString("topic_analysis"), "topic_analysis is required");
-        String research = Objects.requireNonNull(state.getString("research_points"), "research_points is required");
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
+        String topic = Objects.requireNonNull(state.get(INPUT_TOPIC), "input_topic is required");
+        String analysis = Objects.requireNonNull(state.get(TOPIC_ANALYSIS), "topic_analysis is required");
+        String research = Objects.requireNonNull(state.get(RESEARCH_POINTS), "research_points is required");
+
+        if (properties.parallelSections() && researchPoints(research).size() > 1) {
+            // sections are not streamed as they are written, so a streaming client gets the draft at once
+            Optional<NodeContext> node = NodeContext.current();
+            return sections.processAsync(state).thenApply(drafted -> {
+                node.ifPresent(context -> context.emitOutput(drafted.get(DRAFT_CONTENT)));
+                return drafted;
+            });
+        }
 
-        String prompt = """
+        Map<String, String> context = promptBudget.fit(Map.of("analysis", analysis, "research points", research));
+        analysis = context.get("analysis");
+        research = context.get("research points");
+
+        PromptText prompt = PromptText.of("""
                 Write a blog post draft (600-800 words) based on the following:
 
                 Topic: %s
@@ -38,14 +98,82 @@ public class DraftWritingNode implements GraphNode {
                 - Clear structure with headings
                 - Practical examples where appropriate
                 - Strong conclusion with call-to-action
-                """.formatted(topic, analysis, research);
+                """, topic, analysis, research);
+
+        return chatGateway.callAsync(prompt).thenApply(draft -> {
+            state.put(DRAFT_CONTENT, draft);
+            return state;
+        });
+    }
+
+    private List<PromptText> sectionPrompts(GraphState state) {
+        String topic = state.get(INPUT_TOPIC);
+        String analysis = promptBudget.fit(Map.of("analysis", state.get(TOPIC_ANALYSIS))).get("analysis");
+        List<String> points = researchPoints(state.get(RESEARCH_POINTS));
+        String outline = points.stream()
+                .map(point -> "- " + point.lines().findFirst().orElse(point).replace("**", "").strip())
+                .collect(Collectors.joining("\n"));
+        // the post as a whole stays at 600-800 words
+        int minWords = Math.max(60, 450 / points.size());
+        int maxWords = Math.max(90, 600 / points.size());
+
+        List<PromptText> prompts = new ArrayList<>(points.size() + 2);
+        prompts.add(PromptText.of("""
+                Write the introduction (60-90 words) of a blog post about: %s
 
-        String draft = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
+                Analysis:
+                %s
+
+                The post covers, in order:
+                %s
+
+                Write only an engaging introduction, without a heading.
+                """, topic, analysis, outline));
+        for (String point : points) {
+            prompts.add(PromptText.of("""
+                    Write one section (%d-%d words) of a blog post about: %s
+
+                    Analysis:
+                    %s
+
+                    The post covers, in order:
+                    %s
+
+                    This section covers:
+                    %s
+
+                    Start with a "## " heading and include a practical example where appropriate.
+                    Write only this section, without an introduction or conclusion.
+                    """, minWords, maxWords, topic, analysis, outline, point));
+        }
+        prompts.add(PromptText.of("""
+                Write the conclusion (60-90 words) of a blog post about: %s
+
+                The post covered, in order:
+                %s
+
+                Start with a "## Conclusion" heading and end with a call-to-action.
+                """, topic, outline));
+        return prompts;
+    }
 
-        state.put("draft_content", draft);
-        return state;
+    /**
+     * Splits a numbered list into its items, each with the lines that follow it.
+     */
+    static List<String> researchPoints(String research) {
+        List<String> points = new ArrayList<>();
+        Matcher matcher = NUMBERED_ITEM.matcher(research);
+        int start = -1;
+        while (matcher.find()) {
+            if (start >= 0) {
+                points.add(research.substring(start, matcher.start()).strip());
+            }
+            start = matcher.end();
+        }
+        if (start >= 0) {
+            points.add(research.substring(start).strip());
+        }
+        points.removeIf(String::isEmpty);
+        return points;
     }
 }
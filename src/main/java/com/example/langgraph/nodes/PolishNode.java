@@ -0,0 +1,69 @@
+package com.example.langgraph.nodes;
+
+import com.example.langgraph.graph.AsyncGraphNode;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateKey;
+import com.example.langgraph.llm.ChatGateway;
+import com.example.langgraph.llm.PromptText;
+import com.example.langgraph.llm.budget.PromptBudget;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.langgraph.nodes.ContentKeys.*;
+
+@Component
+public class PolishNode implements AsyncGraphNode {
+
+    private final ChatGateway chatGateway;
+    private final PromptBudget promptBudget;
+
+    public PolishNode(ChatGateway chatGateway, PromptBudget promptBudget) {
+        this.chatGateway = chatGateway;
+        this.promptBudget = promptBudget;
+    }
+
+    @Override
+    public Set<StateKey<?>> reads() {
+        return Set.of(DRAFT_CONTENT, FINAL_CONTENT, REVIEW_NOTES);
+    }
+
+    @Override
+    public Set<StateKey<?>> writes() {
+        return Set.of(FINAL_CONTENT, REVISION_COUNT);
+    }
+
+    @Override
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
+        String content = state.containsKey(FINAL_CONTENT)
+                ? state.get(FINAL_CONTENT)
+                : Objects.requireNonNull(state.get(DRAFT_CONTENT), "draft_content is required");
+        String reviewNotes = Objects.requireNonNull(state.get(REVIEW_NOTES), "review_notes is required");
+
+        Map<String, String> context = promptBudget.fit(Map.of("draft", content, "review feedback", reviewNotes));
+        content = context.get("draft");
+        reviewNotes = context.get("review feedback");
+
+        PromptText polishPrompt = PromptText.of("""
+                Improve the following blog post based on the review feedback. \
+                Apply all suggestions while maintaining the original voice and message.
+
+                Original Draft:
+                %s
+
+                Review Feedback:
+                %s
+
+                Produce the final polished version of the blog post.
+                """, content, reviewNotes);
+
+        return chatGateway.callAsync(polishPrompt).thenApply(finalContent -> {
+            state.put(FINAL_CONTENT, finalContent);
+            state.put(REVISION_COUNT, 1);
+            return state;
+        });
+    }
+}
@@ -1,27 +1,48 @@
 package com.example.langgraph.nodes;
 
-import com.example.langgraph.graph.GraphNode;
+import com.example.langgraph.graph.AsyncGraphNode;
 import com.example.langgraph.graph.GraphState;
-import org.springframework.ai.chat.client.ChatClient;
+import com.example.langgraph.graph.StateKey;
+import com.example.langgraph.llm.ChatGateway;
+import com.example.langgraph.llm.PromptText;
+import com.example.langgraph.llm.budget.PromptBudget;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.langgraph.nodes.ContentKeys.*;
 
 @Component
-public class ResearchNode implements GraphNode {
+public class ResearchNode implements AsyncGraphNode {
+
+    private final ChatGateway chatGateway;
+    private final PromptBudget promptBudget;
+
+    public ResearchNode(ChatGateway chatGateway, PromptBudget promptBudget) {
+        this.chatGateway = chatGateway;
+        this.promptBudget = promptBudget;
+    }
 
-    private final ChatClient chatClient;
+    @Override
+    public Set<StateKey<?>> reads() {
+        return Set.of(INPUT_TOPIC, TOPIC_ANALYSIS);
+    }
 
-    public ResearchNode(ChatClient chatClient) {
-        this.chatClient = chatClient;
+    @Override
+    public Set<StateKey<?>> writes() {
+        return Set.of(RESEARCH_POINTS);
     }
 
     @Override
-    public GraphState process(GraphState state) {
-        String topic = Objects.requireNonNull(state.getString("input_topic"), "input_topic is required");
-        String analysis = Objects.requireNonNull(state.getString("topic_analysis"), "topic_analysis is required");
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
+        String topic = Objects.requireNonNull(state.get(INPUT_TOPIC), "input_topic is required");
+        String analysis = Objects.requireNonNull(state.get(TOPIC_ANALYSIS), "topic_analysis is required");
+        analysis = promptBudget.fit(Map.of("analysis", analysis)).get("analysis");
 
-        String prompt = """
+        PromptText prompt = PromptText.of("""
                 Based on the topic and analysis below, generate 5-7 key research points \
                 that should be covered in a blog post. Each point should include a brief \
                 explanation of why it's important.
@@ -32,14 +53,11 @@ public class ResearchNode implements GraphNode {
                 %s
 
                 Format as a numbered list with explanations.
-                """.formatted(topic, analysis);
-
-        String researchPoints = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
+                """, topic, analysis);
 
-        state.put("research_points", researchPoints);
-        return state;
+        return chatGateway.callAsync(prompt).thenApply(researchPoints -> {
+            state.put(RESEARCH_POINTS, researchPoints);
+            return state;
+        });
     }
 }
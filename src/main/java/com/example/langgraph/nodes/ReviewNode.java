@@ -1,27 +1,54 @@
 package com.example.langgraph.nodes;
 
-import com.example.langgraph.graph.GraphNode;
+import com.example.langgraph.graph.AsyncGraphNode;
 import com.example.langgraph.graph.GraphState;
-import org.springframework.ai.chat.client.ChatClient;
+import com.example.langgraph.graph.StateKey;
+import com.example.langgraph.llm.ChatGateway;
+import com.example.langgraph.llm.PromptText;
+import com.example.langgraph.llm.budget.PromptBudget;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.langgraph.nodes.ContentKeys.*;
 
 @Component
-public class ReviewNode implements GraphNode {
+public class ReviewNode implements AsyncGraphNode {
+
+    private static final Pattern SCORE = Pattern.compile("SCORE:\\s*(\\d{1,2})", Pattern.CASE_INSENSITIVE);
 
-    private final ChatClient chatClient;
+    private final ChatGateway chatGateway;
+    private final PromptBudget promptBudget;
 
-    public ReviewNode(ChatClient chatClient) {
-        this.chatClient = chatClient;
+    public ReviewNode(ChatGateway chatGateway, PromptBudget promptBudget) {
+        this.chatGateway = chatGateway;
+        this.promptBudget = promptBudget;
     }
 
     @Override
-    public GraphState process(GraphState state) {
-        String draft = Objects.requireNonNull(state.getString("draft_content"), "draft_content is required");
+    public Set<StateKey<?>> reads() {
+        return Set.of(DRAFT_CONTENT, FINAL_CONTENT);
+    }
 
-        // First LLM call: review
-        String reviewPrompt = """
+    @Override
+    public Set<StateKey<?>> writes() {
+        return Set.of(REVIEW_NOTES, REVIEW_SCORE);
+    }
+
+    @Override
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
+        // Reviews the latest revision once the polish node has produced one
+        String content = state.containsKey(FINAL_CONTENT)
+                ? state.get(FINAL_CONTENT)
+                : Objects.requireNonNull(state.get(DRAFT_CONTENT), "draft_content is required");
+        content = promptBudget.fit(Map.of("draft", content)).get("draft");
+
+        PromptText reviewPrompt = PromptText.of("""
                 Review the following blog post draft. Provide specific feedback on:
                 1. Content accuracy and completeness
                 2. Writing quality and clarity
@@ -29,37 +56,29 @@ public class ReviewNode implements GraphNode {
                 4. Engagement and readability
                 5. Specific suggestions for improvement
 
-                Draft:
-                %s
-                """.formatted(draft);
+                End your review with a line of the form "SCORE: <1-10>" rating how ready
+                the draft is for publication as it is (10 = publish unchanged).
 
-        String reviewNotes = chatClient.prompt()
-                .user(reviewPrompt)
-                .call()
-                .content();
-
-        state.put("review_notes", reviewNotes);
-
-        // Second LLM call: polish based on review
-        String polishPrompt = """
-                Improve the following blog post based on the review feedback. \
-                Apply all suggestions while maintaining the original voice and message.
-
-                Original Draft:
-                %s
-
-                Review Feedback:
+                Draft:
                 %s
+                """, content);
 
-                Produce the final polished version of the blog post.
-                """.formatted(draft, reviewNotes);
-
-        String finalContent = chatClient.prompt()
-                .user(polishPrompt)
-                .call()
-                .content();
+        return chatGateway.callAsync(reviewPrompt).thenApply(reviewNotes -> {
+            state.put(REVIEW_NOTES, reviewNotes);
+            state.put(REVIEW_SCORE, parseScore(reviewNotes));
+            return state;
+        });
+    }
 
-        state.put("final_content", finalContent);
-        return state;
+    /**
+     * Returns the score from the review, or 0 (always revise) when the model omitted it.
+     */
+    private static int parseScore(String reviewNotes) {
+        Matcher matcher = SCORE.matcher(reviewNotes == null ? "" : reviewNotes);
+        int score = 0;
+        while (matcher.find()) {
+            score = Integer.parseInt(matcher.group(1));
+        }
+        return Math.min(score, 10);
     }
 }
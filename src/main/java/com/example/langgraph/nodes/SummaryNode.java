@@ -1,28 +1,51 @@
 package com.example.langgraph.nodes;
 
-import com.example.langgraph.graph.GraphNode;
+import com.example.langgraph.graph.AsyncGraphNode;
 import com.example.langgraph.graph.GraphState;
-import org.springframework.ai.chat.client.ChatClient;
+import com.example.langgraph.graph.StateKey;
+import com.example.langgraph.llm.ChatGateway;
+import com.example.langgraph.llm.PromptText;
+import com.example.langgraph.llm.budget.PromptBudget;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.langgraph.nodes.ContentKeys.*;
 
 @Component
-public class SummaryNode implements GraphNode {
+public class SummaryNode implements AsyncGraphNode {
+
+    private final ChatGateway chatGateway;
+    private final PromptBudget promptBudget;
+
+    public SummaryNode(ChatGateway chatGateway, PromptBudget promptBudget) {
+        this.chatGateway = chatGateway;
+        this.promptBudget = promptBudget;
+    }
 
-    private final ChatClient chatClient;
+    @Override
+    public Set<StateKey<?>> reads() {
+        return Set.of(DRAFT_CONTENT, FINAL_CONTENT);
+    }
 
-    public SummaryNode(ChatClient chatClient) {
-        this.chatClient = chatClient;
+    @Override
+    public Set<StateKey<?>> writes() {
+        return Set.of(FINAL_CONTENT, SUMMARY, COMPLETED);
     }
 
     @Override
-    public GraphState process(GraphState state) {
-        String finalContent = Objects.requireNonNull(
-                state.getString("final_content"),
-                "final_content is required");
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
+        // A draft approved on first review goes out unchanged
+        if (!state.containsKey(FINAL_CONTENT)) {
+            state.put(FINAL_CONTENT,
+                    Objects.requireNonNull(state.get(DRAFT_CONTENT), "draft_content is required"));
+        }
+        String finalContent = promptBudget.fit(Map.of("blog post", state.get(FINAL_CONTENT))).get("blog post");
 
-        String prompt = """
+        PromptText prompt = PromptText.of("""
                 Based on the following blog post, generate:
                 1. A concise summary (2-3 sentences)
                 2. 5-7 SEO keywords
@@ -40,15 +63,12 @@ public class SummaryNode implements GraphNode {
 
                 META DESCRIPTION:
                 [meta description here]
-                """.formatted(finalContent);
-
-        String summary = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
+                """, finalContent);
 
-        state.put("summary", summary);
-        state.put("completed", true);
-        return state;
+        return chatGateway.callAsync(prompt).thenApply(summary -> {
+            state.put(SUMMARY, summary);
+            state.put(COMPLETED, true);
+            return state;
+        });
     }
 }
@@ -1,28 +1,44 @@
 package com.example.langgraph.nodes;
 
-import com.example.langgraph.graph.GraphNode;
+import com.example.langgraph.graph.AsyncGraphNode;
 import com.example.langgraph.graph.GraphState;
-import org.springframework.ai.chat.client.ChatClient;
+import com.example.langgraph.graph.StateKey;
+import com.example.langgraph.llm.ChatGateway;
+import com.example.langgraph.llm.PromptText;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.langgraph.nodes.ContentKeys.*;
 
 @Component
-public class TopicAnalysisNode implements GraphNode {
+public class TopicAnalysisNode implements AsyncGraphNode {
+
+    private final ChatGateway chatGateway;
+
+    public TopicAnalysisNode(ChatGateway chatGateway) {
+        this.chatGateway = chatGateway;
+    }
 
-    private final ChatClient chatClient;
+    @Override
+    public Set<StateKey<?>> reads() {
+        return Set.of(INPUT_TOPIC);
+    }
 
-    public TopicAnalysisNode(ChatClient chatClient) {
-        this.chatClient = chatClient;
+    @Override
+    public Set<StateKey<?>> writes() {
+        return Set.of(TOPIC_ANALYSIS);
     }
 
     @Override
-    public GraphState process(GraphState state) {
+    public CompletableFuture<GraphState> processAsync(GraphState state) {
         String topic = Objects.requireNonNull(
-                state.getString("input_topic"),
+                state.get(INPUT_TOPIC),
                 "input_topic is required");
 
-        String prompt = """
+        PromptText prompt = PromptText.of("""
                 Analyze the following topic for a blog post. Provide:
                 1. Target audience
                 2. Key angles to cover
@@ -32,14 +48,11 @@ public class TopicAnalysisNode implements GraphNode {
                 Topic: %s
 
                 Respond in a structured format.
-                """.formatted(topic);
-
-        String analysis = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
+                """, topic);
 
-        state.put("topic_analysis", analysis);
-        return state;
+        return chatGateway.callAsync(prompt).thenApply(analysis -> {
+            state.put(TOPIC_ANALYSIS, analysis);
+            return state;
+        });
     }
 }
@@ -1,11 +1,30 @@
 package com.example.langgraph.workflow;
 
+import com.example.langgraph.checkpoint.FileCheckpointStore;
+import com.example.langgraph.config.GraphProperties;
+import com.example.langgraph.config.LlmRoutingProperties;
+import com.example.langgraph.config.WorkflowProperties;
+import com.example.langgraph.distributed.JdbcNodeTaskQueue;
+import com.example.langgraph.graph.CheckpointStore;
+import com.example.langgraph.graph.EdgeRouter;
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.InMemoryCheckpointStore;
+import com.example.langgraph.graph.InMemoryNodeTaskQueue;
+import com.example.langgraph.graph.NodeTaskQueue;
+import com.example.langgraph.graph.NodeWorker;
 import com.example.langgraph.graph.StateGraph;
 import com.example.langgraph.graph.StateGraphBuilder;
+import com.example.langgraph.history.RunHistoryRecorder;
+import com.example.langgraph.llm.budget.TokenLedger;
+import com.example.langgraph.metrics.GraphMetrics;
 import com.example.langgraph.nodes.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+
 @Configuration
 public class ContentCreationWorkflow {
 
@@ -15,23 +34,111 @@ public class ContentCreationWorkflow {
             ResearchNode research,
             DraftWritingNode draftWriting,
             ReviewNode review,
-            SummaryNode summary) {
-
-        return new StateGraphBuilder()
-                .addNode("topic_analysis", topicAnalysis)
-                .addNode("research", research)
-                .addNode("draft_writing", draftWriting)
-                .addNode("review", review)
-                .addNode("summary", summary)
+            PolishNode polish,
+            SummaryNode summary,
+            GraphProperties graphProperties,
+            WorkflowProperties workflowProperties,
+            GraphMetrics graphMetrics,
+            TokenLedger tokenLedger,
+            RunHistoryRecorder runHistoryRecorder,
+            ObjectMapper objectMapper,
+            DataSource dataSource) {
+
+        StateGraphBuilder builder = new StateGraphBuilder();
+        ContentKeys.ALL.forEach(builder::addChannel);
+        builder
+                .addInput(ContentKeys.INPUT_TOPIC)
+                .addNode("topic_analysis", topicAnalysis, graphProperties.policyFor("topic_analysis"))
+                .addNode("research", research, graphProperties.policyFor("research"))
+                .addNode("draft_writing", draftWriting, graphProperties.policyFor("draft_writing"))
+                .addNode("review", review, graphProperties.policyFor("review"))
+                .addNode("polish", polish, graphProperties.policyFor("polish"))
+                .addNode("summary", summary, graphProperties.policyFor("summary"))
                 .addEdge("topic_analysis", "research")
                 .addEdge("research", "draft_writing")
                 .addEdge("draft_writing", "review")
-                .addEdge("review", "summary")
-                .setEntryPoint("topic_analysis");
+                .addConditionalEdges("review", qualityGate(workflowProperties.review()), "polish", "summary")
+                .addConditionalEdges("polish", revisionLimit(workflowProperties.review()), "review", "summary")
+                .setEntryPoint("topic_analysis")
+                .setExecutionMode(graphProperties.executionMode())
+                .addListener(graphMetrics)
+                .addListener(tokenLedger)
+                .addListener(runHistoryRecorder);
+
+        CheckpointStore checkpointStore = checkpointStore(graphProperties.checkpoint(), objectMapper);
+        if (checkpointStore != null) {
+            builder.setCheckpointStore(checkpointStore);
+        }
+        if (graphProperties.executionMode() == ExecutionMode.DISTRIBUTED) {
+            GraphProperties.Distributed distributed = graphProperties.distributed();
+            builder.setTaskQueue(taskQueue(distributed, dataSource, objectMapper), distributed.pollInterval());
+        }
+        return builder;
     }
 
     @Bean
-    public StateGraph contentGraph(StateGraphBuilder contentGraphBuilder) {
-        return contentGraphBuilder.compile();
+    public StateGraph contentGraph(StateGraphBuilder contentGraphBuilder, LlmRoutingProperties routing) {
+        StateGraph graph = contentGraphBuilder.compile();
+        // model routes are looked up by node name at call time; catch typos at startup
+        routing.nodes().keySet().stream()
+                .filter(node -> !graph.getNodeNames().contains(node))
+                .findFirst()
+                .ifPresent(node -> {
+                    throw new IllegalStateException("Model route for unknown node: " + node);
+                });
+        return graph;
+    }
+
+    /**
+     * Runs the content graph's queued nodes on this instance.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "langgraph.graph.execution-mode", havingValue = "DISTRIBUTED")
+    public NodeWorker contentGraphWorker(StateGraph contentGraph, GraphProperties graphProperties) {
+        GraphProperties.Distributed distributed = graphProperties.distributed();
+        return new NodeWorker(contentGraph, distributed.workers(), distributed.lease(), distributed.maxAttempts(),
+                distributed.retention());
+    }
+
+    /**
+     * Sends drafts that reviewed well straight to the summary, skipping the polish call.
+     */
+    static EdgeRouter qualityGate(WorkflowProperties.Review review) {
+        return state -> {
+            Integer score = state.get(ContentKeys.REVIEW_SCORE);
+            return score != null && score >= review.approvalScore() ? "summary" : "polish";
+        };
+    }
+
+    /**
+     * Re-reviews a polished revision until the revision budget is used up.
+     */
+    static EdgeRouter revisionLimit(WorkflowProperties.Review review) {
+        return state -> {
+            Integer revisions = state.get(ContentKeys.REVISION_COUNT);
+            return revisions != null && revisions >= review.maxRevisions() ? "summary" : "review";
+        };
+    }
+
+    private static NodeTaskQueue taskQueue(GraphProperties.Distributed distributed, DataSource dataSource,
+                                           ObjectMapper objectMapper) {
+        return switch (distributed.queue()) {
+            case MEMORY -> new InMemoryNodeTaskQueue();
+            case JDBC -> {
+                JdbcNodeTaskQueue queue = new JdbcNodeTaskQueue(dataSource, objectMapper);
+                if (distributed.initializeSchema()) {
+                    queue.createSchema();
+                }
+                yield queue;
+            }
+        };
+    }
+
+    private static CheckpointStore checkpointStore(GraphProperties.Checkpoint checkpoint, ObjectMapper objectMapper) {
+        return switch (checkpoint.store()) {
+            case NONE -> null;
+            case MEMORY -> new InMemoryCheckpointStore();
+            case FILE -> new FileCheckpointStore(checkpoint.directory(), objectMapper);
+        };
     }
 }
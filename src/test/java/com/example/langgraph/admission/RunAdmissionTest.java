@@ -0,0 +1,139 @@
+package com.example.langgraph.admission;
+
+import com.example.langgraph.config.AdmissionProperties;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.TimelineEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunAdmissionTest {
+
+    private static RunAdmission admission(int slots, int queue, Duration target, Duration estimate) {
+        return new RunAdmission(new AdmissionProperties(true, slots, queue, target, estimate));
+    }
+
+    @Test
+    void shouldStartWaitingRunsInOrderAsSlotsFree() {
+        RunAdmission admission = admission(1, 2, Duration.ofMinutes(10), Duration.ofSeconds(1));
+        CompletableFuture<String> first = new CompletableFuture<>();
+        List<String> started = new ArrayList<>();
+
+        CompletableFuture<String> a = admission.run(() -> {
+            started.add("a");
+            return first;
+        });
+        CompletableFuture<String> b = admission.run(() -> {
+            started.add("b");
+            return CompletableFuture.completedFuture("B");
+        });
+        CompletableFuture<String> c = admission.run(() -> {
+            started.add("c");
+            return CompletableFuture.completedFuture("C");
+        });
+
+        assertEquals(List.of("a"), started);
+        assertEquals(2, admission.queued());
+        first.complete("A");
+
+        assertEquals(List.of("A", "B", "C"), List.of(a.join(), b.join(), c.join()));
+        assertEquals(List.of("a", "b", "c"), started);
+        assertEquals(0, admission.active());
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFull() {
+        RunAdmission admission = admission(1, 1, Duration.ofMinutes(10), Duration.ofSeconds(1));
+        admission.run(CompletableFuture::new);
+        admission.run(CompletableFuture::new);
+
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                () -> admission.run(CompletableFuture::new));
+        assertEquals(Duration.ofSeconds(2), e.getRetryAfter(), "one run ahead in the queue plus this one");
+    }
+
+    @Test
+    void shouldRejectRunsThatWouldMissTheTargetLatency() {
+        RunAdmission admission = admission(2, 10, Duration.ofSeconds(100), Duration.ofSeconds(60));
+        admission.run(CompletableFuture::new);
+        admission.run(CompletableFuture::new);
+
+        // expected wait 30s (two slots each freeing within 60s) + 60s run fits the 100s target
+        admission.run(CompletableFuture::new);
+        // the next one would wait 60s
+        assertThrows(AdmissionRejectedException.class, () -> admission.run(CompletableFuture::new));
+        assertEquals(1, admission.queued());
+    }
+
+    @Test
+    void shouldRejectAQueuedRunOnceItCanNoLongerMeetTheTarget() {
+        RunAdmission admission = admission(1, 10, Duration.ofMillis(300), Duration.ofMillis(100));
+        admission.run(CompletableFuture::new);
+        CompletableFuture<String> queued = admission.run(() -> CompletableFuture.completedFuture("late"));
+
+        CompletionException e = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(AdmissionRejectedException.class, e.getCause());
+        assertEquals(0, admission.queued());
+    }
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    /**
+     * A run whose timeline holds, per node, its name, start offset and duration in seconds.
+     */
+    private static GraphState finishedRun(Object... nodeStartAndSeconds) {
+        GraphState state = new GraphState();
+        for (int i = 0; i < nodeStartAndSeconds.length; i += 3) {
+            int offset = (Integer) nodeStartAndSeconds[i + 1];
+            state.addTimelineEntry(new TimelineEntry((String) nodeStartAndSeconds[i], START.plusSeconds(offset),
+                    offset * 1000L, 0, (Integer) nodeStartAndSeconds[i + 2] * 1000L, 0, false));
+        }
+        return state;
+    }
+
+    @Test
+    void shouldEstimateRunsFromRecentRunDurations() {
+        RunAdmission admission = admission(1, 1, Duration.ofMinutes(10), Duration.ofSeconds(60));
+        assertEquals(Duration.ofSeconds(60), admission.estimatedRunDuration());
+
+        // sections written alongside the draft don't add up; the run took 14s from first start to last finish
+        GraphState first = finishedRun("draft", 0, 10, "sections", 0, 8, "review", 10, 2, "review", 12, 2);
+        admission.runFull(() -> CompletableFuture.completedFuture(first)).join();
+        assertEquals(Duration.ofSeconds(14), admission.estimatedRunDuration());
+
+        // recent runs weigh in exponentially: 14s + 0.2 * (24s - 14s)
+        GraphState second = finishedRun("draft", 0, 20, "review", 20, 4);
+        admission.runFull(() -> CompletableFuture.completedFuture(second)).join();
+        assertEquals(Duration.ofSeconds(16), admission.estimatedRunDuration());
+    }
+
+    @Test
+    void shouldEstimateFromSuccessfulFullRunsOnly() {
+        RunAdmission admission = admission(1, 1, Duration.ofMinutes(10), Duration.ofSeconds(60));
+        admission.runFull(() -> CompletableFuture.completedFuture(finishedRun("draft", 0, 10, "summary", 10, 2))).join();
+
+        // a re-run of the last step, and a full run that failed
+        admission.run(() -> CompletableFuture.completedFuture(finishedRun("summary", 0, 2))).join();
+        assertThrows(CompletionException.class, () -> admission.runFull(
+                () -> CompletableFuture.<GraphState>failedFuture(new IllegalStateException("provider down"))).join());
+
+        assertEquals(Duration.ofSeconds(12), admission.estimatedRunDuration());
+    }
+
+    @Test
+    void shouldFreeTheSlotOfAFailedRun() {
+        RunAdmission admission = admission(1, 0, Duration.ofMinutes(10), Duration.ofSeconds(1));
+        assertThrows(CompletionException.class, () -> admission.run(() -> {
+            throw new IllegalArgumentException("no checkpoint");
+        }).join());
+
+        assertEquals("ok", admission.run(() -> CompletableFuture.completedFuture("ok")).join());
+    }
+}
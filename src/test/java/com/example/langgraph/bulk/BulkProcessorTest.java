@@ -0,0 +1,94 @@
+package com.example.langgraph.bulk;
+
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkProcessorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private final StateGraph graph = new StateGraphBuilder()
+            .addNode("echo", state -> {
+                runs.incrementAndGet();
+                if (state.getString("input_topic").equals("broken")) {
+                    throw new IllegalStateException("boom");
+                }
+                state.put("summary", "about " + state.getString("input_topic"));
+                return state;
+            })
+            .setEntryPoint("echo")
+            .compile();
+
+    private final BulkProcessor processor = new BulkProcessor(graph, executor, new ObjectMapper().findAndRegisterModules());
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static BufferedReader input(String... lines) {
+        return new BufferedReader(new StringReader(String.join("\n", lines)));
+    }
+
+    @Test
+    void shouldWriteOneResultLinePerTopic() throws Exception {
+        StringWriter output = new StringWriter();
+        BulkSummary summary = processor.process(
+                input("{\"topic\":\"Spring AI\"}", "{\"id\":\"2\",\"topic\":\"broken\"}", "not json"),
+                output, ProgressLog.inMemory(), 2);
+
+        assertEquals(new BulkSummary(1, 2, 0), summary);
+        assertEquals(3, output.toString().lines().count());
+        assertTrue(output.toString().contains("\"summary\":\"about Spring AI\""));
+    }
+
+    @Test
+    void restartedJobShouldSkipCompletedTopics() throws Exception {
+        Path progressFile = directory.resolve("job.progress");
+        try (ProgressLog progress = ProgressLog.open(progressFile)) {
+            processor.process(input("{\"topic\":\"A\"}", "{\"topic\":\"B\"}"), new StringWriter(), progress, 2);
+        }
+
+        try (ProgressLog progress = ProgressLog.open(progressFile)) {
+            BulkSummary summary = processor.process(
+                    input("{\"topic\":\"A\"}", "{\"topic\":\" b \"}", "{\"topic\":\"C\"}"),
+                    new StringWriter(), progress, 2);
+            assertEquals(new BulkSummary(1, 0, 2), summary);
+        }
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void shouldStopCleanlyWhenTheExecutorRejectsTopics() throws Exception {
+        ExecutorService stopped = Executors.newSingleThreadExecutor();
+        stopped.shutdown();
+        BulkProcessor stopping = new BulkProcessor(graph, stopped, new ObjectMapper().findAndRegisterModules());
+
+        StringWriter output = new StringWriter();
+        BulkSummary summary = stopping.process(input("{\"topic\":\"A\"}", "{\"topic\":\"B\"}"),
+                output, ProgressLog.inMemory(), 1);
+
+        assertEquals(new BulkSummary(0, 1, 0), summary);
+        assertEquals(1, output.toString().lines().count());
+        assertTrue(output.toString().contains("\"topic\":\"A\""));
+        assertEquals(0, runs.get());
+    }
+}
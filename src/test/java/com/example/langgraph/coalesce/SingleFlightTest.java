@@ -0,0 +1,96 @@
+package com.example.langgraph.coalesce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void shouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> flights.execute("topic", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "result";
+                })));
+            }
+            while (flights.sharedCount() < 3) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(3, flights.sharedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldHandOutResultWithinWindowOnly() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ofMillis(200));
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals(1, flights.execute("topic", executions::incrementAndGet));
+        assertEquals(1, flights.execute("topic", executions::incrementAndGet));
+
+        Thread.sleep(400);
+        assertEquals(2, flights.execute("topic", executions::incrementAndGet));
+    }
+
+    @Test
+    void shouldNotKeepFailures() {
+        SingleFlight<String, String> flights = new SingleFlight<>(Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> flights.execute("topic", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("retried", flights.execute("topic", () -> "retried"));
+    }
+
+    @Test
+    void shouldRunEveryCallerWhenDisabled() {
+        SingleFlight<String, Integer> flights = SingleFlight.disabled();
+        AtomicInteger executions = new AtomicInteger();
+
+        flights.execute("topic", executions::incrementAndGet);
+        flights.execute("topic", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNormalizeTopics() {
+        assertEquals(RunCoalescer.normalize("Spring AI"), RunCoalescer.normalize("  spring   ai\n"));
+        assertNotEquals(RunCoalescer.normalize("Spring AI"), RunCoalescer.normalize("Spring Boot"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
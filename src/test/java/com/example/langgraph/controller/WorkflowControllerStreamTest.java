@@ -0,0 +1,140 @@
+package com.example.langgraph.controller;
+
+import com.example.langgraph.admission.RunAdmission;
+import com.example.langgraph.coalesce.RunCoalescer;
+import com.example.langgraph.config.AdmissionProperties;
+import com.example.langgraph.config.CoalescingProperties;
+import com.example.langgraph.config.LlmBudgetProperties;
+import com.example.langgraph.config.WorkflowProperties;
+import com.example.langgraph.graph.NodeContext;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import com.example.langgraph.llm.budget.Compaction;
+import com.example.langgraph.llm.budget.TokenLedger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WorkflowControllerStreamTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean failSummary = new AtomicBoolean(false);
+
+    private final StateGraph graph = new StateGraphBuilder()
+            .addNode("draft", state -> {
+                NodeContext context = NodeContext.current().orElseThrow();
+                context.emitOutput("Hello");
+                context.emitOutput(" world");
+                state.put("draft_content", "Hello world");
+                return state;
+            })
+            .addNode("summary", state -> {
+                if (failSummary.get()) {
+                    throw new IllegalStateException("provider unavailable");
+                }
+                state.put("summary", "greeting");
+                return state;
+            })
+            .addEdge("draft", "summary")
+            .setEntryPoint("draft")
+            .compile();
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new WorkflowController(graph,
+                    new WorkflowProperties(Duration.ofSeconds(30), null, null),
+                    new TokenLedger(new LlmBudgetProperties(true, EncodingType.O200K_BASE, Compaction.TRUNCATE, 10, null)),
+                    new RunCoalescer(new CoalescingProperties(false, false, Duration.ZERO)),
+                    new RunAdmission(new AdmissionProperties(true, 4, 4, Duration.ofMinutes(3), Duration.ofSeconds(60)))))
+            .build();
+
+    private record Event(String name, JsonNode data) {
+    }
+
+    private List<Event> stream(String topic) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/workflow/content-creation/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"topic\":\"" + topic + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(5_000);
+        MvcResult finished = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertTrue(finished.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        return events(finished.getResponse().getContentAsString());
+    }
+
+    private List<Event> events(String body) throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (String block : body.split("\n\n")) {
+            String name = null;
+            StringBuilder data = new StringBuilder();
+            for (String line : block.split("\n")) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring("data:".length()));
+                }
+            }
+            if (name != null) {
+                events.add(new Event(name, objectMapper.readTree(data.toString())));
+            }
+        }
+        return events;
+    }
+
+    private static List<String> names(List<Event> events) {
+        return events.stream().map(event -> event.name() + " " + event.data().path("node").asText()).toList();
+    }
+
+    @Test
+    void shouldStreamNodeEventsInOrderAndFinishWithTheResponse() throws Exception {
+        List<Event> events = stream("greetings");
+
+        assertEquals(List.of(
+                "node-start draft",
+                "token draft",
+                "token draft",
+                "node-complete draft",
+                "node-start summary",
+                "node-complete summary",
+                "complete "), names(events));
+        assertEquals("Hello", events.get(1).data().get("delta").asText());
+        assertEquals(" world", events.get(2).data().get("delta").asText());
+        JsonNode response = events.get(events.size() - 1).data();
+        assertEquals("greetings", response.get("topic").asText());
+        assertEquals("Hello world", response.get("draftContent").asText());
+        assertEquals("greeting", response.get("summary").asText());
+    }
+
+    @Test
+    void shouldStreamAnErrorEventWhenTheRunFails() throws Exception {
+        failSummary.set(true);
+
+        List<Event> events = stream("greetings");
+
+        List<String> names = names(events);
+        assertEquals(List.of("node-start draft", "token draft", "token draft", "node-complete draft",
+                "node-start summary", "error summary"), names.subList(0, 6));
+        assertTrue(events.get(5).data().get("message").asText().contains("provider unavailable"));
+        Event last = events.get(events.size() - 1);
+        assertEquals("error", last.name());
+        assertEquals("Graph execution failed at node: summary", last.data().get("message").asText());
+        assertFalse(names.stream().anyMatch(name -> name.startsWith("complete")));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.langgraph.distributed;
+
+import com.example.langgraph.graph.DistributedRun;
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.GraphExecutionException;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.NodeTask;
+import com.example.langgraph.graph.NodeWorker;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcNodeTaskQueueTest {
+
+    private final DataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<NodeWorker> workers = new ArrayList<>();
+
+    @AfterEach
+    void stopWorkers() {
+        workers.forEach(NodeWorker::stop);
+    }
+
+    private JdbcNodeTaskQueue queue() {
+        JdbcNodeTaskQueue queue = new JdbcNodeTaskQueue(dataSource, objectMapper);
+        queue.createSchema();
+        return queue;
+    }
+
+    /** One application instance: its own compiled graph and worker on the shared database. */
+    private StateGraph instance(String name, JdbcNodeTaskQueue queue) {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("outline", state -> {
+                    state.put("outline", "outline of " + state.getString("topic") + "@" + name);
+                    return state;
+                })
+                .addNode("facts", state -> {
+                    sleep(20);
+                    state.put("facts", "facts@" + name);
+                    return state;
+                })
+                .addNode("quotes", state -> {
+                    sleep(20);
+                    state.put("quotes", "quotes@" + name);
+                    return state;
+                })
+                .addNode("draft", state -> {
+                    state.put("draft", state.getString("facts") + "," + state.getString("quotes") + "@" + name);
+                    return state;
+                })
+                .addEdge("outline", "facts")
+                .addEdge("outline", "quotes")
+                .addEdge("facts", "draft")
+                .addEdge("quotes", "draft")
+                .setEntryPoint("outline")
+                .setExecutionMode(ExecutionMode.DISTRIBUTED)
+                .setTaskQueue(queue, Duration.ofMillis(10))
+                .compile();
+        NodeWorker worker = new NodeWorker(graph, 2, Duration.ofSeconds(5), 3);
+        workers.add(worker);
+        worker.start();
+        return graph;
+    }
+
+    @Test
+    void shouldShareRunsBetweenInstances() {
+        JdbcNodeTaskQueue queue = queue();
+        StateGraph first = instance("a", queue);
+        instance("b", queue);
+
+        List<CompletableFuture<GraphState>> runs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            runs.add(first.executeAsync(new GraphState(Map.of("topic", "t" + i))));
+        }
+
+        Set<String> instances = new HashSet<>();
+        for (int i = 0; i < runs.size(); i++) {
+            GraphState result = runs.get(i).join();
+            assertTrue(result.getString("outline").startsWith("outline of t" + i + "@"));
+            assertEquals(4, result.getExecutionTrace().size());
+            for (String key : List.of("outline", "facts", "quotes", "draft")) {
+                instances.add(result.getString(key).substring(result.getString(key).lastIndexOf('@') + 1));
+            }
+        }
+        assertEquals(Set.of("a", "b"), instances, "nodes of runs started on 'a' also ran on 'b'");
+    }
+
+    @Test
+    void shouldHandAnExpiredClaimToAnotherWorker() throws InterruptedException {
+        JdbcNodeTaskQueue queue = queue();
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> {
+                    state.put("a", "A");
+                    return state;
+                })
+                .setEntryPoint("A")
+                .setExecutionMode(ExecutionMode.DISTRIBUTED)
+                .setTaskQueue(queue, Duration.ofMillis(10))
+                .compile();
+
+        CompletableFuture<GraphState> run = graph.executeAsync(new GraphState());
+        NodeTask lost = queue.claim("dead-worker", Duration.ofMillis(50)).orElseThrow();
+        assertTrue(queue.claim("other-worker", Duration.ofSeconds(5)).isEmpty(), "the claim is still leased");
+        assertTrue(queue.renew(lost, "dead-worker", Duration.ofMillis(50)));
+
+        Thread.sleep(100);
+        NodeWorker worker = new NodeWorker(graph, 1, Duration.ofSeconds(5), 3);
+        workers.add(worker);
+        worker.start();
+
+        assertEquals("A", run.join().getString("a"));
+        assertFalse(queue.renew(lost, "dead-worker", Duration.ofSeconds(5)));
+        assertTrue(queue.run(run.join().getRunId()).isEmpty());
+    }
+
+    @Test
+    void shouldReplaceAFailedRunOnResumeAndExpireIdleRuns() {
+        JdbcNodeTaskQueue queue = queue();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> {
+                    if (failing.get()) {
+                        throw new IllegalStateException("boom");
+                    }
+                    state.put("a", "A");
+                    return state;
+                })
+                .setEntryPoint("A")
+                .setExecutionMode(ExecutionMode.DISTRIBUTED)
+                .setTaskQueue(queue, Duration.ofMillis(10))
+                .compile();
+        NodeWorker worker = new NodeWorker(graph, 1, Duration.ofSeconds(5), 3);
+        workers.add(worker);
+        worker.start();
+
+        GraphState failed = new GraphState();
+        assertThrows(GraphExecutionException.class, () -> graph.execute(failed));
+        assertEquals(DistributedRun.Status.FAILED, queue.run(failed.getRunId()).orElseThrow().status());
+
+        failing.set(false);
+        assertEquals("A", graph.resume(failed.getRunId()).getString("a"));
+        assertTrue(queue.run(failed.getRunId()).isEmpty());
+
+        failing.set(true);
+        GraphState idle = new GraphState();
+        assertThrows(GraphExecutionException.class, () -> graph.execute(idle));
+        assertEquals(0, queue.expire(Instant.now().minusSeconds(60)));
+        assertEquals(1, queue.expire(Instant.now().plusSeconds(1)));
+        assertTrue(queue.run(idle.getRunId()).isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
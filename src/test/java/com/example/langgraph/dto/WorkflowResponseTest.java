@@ -0,0 +1,70 @@
+package com.example.langgraph.dto;
+
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.TimelineEntry;
+import com.example.langgraph.nodes.ContentKeys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkflowResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void shouldLeaveFullStateOutByDefault() {
+        JsonNode json = objectMapper.valueToTree(WorkflowResponse.from("topic", state()));
+
+        assertEquals("final", json.get("finalContent").asText());
+        assertEquals("summary (5ms)", json.get("executionTrace").get(0).asText());
+        assertEquals(5, json.get("timeline").get(0).get("durationMs").asLong());
+        assertFalse(json.has("fullState"));
+    }
+
+    @Test
+    void shouldSerializeOnlySelectedFields() {
+        ResponseFields fields = ResponseFields.parse("finalContent, summary,fullState");
+        JsonNode json = objectMapper.valueToTree(WorkflowResponse.from("topic", state(), fields));
+
+        assertEquals(List.of("finalContent", "summary", "fullState"), fieldNames(json));
+        assertEquals("draft", json.get("fullState").get(ContentKeys.DRAFT_CONTENT.name()).asText());
+    }
+
+    @Test
+    void shouldProjectStoredResponse() {
+        WorkflowResponse stored = WorkflowResponse.from("topic", state());
+
+        WorkflowResponse projected = stored.project(ResponseFields.parse("summary"));
+
+        assertEquals("summary", projected.summary());
+        assertNull(projected.finalContent());
+        assertNull(projected.topic());
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertThrows(IllegalArgumentException.class, () -> ResponseFields.parse("finalContent,body"));
+        assertSame(ResponseFields.DEFAULT, ResponseFields.parse(" "));
+    }
+
+    private static GraphState state() {
+        GraphState state = new GraphState();
+        state.put(ContentKeys.DRAFT_CONTENT, "draft");
+        state.put(ContentKeys.FINAL_CONTENT, "final");
+        state.put(ContentKeys.SUMMARY, "summary");
+        state.addTimelineEntry(new TimelineEntry("summary", Instant.now(), 0, 0, 5, 3, false));
+        return state;
+    }
+
+    private static List<String> fieldNames(JsonNode json) {
+        List<String> names = new ArrayList<>();
+        json.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
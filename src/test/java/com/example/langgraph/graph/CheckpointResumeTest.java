@@ -0,0 +1,99 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointResumeTest {
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void shouldResumeFromLastCompletedNode(ExecutionMode mode) {
+        InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+        AtomicInteger firstRuns = new AtomicInteger();
+        AtomicBoolean failSummary = new AtomicBoolean(true);
+
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("first", state -> {
+                    firstRuns.incrementAndGet();
+                    state.put("first", "done");
+                    return state;
+                })
+                .addNode("summary", state -> {
+                    if (failSummary.get()) {
+                        throw new IllegalStateException("provider unavailable");
+                    }
+                    state.put("summary", state.getString("first") + "+summary");
+                    return state;
+                })
+                .addEdge("first", "summary")
+                .setEntryPoint("first")
+                .setExecutionMode(mode)
+                .setCheckpointStore(store)
+                .compile();
+
+        GraphExecutionException failure = assertThrows(GraphExecutionException.class,
+                () -> graph.execute(new GraphState("run-1", Map.of("input", "x"))));
+        assertEquals("run-1", failure.getRunId());
+        assertEquals("summary", failure.getNodeName());
+        assertTrue(store.latest("run-1").isPresent());
+
+        failSummary.set(false);
+        GraphState resumed = graph.resume("run-1");
+
+        assertEquals(1, firstRuns.get());
+        assertEquals("done+summary", resumed.getString("summary"));
+        assertEquals("x", resumed.getString("input"));
+        assertTrue(store.latest("run-1").isEmpty(), "checkpoints are dropped after success");
+    }
+
+    @Test
+    void resumeWithoutCheckpointShouldFail() {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .setEntryPoint("A")
+                .setCheckpointStore(new InMemoryCheckpointStore())
+                .compile();
+
+        assertThrows(IllegalArgumentException.class, () -> graph.resume("unknown"));
+    }
+
+    @Test
+    void resumedRunShouldCarryTheGivenRunAttributes() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        AtomicReference<String> priority = new AtomicReference<>();
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .addNode("B", state -> {
+                    priority.set(NodeContext.current().flatMap(node -> node.runAttribute("llm.priority")).orElse(null));
+                    if (fail.get()) {
+                        throw new IllegalStateException("provider unavailable");
+                    }
+                    return state;
+                })
+                .addEdge("A", "B")
+                .setEntryPoint("A")
+                .setExecutionMode(ExecutionMode.PARALLEL)
+                .setCheckpointStore(new InMemoryCheckpointStore())
+                .compile();
+        assertThrows(GraphExecutionException.class, () -> graph.execute(
+                new GraphState("run-1", Map.of()).withRunAttribute("llm.priority", "BACKGROUND")));
+
+        fail.set(false);
+        graph.resume("run-1", GraphListener.NOOP);
+        assertNull(priority.get(), "checkpoints don't keep run attributes");
+
+        fail.set(true);
+        assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState("run-2", Map.of())));
+        fail.set(false);
+        graph.resume("run-2", Map.of("llm.priority", "BACKGROUND"), GraphListener.NOOP);
+        assertEquals("BACKGROUND", priority.get());
+    }
+}
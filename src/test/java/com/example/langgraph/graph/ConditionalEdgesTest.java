@@ -0,0 +1,247 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalEdgesTest {
+
+    private static GraphNode writes(String key, Object value) {
+        return state -> {
+            state.put(key, value);
+            return state;
+        };
+    }
+
+    private static GraphNode counting(String key) {
+        return state -> {
+            Integer count = state.get(key, Integer.class);
+            state.put(key, count == null ? 1 : count + 1);
+            return state;
+        };
+    }
+
+    private static List<String> executedNodes(GraphState state) {
+        return state.getExecutionTrace().stream()
+                .map(entry -> entry.substring(0, entry.indexOf(' ')))
+                .toList();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void routerShouldSkipBranchNotTaken(ExecutionMode mode) {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("review", writes("score", 9))
+                .addNode("polish", writes("polished", true))
+                .addNode("summary", writes("summary", "done"))
+                .addConditionalEdges("review",
+                        state -> state.get("score", Integer.class) >= 8 ? "summary" : "polish",
+                        "polish", "summary")
+                .addEdge("polish", "summary")
+                .setEntryPoint("review")
+                .setExecutionMode(mode)
+                .compile();
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(List.of("review", "summary"), executedNodes(result));
+        assertFalse(result.containsKey("polished"));
+        assertEquals("done", result.getString("summary"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void routerShouldTakeDetourWhenNeeded(ExecutionMode mode) {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("review", writes("score", 3))
+                .addNode("polish", writes("polished", true))
+                .addNode("summary", writes("summary", "done"))
+                .addConditionalEdges("review",
+                        state -> state.get("score", Integer.class) >= 8 ? "summary" : "polish",
+                        "polish", "summary")
+                .addEdge("polish", "summary")
+                .setEntryPoint("review")
+                .setExecutionMode(mode)
+                .compile();
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(List.of("review", "polish", "summary"), executedNodes(result));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void loopShouldRepeatUntilRouterExits(ExecutionMode mode) {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("draft", writes("draft", 0))
+                .addNode("review", counting("reviews"))
+                .addNode("revise", state -> {
+                    state.put("draft", state.get("draft", Integer.class) + 1);
+                    return state;
+                })
+                .addNode("summary", writes("summary", "done"))
+                .addEdge("draft", "review")
+                .addConditionalEdges("review",
+                        state -> state.get("draft", Integer.class) >= 2 ? "summary" : "revise",
+                        "revise", "summary")
+                .addEdge("revise", "review")
+                .setEntryPoint("draft")
+                .setExecutionMode(mode)
+                .compile();
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(List.of("draft", "review", "revise", "review", "revise", "review", "summary"),
+                executedNodes(result));
+        assertEquals(2, result.get("draft", Integer.class));
+        assertEquals(3, result.get("reviews", Integer.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void loopShouldRerunParallelBranchesInsideIt(ExecutionMode mode) {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("start", counting("starts"))
+                .addNode("left", counting("lefts"))
+                .addNode("right", counting("rights"))
+                .addNode("join", state -> state)
+                .addNode("done", writes("done", true))
+                .addEdge("start", "left")
+                .addEdge("start", "right")
+                .addEdge("left", "join")
+                .addEdge("right", "join")
+                .addConditionalEdges("join",
+                        state -> state.get("lefts", Integer.class) < 3 ? "start" : "done",
+                        "start", "done")
+                .setEntryPoint("start")
+                .setExecutionMode(mode)
+                .compile();
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(3, result.get("starts", Integer.class));
+        assertEquals(3, result.get("lefts", Integer.class));
+        assertEquals(3, result.get("rights", Integer.class));
+        assertEquals(Boolean.TRUE, result.get("done", Boolean.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void routingToEndShouldStopBranch(ExecutionMode mode) {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("gate", state -> state)
+                .addNode("expensive", writes("expensive", true))
+                .addConditionalEdges("gate", state -> StateGraph.END, "expensive", StateGraph.END)
+                .setEntryPoint("gate")
+                .setExecutionMode(mode)
+                .compile();
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(List.of("gate"), executedNodes(result));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void endlessLoopShouldFailAtVisitLimit(ExecutionMode mode) {
+        AtomicInteger runs = new AtomicInteger();
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("spin", state -> {
+                    runs.incrementAndGet();
+                    return state;
+                })
+                .addConditionalEdges("spin", state -> "spin", "spin", StateGraph.END)
+                .setEntryPoint("spin")
+                .setExecutionMode(mode)
+                .setMaxNodeVisits(4)
+                .compile();
+
+        GraphExecutionException error = assertThrows(GraphExecutionException.class,
+                () -> graph.execute(new GraphState()));
+
+        assertEquals("spin", error.getNodeName());
+        assertEquals(4, runs.get());
+    }
+
+    @Test
+    void undeclaredRouterTargetShouldFailRun() {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .addNode("B", state -> state)
+                .addNode("C", state -> state)
+                .addConditionalEdges("A", state -> "C", "B")
+                .addEdge("A", "C")
+                .setEntryPoint("A")
+                .compile();
+
+        GraphExecutionException error = assertThrows(GraphExecutionException.class,
+                () -> graph.execute(new GraphState()));
+
+        assertEquals("A", error.getNodeName());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+
+    @Test
+    void conditionalTargetsMustBeRegistered() {
+        StateGraphBuilder builder = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .addConditionalEdges("A", state -> "missing", "missing")
+                .setEntryPoint("A");
+
+        assertThrows(IllegalStateException.class, builder::compile);
+    }
+
+    @Test
+    void cycleThroughConditionalEdgeShouldCompile() {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .addNode("B", state -> state)
+                .addEdge("A", "B")
+                .addConditionalEdges("B", state -> StateGraph.END, "A", StateGraph.END)
+                .setEntryPoint("A")
+                .compile();
+
+        assertEquals(List.of("A", "B"), graph.getNodeNames());
+    }
+
+    @Test
+    void resumeShouldReplayRoutingOfCompletedNodes() {
+        InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+        AtomicInteger reviews = new AtomicInteger();
+        AtomicInteger summaryAttempts = new AtomicInteger();
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("review", state -> {
+                    reviews.incrementAndGet();
+                    state.put("score", 9);
+                    return state;
+                })
+                .addNode("polish", writes("polished", true))
+                .addNode("summary", state -> {
+                    if (summaryAttempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("provider unavailable");
+                    }
+                    state.put("summary", "done");
+                    return state;
+                })
+                .addConditionalEdges("review",
+                        state -> state.get("score", Integer.class) >= 8 ? "summary" : "polish",
+                        "polish", "summary")
+                .addEdge("polish", "summary")
+                .setEntryPoint("review")
+                .setCheckpointStore(store)
+                .compile();
+
+        GraphExecutionException error = assertThrows(GraphExecutionException.class,
+                () -> graph.execute(new GraphState()));
+        GraphState resumed = graph.resume(error.getRunId());
+
+        assertEquals("done", resumed.getString("summary"));
+        assertFalse(resumed.containsKey("polished"));
+        assertEquals(1, reviews.get());
+    }
+}
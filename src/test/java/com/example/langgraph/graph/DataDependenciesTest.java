@@ -0,0 +1,165 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataDependenciesTest {
+
+    private static final StateKey<String> TOPIC = StateKey.of("topic", String.class);
+    private static final StateKey<String> OUTLINE = StateKey.of("outline", String.class);
+    private static final StateKey<String> FACTS = StateKey.of("facts", String.class);
+    private static final StateKey<String> QUOTES = StateKey.of("quotes", String.class);
+    private static final StateKey<String> DRAFT = StateKey.of("draft", String.class);
+    private static final StateKey<Integer> COUNT = StateKey.reducing("count", Integer.class, Integer::sum);
+
+    /** Writes "<node>(<alphabetically first read>)" to every declared channel. */
+    private static GraphNode node(String name, Set<StateKey<?>> reads, Set<StateKey<?>> writes) {
+        return GraphNode.declaring(reads, writes, state -> {
+            String input = reads.stream()
+                    .map(StateKey::name)
+                    .sorted()
+                    .map(key -> String.valueOf(state.get(key, Object.class)))
+                    .findFirst()
+                    .orElse("");
+            for (StateKey<?> key : writes) {
+                state.put(key.name(), key.type() == Integer.class ? (Object) 1 : name + "(" + input + ")");
+            }
+            return state;
+        });
+    }
+
+    private static StateGraphBuilder research() {
+        return new StateGraphBuilder()
+                .addInput(TOPIC)
+                .addNode("outline", node("outline", Set.of(TOPIC), Set.of(OUTLINE)))
+                .addNode("facts", node("facts", Set.of(OUTLINE), Set.of(FACTS)))
+                .addNode("quotes", node("quotes", Set.of(OUTLINE), Set.of(QUOTES)))
+                .addNode("draft", node("draft", Set.of(FACTS, QUOTES), Set.of(DRAFT)))
+                .setEntryPoint("outline");
+    }
+
+    @Test
+    void shouldInferParallelStagesFromDeclaredChannels() {
+        StateGraph graph = research().inferEdges().setExecutionMode(ExecutionMode.PARALLEL).compile();
+
+        DataDependencies dependencies = graph.getDataDependencies();
+        assertEquals(List.of(Set.of("outline"), Set.of("facts", "quotes"), Set.of("draft")), dependencies.stages());
+        assertEquals(2, dependencies.maxParallelism());
+        assertEquals(Set.of("facts", "quotes"), dependencies.dependenciesOf("draft"));
+
+        GraphState initial = new GraphState();
+        initial.put(TOPIC.name(), "jvm");
+        GraphState result = graph.execute(initial);
+        assertEquals("draft(facts(outline(jvm)))", result.getString(DRAFT.name()));
+    }
+
+    @Test
+    void shouldReportParallelismHiddenBySequentialWiring() {
+        StateGraph graph = research()
+                .addEdge("outline", "facts")
+                .addEdge("facts", "quotes")
+                .addEdge("quotes", "draft")
+                .compile();
+
+        assertEquals(2, graph.getDataDependencies().maxParallelism());
+        assertEquals(Set.of("outline"), graph.getDataDependencies().dependenciesOf("quotes"));
+    }
+
+    @Test
+    void shouldRejectReadWithoutProducer() {
+        StateGraphBuilder builder = new StateGraphBuilder()
+                .addNode("outline", node("outline", Set.of(TOPIC), Set.of(OUTLINE)))
+                .setEntryPoint("outline");
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, builder::compile);
+        assertTrue(error.getMessage().contains("'topic'"), error.getMessage());
+    }
+
+    @Test
+    void shouldRejectReaderNotOrderedAfterItsProducer() {
+        StateGraphBuilder builder = research()
+                .addEdge("outline", "facts")
+                .addEdge("outline", "quotes")
+                .addEdge("facts", "draft");
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, builder::compile);
+        assertTrue(error.getMessage().contains("'quotes'"), error.getMessage());
+    }
+
+    @Test
+    void shouldRejectConcurrentWritesWithoutReducer() {
+        StateGraphBuilder builder = new StateGraphBuilder()
+                .addInput(TOPIC)
+                .addNode("start", node("start", Set.of(TOPIC), Set.of(OUTLINE)))
+                .addNode("left", node("left", Set.of(OUTLINE), Set.of(DRAFT)))
+                .addNode("right", node("right", Set.of(OUTLINE), Set.of(DRAFT)))
+                .addEdge("start", "left")
+                .addEdge("start", "right")
+                .setEntryPoint("start");
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, builder::compile);
+        assertTrue(error.getMessage().contains("'draft'"), error.getMessage());
+    }
+
+    @Test
+    void shouldAllowConcurrentWritesToReducingChannel() {
+        StateGraph graph = new StateGraphBuilder()
+                .addChannel(COUNT)
+                .addInput(TOPIC)
+                .addNode("start", node("start", Set.of(TOPIC), Set.of(OUTLINE)))
+                .addNode("left", node("left", Set.of(OUTLINE), Set.of(COUNT)))
+                .addNode("right", node("right", Set.of(OUTLINE), Set.of(COUNT)))
+                .addEdge("start", "left")
+                .addEdge("start", "right")
+                .setEntryPoint("start")
+                .compile();
+
+        assertEquals(2, graph.getDataDependencies().maxParallelism());
+    }
+
+    @Test
+    void shouldAllowSameWritesOnExclusiveBranchesAndLoopBackReads() {
+        StateGraph graph = new StateGraphBuilder()
+                .addInput(TOPIC)
+                .addNode("write", node("write", Set.of(TOPIC, DRAFT), Set.of(OUTLINE)))
+                .addNode("short", node("short", Set.of(OUTLINE), Set.of(DRAFT)))
+                .addNode("long", node("long", Set.of(OUTLINE), Set.of(DRAFT)))
+                .addConditionalEdges("write", state -> "short", "short", "long")
+                .addConditionalEdges("long", state -> StateGraph.END, "write", StateGraph.END)
+                .setEntryPoint("write")
+                .compile();
+
+        assertEquals(Set.of("write"), graph.getDataDependencies().dependenciesOf("long"));
+    }
+
+    @Test
+    void shouldAllowNodeToRereadItsOwnWriteThroughALoop() {
+        StateGraph graph = new StateGraphBuilder()
+                .addInput(TOPIC)
+                .addNode("draft", node("draft", Set.of(TOPIC, DRAFT), Set.of(DRAFT)))
+                .addNode("review", node("review", Set.of(DRAFT), Set.of(OUTLINE)))
+                .addEdge("draft", "review")
+                .addConditionalEdges("review", state -> StateGraph.END, "draft", StateGraph.END)
+                .setEntryPoint("draft")
+                .compile();
+
+        assertEquals(Set.of("draft"), graph.getDataDependencies().dependenciesOf("review"));
+    }
+
+    @Test
+    void shouldLeaveUndeclaredNodesToTheirEdges() {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("a", state -> state)
+                .addNode("b", state -> state)
+                .addEdge("a", "b")
+                .setEntryPoint("a")
+                .compile();
+
+        assertEquals(Set.of("a"), graph.getDataDependencies().dependenciesOf("b"));
+        assertEquals(1, graph.getDataDependencies().maxParallelism());
+    }
+}
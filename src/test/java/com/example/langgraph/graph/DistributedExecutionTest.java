@@ -0,0 +1,287 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedExecutionTest {
+
+    private static final StateKey<Integer> VISITS = StateKey.reducing("visits", Integer.class, Integer::sum);
+
+    private final InMemoryNodeTaskQueue queue = new InMemoryNodeTaskQueue();
+    private final List<NodeWorker> workers = new ArrayList<>();
+
+    @AfterEach
+    void stopWorkers() {
+        workers.forEach(NodeWorker::stop);
+    }
+
+    private StateGraphBuilder distributed() {
+        return new StateGraphBuilder()
+                .setExecutionMode(ExecutionMode.DISTRIBUTED)
+                .setTaskQueue(queue, Duration.ofMillis(10));
+    }
+
+    private NodeWorker startWorker(StateGraph graph, Duration lease) {
+        NodeWorker worker = new NodeWorker(graph, 4, lease, 3);
+        workers.add(worker);
+        worker.start();
+        return worker;
+    }
+
+    /** Records node events as "start:node", "output:node:delta" and "complete:node". */
+    private static final class RecordingListener implements GraphListener {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onNodeStart(String nodeName) {
+            events.add("start:" + nodeName);
+        }
+
+        @Override
+        public void onNodeComplete(String nodeName, Duration duration) {
+            events.add("complete:" + nodeName);
+        }
+
+        @Override
+        public void onNodeOutput(String nodeName, String delta) {
+            events.add("output:" + nodeName + ":" + delta);
+        }
+
+        @Override
+        public boolean acceptsNodeOutput() {
+            return true;
+        }
+    }
+
+    private StateGraph streaming(InMemoryNodeTaskQueue queue) {
+        return new StateGraphBuilder()
+                .setExecutionMode(ExecutionMode.DISTRIBUTED)
+                .setTaskQueue(queue, Duration.ofMillis(10))
+                .addNode("draft", state -> {
+                    NodeContext.current().orElseThrow().emitOutput("tok");
+                    state.put("draft", "text");
+                    return state;
+                })
+                .addNode("summary", writing("summary", "short"))
+                .addEdge("draft", "summary")
+                .setEntryPoint("draft")
+                .compile();
+    }
+
+    private static GraphNode writing(String key, Object value) {
+        return state -> {
+            state.put(key, value);
+            return state;
+        };
+    }
+
+    @Test
+    void shouldRunEveryNodeThroughTheQueue() {
+        StateGraph graph = distributed()
+                .addChannel(VISITS)
+                .addNode("start", writing("topic", "jvm"))
+                .addNode("left", state -> {
+                    state.put("left", "L:" + state.getString("topic"));
+                    state.put(VISITS, 1);
+                    return state;
+                })
+                .addNode("right", state -> {
+                    state.put("right", "R:" + state.getString("topic"));
+                    state.put(VISITS, 1);
+                    return state;
+                })
+                .addNode("join", state -> {
+                    state.put("joined", state.getString("left") + "+" + state.getString("right"));
+                    return state;
+                })
+                .addEdge("start", "left")
+                .addEdge("start", "right")
+                .addEdge("left", "join")
+                .addEdge("right", "join")
+                .setEntryPoint("start")
+                .compile();
+        startWorker(graph, Duration.ofSeconds(5));
+        startWorker(graph, Duration.ofSeconds(5));
+
+        GraphState result = graph.execute(new GraphState().withRunAttribute("tenant", "acme"));
+
+        assertEquals("L:jvm+R:jvm", result.getString("joined"));
+        assertEquals(2, result.get(VISITS));
+        assertEquals(4, result.getExecutionTrace().size());
+        assertEquals("acme", result.getRunAttributes().get("tenant"));
+        assertEquals(0, queue.pendingTasks());
+        assertTrue(queue.run(result.getRunId()).isEmpty(), "collected runs are removed");
+    }
+
+    @Test
+    void shouldFollowConditionalEdgesAndLoops() {
+        StateGraph graph = distributed()
+                .addChannel(VISITS)
+                .addNode("draft", state -> {
+                    state.put(VISITS, 1);
+                    return state;
+                })
+                .addNode("review", state -> state)
+                .addNode("publish", writing("published", true))
+                .addEdge("draft", "review")
+                .addConditionalEdges("review", state -> state.get(VISITS) < 3 ? "draft" : "publish", "draft", "publish")
+                .setEntryPoint("draft")
+                .compile();
+        startWorker(graph, Duration.ofSeconds(5));
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(3, result.get(VISITS));
+        assertEquals(Boolean.TRUE, result.get("published", Boolean.class));
+    }
+
+    @Test
+    void shouldFailTheRunWithTheNodeFailure() {
+        StateGraph graph = distributed()
+                .addNode("A", writing("a", "A"))
+                .addNode("B", state -> {
+                    throw new IllegalStateException("boom");
+                })
+                .addEdge("A", "B")
+                .setEntryPoint("A")
+                .compile();
+        startWorker(graph, Duration.ofSeconds(5));
+
+        GraphExecutionException e = assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState()));
+        assertEquals("B", e.getNodeName());
+        assertEquals("boom", e.getCause().getMessage());
+        assertEquals(0, queue.pendingTasks());
+    }
+
+    @Test
+    void shouldRerunANodeWhoseWorkerStoppedRenewingItsClaim() {
+        AtomicInteger runs = new AtomicInteger();
+        StateGraph graph = distributed()
+                .addNode("A", state -> {
+                    runs.incrementAndGet();
+                    state.put("a", "A");
+                    return state;
+                })
+                .setEntryPoint("A")
+                .compile();
+
+        var run = graph.executeAsync(new GraphState());
+        // a worker on another instance claims the node and dies with it
+        NodeTask lost = queue.claim("dead-worker", Duration.ofMillis(100)).orElseThrow();
+        startWorker(graph, Duration.ofSeconds(5));
+
+        assertEquals("A", run.join().getString("a"));
+        assertEquals(1, runs.get());
+        assertFalse(queue.advance(lost, "dead-worker", NodeTaskQueue.Transition::of), "the expired claim is gone");
+    }
+
+    @Test
+    void shouldFailANodeClaimedTooOften() throws InterruptedException {
+        StateGraph graph = distributed()
+                .addNode("A", writing("a", "A"))
+                .setEntryPoint("A")
+                .compile();
+
+        var run = graph.executeAsync(new GraphState(Map.of()));
+        for (int i = 0; i < 3; i++) {
+            queue.claim("dead-worker-" + i, Duration.ofMillis(1)).orElseThrow();
+            Thread.sleep(5);
+        }
+        startWorker(graph, Duration.ofSeconds(5));
+
+        CompletionException e = assertThrows(CompletionException.class, run::join);
+        assertInstanceOf(GraphExecutionException.class, e.getCause());
+        assertTrue(e.getCause().getCause().getMessage().contains("claimed 4 times"), e.getCause().getCause().getMessage());
+    }
+
+    @Test
+    void shouldSendTheRunsNodeEventsToItsListener() {
+        StateGraph graph = streaming(queue);
+        startWorker(graph, Duration.ofSeconds(5));
+        RecordingListener listener = new RecordingListener();
+
+        graph.execute(new GraphState(), listener);
+
+        assertEquals(List.of("start:draft", "output:draft:tok", "complete:draft", "start:summary", "complete:summary"),
+                listener.events);
+    }
+
+    @Test
+    void shouldReportNodesRunOnAnotherInstance() {
+        StateGraph caller = streaming(queue);
+        startWorker(streaming(queue), Duration.ofSeconds(5));
+        RecordingListener listener = new RecordingListener();
+
+        caller.execute(new GraphState(), listener);
+
+        assertEquals(List.of("start:draft", "complete:draft", "start:summary", "complete:summary"), listener.events);
+    }
+
+    @Test
+    void shouldKeepAFailedRunResumableUntilItExpires() throws InterruptedException {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger drafts = new AtomicInteger();
+        InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+        StateGraph graph = distributed()
+                .setCheckpointStore(checkpoints)
+                .addNode("draft", state -> {
+                    drafts.incrementAndGet();
+                    state.put("draft", "text");
+                    return state;
+                })
+                .addNode("summary", state -> {
+                    if (failing.get()) {
+                        throw new IllegalStateException("model unavailable");
+                    }
+                    state.put("summary", "short");
+                    return state;
+                })
+                .addEdge("draft", "summary")
+                .setEntryPoint("draft")
+                .compile();
+        startWorker(graph, Duration.ofSeconds(5));
+
+        GraphState input = new GraphState().withRunAttribute("tenant", "acme");
+        assertThrows(GraphExecutionException.class, () -> graph.execute(input));
+        assertEquals(DistributedRun.Status.FAILED, queue.run(input.getRunId()).orElseThrow().status());
+        assertEquals("draft", checkpoints.latest(input.getRunId()).orElseThrow().nodeName());
+
+        failing.set(false);
+        GraphState resumed = graph.resume(input.getRunId());
+        assertEquals("short", resumed.getString("summary"));
+        assertEquals("acme", resumed.getRunAttributes().get("tenant"));
+        assertEquals(1, drafts.get());
+        assertTrue(checkpoints.latest(input.getRunId()).isEmpty(), "a completed run's checkpoints are deleted");
+
+        failing.set(true);
+        NodeWorker expiring = new NodeWorker(graph, 1, Duration.ofSeconds(5), 3, Duration.ofMillis(50));
+        workers.add(expiring);
+        GraphState expired = new GraphState();
+        assertThrows(GraphExecutionException.class, () -> graph.execute(expired));
+        expiring.start();
+        Thread.sleep(300);
+        assertTrue(queue.run(expired.getRunId()).isEmpty());
+    }
+
+    @Test
+    void shouldRequireATaskQueue() {
+        StateGraphBuilder builder = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .setEntryPoint("A")
+                .setExecutionMode(ExecutionMode.DISTRIBUTED);
+
+        assertThrows(IllegalStateException.class, builder::compile);
+    }
+}
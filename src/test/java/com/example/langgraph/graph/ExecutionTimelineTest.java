@@ -0,0 +1,169 @@
+package com.example.langgraph.graph;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionTimelineTest {
+
+    private static GraphNode sleeping(String key, long millis) {
+        return state -> {
+            sleep(millis);
+            state.put(key, "done");
+            return state;
+        };
+    }
+
+    /** start -> (left, right) -> join, where left sleeps and right reports a model call. */
+    private static StateGraphBuilder fanOut() {
+        return new StateGraphBuilder()
+                .addNode("start", sleeping("start", 0))
+                .addNode("left", sleeping("left", 40))
+                .addNode("right", state -> {
+                    sleep(30);
+                    NodeContext.current().orElseThrow().recordLlmTime(Duration.ofMillis(20).toNanos());
+                    state.put("right", "done");
+                    return state;
+                })
+                .addNode("join", sleeping("join", 0))
+                .addEdge("start", "left")
+                .addEdge("start", "right")
+                .addEdge("left", "join")
+                .addEdge("right", "join")
+                .setEntryPoint("start");
+    }
+
+    private static TimelineEntry entry(GraphState state, String node) {
+        return state.getTimeline().stream().filter(e -> e.node().equals(node)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void shouldRecordOffsetsWaitsAndModelTime() {
+        GraphState result = fanOut().compile().execute(new GraphState());
+
+        assertEquals(List.of("start", "left", "right", "join"), result.getTimeline().stream()
+                .map(TimelineEntry::node).toList());
+        TimelineEntry left = entry(result, "left");
+        TimelineEntry right = entry(result, "right");
+        // a sequential run keeps the second ready branch waiting while the first one runs
+        assertTrue(right.waitMs() >= 35, "right waited " + right.waitMs() + "ms");
+        assertTrue(right.startOffsetMs() >= left.startOffsetMs() + left.durationMs());
+        assertEquals(20, right.llmMs());
+        assertEquals(right.durationMs() - 20, right.workMs());
+        assertEquals(0, left.llmMs());
+        assertEquals("left (" + left.durationMs() + "ms)", result.getExecutionTrace().get(1));
+    }
+
+    @Test
+    void shouldMeasureExecutorQueueingInParallelMode() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GraphState result = fanOut()
+                    .setExecutionMode(ExecutionMode.PARALLEL)
+                    .setExecutor(executor)
+                    .compile()
+                    .execute(new GraphState());
+
+            // both branches became ready together; one of them queued behind the other on the single thread
+            long queued = Math.max(entry(result, "left").waitMs(), entry(result, "right").waitMs());
+            assertTrue(queued >= 25, "queued " + queued + "ms");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepTheTimelineAcrossAResume() {
+        AtomicBoolean failSecond = new AtomicBoolean(true);
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("first", sleeping("first", 20))
+                .addNode("second", state -> {
+                    if (failSecond.get()) {
+                        throw new IllegalStateException("provider unavailable");
+                    }
+                    state.put("second", "done");
+                    return state;
+                })
+                .addEdge("first", "second")
+                .setEntryPoint("first")
+                .setCheckpointStore(new InMemoryCheckpointStore())
+                .compile();
+
+        assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState("run-1", Map.of())));
+        sleep(30);
+        failSecond.set(false);
+        GraphState resumed = graph.resume("run-1");
+
+        List<TimelineEntry> timeline = resumed.getTimeline();
+        assertEquals(List.of("first", "second"), timeline.stream().map(TimelineEntry::node).toList());
+        assertFalse(timeline.get(1).failed());
+        // offsets stay relative to the start of the original run
+        assertTrue(timeline.get(0).startOffsetMs() < 20, "first node at " + timeline.get(0).startOffsetMs() + "ms");
+        assertTrue(timeline.get(1).startOffsetMs() >= 50, "resumed at " + timeline.get(1).startOffsetMs() + "ms");
+    }
+
+    @Test
+    void shouldEmitFlightRecorderEvents(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("run.jfr");
+        GraphState result;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.langgraph.GraphRun");
+            recording.enable("com.example.langgraph.NodeExecution");
+            recording.start();
+            result = fanOut().compile().execute(new GraphState());
+            assertThrows(GraphExecutionException.class, () -> new StateGraphBuilder()
+                    .addNode("broken", state -> {
+                        throw new IllegalStateException("boom");
+                    })
+                    .setEntryPoint("broken")
+                    .compile()
+                    .execute(new GraphState("failed-run", Map.of())));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> nodes = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.example.langgraph.NodeExecution"))
+                .filter(e -> result.getRunId().equals(e.getString("runId")))
+                .toList();
+        assertEquals(4, nodes.size());
+        RecordedEvent right = nodes.stream().filter(e -> e.getString("node").equals("right")).findFirst().orElseThrow();
+        assertEquals("completed", right.getString("outcome"));
+        assertEquals(Duration.ofMillis(20), right.getDuration("llmTime"));
+        assertTrue(right.getDuration("queueWait").toMillis() >= 35);
+
+        List<RecordedEvent> runs = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.example.langgraph.GraphRun"))
+                .toList();
+        RecordedEvent completed = runs.stream().filter(e -> result.getRunId().equals(e.getString("runId")))
+                .findFirst().orElseThrow();
+        assertEquals(4, completed.getInt("nodeExecutions"));
+        assertEquals("start", completed.getString("startNode"));
+        RecordedEvent failed = runs.stream().filter(e -> "failed-run".equals(e.getString("runId")))
+                .findFirst().orElseThrow();
+        assertEquals("failed", failed.getString("outcome"));
+        assertEquals("broken", failed.getString("failedNode"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
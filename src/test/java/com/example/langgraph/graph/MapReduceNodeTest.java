@@ -0,0 +1,158 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapReduceNodeTest {
+
+    private static final StateKey<String> OUTLINE = StateKey.of("outline", String.class);
+    private static final StateKey<String> DRAFT = StateKey.of("draft", String.class);
+
+    private static MapReduceNode.Builder<String, String, String> sections() {
+        return MapReduceNode.<String, String, String>builder()
+                .reads(OUTLINE)
+                .split(state -> List.of(state.get(OUTLINE).split(",")))
+                .reduce(DRAFT, parts -> String.join("|", parts));
+    }
+
+    private static StateGraph graph(GraphNode node) {
+        return new StateGraphBuilder()
+                .addInput(OUTLINE)
+                .addNode("draft", node)
+                .setEntryPoint("draft")
+                .compile();
+    }
+
+    @Test
+    void shouldMapItemsConcurrentlyAndReduceThemInOrder() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        MapReduceNode<String, String, String> node = sections()
+                .map(item -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    // later items finish first
+                    sleep(60 - 10L * Integer.parseInt(item.substring(1)));
+                    running.decrementAndGet();
+                    return item.toUpperCase();
+                })
+                .maxConcurrency(3)
+                .build();
+
+        long start = System.nanoTime();
+        GraphState result = graph(node).execute(new GraphState(Map.of("outline", "s0,s1,s2,s3,s4,s5")));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals("S0|S1|S2|S3|S4|S5", result.get(DRAFT));
+        assertEquals(3, maxRunning.get());
+        assertTrue(elapsedMs < 210, "took " + elapsedMs + "ms, sequential mapping takes 210ms");
+        assertEquals(Set.of(DRAFT), node.writes());
+        assertEquals(Set.of("outline"), graph(node).getDataDependencies().requiredToStartAt("draft"));
+    }
+
+    @Test
+    void shouldFailTheNodeWithTheFirstFailingItem() {
+        List<String> mapped = new CopyOnWriteArrayList<>();
+        MapReduceNode<String, String, String> node = sections()
+                .map(item -> {
+                    if (item.equals("s1")) {
+                        throw new IllegalStateException("model unavailable");
+                    }
+                    mapped.add(item);
+                    return item;
+                })
+                .maxConcurrency(1)
+                .build();
+
+        GraphExecutionException failure = assertThrows(GraphExecutionException.class,
+                () -> graph(node).execute(new GraphState(Map.of("outline", "s0,s1,s2,s3"))));
+
+        assertEquals("draft", failure.getNodeName());
+        assertEquals("model unavailable", failure.getCause().getMessage());
+        assertEquals(List.of("s0"), mapped, "items after the failure are not started");
+    }
+
+    @Test
+    void shouldRunMappersInTheNodesContext() {
+        Map<String, String> nodes = new ConcurrentHashMap<>();
+        MapReduceNode<String, String, String> node = sections()
+                .map(item -> {
+                    NodeContext context = NodeContext.current().orElseThrow();
+                    nodes.put(item, context.nodeName());
+                    context.recordLlmTime(Duration.ofMillis(10).toNanos());
+                    return item;
+                })
+                .build();
+
+        GraphState result = graph(node).execute(new GraphState(Map.of("outline", "s0,s1,s2,s3")));
+
+        assertEquals(Map.of("s0", "draft", "s1", "draft", "s2", "draft", "s3", "draft"), nodes);
+        assertEquals(40, result.getTimeline().get(0).llmMs());
+    }
+
+    @Test
+    void shouldKeepAtMostMaxConcurrencyAsyncItemsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        MapReduceNode<String, String, String> node = sections()
+                .mapAsync(item -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return CompletableFuture.supplyAsync(() -> {
+                        inFlight.decrementAndGet();
+                        return item.toUpperCase();
+                    }, CompletableFuture.delayedExecutor(60 - 10L * Integer.parseInt(item.substring(1)),
+                            TimeUnit.MILLISECONDS));
+                })
+                .maxConcurrency(2)
+                .build();
+
+        GraphState result = graph(node).execute(new GraphState(Map.of("outline", "s0,s1,s2,s3,s4")));
+
+        assertEquals("S0|S1|S2|S3|S4", result.get(DRAFT));
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void shouldFailTheNodeWithTheFirstFailingAsyncItem() {
+        AtomicInteger started = new AtomicInteger();
+        MapReduceNode<String, String, String> node = sections()
+                .mapAsync(item -> {
+                    started.incrementAndGet();
+                    return item.equals("s1")
+                            ? CompletableFuture.failedFuture(new IllegalStateException("no section for " + item))
+                            : CompletableFuture.completedFuture(item);
+                })
+                .maxConcurrency(1)
+                .build();
+
+        GraphExecutionException e = assertThrows(GraphExecutionException.class,
+                () -> graph(node).execute(new GraphState(Map.of("outline", "s0,s1,s2,s3"))));
+
+        assertEquals("no section for s1", e.getCause().getMessage());
+        assertEquals(2, started.get());
+    }
+
+    @Test
+    void shouldRejectInvalidConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> sections().maxConcurrency(0));
+        assertThrows(NullPointerException.class, () -> MapReduceNode.builder().build());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodePolicyTest {
+
+    private static StateGraph single(GraphNode node, NodePolicy policy) {
+        return new StateGraphBuilder()
+                .addNode("llm", node, policy)
+                .setEntryPoint("llm")
+                .compile();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static GraphListener recordingOutput(List<String> events) {
+        return new GraphListener() {
+            @Override
+            public void onNodeOutput(String nodeName, String delta) {
+                events.add(delta);
+            }
+
+            @Override
+            public void onNodeOutputReset(String nodeName) {
+                events.add("<reset>");
+            }
+
+            @Override
+            public boolean acceptsNodeOutput() {
+                return true;
+            }
+        };
+    }
+
+    private static void emit(String delta) {
+        NodeContext.current().orElseThrow().emitOutput(delta);
+    }
+
+    @Test
+    void shouldRetryTransientFailuresWithoutLeakingPartialWrites() {
+        AtomicInteger calls = new AtomicInteger();
+        GraphNode flaky = state -> {
+            state.put("attempt_" + calls.incrementAndGet(), true);
+            if (calls.get() < 3) {
+                throw new IllegalStateException("503 Service Unavailable");
+            }
+            state.put("answer", "ok");
+            return state;
+        };
+
+        GraphState result = single(flaky, NodePolicy.builder()
+                .retry(3, Duration.ofMillis(1), Duration.ofMillis(5))
+                .build()).execute(new GraphState());
+
+        assertEquals("ok", result.getString("answer"));
+        assertFalse(result.containsKey("attempt_1"));
+        assertFalse(result.containsKey("attempt_2"));
+        assertTrue(result.containsKey("attempt_3"));
+    }
+
+    @Test
+    void shouldNotRetryNonRetryableFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        GraphNode missingInput = state -> {
+            calls.incrementAndGet();
+            throw new NullPointerException("input_topic is required");
+        };
+
+        StateGraph graph = single(missingInput, NodePolicy.builder()
+                .retry(5, Duration.ofMillis(1), Duration.ofMillis(5))
+                .build());
+
+        assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState()));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldTimeOutSlowAttempts() {
+        GraphNode slow = state -> {
+            sleep(2_000);
+            return state;
+        };
+
+        StateGraph graph = single(slow, NodePolicy.builder().timeout(Duration.ofMillis(100)).build());
+
+        long start = System.nanoTime();
+        GraphExecutionException e = assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState()));
+        assertInstanceOf(NodeTimeoutException.class, e.getCause());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void hedgedAttemptShouldWinWhenFirstIsSlow() {
+        AtomicInteger calls = new AtomicInteger();
+        GraphNode sometimesSlow = state -> {
+            int call = calls.incrementAndGet();
+            sleep(call == 1 ? 2_000 : 10);
+            state.put("winner", call);
+            return state;
+        };
+
+        StateGraph graph = single(sometimesSlow, NodePolicy.builder()
+                .timeout(Duration.ofSeconds(5))
+                .hedgeAfter(Duration.ofMillis(50))
+                .build());
+
+        long start = System.nanoTime();
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(2, result.get("winner", Integer.class));
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void circuitBreakerShouldFailFastAfterRepeatedFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        GraphNode down = state -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("provider down");
+        };
+
+        StateGraph graph = single(down, NodePolicy.builder()
+                .circuitBreaker(2, Duration.ofMinutes(1))
+                .build());
+
+        assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState()));
+        assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState()));
+        GraphExecutionException e = assertThrows(GraphExecutionException.class, () -> graph.execute(new GraphState()));
+
+        assertInstanceOf(CircuitOpenException.class, e.getCause());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void asyncAttemptsShouldTimeOutAndRetryWithoutHoldingAThread() {
+        AtomicInteger calls = new AtomicInteger();
+        AsyncGraphNode slowOnce = state -> {
+            int call = calls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                state.put("answer", call);
+                return state;
+            }, CompletableFuture.delayedExecutor(call == 1 ? 5_000 : 10, TimeUnit.MILLISECONDS));
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            StateGraph graph = new StateGraphBuilder()
+                    .addNode("llm", slowOnce, NodePolicy.builder()
+                            .timeout(Duration.ofMillis(100))
+                            .retry(2, Duration.ofMillis(1), Duration.ofMillis(5))
+                            .retryOn(NodeTimeoutException.class::isInstance)
+                            .build())
+                    .setEntryPoint("llm")
+                    .setExecutor(executor)
+                    .compile();
+
+            long start = System.nanoTime();
+            GraphState result = graph.execute(new GraphState());
+
+            assertEquals(2, result.get("answer", Integer.class));
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void retriedAttemptShouldResetOutputStreamedByTheFailedOne() {
+        AtomicInteger calls = new AtomicInteger();
+        GraphNode flaky = state -> {
+            if (calls.incrementAndGet() == 1) {
+                emit("half ");
+                emit("an answer");
+                throw new IllegalStateException("503 Service Unavailable");
+            }
+            emit("full answer");
+            return state;
+        };
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        single(flaky, NodePolicy.builder()
+                .retry(2, Duration.ofMillis(1), Duration.ofMillis(5))
+                .build()).execute(new GraphState(), recordingOutput(events));
+
+        assertEquals(List.of("half ", "an answer", "<reset>", "full answer"), events);
+    }
+
+    @Test
+    void hedgedWinnerShouldReplaceAndSilenceTheSlowAttemptsOutput() {
+        AtomicInteger calls = new AtomicInteger();
+        GraphNode sometimesSlow = state -> {
+            if (calls.incrementAndGet() == 1) {
+                emit("slow ");
+                sleep(500);
+                emit("too late");
+            } else {
+                emit("fast ");
+                emit("answer");
+            }
+            return state;
+        };
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        single(sometimesSlow, NodePolicy.builder()
+                .timeout(Duration.ofSeconds(5))
+                .hedgeAfter(Duration.ofMillis(50))
+                .build()).execute(new GraphState(), recordingOutput(events));
+        sleep(600);
+
+        assertEquals(List.of("slow ", "<reset>", "fast answer"), events);
+    }
+}
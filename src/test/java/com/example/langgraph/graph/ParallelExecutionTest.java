@@ -0,0 +1,249 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelExecutionTest {
+
+    private static GraphNode sleeping(long millis, String key, Object value) {
+        return state -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            state.put(key, value);
+            return state;
+        };
+    }
+
+    private static AsyncGraphNode waiting(long millis, String key) {
+        return state -> CompletableFuture.supplyAsync(() -> {
+            state.put(key, true);
+            return state;
+        }, CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldRunIndependentBranchesConcurrently() {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("start", state -> state)
+                .addNode("B", sleeping(300, "b", "B"))
+                .addNode("C", sleeping(300, "c", "C"))
+                .addNode("D", sleeping(300, "d", "D"))
+                .addNode("join", state -> {
+                    state.put("joined", state.getString("b") + state.getString("c") + state.getString("d"));
+                    return state;
+                })
+                .addEdge("start", "B")
+                .addEdge("start", "C")
+                .addEdge("start", "D")
+                .addEdge("B", "join")
+                .addEdge("C", "join")
+                .addEdge("D", "join")
+                .setEntryPoint("start")
+                .setExecutionMode(ExecutionMode.PARALLEL)
+                .compile();
+
+        long start = System.nanoTime();
+        GraphState result = graph.execute(new GraphState());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("BCD", result.getString("joined"));
+        assertEquals(5, result.getExecutionTrace().size());
+        assertTrue(elapsedMs < 800, "fan-out should overlap, took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void siblingWritesShouldMergeByTopologicalOrder() {
+        // "slow" is registered after "fast", so its value must win even though it finishes last.
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("start", state -> state)
+                .addNode("fast", sleeping(0, "shared", "fast"))
+                .addNode("slow", sleeping(150, "shared", "slow"))
+                .addEdge("start", "fast")
+                .addEdge("start", "slow")
+                .setEntryPoint("start")
+                .setExecutionMode(ExecutionMode.PARALLEL)
+                .compile();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("slow", graph.execute(new GraphState()).getString("shared"));
+        }
+    }
+
+    @Test
+    void shouldUseConfiguredExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "custom-pool"));
+        try {
+            StateGraph graph = new StateGraphBuilder()
+                    .addNode("A", state -> {
+                        state.put("thread", Thread.currentThread().getName());
+                        return state;
+                    })
+                    .setEntryPoint("A")
+                    .setExecutionMode(ExecutionMode.PARALLEL)
+                    .setExecutor(executor)
+                    .compile();
+
+            assertEquals("custom-pool", graph.execute(new GraphState()).getString("thread"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateNodeFailure() {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .addNode("B", state -> {
+                    throw new IllegalStateException("boom");
+                })
+                .addNode("C", sleeping(50, "c", "C"))
+                .addEdge("A", "B")
+                .addEdge("A", "C")
+                .setEntryPoint("A")
+                .setExecutionMode(ExecutionMode.PARALLEL)
+                .compile();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> graph.execute(new GraphState()));
+        assertEquals("Graph execution failed at node: B", e.getMessage());
+    }
+
+    @Test
+    void executeAsyncShouldNotBlockTheCaller() {
+        for (ExecutionMode mode : List.of(ExecutionMode.SEQUENTIAL, ExecutionMode.PARALLEL)) {
+            List<String> events = new CopyOnWriteArrayList<>();
+            GraphListener listener = new GraphListener() {
+                @Override
+                public void onRunComplete(String runId, Duration duration) {
+                    events.add("complete");
+                }
+            };
+            StateGraph graph = new StateGraphBuilder()
+                    .addNode("A", sleeping(200, "a", "A"))
+                    .addNode("B", state -> state)
+                    .addEdge("A", "B")
+                    .setEntryPoint("A")
+                    .setExecutionMode(mode)
+                    .compile();
+
+            long start = System.nanoTime();
+            CompletableFuture<GraphState> run = graph.executeAsync(new GraphState(), listener);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(elapsedMs < 150, mode + " should return before the run finishes, took " + elapsedMs + "ms");
+            assertEquals("A", run.join().getString("a"));
+            assertEquals(List.of("complete"), events);
+        }
+    }
+
+    @Test
+    void executeAsyncShouldFailWithTheNodeFailure() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> {
+                    throw new IllegalStateException("boom");
+                })
+                .setEntryPoint("A")
+                .setExecutionMode(ExecutionMode.PARALLEL)
+                .compile();
+
+        CompletableFuture<GraphState> run = graph.executeAsync(new GraphState(), new GraphListener() {
+            @Override
+            public void onRunFailed(String runId, Throwable error, Duration duration) {
+                events.add(error.getMessage());
+            }
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, run::join);
+        assertInstanceOf(GraphExecutionException.class, e.getCause());
+        assertEquals(List.of("Graph execution failed at node: A"), events);
+    }
+
+    @Test
+    void runEndShouldCarryTheStateAFailedRunReached() {
+        for (ExecutionMode mode : List.of(ExecutionMode.SEQUENTIAL, ExecutionMode.PARALLEL)) {
+            List<Object> ended = new CopyOnWriteArrayList<>();
+            StateGraph graph = new StateGraphBuilder()
+                    .addNode("A", sleeping(0, "a", "A"))
+                    .addNode("B", state -> {
+                        throw new IllegalStateException("boom");
+                    })
+                    .addEdge("A", "B")
+                    .setEntryPoint("A")
+                    .setExecutionMode(mode)
+                    .addListener(new GraphListener() {
+                        @Override
+                        public void onRunEnd(GraphState state, Throwable error, Duration duration) {
+                            ended.add(state.getString("a"));
+                            ended.add(error);
+                        }
+                    })
+                    .compile();
+
+            GraphExecutionException e = assertThrows(GraphExecutionException.class,
+                    () -> graph.execute(new GraphState()));
+
+            assertEquals(List.of("A", e), ended, mode.name());
+        }
+    }
+
+    @Test
+    void asyncNodesShouldNotHoldExecutorThreadsWhileWaiting() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            StateGraph graph = new StateGraphBuilder()
+                    .addNode("analyze", waiting(50, "analyze"))
+                    .addNode("draft", waiting(50, "draft"))
+                    .addNode("summarize", waiting(50, "summarize"))
+                    .addEdge("analyze", "draft")
+                    .addEdge("draft", "summarize")
+                    .setEntryPoint("analyze")
+                    .setExecutionMode(ExecutionMode.PARALLEL)
+                    .setExecutor(executor)
+                    .compile();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<GraphState>> runs = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                runs.add(graph.executeAsync(new GraphState()));
+            }
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).join();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(runs.stream().allMatch(run -> run.join().containsKey("summarize")));
+            // holding a thread per waiting node, two threads would need 200 * 150ms / 2 = 15s
+            assertTrue(elapsedMs < 3_000, "200 runs on 2 threads took " + elapsedMs + "ms");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void compiledOrderShouldRespectAllDependencies() {
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .addNode("B", state -> state)
+                .addNode("C", state -> state)
+                .addEdge("A", "B")
+                .addEdge("A", "C")
+                .addEdge("C", "B")
+                .setEntryPoint("A")
+                .compile();
+
+        assertEquals(List.of("A", "C", "B"), graph.getNodeNames());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartialExecutionTest {
+
+    private static final StateKey<String> TOPIC = StateKey.of("topic", String.class);
+    private static final StateKey<String> ANALYSIS = StateKey.of("analysis", String.class);
+    private static final StateKey<String> DRAFT = StateKey.of("draft", String.class);
+    private static final StateKey<Integer> SCORE = StateKey.of("score", Integer.class);
+    private static final StateKey<String> FINAL = StateKey.of("final", String.class);
+    private static final StateKey<Integer> REVISIONS = StateKey.reducing("revisions", Integer.class, Integer::sum);
+    private static final StateKey<String> SUMMARY = StateKey.of("summary", String.class);
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failSummary = new AtomicBoolean();
+
+    /**
+     * analysis -> draft -> review -(score >= 8)-> summary, otherwise -> polish -(revisions < 2)-> review.
+     */
+    private StateGraphBuilder pipeline(ExecutionMode mode) {
+        return new StateGraphBuilder()
+                .addChannel(REVISIONS)
+                .addInput(TOPIC)
+                .addNode("analysis", node("analysis", Set.of(TOPIC), Set.of(ANALYSIS), state ->
+                        state.put(ANALYSIS, "analysis of " + state.get(TOPIC))))
+                .addNode("draft", node("draft", Set.of(ANALYSIS), Set.of(DRAFT), state ->
+                        state.put(DRAFT, "draft from " + state.get(ANALYSIS))))
+                .addNode("review", node("review", Set.of(DRAFT, FINAL), Set.of(SCORE), state ->
+                        state.put(SCORE, state.get(FINAL) == null ? 5 : 9)))
+                .addNode("polish", node("polish", Set.of(DRAFT), Set.of(FINAL, REVISIONS), state -> {
+                    state.put(FINAL, "polished " + state.get(DRAFT));
+                    state.put(REVISIONS, 1);
+                }))
+                .addNode("summary", node("summary", Set.of(DRAFT, FINAL), Set.of(SUMMARY), state -> {
+                    if (failSummary.get()) {
+                        throw new IllegalStateException("provider unavailable");
+                    }
+                    state.put(SUMMARY, "summary of " + (state.get(FINAL) != null ? state.get(FINAL) : state.get(DRAFT)));
+                }))
+                .addEdge("analysis", "draft")
+                .addEdge("draft", "review")
+                .addConditionalEdges("review", state -> state.get(SCORE) >= 8 ? "summary" : "polish", "polish", "summary")
+                .addConditionalEdges("polish", state -> state.get(REVISIONS) < 2 ? "review" : "summary", "review", "summary")
+                .setEntryPoint("analysis")
+                .setExecutionMode(mode);
+    }
+
+    private GraphNode node(String name, Set<StateKey<?>> reads, Set<StateKey<?>> writes,
+                           java.util.function.Consumer<GraphState> body) {
+        return GraphNode.declaring(reads, writes, state -> {
+            executed.add(name);
+            body.accept(state);
+            return state;
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void shouldRunOnlyTheStartNodeAndWhatFollowsIt(ExecutionMode mode) {
+        StateGraph graph = pipeline(mode).compile();
+
+        GraphState result = graph.execute("summary", new GraphState(Map.of("draft", "edited draft")));
+
+        assertEquals(List.of("summary"), executed);
+        assertEquals("summary of edited draft", result.get(SUMMARY));
+        assertEquals(1, result.getExecutionTrace().size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void shouldFollowConditionalEdgesAfterTheStartNode(ExecutionMode mode) {
+        StateGraph graph = pipeline(mode).compile();
+
+        GraphState result = graph.execute("review", new GraphState(Map.of("draft", "edited draft")));
+
+        // review scores 5 -> polish -> review (loop inside the partial run) scores 9 -> summary
+        assertEquals(List.of("review", "polish", "review", "summary"), executed);
+        assertEquals("summary of polished edited draft", result.get(SUMMARY));
+    }
+
+    @Test
+    void shouldEndABranchWhoseLoopLeadsBackBeforeTheStartNode() {
+        StateGraph graph = pipeline(ExecutionMode.SEQUENTIAL).compile();
+
+        GraphState result = graph.execute("polish", new GraphState(Map.of("draft", "edited draft")));
+
+        // polish routes back to review, which is not part of a run starting at polish
+        assertEquals(List.of("polish"), executed);
+        assertNull(result.get(SUMMARY));
+
+        executed.clear();
+        GraphState revised = graph.execute("polish", new GraphState(Map.of("draft", "edited draft", "revisions", 1)));
+        assertEquals(List.of("polish", "summary"), executed);
+        assertEquals("summary of polished edited draft", revised.get(SUMMARY));
+    }
+
+    @Test
+    void shouldRequireChannelsWrittenOnEveryPathToTheStartNode() {
+        StateGraph graph = pipeline(ExecutionMode.SEQUENTIAL).compile();
+        DataDependencies dependencies = graph.getDataDependencies();
+
+        assertEquals(Set.of("topic"), dependencies.requiredToStartAt("analysis"));
+        assertEquals(Set.of("analysis"), dependencies.requiredToStartAt("draft"));
+        // final is written by polish, which does not run on every path to summary
+        assertEquals(Set.of("draft"), dependencies.requiredToStartAt("summary"));
+        assertEquals(Set.of("draft"), dependencies.requiredToStartAt("review"));
+
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> graph.execute("summary", new GraphState(Map.of("final", "text"))));
+        assertEquals("Starting at node 'summary' requires [draft] in the state", missing.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> graph.execute("publish", new GraphState()));
+        assertTrue(executed.isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void shouldResumeAFailedPartialRunFromItsStartNode(ExecutionMode mode) {
+        failSummary.set(true);
+        InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+        StateGraph graph = pipeline(mode)
+                .setCheckpointStore(store)
+                .compile();
+
+        GraphState state = new GraphState(Map.of("draft", "edited draft", "revisions", 1));
+        assertThrows(GraphExecutionException.class, () -> graph.execute("polish", state));
+        failSummary.set(false);
+        GraphState result = graph.resume(state.getRunId());
+
+        assertEquals(List.of("polish", "summary", "summary"), executed);
+        assertEquals("summary of polished edited draft", result.get(SUMMARY));
+    }
+
+    @Test
+    void shouldRunPartiallyInDistributedMode() {
+        InMemoryNodeTaskQueue queue = new InMemoryNodeTaskQueue();
+        StateGraph graph = pipeline(ExecutionMode.DISTRIBUTED)
+                .setTaskQueue(queue, Duration.ofMillis(10))
+                .compile();
+        NodeWorker worker = new NodeWorker(graph, 2, Duration.ofSeconds(5), 3);
+        worker.start();
+        try {
+            GraphState result = graph.execute("review", new GraphState(Map.of("draft", "edited draft")));
+
+            assertEquals(List.of("review", "polish", "review", "summary"), executed);
+            assertEquals("summary of polished edited draft", result.get(SUMMARY));
+        } finally {
+            worker.stop();
+        }
+    }
+}
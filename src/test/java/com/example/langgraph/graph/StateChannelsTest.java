@@ -0,0 +1,168 @@
+package com.example.langgraph.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateChannelsTest {
+
+    private static final StateKey<String> TOPIC = StateKey.of("topic", String.class);
+    private static final StateKey<List<String>> NOTES = StateKey.appending("notes");
+    private static final StateKey<Integer> TOTAL = StateKey.reducing("total", Integer.class, Integer::sum);
+
+    private static GraphNode note(String text) {
+        return state -> {
+            state.put(NOTES, List.of(text));
+            state.put(TOTAL, 1);
+            return state;
+        };
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void reducersShouldKeepEveryBranchUpdate(ExecutionMode mode) {
+        StateGraph graph = new StateGraphBuilder()
+                .addChannel(NOTES)
+                .addChannel(TOTAL)
+                .addNode("start", state -> state)
+                .addNode("A", note("a"))
+                .addNode("B", note("b"))
+                .addNode("C", note("c"))
+                .addEdge("start", "A")
+                .addEdge("start", "B")
+                .addEdge("start", "C")
+                .setEntryPoint("start")
+                .setExecutionMode(mode)
+                .compile();
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(Set.of("a", "b", "c"), Set.copyOf(result.get(NOTES)));
+        assertEquals(3, result.get(NOTES).size());
+        assertEquals(3, result.get(TOTAL));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void appendingChannelShouldListBranchesInTopologicalOrderWhateverFinishesFirst(ExecutionMode mode) {
+        StateGraph graph = new StateGraphBuilder()
+                .addChannel(NOTES)
+                .addChannel(TOTAL)
+                .addNode("start", note("start"))
+                .addNode("A", slow(note("a"), 300))
+                .addNode("B", slow(note("b"), 150))
+                .addNode("C", note("c"))
+                .addNode("end", note("end"))
+                .addEdge("start", "A")
+                .addEdge("start", "B")
+                .addEdge("start", "C")
+                .addEdge("A", "end")
+                .addEdge("B", "end")
+                .addEdge("C", "end")
+                .setEntryPoint("start")
+                .setExecutionMode(mode)
+                .compile();
+
+        GraphState result = graph.execute(new GraphState());
+
+        assertEquals(List.of("start", "a", "b", "c", "end"), result.get(NOTES));
+        assertEquals(5, result.get(TOTAL));
+    }
+
+    private static GraphNode slow(GraphNode node, long millis) {
+        return state -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return node.process(state);
+        };
+    }
+
+    @Test
+    void declaredChannelShouldRejectWrongType() {
+        StateGraph graph = new StateGraphBuilder()
+                .addChannel(TOPIC)
+                .addNode("A", state -> {
+                    state.put("topic", 42);
+                    return state;
+                })
+                .setEntryPoint("A")
+                .compile();
+
+        GraphExecutionException error = assertThrows(GraphExecutionException.class,
+                () -> graph.execute(new GraphState()));
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    @Test
+    void initialStateShouldBeCheckedAgainstChannels() {
+        StateGraph graph = new StateGraphBuilder()
+                .addChannel(TOPIC)
+                .addNode("A", state -> state)
+                .setEntryPoint("A")
+                .compile();
+
+        assertThrows(IllegalArgumentException.class, () -> graph.execute(new GraphState(Map.of("topic", 1))));
+        assertEquals("ai", graph.execute(new GraphState(Map.of("topic", "ai"))).get(TOPIC));
+    }
+
+    @Test
+    void retriedAttemptShouldNotApplyReducerTwice() {
+        AtomicInteger attempts = new AtomicInteger();
+        StateGraph graph = new StateGraphBuilder()
+                .addChannel(TOTAL)
+                .addNode("flaky", state -> {
+                    state.put(TOTAL, 1);
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("transient");
+                    }
+                    return state;
+                }, NodePolicy.builder().retry(2, Duration.ofMillis(1), Duration.ofMillis(1)).build())
+                .setEntryPoint("flaky")
+                .compile();
+
+        assertEquals(1, graph.execute(new GraphState()).get(TOTAL));
+    }
+
+    @Test
+    void forkShouldNotSeeLaterWritesToItsParent() {
+        GraphState state = new GraphState(Map.of("a", 1));
+        GraphState fork = state.fork();
+        state.put("a", 2);
+        fork.put("b", 3);
+
+        assertEquals(1, fork.get("a", Integer.class));
+        assertFalse(state.containsKey("b"));
+        assertEquals(List.of(new StateUpdate("b", 3, false)), fork.changesSince(fork));
+    }
+
+    @Test
+    void snapshotsShouldBeImmutableAndShared() {
+        GraphState state = new GraphState();
+        state.put("a", 1);
+        Map<String, Object> first = state.snapshot();
+        assertSame(first, state.snapshot());
+
+        state.put("a", 2);
+        for (int i = 0; i < 20; i++) {
+            state.put("k" + i, i);
+            state.snapshot();
+        }
+
+        assertEquals(Map.of("a", 1), first);
+        assertEquals(2, state.asMap().get("a"));
+        assertEquals(21, state.asMap().size());
+        assertThrows(UnsupportedOperationException.class, () -> state.asMap().put("x", 1));
+    }
+}
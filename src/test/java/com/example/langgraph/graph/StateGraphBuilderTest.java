@@ -2,7 +2,10 @@ package com.example.langgraph.graph;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -131,4 +134,43 @@ class StateGraphBuilderTest {
         assertTrue(result.getExecutionTrace().get(0).startsWith("step1"));
         assertTrue(result.getExecutionTrace().get(1).startsWith("step2"));
     }
+
+    @Test
+    void listenerShouldReceiveNodeEventsAndOutput() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        GraphListener listener = new GraphListener() {
+            @Override
+            public void onNodeStart(String nodeName) {
+                events.add("start:" + nodeName);
+            }
+
+            @Override
+            public void onNodeOutput(String nodeName, String delta) {
+                events.add("output:" + nodeName + ":" + delta);
+            }
+
+            @Override
+            public void onNodeComplete(String nodeName, Duration duration) {
+                events.add("complete:" + nodeName);
+            }
+
+            @Override
+            public boolean acceptsNodeOutput() {
+                return true;
+            }
+        };
+
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> {
+                    NodeContext.current().ifPresent(context -> context.emitOutput("hi"));
+                    return state;
+                })
+                .setEntryPoint("A")
+                .compile();
+
+        graph.execute(new GraphState(), listener);
+
+        assertEquals(List.of("start:A", "output:A:hi", "complete:A"), events);
+        assertTrue(NodeContext.current().isEmpty());
+    }
 }
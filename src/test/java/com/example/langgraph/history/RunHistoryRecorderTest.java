@@ -0,0 +1,157 @@
+package com.example.langgraph.history;
+
+import com.example.langgraph.graph.GraphExecutionException;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import com.example.langgraph.llm.scheduler.LlmScheduler;
+import com.example.langgraph.nodes.ContentKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunHistoryRecorderTest {
+
+    private final RunHistoryStore store = new RunHistoryStore(
+            new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"),
+            new ObjectMapper().findAndRegisterModules());
+    private final RunHistoryRecorder recorder = new RunHistoryRecorder(store, true, 50, Duration.ofMillis(20), 100);
+
+    @BeforeEach
+    void createSchema() {
+        store.createSchema();
+    }
+
+    @AfterEach
+    void stopRecorder() throws InterruptedException {
+        recorder.stop();
+    }
+
+    private StateGraph graph() {
+        return new StateGraphBuilder()
+                .addNode("draft", state -> {
+                    String topic = state.get(ContentKeys.INPUT_TOPIC);
+                    if (topic.contains("fail")) {
+                        throw new IllegalStateException("model unavailable");
+                    }
+                    if (topic.contains("opaque")) {
+                        // not serializable to JSON, so the run cannot be stored
+                        state.put("draft", new Object());
+                        return state;
+                    }
+                    state.put("draft", (topic + " ").repeat(500));
+                    return state;
+                })
+                .addNode("summary", state -> {
+                    state.put("summary", "short");
+                    return state;
+                })
+                .addEdge("draft", "summary")
+                .setEntryPoint("draft")
+                .addListener(recorder)
+                .compile();
+    }
+
+    private static GraphState run(String topic) {
+        return new GraphState(Map.of(ContentKeys.INPUT_TOPIC.name(), topic))
+                .withRunAttribute(LlmScheduler.TENANT_ATTRIBUTE, "acme");
+    }
+
+    private static RunQuery all() {
+        return new RunQuery(null, null, null, null, null, null, 0, 10);
+    }
+
+    @Test
+    void shouldRecordCompletedAndFailedRuns() throws InterruptedException {
+        recorder.start();
+        StateGraph graph = graph();
+        GraphState completed = graph.execute(run("Virtual Threads"));
+        assertThrows(GraphExecutionException.class, () -> graph.execute(run("fail fast")));
+        recorder.stop();
+
+        RunRecord record = store.find(completed.getRunId()).orElseThrow();
+        assertEquals(RunSummary.Status.COMPLETED, record.summary().status());
+        assertEquals("Virtual Threads", record.summary().topic());
+        assertEquals("acme", record.summary().tenant());
+        assertEquals(completed.getString("draft"), record.state().get("draft"));
+        assertEquals(completed.getTimeline(), record.timeline());
+        assertEquals(List.of("draft", "summary"), record.nodes().stream().map(NodeTiming::node).toList());
+
+        RunSummary failed = store.find(new RunQuery(null, RunSummary.Status.FAILED, null, null, null, null, 0, 10))
+                .runs().get(0);
+        assertEquals("draft", failed.failedNode());
+        assertEquals("model unavailable", failed.error());
+        assertEquals(List.of(true), store.find(failed.runId()).orElseThrow().nodes().stream()
+                .map(NodeTiming::failed).toList());
+    }
+
+    @Test
+    void shouldFilterAndPageRuns() throws InterruptedException {
+        recorder.start();
+        StateGraph graph = graph();
+        for (int i = 0; i < 5; i++) {
+            graph.execute(run("Topic " + (i % 2)));
+        }
+        recorder.stop();
+
+        RunPage firstPage = store.find(new RunQuery(null, null, null, null, null, null, 0, 2));
+        RunPage lastPage = store.find(new RunQuery(null, null, null, null, null, null, 2, 2));
+        assertEquals(5, firstPage.total());
+        assertEquals(2, firstPage.runs().size());
+        assertEquals(1, lastPage.runs().size());
+        assertFalse(firstPage.runs().get(0).finishedAt().isBefore(lastPage.runs().get(0).finishedAt()));
+
+        assertEquals(3, store.find(new RunQuery("  topic 0 ", null, null, null, null, null, 0, 10)).total());
+        assertEquals(0, store.find(new RunQuery(null, null, Instant.now().plusSeconds(60), null, null, null, 0, 10))
+                .total());
+        assertEquals(5, store.find(new RunQuery(null, null, null, null, "summary", 0L, 0, 10)).total());
+        assertEquals(0, store.find(new RunQuery(null, null, null, null, "summary", 60_000L, 0, 10)).total());
+    }
+
+    @Test
+    void shouldReplaceTheRecordOfARunRecordedAgain() {
+        RunSummary failed = new RunSummary("run-1", "jvm", RunSummary.Status.FAILED, null, Instant.now(),
+                Instant.now(), 5, "draft", "boom");
+        RunSummary resumed = new RunSummary("run-1", "jvm", RunSummary.Status.COMPLETED, null, Instant.now(),
+                Instant.now(), 9, null, null);
+        store.saveAll(List.of(new RunRecord(failed, List.of(new NodeTiming(0, "draft", 5, true)), List.of(), Map.of())));
+        store.saveAll(List.of(new RunRecord(resumed, List.of(), List.of(), Map.of("draft", "text"))));
+
+        RunRecord record = store.find("run-1").orElseThrow();
+        assertEquals(RunSummary.Status.COMPLETED, record.summary().status());
+        assertEquals(List.of(), record.nodes());
+        assertEquals(1, store.find(all()).total());
+    }
+
+    @Test
+    void shouldNotLoseABatchToOneUnstorableRun() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        recorder.bindTo(registry);
+        recorder.start();
+        StateGraph graph = graph();
+        GraphState longTopic = graph.execute(new GraphState(Map.of(ContentKeys.INPUT_TOPIC.name(), "jvm ".repeat(400)))
+                .withRunAttribute(LlmScheduler.TENANT_ATTRIBUTE, "t".repeat(500)));
+        graph.execute(run("opaque"));
+        graph.execute(run("Virtual Threads"));
+        recorder.stop();
+
+        RunSummary stored = store.find(longTopic.getRunId()).orElseThrow().summary();
+        assertEquals(1000, stored.topic().length());
+        assertEquals(128, stored.tenant().length());
+        assertEquals(1, store.find(new RunQuery("JVM ".repeat(400), null, null, null, null, null, 0, 10)).total());
+        assertEquals(2, store.find(all()).total());
+        assertEquals(2, registry.get("history.runs.written").functionCounter().count());
+        assertEquals(1, registry.get("history.runs.dropped").functionCounter().count());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.langgraph.job;
+
+import com.example.langgraph.config.JobProperties;
+import com.example.langgraph.config.LlmBudgetProperties;
+import com.example.langgraph.graph.InMemoryCheckpointStore;
+import com.example.langgraph.graph.NodeContext;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import com.example.langgraph.llm.budget.Compaction;
+import com.example.langgraph.llm.budget.TokenLedger;
+import com.example.langgraph.llm.scheduler.LlmScheduler;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkflowJobServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicBoolean blockDraft = new AtomicBoolean(false);
+    private final AtomicBoolean failSummary = new AtomicBoolean(false);
+    private final AtomicInteger summaryRuns = new AtomicInteger();
+    private final List<String> summaryPriorities = Collections.synchronizedList(new ArrayList<>());
+    private final List<WorkflowJobService> services = new ArrayList<>();
+
+    private final StateGraph graph = new StateGraphBuilder()
+            .addNode("draft", state -> {
+                if (blockDraft.get()) {
+                    await(release);
+                }
+                state.put("draft_content", "draft about " + state.getString("input_topic"));
+                return state;
+            })
+            .addNode("summary", state -> {
+                summaryRuns.incrementAndGet();
+                summaryPriorities.add(NodeContext.current()
+                        .flatMap(node -> node.runAttribute(LlmScheduler.PRIORITY_ATTRIBUTE)).orElse(null));
+                if (failSummary.get()) {
+                    throw new IllegalStateException("provider unavailable");
+                }
+                state.put("summary", "summary");
+                return state;
+            })
+            .addEdge("draft", "summary")
+            .setEntryPoint("draft")
+            .setCheckpointStore(new InMemoryCheckpointStore())
+            .compile();
+
+    private WorkflowJobService service(int workers, int queueCapacity, Duration retention) {
+        TokenLedger ledger = new TokenLedger(new LlmBudgetProperties(true, EncodingType.O200K_BASE,
+                Compaction.TRUNCATE, 10, null));
+        WorkflowJobService service = new WorkflowJobService(graph, new JobProperties(workers, queueCapacity, retention),
+                ledger);
+        services.add(service);
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        services.forEach(WorkflowJobService::shutdown);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static WorkflowJob awaitFinished(WorkflowJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.isFinished()) {
+            assertTrue(System.nanoTime() < deadline, "job " + job.getId() + " did not finish");
+            Thread.sleep(5);
+        }
+        return job;
+    }
+
+    @Test
+    void shouldRunAJobThroughItsLifecycle() throws Exception {
+        blockDraft.set(true);
+        WorkflowJobService service = service(1, 1, Duration.ofHours(1));
+
+        WorkflowJob job = service.submit("Spring AI", "acme");
+        assertSame(job, service.find(job.getId()).orElseThrow());
+        assertTrue(job.getStatus() == JobStatus.QUEUED || job.getStatus() == JobStatus.RUNNING);
+        assertNull(job.getResult());
+
+        release.countDown();
+        awaitFinished(job);
+
+        assertEquals(JobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(List.of("draft", "summary"), job.getCompletedNodes());
+        assertEquals("draft about Spring AI", job.getResult().draftContent());
+        assertEquals("summary", job.getResult().summary());
+        assertEquals(List.of("BACKGROUND"), summaryPriorities);
+    }
+
+    @Test
+    void shouldRejectSubmissionsOnceTheQueueIsFull() {
+        blockDraft.set(true);
+        WorkflowJobService service = service(1, 1, Duration.ofHours(1));
+        service.submit("running", "acme");
+        WorkflowJob queued = service.submit("queued", "acme");
+
+        assertThrows(RejectedExecutionException.class, () -> service.submit("rejected", "acme"));
+        assertEquals(JobStatus.QUEUED, queued.getStatus());
+    }
+
+    @Test
+    void shouldEvictFinishedJobsAfterTheRetention() throws Exception {
+        WorkflowJobService service = service(1, 1, Duration.ofMillis(1));
+        WorkflowJob finished = awaitFinished(service.submit("old", "acme"));
+        Thread.sleep(10);
+
+        service.submit("new", "acme");
+
+        assertTrue(service.find(finished.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldOnlyResumeFailedJobs() throws Exception {
+        WorkflowJobService service = service(1, 1, Duration.ofHours(1));
+        WorkflowJob succeeded = awaitFinished(service.submit("Spring AI", "acme"));
+
+        assertThrows(IllegalStateException.class, () -> service.resume(succeeded.getId()));
+        assertThrows(IllegalStateException.class, () -> service.resume("unknown"));
+    }
+
+    @Test
+    void shouldResumeAFailedJobOnceWhenResumedConcurrently() throws Exception {
+        failSummary.set(true);
+        WorkflowJobService service = service(2, 10, Duration.ofHours(1));
+        WorkflowJob failed = awaitFinished(service.submit("Spring AI", "acme"));
+        assertEquals(JobStatus.FAILED, failed.getStatus());
+        failSummary.set(false);
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        List<CompletableFuture<WorkflowJob>> resumes = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            resumes.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return service.resume(failed.getId());
+            }));
+        }
+
+        List<WorkflowJob> resumed = new ArrayList<>();
+        int conflicts = 0;
+        for (CompletableFuture<WorkflowJob> resume : resumes) {
+            try {
+                resumed.add(resume.join());
+            } catch (RuntimeException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                conflicts++;
+            }
+        }
+
+        assertEquals(1, resumed.size());
+        assertEquals(1, conflicts);
+        WorkflowJob job = awaitFinished(resumed.get(0));
+        assertEquals(JobStatus.SUCCEEDED, job.getStatus());
+        assertSame(job, service.find(failed.getId()).orElseThrow());
+        assertEquals(2, summaryRuns.get(), "the failed run and one resume");
+        assertEquals(List.of("BACKGROUND", "BACKGROUND"), summaryPriorities);
+    }
+}
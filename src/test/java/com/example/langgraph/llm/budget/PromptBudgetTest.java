@@ -0,0 +1,99 @@
+package com.example.langgraph.llm.budget;
+
+import com.example.langgraph.config.LlmBudgetProperties;
+import com.example.langgraph.llm.ChatGateway;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptBudgetTest {
+
+    private final TokenCounter tokenCounter = new TokenCounter(EncodingType.O200K_BASE);
+
+    private PromptBudget budget(ChatGateway chatGateway) {
+        LlmBudgetProperties properties = new LlmBudgetProperties(true, EncodingType.O200K_BASE,
+                Compaction.TRUNCATE, 10, Map.of());
+        return new PromptBudget(properties, tokenCounter, chatGateway);
+    }
+
+    private static String words(int count) {
+        return "word ".repeat(count).trim();
+    }
+
+    @Test
+    void shouldPassFieldsThroughWhenTheyFit() {
+        Map<String, String> fields = Map.of("analysis", "short analysis", "research", "short research");
+
+        assertSame(fields, budget(null).fit("draft", fields, 100, Compaction.TRUNCATE));
+    }
+
+    @Test
+    void shouldKeepSmallFieldsAndTruncateLargeOnes() {
+        String small = words(20);
+        String large = words(2000);
+
+        Map<String, String> fitted = budget(null).fit("draft",
+                Map.of("analysis", small, "research", large), 300, Compaction.TRUNCATE);
+
+        assertEquals(small, fitted.get("analysis"));
+        assertTrue(fitted.get("research").startsWith("word word"));
+        assertTrue(fitted.get("research").endsWith("[...]"));
+        int total = tokenCounter.count(fitted.get("analysis")) + tokenCounter.count(fitted.get("research"));
+        assertTrue(total <= 300, "fitted context used " + total + " tokens");
+    }
+
+    @Test
+    void shouldSplitBudgetEvenlyBetweenLargeFields() {
+        Map<String, String> fitted = budget(null).fit("polish",
+                Map.of("draft", words(1000), "review feedback", words(1000)), 200, Compaction.TRUNCATE);
+
+        int draft = tokenCounter.count(fitted.get("draft"));
+        int feedback = tokenCounter.count(fitted.get("review feedback"));
+        assertTrue(draft <= 100 && feedback <= 100);
+        assertTrue(Math.abs(draft - feedback) <= 1);
+    }
+
+    @Test
+    void shouldSummarizeAndFallBackToTruncation() {
+        ChatGateway summarizer = new ChatGateway(null) {
+            @Override
+            public String callWithoutStreaming(String prompt) {
+                return "condensed";
+            }
+        };
+        ChatGateway failing = new ChatGateway(null) {
+            @Override
+            public String callWithoutStreaming(String prompt) {
+                throw new IllegalStateException("model unavailable");
+            }
+        };
+        Map<String, String> fields = Map.of("research", words(500));
+
+        assertEquals("condensed", budget(summarizer).fit("draft", fields, 50, Compaction.SUMMARIZE).get("research"));
+        assertTrue(budget(failing).fit("draft", fields, 50, Compaction.SUMMARIZE).get("research").endsWith("[...]"));
+    }
+
+    @Test
+    void shouldReportTokensPerRunAndNode() {
+        TokenLedger ledger = new TokenLedger(1);
+        ledger.onRunStart("run-1");
+        ledger.record("run-1", "draft", 100, 40);
+        ledger.record("run-1", "draft", 50, 10);
+        ledger.record("run-1", "summary", 30, 5);
+        ledger.record("other-run", "draft", 999, 999);
+        ledger.onRunComplete("run-1", Duration.ZERO);
+
+        TokenUsage usage = ledger.usage("run-1").orElseThrow();
+        assertEquals(180, usage.promptTokens());
+        assertEquals(235, usage.totalTokens());
+        assertEquals(new TokenUsage.NodeTokens(150, 50, 2), usage.nodes().get("draft"));
+
+        ledger.onRunStart("run-2");
+        ledger.onRunComplete("run-2", Duration.ZERO);
+        assertTrue(ledger.usage("run-1").isEmpty(), "only the latest finished run is retained");
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.langgraph.llm.cache;
+
+import com.example.langgraph.config.LlmCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.langgraph.llm.PromptText;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmResponseCacheTest {
+
+    private static final ChatOptions GPT_4O = ChatOptions.builder().model("gpt-4o").temperature(0.7).build();
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<LlmResponseCache> caches = new ArrayList<>();
+
+    private LlmResponseCache cache(boolean semantic) {
+        return cache(semantic, 100);
+    }
+
+    private LlmResponseCache cache(boolean semantic, int maxEntries) {
+        LlmCacheProperties properties = new LlmCacheProperties(true, maxEntries, Duration.ofHours(1), directory,
+                new LlmCacheProperties.Semantic(semantic, 0.9));
+        LlmResponseCache cache = new LlmResponseCache(properties, objectMapper);
+        caches.add(cache);
+        return cache;
+    }
+
+    // appends run in the background; let them finish before the temp directory is deleted
+    @AfterEach
+    void shutDownCaches() throws InterruptedException {
+        for (LlmResponseCache cache : caches) {
+            cache.shutdown();
+        }
+    }
+
+    private static CacheKey key(String prompt, ChatOptions options) {
+        return CacheKey.of(new Prompt(prompt), options);
+    }
+
+    private static CacheKey key(PromptText prompt) {
+        return CacheKey.of(new Prompt(prompt.text()), GPT_4O, Map.of(
+                CacheKey.TEMPLATE_PARAM, prompt.template(),
+                CacheKey.VARIABLES_PARAM, prompt.variables()));
+    }
+
+    @Test
+    void shouldHitOnIdenticalPromptAndOptions() {
+        LlmResponseCache cache = cache(false);
+        cache.store(key("Analyze Spring AI", GPT_4O), "analysis");
+
+        assertEquals(Optional.of("analysis"), cache.lookup(key("Analyze Spring AI", GPT_4O)));
+        assertTrue(cache.lookup(key("Analyze Spring AI",
+                ChatOptions.builder().model("gpt-4o-mini").temperature(0.7).build())).isEmpty());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void shouldSurviveRestart() throws Exception {
+        LlmResponseCache first = cache(false);
+        first.store(key("Analyze Spring AI", GPT_4O), "analysis");
+        first.shutdown();
+
+        LlmResponseCache second = cache(false);
+        assertEquals(Optional.of("analysis"), second.lookup(key("Analyze Spring AI", GPT_4O)));
+    }
+
+    @Test
+    void shouldRewriteTheFileOnceEvictedEntriesOutnumberLiveOnes() throws Exception {
+        LlmResponseCache cache = cache(false, 2);
+        for (int i = 0; i < 10; i++) {
+            cache.store(key("Analyze topic " + i, GPT_4O), "analysis " + i);
+        }
+        cache.shutdown();
+
+        List<String> lines = Files.readAllLines(directory.resolve("llm-cache.jsonl"));
+        assertTrue(lines.size() <= 4, "2 live entries, at most as many stale lines: " + lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.contains("analysis 9")));
+
+        LlmResponseCache restarted = cache(false, 2);
+        assertEquals(Optional.of("analysis 8"), restarted.lookup(key("Analyze topic 8", GPT_4O)));
+        assertEquals(Optional.of("analysis 9"), restarted.lookup(key("Analyze topic 9", GPT_4O)));
+        assertEquals(2, restarted.stats().size());
+    }
+
+    @Test
+    void semanticLookupShouldMatchNearDuplicatesOnly() {
+        LlmResponseCache cache = cache(true);
+        cache.store(key("Analyze the following topic for a blog post: Spring AI framework", GPT_4O), "analysis");
+
+        assertEquals(Optional.of("analysis"),
+                cache.lookup(key("Analyze the following topic for a blog post: Spring AI framework!", GPT_4O)));
+        assertTrue(cache.lookup(key("Write a poem about the ocean at night", GPT_4O)).isEmpty());
+        assertEquals(1, cache.stats().semanticHits());
+    }
+
+    @Test
+    void semanticLookupShouldCompareTemplatedPromptsByTheirValuesOnly() {
+        String template = """
+                Analyze the following topic for a blog post. Provide the target audience, the key
+                angles to cover, the recommended tone and style and the main value proposition.
+
+                Topic: %s
+
+                Respond in a structured format with one heading per item.
+                """;
+        LlmResponseCache cache = cache(true);
+        cache.store(key(PromptText.of(template, "Spring AI framework")), "analysis");
+
+        assertEquals(Optional.of("analysis"), cache.lookup(key(PromptText.of(template, "Spring AI framework!"))));
+        assertTrue(cache.lookup(key(PromptText.of(template, "Sourdough baking"))).isEmpty());
+        assertTrue(cache.lookup(key(PromptText.of("Summarize: %s", "Spring AI framework!"))).isEmpty());
+    }
+
+    @Test
+    void semanticLookupShouldRequireEveryValueToBeSimilar() {
+        String template = "Write the section about %s of a post on %s, given this analysis:%n%s";
+        String analysis = "Spring AI offers portable chat, embedding and vector store APIs. ".repeat(20);
+        LlmResponseCache cache = cache(true);
+        cache.store(key(PromptText.of(template, "Advisors", "Spring AI", analysis)), "advisors section");
+
+        assertTrue(cache.lookup(key(PromptText.of(template, "Vector stores", "Spring AI", analysis))).isEmpty());
+        assertEquals(Optional.of("advisors section"),
+                cache.lookup(key(PromptText.of(template, "advisors", "Spring AI", analysis))));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.langgraph.llm.routing;
+
+import com.example.langgraph.config.LlmRoutingProperties;
+import com.example.langgraph.config.LlmRoutingProperties.ModelOptions;
+import com.example.langgraph.config.LlmRoutingProperties.Route;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelRouterTest {
+
+    private static final LlmRoutingProperties.Health HEALTH =
+            new LlmRoutingProperties.Health(4, 2, 0.5, Duration.ofSeconds(1), Duration.ofMillis(100));
+
+    /** Answers with the model name the call was made with. */
+    private final ChatModel echoModel = new ChatModel() {
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            String model = prompt.getOptions() == null ? "default" : prompt.getOptions().getModel();
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(String.valueOf(model)))));
+        }
+    };
+
+    private final ModelHealth health = new ModelHealth(HEALTH);
+
+    private ModelRouter router() {
+        LlmRoutingProperties properties = new LlmRoutingProperties(true, Map.of(
+                "summary", new Route(new ModelOptions("small", 0.3, null), new ModelOptions("large", null, null)),
+                "review", new Route(new ModelOptions("large", null, null), null)), HEALTH);
+        return new ModelRouter(ChatClient.builder(echoModel).build(), properties, health);
+    }
+
+    private static String ask(ChatClient client) {
+        return client.prompt().user("hi").call().content();
+    }
+
+    @Test
+    void shouldCallEachNodesPrimaryModel() {
+        ModelRouter router = router();
+
+        assertEquals("small", ask(router.clientFor("summary")));
+        assertEquals("large", ask(router.clientFor("review")));
+        assertSame(router.defaultClient(), router.clientFor("research"));
+        assertEquals(List.of("large", "small"), router.models());
+    }
+
+    @Test
+    void shouldFallBackWhileThePrimaryIsDegraded() throws InterruptedException {
+        ModelRouter router = router();
+        health.record("small", 1_000_000, true);
+        health.record("small", 1_000_000, true);
+
+        assertTrue(router.isDegraded("small"));
+        assertEquals("large", ask(router.clientFor("summary")));
+        assertEquals(1, router.fallbackCount());
+
+        Thread.sleep(150);
+        assertEquals("small", ask(router.clientFor("summary")));
+    }
+
+    @Test
+    void shouldTreatSlowCallsAsDegraded() {
+        health.record("large", Duration.ofSeconds(2).toNanos(), false);
+        assertFalse(health.isDegraded("large"));
+        health.record("large", Duration.ofSeconds(2).toNanos(), false);
+
+        assertTrue(health.isDegraded("large"));
+        // a route without a fallback keeps its primary
+        assertEquals("large", ask(router().clientFor("review")));
+    }
+
+    @Test
+    void shouldIgnoreOccasionalFailures() {
+        health.record("small", 1_000_000, true);
+        health.record("small", 1_000_000, false);
+        health.record("small", 1_000_000, false);
+
+        assertFalse(health.isDegraded("small"));
+    }
+}
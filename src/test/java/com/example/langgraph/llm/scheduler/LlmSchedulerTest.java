@@ -0,0 +1,207 @@
+package com.example.langgraph.llm.scheduler;
+
+import com.example.langgraph.config.LlmSchedulerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmSchedulerTest {
+
+    private static LlmSchedulerProperties properties(int tokensPerMinute, int concurrency, Duration maxWait,
+                                                     Map<String, Integer> weights) {
+        return new LlmSchedulerProperties(true, 0, tokensPerMinute, 800,
+                new LlmSchedulerProperties.Concurrency(concurrency, 1, 64, Duration.ofSeconds(60), 0.5),
+                Duration.ZERO, maxWait, weights);
+    }
+
+    private static LlmScheduler singleSlot(Map<String, Integer> weights) {
+        return new LlmScheduler(new LlmSchedulerProperties(true, 0, 0, 800,
+                new LlmSchedulerProperties.Concurrency(1, 1, 1, Duration.ofSeconds(60), 0.5),
+                Duration.ZERO, Duration.ofSeconds(5), weights));
+    }
+
+    @Test
+    void shouldServeHigherPriorityLanesFirst() {
+        LlmScheduler scheduler = singleSlot(Map.of());
+        LlmScheduler.Permit running = scheduler.acquire(LlmPriority.INTERACTIVE, "default", 100);
+
+        LlmScheduler.Waiter bulk;
+        LlmScheduler.Waiter background;
+        LlmScheduler.Waiter interactive;
+        scheduler.lock().lock();
+        try {
+            bulk = scheduler.submit(LlmPriority.BULK, "default", 100);
+            background = scheduler.submit(LlmPriority.BACKGROUND, "default", 100);
+            interactive = scheduler.submit(LlmPriority.INTERACTIVE, "default", 100);
+            scheduler.dispatch();
+        } finally {
+            scheduler.lock().unlock();
+        }
+        assertNull(interactive.permit);
+
+        scheduler.release(running, 0, -1, null);
+        assertNotNull(interactive.permit);
+        assertNull(background.permit);
+        assertNull(bulk.permit);
+
+        scheduler.release(interactive.permit, 0, -1, null);
+        assertNotNull(background.permit);
+        assertNull(bulk.permit);
+
+        scheduler.release(background.permit, 0, -1, null);
+        assertNotNull(bulk.permit);
+        assertEquals(0, scheduler.queued(LlmPriority.BULK));
+    }
+
+    @Test
+    void shouldShareLaneBetweenTenantsByWeight() {
+        LlmScheduler scheduler = singleSlot(Map.of("heavy", 3));
+        LlmScheduler.Permit running = scheduler.acquire(LlmPriority.BACKGROUND, "default", 100);
+
+        List<LlmScheduler.Waiter> waiters = new ArrayList<>();
+        scheduler.lock().lock();
+        try {
+            for (int i = 0; i < 8; i++) {
+                waiters.add(scheduler.submit(LlmPriority.BACKGROUND, "heavy", 100));
+                waiters.add(scheduler.submit(LlmPriority.BACKGROUND, "light", 100));
+            }
+        } finally {
+            scheduler.lock().unlock();
+        }
+
+        Map<String, Integer> granted = new HashMap<>();
+        LlmScheduler.Permit current = running;
+        for (int i = 0; i < 8; i++) {
+            scheduler.release(current, 0, -1, null);
+            LlmScheduler.Waiter next = waiters.stream().filter(w -> w.permit != null).findFirst().orElseThrow();
+            waiters.remove(next);
+            granted.merge(next.tenant, 1, Integer::sum);
+            current = next.permit;
+        }
+
+        assertEquals(6, granted.get("heavy"));
+        assertEquals(2, granted.get("light"));
+    }
+
+    @Test
+    void shouldForgetIdleTenants() {
+        LlmScheduler scheduler = singleSlot(Map.of());
+        LlmScheduler.Permit running = scheduler.acquire(LlmPriority.BACKGROUND, "steady", 100);
+
+        List<LlmScheduler.Waiter> waiters = new ArrayList<>();
+        scheduler.lock().lock();
+        try {
+            for (int i = 0; i < 50; i++) {
+                waiters.add(scheduler.submit(LlmPriority.BACKGROUND, "steady", 100));
+                waiters.add(scheduler.submit(LlmPriority.BACKGROUND, "one-off-" + i, 100));
+            }
+        } finally {
+            scheduler.lock().unlock();
+        }
+        assertEquals(51, scheduler.tenants(LlmPriority.BACKGROUND));
+
+        LlmScheduler.Permit current = running;
+        for (int i = 0; i < 60; i++) {
+            scheduler.release(current, 0, -1, null);
+            LlmScheduler.Waiter next = waiters.stream().filter(w -> w.permit != null).findFirst().orElseThrow();
+            waiters.remove(next);
+            current = next.permit;
+        }
+        // 30 one-off tenants were served; only those still waiting or just served remain
+        assertTrue(scheduler.tenants(LlmPriority.BACKGROUND) <= 23, "tenants: " + scheduler.tenants(LlmPriority.BACKGROUND));
+
+        while (!waiters.isEmpty()) {
+            scheduler.release(current, 0, -1, null);
+            LlmScheduler.Waiter next = waiters.stream().filter(w -> w.permit != null).findFirst().orElseThrow();
+            waiters.remove(next);
+            current = next.permit;
+        }
+        scheduler.release(current, 0, -1, null);
+        assertEquals(0, scheduler.tenants(LlmPriority.BACKGROUND));
+    }
+
+    @Test
+    void shouldHalveLimitOnceOnRateLimitAndGrowOnSuccess() {
+        LlmScheduler scheduler = new LlmScheduler(properties(0, 8, Duration.ofSeconds(5), Map.of()));
+        LlmScheduler.Permit first = scheduler.acquire(LlmPriority.INTERACTIVE, "default", 100);
+        LlmScheduler.Permit second = scheduler.acquire(LlmPriority.INTERACTIVE, "default", 100);
+        NonTransientAiException tooMany = new NonTransientAiException("HTTP 429 - Rate limit reached");
+
+        scheduler.release(first, 0, -1, tooMany);
+        assertEquals(4.0, scheduler.concurrencyLimit());
+        // already in flight when the limit shrank, so it must not shrink it again
+        scheduler.release(second, 0, -1, tooMany);
+        assertEquals(4.0, scheduler.concurrencyLimit());
+        assertEquals(2, scheduler.rateLimitedCount());
+
+        scheduler.release(scheduler.acquire(LlmPriority.INTERACTIVE, "default", 100), 0, -1, null);
+        assertEquals(4.25, scheduler.concurrencyLimit());
+        assertEquals(0, scheduler.inFlight());
+    }
+
+    @Test
+    void shouldRefundOverestimatedTokens() {
+        LlmScheduler scheduler = new LlmScheduler(properties(1000, 8, Duration.ofMillis(50), Map.of()));
+        LlmScheduler.Permit first = scheduler.acquire(LlmPriority.INTERACTIVE, "default", 800);
+
+        assertThrows(SchedulerTimeoutException.class,
+                () -> scheduler.acquire(LlmPriority.INTERACTIVE, "default", 800));
+
+        scheduler.release(first, 0, 100, null);
+        assertDoesNotThrow(() -> scheduler.acquire(LlmPriority.INTERACTIVE, "default", 800));
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxWait() {
+        LlmScheduler scheduler = new LlmScheduler(properties(0, 1, Duration.ofMillis(50), Map.of()));
+        scheduler.acquire(LlmPriority.INTERACTIVE, "default", 100);
+
+        assertThrows(SchedulerTimeoutException.class,
+                () -> scheduler.acquire(LlmPriority.BULK, "default", 100));
+        assertEquals(0, scheduler.queued(LlmPriority.BULK));
+        assertEquals(1, scheduler.inFlight());
+    }
+
+    @Test
+    void shouldGrantAsyncPermitsWithoutAWaitingThread() {
+        LlmScheduler scheduler = singleSlot(Map.of());
+        LlmScheduler.Permit running = scheduler.acquire(LlmPriority.INTERACTIVE, "default", 100);
+
+        CompletableFuture<LlmScheduler.Permit> queued = scheduler.acquireAsync(LlmPriority.BULK, "default", 100);
+        CompletableFuture<LlmScheduler.Permit> withdrawn = scheduler.acquireAsync(LlmPriority.BULK, "default", 100);
+        assertFalse(queued.isDone());
+        assertEquals(2, scheduler.queued(LlmPriority.BULK));
+
+        withdrawn.cancel(false);
+        assertEquals(1, scheduler.queued(LlmPriority.BULK));
+
+        scheduler.release(running, 0, -1, null);
+        assertTrue(queued.isDone());
+        assertEquals(1, scheduler.inFlight());
+
+        scheduler.release(queued.join(), 0, -1, null);
+        assertEquals(0, scheduler.inFlight());
+    }
+
+    @Test
+    void shouldFailAsyncPermitsAfterMaxWait() {
+        LlmScheduler scheduler = new LlmScheduler(properties(0, 1, Duration.ofMillis(50), Map.of()));
+        scheduler.acquire(LlmPriority.INTERACTIVE, "default", 100);
+
+        CompletableFuture<LlmScheduler.Permit> queued = scheduler.acquireAsync(LlmPriority.BULK, "default", 100);
+
+        CompletionException e = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(SchedulerTimeoutException.class, e.getCause());
+        assertEquals(0, scheduler.queued(LlmPriority.BULK));
+        assertEquals(1, scheduler.inFlight());
+    }
+}
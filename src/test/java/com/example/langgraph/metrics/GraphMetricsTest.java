@@ -0,0 +1,45 @@
+package com.example.langgraph.metrics;
+
+import com.example.langgraph.graph.ExecutionMode;
+import com.example.langgraph.graph.GraphExecutionException;
+import com.example.langgraph.graph.GraphState;
+import com.example.langgraph.graph.StateGraph;
+import com.example.langgraph.graph.StateGraphBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphMetricsTest {
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionMode.class, names = {"SEQUENTIAL", "PARALLEL"})
+    void shouldRecordRunAndNodeTimers(ExecutionMode mode) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StateGraph graph = new StateGraphBuilder()
+                .addNode("A", state -> state)
+                .addNode("B", state -> {
+                    if (state.containsKey("fail")) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return state;
+                })
+                .addEdge("A", "B")
+                .setEntryPoint("A")
+                .setExecutionMode(mode)
+                .addListener(new GraphMetrics(registry))
+                .compile();
+
+        graph.execute(new GraphState());
+        GraphState failing = new GraphState();
+        failing.put("fail", true);
+        assertThrows(GraphExecutionException.class, () -> graph.execute(failing));
+
+        assertEquals(1, registry.get("graph.runs").tag("outcome", "success").counter().count());
+        assertEquals(1, registry.get("graph.runs").tag("outcome", "failure").counter().count());
+        assertEquals(0, registry.get("graph.runs.active").gauge().value());
+        assertEquals(2, registry.get("graph.node.duration").tags("node", "A", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("graph.node.duration").tags("node", "B", "outcome", "failure").timer().count());
+    }
+}